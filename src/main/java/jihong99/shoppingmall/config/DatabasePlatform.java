@@ -0,0 +1,27 @@
+package jihong99.shoppingmall.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes which database the application is running against.
+ *
+ * <p>Most persistence goes through JPA and is database-agnostic, but a few hot paths use native
+ * statements whose syntax differs between H2 (dev/test) and MySQL (prod). Those callers use this
+ * component to pick the statement that matches the configured Hibernate dialect.</p>
+ */
+@Component
+public class DatabasePlatform {
+
+    @Value("${spring.jpa.database-platform:}")
+    private String databasePlatform;
+
+    /**
+     * Returns whether the configured dialect is MySQL.
+     *
+     * @return true if the application is running against MySQL, false otherwise (H2)
+     */
+    public boolean isMySql() {
+        return databasePlatform.contains("MySQL");
+    }
+}
@@ -0,0 +1,16 @@
+package jihong99.shoppingmall.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for enabling scheduled tasks.
+ *
+ * <p>This configuration class enables Spring's scheduled task execution so that
+ * background work such as flushing buffered state or periodic sweeps can be
+ * declared with {@code @Scheduled} on service methods.</p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -3,6 +3,7 @@ package jihong99.shoppingmall.config.auth;
 import jihong99.shoppingmall.config.auth.filters.CsrfCookieFilter;
 import jihong99.shoppingmall.config.auth.filters.JwtAuthenticationFilter;
 import jihong99.shoppingmall.config.auth.providers.UsernamePwdAuthenticationProvider;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -60,6 +61,7 @@ public class SecurityConfig {
                 .addFilterAfter(csrfCookieFilter, BasicAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthenticationFilter, BasicAuthenticationFilter.class)
                 .authorizeHttpRequests(requests -> requests
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // streamed responses, authorized on the initial dispatch
                         .requestMatchers("/api/signup", "/api/check-id", "/api/login", "/h2-console/**", "/api/refresh-token","/api/csrf-token", "/api/categories", "/api/items/**",
                                 "/api/inquiries/**" ).permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/logout").hasAnyRole(USER.name(), ADMIN.name(), SUPER_ADMIN.name())
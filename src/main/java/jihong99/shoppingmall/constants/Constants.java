@@ -31,10 +31,13 @@ public class Constants {
 
     public static final String MESSAGE_200_DeleteNoticeSuccess = "Notice deleted successfully.";
 
+    public static final String MESSAGE_200_NoticesSeen = "Notices marked as seen.";
     public static final String MESSAGE_200_NotifyUsersSuccess = "Notify users successfully";
     public static final String MESSAGE_200_UpdateRespondSuccess = "Respond updated successfully.";
     public static final String MESSAGE_200_DeleteRespondSuccess = "Respond deleted successfully.";
     public static final String MESSAGE_200_UpdateInquiryStatusSuccess = "Inquiry status updated successfully.";
+    public static final String MESSAGE_200_UpdateOrderStatusSuccess = "Order status updated successfully.";
+    public static final String MESSAGE_200_CartOperationSuccess = "Cart operation applied successfully.";
     public static final String STATUS_201 = "201";
     public static final String MESSAGE_201_createUser = "User has been created successfully.";
     public static final String MESSAGE_201_createDeliveryAddress = "DeliveryAddress has been created successfully.";
@@ -43,22 +46,55 @@ public class Constants {
     public static final String MESSAGE_201_createCoupon = "Coupon has been created successfully.";
     public static final String MESSAGE_201_createNotice = "Notice has been created successfully.";
     public static final String MESSAGE_201_createRespondSuccess = "Respond to Inquiry has been created successfully.";
+    public static final String STATUS_202 = "202";
+    public static final String MESSAGE_202_BackfillStarted = "Sales rollup backfill started.";
+    public static final String MESSAGE_202_CouponClaimed = "Coupon claimed successfully.";
+    public static final String MESSAGE_202_DeleteCouponStarted = "Coupon deletion started.";
+    public static final String MESSAGE_202_DeleteNoticeStarted = "Notice deletion started.";
 
     public static final String MESSAGE_400_duplicatedId = "The ID already exists.";
     public static final String MESSAGE_400_duplicatedName = "The name already exists.";
     public static final String MESSAGE_400_MisMatchPw = "Passwords do not match.";
     public static final String MESSAGE_400_InvalidRefreshToken = "Refresh Token is invalid or not found";
 
+    public static final String MESSAGE_400_QuantityRequired = "Quantity is required for this operation.";
+    public static final String MESSAGE_400_StockUnavailable = "Not enough stock is available for the requested quantity.";
+    public static final String MESSAGE_400_EmptyCart = "Cart is empty.";
+    public static final String MESSAGE_400_CartChangedDuringCheckout = "Cart changed during checkout. Please try again.";
+    public static final String MESSAGE_400_InvalidPageSize = "Page size must be between 1 and 100.";
+    public static final String MESSAGE_400_InvalidDateRange = "Start date must not be after end date.";
+    public static final String MESSAGE_400_InvalidCursor = "Cursor date and cursor ID must be provided together.";
+    public static final String MESSAGE_400_InvalidOrderStatusTransition = "Order status cannot be changed to the requested status.";
+    public static final String MESSAGE_400_DateRangeTooLong = "Date range must not exceed 366 days.";
+    public static final String MESSAGE_400_InvalidSalesDimension = "Sales dimension must be ITEM or CATEGORY.";
+    public static final String MESSAGE_400_BackfillAlreadyRunning = "A sales rollup backfill is already running.";
+    public static final String MESSAGE_400_BackfillOpenDate = "Backfill range must end before today.";
+    public static final String MESSAGE_400_InvalidIdempotencyKey = "Idempotency key must be between 1 and 64 characters.";
+    public static final String MESSAGE_400_OrderNotPayable = "Only processed orders can be paid.";
+    public static final String MESSAGE_400_DistributionAlreadyRunning = "This coupon is already being distributed.";
+    public static final String MESSAGE_400_CouponNotClaimable = "This coupon cannot be claimed.";
+    public static final String MESSAGE_400_CouponExpired = "This coupon has expired.";
+    public static final String MESSAGE_400_CouponAlreadyClaimed = "This coupon has already been claimed.";
+    public static final String MESSAGE_400_CouponSoldOut = "This coupon has run out.";
+    public static final String MESSAGE_400_JobAlreadyFinished = "This job has already finished.";
+    public static final String MESSAGE_400_JobNotFailed = "Only a failed job can be retried.";
+    public static final String MESSAGE_400_NoticeAlreadyPosted = "This notice has already been posted to the user.";
+    public static final String MESSAGE_400_InvalidSearchQuery = "Search query must contain at least one word.";
+
     public static final String MESSAGE_400_InvalidStorageType = "Unknown storage type: ";
     public static final String MESSAGE_404_UserNotFound = "User not found.";
     public static final String MESSAGE_404_CategoryNotFound = "Category not found.";
     public static final String MESSAGE_404_ItemNotFound = "Item not found.";
+    public static final String MESSAGE_404_CartItemNotFound = "Cart item not found.";
     public static final String MESSAGE_404_DeliveryAddressNotFound = "Delivery address not found.";
     public static final String MESSAGE_404_CouponNotFound = "Coupon not found.";
     public static final String MESSAGE_404_NoticeNotFound = "Notice not found.";
     public static final String MESSAGE_404_InquiryNotFound = "Inquiry not found.";
     public static final String MESSAGE_404_ImageNotFound = "Image not found.";
     public static final String MESSAGE_404_OrdersNotFound = "Orders not found.";
+    public static final String MESSAGE_404_PaymentNotFound = "Payment not found.";
+    public static final String MESSAGE_404_CouponDistributionNotFound = "Coupon distribution not found.";
+    public static final String MESSAGE_404_JobNotFound = "Job not found.";
 
     public static final String MESSAGE_404_ResponseNotFound = "Response not found.";
 
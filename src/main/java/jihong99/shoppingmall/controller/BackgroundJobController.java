@@ -0,0 +1,107 @@
+package jihong99.shoppingmall.controller;
+
+import jihong99.shoppingmall.dto.response.job.BackgroundJobResponseDto;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.exception.NotFoundException;
+import jihong99.shoppingmall.service.IBackgroundJobService;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.TypeMismatchException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/api", produces = MediaType.APPLICATION_JSON_VALUE)
+public class BackgroundJobController {
+
+    private final IBackgroundJobService ibackgroundJobService;
+
+    /**
+     * Retrieves the status and progress of a background job.
+     *
+     * <p>This endpoint allows an admin to follow a job started by another endpoint, such as a notice sent to
+     * many users.</p>
+     *
+     * @param jobId the ID of the job
+     * @return ResponseEntity<BackgroundJobResponseDto> Response object containing the status and progress of the job
+     * @success Valid response containing the job
+     * Response Code: 200
+     * @throws TypeMismatchException Method argument (path variable) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have ADMIN role
+     * Response Code: 403
+     * @throws NotFoundException The job is not found
+     * Response Code: 404
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @GetMapping("/admin/jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BackgroundJobResponseDto> getJob(@PathVariable Long jobId) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(ibackgroundJobService.getJob(jobId));
+    }
+
+    /**
+     * Cancels a background job.
+     *
+     * <p>This endpoint allows an admin to stop a pending or running job. The job stops before its next chunk;
+     * the work of chunks already committed is kept.</p>
+     *
+     * @param jobId the ID of the job
+     * @return ResponseEntity<BackgroundJobResponseDto> Response object containing the status and progress of the job
+     * @success Cancellation requested
+     * Response Code: 202
+     * @throws TypeMismatchException Method argument (path variable) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws InvalidOperationException Thrown if the job has already finished
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have ADMIN role
+     * Response Code: 403
+     * @throws NotFoundException The job is not found
+     * Response Code: 404
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @PostMapping("/admin/jobs/{jobId}/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BackgroundJobResponseDto> cancelJob(@PathVariable Long jobId) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ibackgroundJobService.cancelJob(jobId));
+    }
+
+    /**
+     * Retries a failed background job.
+     *
+     * <p>This endpoint allows an admin to run a failed job again. The job continues after its last committed
+     * chunk, so the work already done is not repeated.</p>
+     *
+     * @param jobId the ID of the job
+     * @return ResponseEntity<BackgroundJobResponseDto> Response object containing the status and progress of the job
+     * @success Retry scheduled
+     * Response Code: 202
+     * @throws TypeMismatchException Method argument (path variable) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws InvalidOperationException Thrown if the job has not failed
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have ADMIN role
+     * Response Code: 403
+     * @throws NotFoundException The job is not found
+     * Response Code: 404
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @PostMapping("/admin/jobs/{jobId}/retry")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BackgroundJobResponseDto> retryJob(@PathVariable Long jobId) {
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ibackgroundJobService.retryJob(jobId));
+    }
+}
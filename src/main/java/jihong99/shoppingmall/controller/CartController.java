@@ -1,8 +1,11 @@
 package jihong99.shoppingmall.controller;
 
 import jakarta.validation.Valid;
+import jihong99.shoppingmall.dto.request.cart.CartBatchRequestDto;
 import jihong99.shoppingmall.dto.request.cart.CartItemRequestDto;
 import jihong99.shoppingmall.dto.request.cart.UpdateQuantityRequestDto;
+import jihong99.shoppingmall.dto.response.cart.CartBatchResponseDto;
+import jihong99.shoppingmall.dto.response.cart.CartResponseDto;
 import jihong99.shoppingmall.dto.response.shared.ResponseDto;
 import jihong99.shoppingmall.exception.InvalidOperationException;
 import jihong99.shoppingmall.exception.NotFoundException;
@@ -26,6 +29,36 @@ public class CartController {
 
     private final ICartService icartService;
 
+    /**
+     * Retrieves the user's cart.
+     *
+     * <p>This endpoint returns the items in the user's cart with their quantities, the applied coupon
+     * and the cart's original and estimated total prices.</p>
+     *
+     * @param userId The ID of the user
+     * @return ResponseEntity<CartResponseDto> Response object containing the cart lines and total prices
+     * @success Cart successfully retrieved
+     * Response Code: 200
+     * @throws TypeMismatchException Thrown if method argument (path variable) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have the required permissions
+     * Response Code: 403
+     * @throws NotFoundException Thrown if the user is not found
+     * Response Code: 404
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @GetMapping("/users/{userId}/carts")
+    @HasId
+    public ResponseEntity<CartResponseDto> getCart(
+            @PathVariable Long userId
+    ) {
+        CartResponseDto cartResponseDto = icartService.getCart(userId);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(cartResponseDto);
+    }
+
     /**
      * Adds an item to the user's cart.
      *
@@ -199,4 +232,39 @@ public class CartController {
                 .body(new ResponseDto(STATUS_200, MESSAGE_200_RemoveAppliedCouponSuccess));
     }
 
-}
\ No newline at end of file
+    /**
+     * Applies a batch of operations to the user's cart.
+     *
+     * <p>This endpoint allows a user to add, update and remove several cart items in one request.
+     * Operations are applied in order within a single transaction; an operation that fails validation
+     * is reported in its result without aborting the others.</p>
+     *
+     * @param userId The ID of the user
+     * @param cartBatchRequestDto DTO containing the operations to apply
+     * @return ResponseEntity<CartBatchResponseDto> Response object containing the per-operation results and the cart totals
+     * @success Operations processed
+     * Response Code: 200
+     * @throws MethodArgumentNotValidException Thrown if validation for the request body fails
+     * Response Code: 400
+     * @throws TypeMismatchException Thrown if method argument (path variable) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have the required permissions
+     * Response Code: 403
+     * @throws NotFoundException Thrown if the user is not found
+     * Response Code: 404
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @PostMapping("/users/{userId}/carts/batch")
+    @HasId
+    public ResponseEntity<CartBatchResponseDto> applyCartOperations(
+            @PathVariable Long userId,
+            @RequestBody @Valid CartBatchRequestDto cartBatchRequestDto
+    ) {
+        CartBatchResponseDto cartBatchResponseDto = icartService.applyCartOperations(userId, cartBatchRequestDto);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(cartBatchResponseDto);
+    }
+
+}
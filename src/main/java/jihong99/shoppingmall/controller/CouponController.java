@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import jihong99.shoppingmall.dto.request.coupon.CouponRequestDto;
 import jihong99.shoppingmall.dto.request.coupon.PatchCouponRequestDto;
 import jihong99.shoppingmall.dto.response.coupon.CouponDetailsResponseDto;
+import jihong99.shoppingmall.dto.response.coupon.CouponDistributionResponseDto;
 import jihong99.shoppingmall.dto.response.coupon.CouponSummaryResponseDto;
 import jihong99.shoppingmall.dto.response.shared.ResponseDto;
 import jihong99.shoppingmall.dto.response.coupon.CouponResponseDto;
@@ -95,12 +96,15 @@ public class CouponController {
     /**
      * Deletes a coupon.
      *
-     * <p>This endpoint allows an admin to delete an existing coupon. The coupon ID must be specified in the path.</p>
+     * <p>This endpoint allows an admin to delete an existing coupon. The coupon ID must be specified in the path.
+     * A coupon held by very many users is deleted in the background.</p>
      *
      * @param couponId the ID of the coupon to be deleted
      * @return ResponseEntity<ResponseDto> Response object containing the result of the coupon deletion
      * @success Coupon successfully deleted
      * Response Code: 200
+     * @success Coupon deletion started in the background
+     * Response Code: 202
      * @throws TypeMismatchException Method argument (path variable or query parameter) cannot be converted to the expected type
      * Response Code: 400
      * @throws AccessDeniedException           Thrown if the user does not have ADMIN role
@@ -113,7 +117,11 @@ public class CouponController {
     @DeleteMapping("/admin/coupons/{couponId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ResponseDto> deleteCoupon(@PathVariable Long couponId) {
-        icouponService.deleteCoupon(couponId);
+        if (icouponService.deleteCoupon(couponId)) {
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(new ResponseDto(STATUS_202, MESSAGE_202_DeleteCouponStarted));
+        }
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(new ResponseDto(STATUS_200, MESSAGE_200_DeleteCouponSuccess));
@@ -153,14 +161,18 @@ public class CouponController {
     /**
      * Assigns a coupon to all users.
      *
-     * <p>This endpoint allows an admin to assign a specific coupon to all users. The coupon ID must be specified in the path.</p>
+     * <p>This endpoint allows an admin to assign a specific coupon to all users. The coupon ID must be specified in the path.
+     * The assignment runs in the background in chunks; users who already hold the coupon are skipped. Calling the endpoint
+     * again resumes a failed assignment, or hands the coupon to users who signed up since a completed one.</p>
      *
      * @param couponId the ID of the coupon to be assigned to all users
-     * @return ResponseEntity<ResponseDto> Response object containing the result of the coupon assignment
-     * @success Coupon successfully assigned to all users
-     * Response Code: 200
+     * @return ResponseEntity<CouponDistributionResponseDto> Response object containing the progress of the assignment
+     * @success Coupon assignment started
+     * Response Code: 202
      * @throws TypeMismatchException Method argument (path variable or query parameter) cannot be converted to the expected type
      * Response Code: 400
+     * @throws InvalidOperationException Thrown if the coupon is already being assigned
+     * Response Code: 400
      * @throws AccessDeniedException           Thrown if the user does not have ADMIN role
      *                                         Response Code: 403
      * @throws NotFoundException The coupon is not found
@@ -170,12 +182,71 @@ public class CouponController {
      */
     @PostMapping("/admin/coupons/{couponId}/assign/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ResponseDto> assignCouponToAll(
+    public ResponseEntity<CouponDistributionResponseDto> assignCouponToAll(
+            @PathVariable Long couponId) {
+        CouponDistributionResponseDto distribution = icouponService.distributeCouponToAllUsers(couponId);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(distribution);
+    }
+
+    /**
+     * Retrieves the progress of assigning a coupon to all users.
+     *
+     * @param couponId the ID of the coupon
+     * @return ResponseEntity<CouponDistributionResponseDto> Response object containing the progress of the assignment
+     * @success Valid response containing the progress of the assignment
+     * Response Code: 200
+     * @throws TypeMismatchException Method argument (path variable) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws AccessDeniedException           Thrown if the user does not have ADMIN role
+     *                                         Response Code: 403
+     * @throws NotFoundException The coupon has never been assigned to all users
+     * Response Code: 404
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @GetMapping("/admin/coupons/{couponId}/assign/all")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CouponDistributionResponseDto> getCouponAssignmentProgress(
             @PathVariable Long couponId) {
-        icouponService.distributeCouponToAllUsers(couponId);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(new ResponseDto(STATUS_200, MESSAGE_200_DistributeCouponSuccess));
+                .body(icouponService.getCouponDistribution(couponId));
+    }
+
+    /**
+     * Claims a limited-quantity coupon for a user.
+     *
+     * <p>This endpoint allows users to claim a coupon that was created with a claim quota. Claims are admitted
+     * first come, first served until the quota runs out, and each user can claim a coupon once. The user's
+     * coupon appears in their coupon list shortly after the claim is accepted.</p>
+     *
+     * @param userId The ID of the user
+     * @param couponId The ID of the coupon to be claimed
+     * @return ResponseEntity<ResponseDto> Response object containing the result of the claim
+     * @success Coupon claim accepted
+     * Response Code: 202
+     * @throws TypeMismatchException Invalid path variable types
+     * Response Code: 400
+     * @throws InvalidOperationException The coupon cannot be claimed, has expired, has run out or was already claimed by the user
+     * Response Code: 400
+     * @throws AccessDeniedException Unauthorized access
+     * Response Code: 403
+     * @throws NotFoundException Coupon not found
+     * Response Code: 404
+     * @throws Exception Internal server error
+     * Response Code: 500
+     */
+    @PostMapping("/users/{userId}/coupons/{couponId}/claim")
+    @HasId
+    public ResponseEntity<ResponseDto> claimCoupon(
+            @PathVariable Long userId,
+            @PathVariable Long couponId) {
+        icouponService.claimCoupon(couponId, userId);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(new ResponseDto(STATUS_202, MESSAGE_202_CouponClaimed));
     }
 
     /**
@@ -6,6 +6,7 @@ import jihong99.shoppingmall.dto.request.inquiry.InquiryRequestDto;
 import jihong99.shoppingmall.dto.request.inquiry.PatchResponseRequestDto;
 import jihong99.shoppingmall.dto.request.inquiry.ResponseRequestDto;
 import jihong99.shoppingmall.dto.response.inquiry.InquiryDetailsResponseDto;
+import jihong99.shoppingmall.dto.response.inquiry.InquiryLatencyResponseDto;
 import jihong99.shoppingmall.dto.response.inquiry.InquiryResponseDto;
 import jihong99.shoppingmall.dto.response.shared.PaginatedResponseDto;
 import jihong99.shoppingmall.dto.response.shared.ResponseDto;
@@ -29,6 +30,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 import static jihong99.shoppingmall.constants.Constants.*;
 
 @RestController
@@ -39,19 +42,25 @@ public class InquiryController {
     private final IInquiryService iinquiryService;
 
     /**
-     * Retrieves all inquiries based on type, status, and pagination parameters.
+     * Retrieves the admin inquiry queue based on type and status, newest first.
      *
-     * @param type   The type of the inquiry (item, customer)
-     * @param status The status of the inquiry (resolved, unresolved), optional
-     * @param page   The page number to retrieve, starting from 0
-     * @param size   The number of items per page
-     * @return A ResponseEntity containing a paginated list of inquiries
+     * <p>Pages are fetched with a cursor: omit {@code cursorId} for the first page, and pass the
+     * {@code nextCursorId} value from the previous response for the next one. The total may lag behind
+     * by a few seconds.</p>
+     *
+     * @param type     The type of the inquiry (item, customer)
+     * @param status   The status of the inquiry (resolved, unresolved), optional
+     * @param cursorId The ID of the last inquiry of the previous page (optional)
+     * @param size     The number of inquiries per page, between 1 and 100
+     * @return A ResponseEntity containing a page of inquiries and the cursor for the next page
      *
      * @success Response successfully retrieved
      * Response Code: 200
      *
      * @throws TypeMismatchException if the method argument cannot be converted to the expected type
      * Response Code: 400
+     * @throws InvalidOperationException if the page size is out of range
+     * Response Code: 400
      * @throws AccessDeniedException if the user does not have the 'ADMIN' role
      * Response Code: 403
      *
@@ -60,19 +69,16 @@ public class InquiryController {
      */
     @GetMapping("/admin/inquiries")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<PaginatedResponseDto<InquiryResponseDto>> getAllInquiries(
+    public ResponseEntity<InquiryQueueResponseDto> getAllInquiries(
             @RequestParam InquiryType type,
             @RequestParam(required = false) InquiryStatus status,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Long cursorId,
             @RequestParam(defaultValue = "10") int size
     ) {
-        Pageable pageable = PageRequest.of(page, size);
-
-        Page<InquiryResponseDto> inquiries = iinquiryService.getAllInquiries(type, status, pageable);
-        PaginatedResponseDto<InquiryResponseDto> response = PaginatedResponseDto.of(inquiries);
+        InquiryQueueResponseDto inquiries = iinquiryService.getAllInquiries(type, status, cursorId, size);
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(response);
+                .body(inquiries);
     }
 
     /**
@@ -107,6 +113,109 @@ public class InquiryController {
                 .body(inquiryDetails);
     }
 
+    /**
+     * Updates the status of a specific inquiry.
+     *
+     * <p>This endpoint allows an admin to resolve an inquiry or reopen a resolved one. Resolving an inquiry
+     * records how long it took to resolve.</p>
+     *
+     * @param inquiryId The ID of the inquiry
+     * @param status    The new status of the inquiry (resolved, unresolved)
+     * @return A ResponseEntity containing the status of the update operation
+     *
+     * @success Inquiry status successfully updated
+     * Response Code: 200
+     *
+     * @throws TypeMismatchException if the method argument cannot be converted to the expected type
+     * Response Code: 400
+     *
+     * @throws AccessDeniedException if the user does not have the 'ADMIN' role
+     * Response Code: 403
+     *
+     * @throws NotFoundException if the inquiry is not found
+     * Response Code: 404
+     *
+     * @throws Exception if any other internal server error occurs
+     * Response Code: 500
+     */
+    @PatchMapping("/admin/inquiries/{inquiryId}/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDto> updateInquiryStatus(
+            @PathVariable Long inquiryId,
+            @RequestParam InquiryStatus status
+    ) {
+        iinquiryService.updateInquiryStatus(inquiryId, status);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(STATUS_200, MESSAGE_200_UpdateInquiryStatusSuccess));
+    }
+
+    /**
+     * Retrieves the time-to-first-response and resolution time percentiles of each inquiry type.
+     *
+     * <p>This endpoint allows an admin to see how quickly inquiries are answered and resolved. Percentiles
+     * are bucketed from one minute to thirty days, and each is reported as the upper bound of its bucket.</p>
+     *
+     * @return A ResponseEntity containing the latency percentiles per inquiry type and metric
+     *
+     * @success Latencies successfully retrieved
+     * Response Code: 200
+     *
+     * @throws AccessDeniedException if the user does not have the 'ADMIN' role
+     * Response Code: 403
+     *
+     * @throws Exception if any other internal server error occurs
+     * Response Code: 500
+     */
+    @GetMapping("/admin/inquiries/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<InquiryLatencyResponseDto>> getInquiryLatencies() {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(iinquiryService.getInquiryLatencies());
+    }
+
+    /**
+     * Searches inquiries by words in their title, content and responses.
+     *
+     * <p>This endpoint allows an admin to find inquiries containing any of the given words, best match first.
+     * Words in the title weigh more than words in the content or responses.</p>
+     *
+     * @param query  The words to search for
+     * @param status The status of the inquiry (resolved, unresolved), optional
+     * @param page   The page number to retrieve, starting from 0
+     * @param size   The number of items per page
+     * @return A ResponseEntity containing a paginated list of matching inquiries
+     *
+     * @success Response successfully retrieved
+     * Response Code: 200
+     *
+     * @throws TypeMismatchException if the method argument cannot be converted to the expected type
+     * Response Code: 400
+     * @throws InvalidOperationException if the query contains no searchable word
+     * Response Code: 400
+     * @throws AccessDeniedException if the user does not have the 'ADMIN' role
+     * Response Code: 403
+     *
+     * @throws Exception if any other internal server error occurs
+     * Response Code: 500
+     */
+    @GetMapping("/admin/inquiries/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PaginatedResponseDto<InquiryResponseDto>> searchInquiries(
+            @RequestParam String query,
+            @RequestParam(required = false) InquiryStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        Pageable pageable = PageRequest.of(page, size);
+        Page<InquiryResponseDto> inquiries = iinquiryService.searchInquiries(query, status, pageable);
+        PaginatedResponseDto<InquiryResponseDto> response = PaginatedResponseDto.of(inquiries);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(response);
+    }
+
     /**
      * Responds to a specific inquiry.
      *
@@ -3,10 +3,13 @@ package jihong99.shoppingmall.controller;
 import jakarta.validation.Valid;
 import jihong99.shoppingmall.dto.request.notice.NoticeRequestDto;
 import jihong99.shoppingmall.dto.request.notice.PatchNoticeRequestDto;
+import jihong99.shoppingmall.dto.response.job.BackgroundJobResponseDto;
 import jihong99.shoppingmall.dto.response.notice.NoticeDetailsResponseDto;
 import jihong99.shoppingmall.dto.response.notice.NoticeResponseDto;
+import jihong99.shoppingmall.dto.response.notice.UnreadNoticeCountResponseDto;
 import jihong99.shoppingmall.dto.response.shared.PaginatedResponseDto;
 import jihong99.shoppingmall.dto.response.shared.ResponseDto;
+import jihong99.shoppingmall.exception.InvalidOperationException;
 import jihong99.shoppingmall.exception.NotFoundException;
 import jihong99.shoppingmall.service.INoticeService;
 import jihong99.shoppingmall.utils.annotation.HasId;
@@ -22,6 +25,7 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import static jihong99.shoppingmall.constants.Constants.*;
 
@@ -69,6 +73,8 @@ public class NoticeController {
      * Response Code: 200
      * @throws TypeMismatchException Method argument (path variable or query parameter) cannot be converted to the expected type
      * Response Code: 400
+     * @throws InvalidOperationException Notice already assigned to the user
+     * Response Code: 400
      * @throws AccessDeniedException           Thrown if the user does not have ADMIN role
      *                                         Response Code: 403
      * @throws NotFoundException Notice or user not found
@@ -156,12 +162,15 @@ public class NoticeController {
     /**
      * Deletes a notice.
      *
-     * <p>This endpoint allows an admin to delete an existing notice. The notice ID must be specified in the path.</p>
+     * <p>This endpoint allows an admin to delete an existing notice. The notice ID must be specified in the path.
+     * A notice posted to very many users is deleted in the background.</p>
      *
      * @param noticeId the ID of the notice to be deleted
      * @return ResponseEntity<ResponseDto> Response object containing the result of the notice deletion
      * @success Notice successfully deleted
      * Response Code: 200
+     * @success Notice deletion started in the background
+     * Response Code: 202
      * @throws TypeMismatchException Method argument (path variable or query parameter) cannot be converted to the expected type
      * Response Code: 400
      * @throws AccessDeniedException           Thrown if the user does not have ADMIN role
@@ -176,7 +185,11 @@ public class NoticeController {
     public ResponseEntity<ResponseDto> deleteNotice(
             @PathVariable Long noticeId
     ) {
-        inoticeService.deleteNotice(noticeId);
+        if (inoticeService.deleteNotice(noticeId)) {
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(new ResponseDto(STATUS_202, MESSAGE_202_DeleteNoticeStarted));
+        }
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .body(new ResponseDto(STATUS_200, MESSAGE_200_DeleteNoticeSuccess));
@@ -186,12 +199,13 @@ public class NoticeController {
      * Notifies users about stock alerts.
      *
      * <p>This endpoint allows an admin to notify users about stock alerts for a specific item.
-     * The item ID must be specified in the path.</p>
+     * The item ID must be specified in the path. The users are notified by a background job whose progress can be
+     * followed through the job endpoints.</p>
      *
      * @param itemId the ID of the item
-     * @return ResponseEntity<ResponseDto> Response object containing the result of the notification
-     * @success Users successfully notified about stock alerts
-     * Response Code: 200
+     * @return ResponseEntity<BackgroundJobResponseDto> Response object containing the job notifying the users
+     * @success Notification of users started
+     * Response Code: 202
      * @throws TypeMismatchException Method argument (path variable or query parameter) cannot be converted to the expected type
      * Response Code: 400
      * @throws AccessDeniedException           Thrown if the user does not have ADMIN role
@@ -203,25 +217,26 @@ public class NoticeController {
      */
     @PostMapping("/admin/notices/items/{itemId}/notify-stock-alert")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ResponseDto> notifyStockAlertToUsers(
+    public ResponseEntity<BackgroundJobResponseDto> notifyStockAlertToUsers(
             @PathVariable Long itemId
     ) {
-        inoticeService.notifyStockAlertToUsers(itemId);
+        BackgroundJobResponseDto job = inoticeService.notifyStockAlertToUsers(itemId);
         return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(new ResponseDto(STATUS_200, MESSAGE_200_NotifyUsersSuccess));
+                .status(HttpStatus.ACCEPTED)
+                .body(job);
     }
 
     /**
      * Notifies users if cart items are invalidated.
      *
      * <p>This endpoint allows an admin to notify users if their cart items are invalidated due to stock issues.
-     * The item ID must be specified in the path.</p>
+     * The item ID must be specified in the path. The users are notified by a background job whose progress can be
+     * followed through the job endpoints.</p>
      *
      * @param itemId the ID of the item
-     * @return ResponseEntity<ResponseDto> Response object containing the result of the notification
-     * @success Users successfully notified about cart item invalidation
-     * Response Code: 200
+     * @return ResponseEntity<BackgroundJobResponseDto> Response object containing the job notifying the users
+     * @success Notification of users started
+     * Response Code: 202
      * @throws TypeMismatchException Method argument (path variable or query parameter) cannot be converted to the expected type
      * Response Code: 400
      * @throws AccessDeniedException           Thrown if the user does not have ADMIN role
@@ -233,20 +248,20 @@ public class NoticeController {
      */
     @PostMapping("/admin/notices/items/{itemId}/notify-cart-item-invalidation")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ResponseDto> notifyCartItemInvalidationToUsers(
+    public ResponseEntity<BackgroundJobResponseDto> notifyCartItemInvalidationToUsers(
             @PathVariable Long itemId
     ) {
-        inoticeService.notifyCartItemInvalidationToUsers(itemId);
+        BackgroundJobResponseDto job = inoticeService.notifyCartItemInvalidationToUsers(itemId);
         return ResponseEntity
-                .status(HttpStatus.OK)
-                .body(new ResponseDto(STATUS_200, MESSAGE_200_NotifyUsersSuccess));
+                .status(HttpStatus.ACCEPTED)
+                .body(job);
     }
 
     /**
      * Retrieves a paginated list of all notices for a specific user.
      *
-     * <p>This endpoint allows users to retrieve a list of notices assigned to them with pagination support.
-     * The user ID and pagination parameters (page, size) must be specified.</p>
+     * <p>This endpoint allows users to retrieve a list of notices assigned to them, together with notices posted to
+     * all users, with pagination support. The user ID and pagination parameters (page, size) must be specified.</p>
      *
      * @param userId The ID of the user whose notices are being retrieved
      * @param page The page number to retrieve (optional, default is 0)
@@ -277,6 +292,89 @@ public class NoticeController {
                 .body(response);
     }
 
+    /**
+     * Marks all notices of a user as seen.
+     *
+     * <p>This endpoint allows users to mark every notice delivered to them so far, targeted or posted to all users,
+     * as seen.</p>
+     *
+     * @param userId The ID of the user
+     * @return ResponseEntity<ResponseDto> Response object containing the result of the operation
+     * Response Code: 200
+     * @throws TypeMismatchException Invalid path variable types
+     * Response Code: 400
+     * @throws AccessDeniedException Unauthorized access
+     * Response Code: 403
+     * @throws Exception Internal server error
+     * Response Code: 500
+     */
+    @HasId
+    @PostMapping("/users/{userId}/notices/seen")
+    public ResponseEntity<ResponseDto> markNoticesAsSeen(
+            @PathVariable Long userId
+    ){
+        inoticeService.markNoticesAsSeen(userId);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(STATUS_200, MESSAGE_200_NoticesSeen));
+    }
+
+    /**
+     * Opens a stream of the notices delivered to a user.
+     *
+     * <p>This endpoint allows users to receive notices as Server-Sent Events instead of polling for them. The stream
+     * starts with a {@code connected} event, after which the client should load its notices once; every notice
+     * delivered afterwards is sent as a {@code notice} event, and a heartbeat comment is sent while the stream is
+     * idle. The stream is closed after {@code notice.stream.timeout-ms} or if the client falls behind, and the
+     * client reconnects.</p>
+     *
+     * @param userId The ID of the user
+     * @return SseEmitter streaming the user's notices
+     * Response Code: 200
+     * @throws TypeMismatchException Invalid path variable types
+     * Response Code: 400
+     * @throws AccessDeniedException Unauthorized access
+     * Response Code: 403
+     * @throws Exception Internal server error
+     * Response Code: 500
+     */
+    @HasId
+    @GetMapping(path = "/users/{userId}/notices/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotices(
+            @PathVariable Long userId
+    ){
+        return inoticeService.subscribeToNotices(userId);
+    }
+
+    /**
+     * Retrieves the number of unread notices of a user.
+     *
+     * <p>This endpoint allows users to retrieve the number of notices they have not read yet, such as for an
+     * unread badge. The count is served from an in-memory cache and may lag behind by a few seconds.</p>
+     *
+     * @param userId The ID of the user
+     * @return UnreadNoticeCountResponseDto containing the number of unread notices
+     * Response Code: 200
+     * @throws TypeMismatchException Invalid path variable types
+     * Response Code: 400
+     * @throws AccessDeniedException Unauthorized access
+     * Response Code: 403
+     * @throws NotFoundException User not found
+     * Response Code: 404
+     * @throws Exception Internal server error
+     * Response Code: 500
+     */
+    @HasId
+    @GetMapping("/users/{userId}/notices/unread-count")
+    public ResponseEntity<UnreadNoticeCountResponseDto> getUnreadNoticeCount(
+            @PathVariable Long userId
+    ){
+        UnreadNoticeCountResponseDto unreadNoticeCount = inoticeService.getUnreadNoticeCount(userId);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(unreadNoticeCount);
+    }
+
     /**
      * Retrieves the details of a specific notice for a user.
      *
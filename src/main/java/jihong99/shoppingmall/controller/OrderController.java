@@ -1,20 +1,39 @@
 package jihong99.shoppingmall.controller;
 
+import jakarta.validation.Valid;
+import jihong99.shoppingmall.dto.request.order.CheckoutRequestDto;
+import jihong99.shoppingmall.dto.request.order.OrderStatusRequestDto;
 import jihong99.shoppingmall.dto.response.order.OrderDetailsResponseDto;
+import jihong99.shoppingmall.dto.response.order.OrderHistoryResponseDto;
+import jihong99.shoppingmall.dto.response.order.OutboxMetricsResponseDto;
 import jihong99.shoppingmall.dto.response.shared.PaginatedResponseDto;
+import jihong99.shoppingmall.dto.response.shared.ResponseDto;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import jihong99.shoppingmall.exception.InvalidOperationException;
 import jihong99.shoppingmall.exception.NotFoundException;
 import jihong99.shoppingmall.service.IOrderService;
+import jihong99.shoppingmall.service.OrderOutboxRelay;
+import jihong99.shoppingmall.utils.annotation.HasId;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.TypeMismatchException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static jihong99.shoppingmall.constants.Constants.*;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,6 +41,7 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final IOrderService iorderService;
+    private final OrderOutboxRelay orderOutboxRelay;
 
 
     /**
@@ -61,4 +81,184 @@ public class OrderController {
                 .body(response);
     }
 
+    /**
+     * Checks out the user's cart and creates an order.
+     *
+     * <p>This endpoint converts the user's cart into an order in a single transaction. The request must
+     * carry an `Idempotency-Key` header; retrying with the same key returns the order created by the
+     * first attempt instead of placing a new one.</p>
+     *
+     * @param userId The ID of the user
+     * @param idempotencyKey The client-supplied key identifying this checkout attempt
+     * @param checkoutRequestDto DTO containing the delivery address for the order
+     * @return ResponseEntity<OrderDetailsResponseDto> Response object containing the created order
+     * @success Order successfully created
+     * Response Code: 201
+     * @throws MethodArgumentNotValidException Thrown if validation for the request body fails
+     * Response Code: 400
+     * @throws TypeMismatchException Thrown if method argument (path variable) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws InvalidOperationException Thrown if the cart is empty, stock is unavailable, the coupon cannot be used or the idempotency key is invalid
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have the required permissions
+     * Response Code: 403
+     * @throws NotFoundException Thrown if the user or delivery address is not found
+     * Response Code: 404
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @PostMapping("/users/{userId}/orders/checkout")
+    @HasId
+    public ResponseEntity<OrderDetailsResponseDto> checkout(
+            @PathVariable Long userId,
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
+            @RequestBody @Valid CheckoutRequestDto checkoutRequestDto
+    ) {
+        OrderDetailsResponseDto orderDetails = iorderService.checkout(userId, idempotencyKey, checkoutRequestDto);
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(orderDetails);
+    }
+
+    /**
+     * Retrieves the user's order history.
+     *
+     * <p>This endpoint returns the user's orders newest first using keyset pagination. To fetch the next
+     * page, pass the `nextCursorDate` and `nextCursorId` values from the previous response. Orders can be
+     * filtered by status and by an inclusive order-date range.</p>
+     *
+     * @param userId The ID of the user
+     * @param status The order status to filter by (optional)
+     * @param from The earliest order date to include, in ISO format (optional)
+     * @param to The latest order date to include, in ISO format (optional)
+     * @param cursorDate The order date of the last order of the previous page (optional)
+     * @param cursorId The ID of the last order of the previous page (optional)
+     * @param size The number of orders to retrieve (optional, default is 20, at most 100)
+     * @return ResponseEntity<OrderHistoryResponseDto> Response object containing the orders and the next cursor
+     * @success Valid response containing the user's orders
+     * Response Code: 200
+     * @throws TypeMismatchException Thrown if method argument (path variable or query parameter) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws InvalidOperationException Thrown if the page size, date range or cursor is invalid
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have the required permissions
+     * Response Code: 403
+     * @throws NotFoundException Thrown if the user is not found
+     * Response Code: 404
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @GetMapping("/users/{userId}/orders")
+    @HasId
+    public ResponseEntity<OrderHistoryResponseDto> getOrderHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate cursorDate,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        OrderHistoryResponseDto orderHistory = iorderService.getUserOrderHistory(userId, status, from, to, cursorDate, cursorId, size);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(orderHistory);
+    }
+
+    /**
+     * Updates the status of an order.
+     *
+     * <p>This endpoint allows an admin to change the status of an order. The transition is recorded in the
+     * order outbox and relayed to subscribers (e.g., stock is restored when an order is cancelled).</p>
+     *
+     * @param orderId The ID of the order
+     * @param orderStatusRequestDto DTO containing the new status
+     * @return ResponseEntity<ResponseDto> Response object containing the result of the status update
+     * @success Order status successfully updated
+     * Response Code: 200
+     * @throws MethodArgumentNotValidException Thrown if validation for the request body fails
+     * Response Code: 400
+     * @throws TypeMismatchException Thrown if method argument (path variable) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws InvalidOperationException Thrown if the order cannot move to the requested status
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have ADMIN role
+     * Response Code: 403
+     * @throws NotFoundException Thrown if the order is not found
+     * Response Code: 404
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @PatchMapping("/admin/orders/{orderId}/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDto> updateOrderStatus(
+            @PathVariable Long orderId,
+            @RequestBody @Valid OrderStatusRequestDto orderStatusRequestDto
+    ) {
+        iorderService.updateOrderStatus(orderId, orderStatusRequestDto);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(new ResponseDto(STATUS_200, MESSAGE_200_UpdateOrderStatusSuccess));
+    }
+
+    /**
+     * Exports orders as CSV.
+     *
+     * <p>This endpoint allows an admin to download every order in an inclusive order-date range, optionally
+     * filtered by status, as a single CSV file. Rows are streamed to the client as they are read, so the
+     * export does not need to be paged.</p>
+     *
+     * @param status The order status to filter by (optional)
+     * @param from The earliest order date to include, in ISO format (optional)
+     * @param to The latest order date to include, in ISO format (optional)
+     * @return ResponseEntity<StreamingResponseBody> Response object streaming the orders as CSV
+     * @success Valid response streaming the orders
+     * Response Code: 200
+     * @throws TypeMismatchException Thrown if method argument (query parameter) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws InvalidOperationException Thrown if the date range is invalid
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have ADMIN role
+     * Response Code: 403
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @GetMapping(path = "/admin/orders/export", produces = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        StreamingResponseBody body = iorderService.exportOrdersAsCsv(status, from, to);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
+    /**
+     * Retrieves the delivery metrics of the order outbox.
+     *
+     * <p>This endpoint allows an admin to inspect how far the outbox relay is behind: the number of pending
+     * events, the number of events that ran out of delivery attempts, the age of the oldest pending event
+     * and the delivery lag of recently relayed events.</p>
+     *
+     * @return ResponseEntity<OutboxMetricsResponseDto> Response object containing the outbox metrics
+     * @success Valid response containing the outbox metrics
+     * Response Code: 200
+     * @throws AccessDeniedException Thrown if the user does not have ADMIN role
+     * Response Code: 403
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @GetMapping("/admin/orders/outbox/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OutboxMetricsResponseDto> getOutboxMetrics() {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(orderOutboxRelay.getMetrics());
+    }
+
 }
@@ -0,0 +1,93 @@
+package jihong99.shoppingmall.controller;
+
+import jakarta.validation.Valid;
+import jihong99.shoppingmall.dto.request.payment.PaymentRequestDto;
+import jihong99.shoppingmall.dto.response.payment.PaymentResponseDto;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.exception.NotFoundException;
+import jihong99.shoppingmall.service.IPaymentService;
+import jihong99.shoppingmall.utils.annotation.HasId;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.TypeMismatchException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/api", produces = MediaType.APPLICATION_JSON_VALUE)
+public class PaymentController {
+
+    private final IPaymentService iPaymentService;
+
+    /**
+     * Requests payment of an order.
+     *
+     * <p>This endpoint records a pending payment and sends it to the payment gateway in the background.
+     * Poll the payment of the order to see whether it was approved. Repeating the request while the
+     * payment is pending or approved returns the same payment.</p>
+     *
+     * @param userId The ID of the user
+     * @param orderId The ID of the order
+     * @param paymentRequestDto DTO containing the payment method
+     * @return ResponseEntity<PaymentResponseDto> Response object containing the payment
+     * @success Payment accepted for processing
+     * Response Code: 202
+     * @throws MethodArgumentNotValidException Thrown if validation for the request body fails
+     * Response Code: 400
+     * @throws TypeMismatchException Thrown if method argument (path variable) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws InvalidOperationException Thrown if the order cannot be paid
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have the required permissions
+     * Response Code: 403
+     * @throws NotFoundException Thrown if the order is not found
+     * Response Code: 404
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @PostMapping("/users/{userId}/orders/{orderId}/payments")
+    @HasId
+    public ResponseEntity<PaymentResponseDto> requestPayment(
+            @PathVariable Long userId,
+            @PathVariable Long orderId,
+            @RequestBody @Valid PaymentRequestDto paymentRequestDto
+    ) {
+        PaymentResponseDto payment = iPaymentService.requestPayment(userId, orderId, paymentRequestDto);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(payment);
+    }
+
+    /**
+     * Retrieves the payment of an order.
+     *
+     * @param userId The ID of the user
+     * @param orderId The ID of the order
+     * @return ResponseEntity<PaymentResponseDto> Response object containing the payment
+     * @success Valid response containing the payment
+     * Response Code: 200
+     * @throws TypeMismatchException Thrown if method argument (path variable) cannot be converted to the expected type
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have the required permissions
+     * Response Code: 403
+     * @throws NotFoundException Thrown if the order or its payment is not found
+     * Response Code: 404
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @GetMapping("/users/{userId}/orders/{orderId}/payment")
+    @HasId
+    public ResponseEntity<PaymentResponseDto> getPayment(
+            @PathVariable Long userId,
+            @PathVariable Long orderId
+    ) {
+        PaymentResponseDto payment = iPaymentService.getPayment(userId, orderId);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(payment);
+    }
+}
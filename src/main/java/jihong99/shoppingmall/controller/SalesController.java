@@ -0,0 +1,137 @@
+package jihong99.shoppingmall.controller;
+
+import jihong99.shoppingmall.dto.response.sales.DailySalesResponseDto;
+import jihong99.shoppingmall.dto.response.sales.DimensionSalesResponseDto;
+import jihong99.shoppingmall.dto.response.shared.PaginatedResponseDto;
+import jihong99.shoppingmall.dto.response.shared.ResponseDto;
+import jihong99.shoppingmall.entity.enums.SalesDimension;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.service.ISalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.TypeMismatchException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static jihong99.shoppingmall.constants.Constants.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/api", produces = MediaType.APPLICATION_JSON_VALUE)
+public class SalesController {
+
+    private final ISalesRollupService isalesRollupService;
+
+    /**
+     * Retrieves daily sales totals.
+     *
+     * <p>This endpoint allows an admin to retrieve gross and net revenue, order count and units sold per day
+     * for an inclusive date range of at most 366 days. The values are served from the daily sales rollups.</p>
+     *
+     * @param from The first day of the range, in ISO format
+     * @param to The last day of the range, in ISO format
+     * @return ResponseEntity<List<DailySalesResponseDto>> Response object containing one entry per day with orders
+     * @success Valid response containing the daily sales
+     * Response Code: 200
+     * @throws TypeMismatchException Thrown if a query parameter cannot be converted to the expected type
+     * Response Code: 400
+     * @throws InvalidOperationException Thrown if the date range is invalid or too long
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have ADMIN role
+     * Response Code: 403
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @GetMapping("/admin/sales/daily")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<DailySalesResponseDto>> getDailySales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        List<DailySalesResponseDto> dailySales = isalesRollupService.getDailySales(from, to);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(dailySales);
+    }
+
+    /**
+     * Retrieves the sales of a day per item or per category.
+     *
+     * <p>This endpoint allows an admin to retrieve the gross and net revenue, order count and units sold of
+     * a single day for each item or category, highest net revenue first. Net revenue spreads each order's
+     * coupon discount over its lines in proportion to their totals.</p>
+     *
+     * @param date The day, in ISO format
+     * @param dimension ITEM or CATEGORY
+     * @param page The page number to retrieve (optional, default is 0)
+     * @param size The number of entries to retrieve per page (optional, default is 10)
+     * @return ResponseEntity<PaginatedResponseDto<DimensionSalesResponseDto>> Response object containing the paginated sales
+     * @success Valid response containing the sales per item or category
+     * Response Code: 200
+     * @throws TypeMismatchException Thrown if a query parameter cannot be converted to the expected type
+     * Response Code: 400
+     * @throws InvalidOperationException Thrown if the dimension is TOTAL
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have ADMIN role
+     * Response Code: 403
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @GetMapping("/admin/sales/daily/{date}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PaginatedResponseDto<DimensionSalesResponseDto>> getDimensionSales(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam SalesDimension dimension,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        Pageable pageable = PageRequest.of(page, size);
+        Page<DimensionSalesResponseDto> sales = isalesRollupService.getDimensionSales(date, dimension, pageable);
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(PaginatedResponseDto.of(sales));
+    }
+
+    /**
+     * Rebuilds the daily sales rollups of a date range.
+     *
+     * <p>This endpoint allows an admin to start a background job that deletes the rollups of an inclusive
+     * date range and re-aggregates the processed orders of that range in chunks. Only one backfill runs
+     * at a time, and only dates before today can be rebuilt, since today's orders are still changing.</p>
+     *
+     * @param from The first day to rebuild, in ISO format
+     * @param to The last day to rebuild, in ISO format
+     * @return ResponseEntity<ResponseDto> Response object indicating that the backfill started
+     * @success Backfill started
+     * Response Code: 202
+     * @throws TypeMismatchException Thrown if a query parameter cannot be converted to the expected type
+     * Response Code: 400
+     * @throws InvalidOperationException Thrown if the date range is invalid, reaches today or a backfill is already running
+     * Response Code: 400
+     * @throws AccessDeniedException Thrown if the user does not have ADMIN role
+     * Response Code: 403
+     * @throws Exception Internal server error occurred
+     * Response Code: 500
+     */
+    @PostMapping("/admin/sales/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ResponseDto> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        isalesRollupService.startBackfill(from, to);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(new ResponseDto(STATUS_202, MESSAGE_202_BackfillStarted));
+    }
+}
@@ -0,0 +1,17 @@
+package jihong99.shoppingmall.dto.request.cart;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CartBatchRequestDto {
+    @NotEmpty(message = "Operations cannot be empty.")
+    @Size(max = 100, message = "A batch can contain at most 100 operations.")
+    private List<@Valid CartOperationRequestDto> operations;
+}
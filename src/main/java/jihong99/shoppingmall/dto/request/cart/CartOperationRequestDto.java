@@ -0,0 +1,20 @@
+package jihong99.shoppingmall.dto.request.cart;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jihong99.shoppingmall.entity.enums.CartOperationType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CartOperationRequestDto {
+    @NotNull(message = "Operation type is a required field.")
+    private CartOperationType type;
+
+    @NotNull(message = "Item ID is a required field.")
+    private Long itemId;
+
+    @Min(value = 1, message = "Quantity must be greater than or equal to 1.")
+    private Integer quantity;
+}
@@ -21,4 +21,11 @@ public class CouponRequestDto {
     @NotNull(message = "Expiration date is a required field.")
     @Future(message = "Expiration date must be in the future.")
     private LocalDate expirationDate;
+
+    @Min(value = 1, message = "Claim quota must be greater than or equal to 1.")
+    private Long claimQuota;
+
+    public CouponRequestDto(DiscountType discountType, Long discountValue, LocalDate expirationDate) {
+        this(discountType, discountValue, expirationDate, null);
+    }
 }
@@ -0,0 +1,12 @@
+package jihong99.shoppingmall.dto.request.order;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CheckoutRequestDto {
+    @NotNull(message = "Delivery address ID is a required field.")
+    private Long deliveryAddressId;
+}
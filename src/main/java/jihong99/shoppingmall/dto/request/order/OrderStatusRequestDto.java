@@ -0,0 +1,13 @@
+package jihong99.shoppingmall.dto.request.order;
+
+import jakarta.validation.constraints.NotNull;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderStatusRequestDto {
+    @NotNull(message = "Order status is a required field.")
+    private OrderStatus orderStatus;
+}
@@ -0,0 +1,13 @@
+package jihong99.shoppingmall.dto.request.payment;
+
+import jakarta.validation.constraints.NotNull;
+import jihong99.shoppingmall.entity.enums.PaymentMethod;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PaymentRequestDto {
+    @NotNull(message = "Payment method is a required field.")
+    private PaymentMethod method;
+}
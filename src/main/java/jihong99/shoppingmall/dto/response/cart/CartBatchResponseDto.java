@@ -0,0 +1,33 @@
+package jihong99.shoppingmall.dto.response.cart;
+
+import jihong99.shoppingmall.entity.enums.CartOperationType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CartBatchResponseDto {
+    private List<OperationResultDto> results;
+    private Long originalTotalPrice;
+    private Long estimatedTotalPrice;
+
+    @Getter
+    @AllArgsConstructor
+    public static class OperationResultDto {
+        private Integer index;
+        private CartOperationType type;
+        private Long itemId;
+        private Boolean success;
+        private String message;
+
+        public static OperationResultDto of(Integer index, CartOperationType type, Long itemId, Boolean success, String message) {
+            return new OperationResultDto(index, type, itemId, success, message);
+        }
+    }
+
+    public static CartBatchResponseDto of(List<OperationResultDto> results, Long originalTotalPrice, Long estimatedTotalPrice) {
+        return new CartBatchResponseDto(results, originalTotalPrice, estimatedTotalPrice);
+    }
+}
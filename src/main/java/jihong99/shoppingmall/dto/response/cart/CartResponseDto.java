@@ -0,0 +1,33 @@
+package jihong99.shoppingmall.dto.response.cart;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CartResponseDto {
+    private List<CartLineDto> items;
+    private Long appliedCouponId;
+    private Long originalTotalPrice;
+    private Long estimatedTotalPrice;
+
+    @Getter
+    @AllArgsConstructor
+    public static class CartLineDto {
+        private Long itemId;
+        private String name;
+        private Long price;
+        private Integer quantity;
+        private Long totalPrice;
+
+        public static CartLineDto of(Long itemId, String name, Long price, Integer quantity) {
+            return new CartLineDto(itemId, name, price, quantity, price * quantity);
+        }
+    }
+
+    public static CartResponseDto of(List<CartLineDto> items, Long appliedCouponId, Long originalTotalPrice, Long estimatedTotalPrice) {
+        return new CartResponseDto(items, appliedCouponId, originalTotalPrice, estimatedTotalPrice);
+    }
+}
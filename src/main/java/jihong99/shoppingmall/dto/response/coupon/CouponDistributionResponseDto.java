@@ -0,0 +1,32 @@
+package jihong99.shoppingmall.dto.response.coupon;
+
+import jihong99.shoppingmall.entity.CouponDistribution;
+import jihong99.shoppingmall.entity.enums.DistributionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class CouponDistributionResponseDto {
+    private Long couponId;
+    private DistributionStatus status;
+    private long totalUsers;
+    private long lastUserId;
+    private long insertedCount;
+    private LocalDateTime startedTime;
+    private LocalDateTime completedTime;
+
+    public static CouponDistributionResponseDto of(CouponDistribution distribution) {
+        return new CouponDistributionResponseDto(
+                distribution.getCouponId(),
+                distribution.getStatus(),
+                distribution.getTotalUsers(),
+                distribution.getLastUserId(),
+                distribution.getInsertedCount(),
+                distribution.getStartedTime(),
+                distribution.getCompletedTime()
+        );
+    }
+}
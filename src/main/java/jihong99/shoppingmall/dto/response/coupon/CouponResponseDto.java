@@ -15,10 +15,11 @@ public class CouponResponseDto {
     private DiscountType discountType;
     private Long discountValue;
     private LocalDate expirationDate;
+    private Long claimQuota;
     private Timestamp creationTime;
     private Timestamp lastModifiedTime;
 
-    public static CouponResponseDto of(Long id, String code, DiscountType discountType, Long discountValue, LocalDate expirationDate, Timestamp creationTime, Timestamp lastModifiedTime){
-        return new CouponResponseDto(id, code, discountType, discountValue, expirationDate, creationTime, lastModifiedTime);
+    public static CouponResponseDto of(Long id, String code, DiscountType discountType, Long discountValue, LocalDate expirationDate, Long claimQuota, Timestamp creationTime, Timestamp lastModifiedTime){
+        return new CouponResponseDto(id, code, discountType, discountValue, expirationDate, claimQuota, creationTime, lastModifiedTime);
     }
 }
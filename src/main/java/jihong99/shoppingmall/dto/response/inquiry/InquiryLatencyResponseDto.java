@@ -0,0 +1,23 @@
+package jihong99.shoppingmall.dto.response.inquiry;
+
+import jihong99.shoppingmall.entity.enums.InquiryMetric;
+import jihong99.shoppingmall.entity.enums.InquiryType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class InquiryLatencyResponseDto {
+    private InquiryType type;
+    private InquiryMetric metric;
+    private Long count;
+    private Long p50Ms;
+    private Long p90Ms;
+    private Long p95Ms;
+    private Long p99Ms;
+
+    public static InquiryLatencyResponseDto of(InquiryType type, InquiryMetric metric, Long count,
+                                               Long p50Ms, Long p90Ms, Long p95Ms, Long p99Ms) {
+        return new InquiryLatencyResponseDto(type, metric, count, p50Ms, p90Ms, p95Ms, p99Ms);
+    }
+}
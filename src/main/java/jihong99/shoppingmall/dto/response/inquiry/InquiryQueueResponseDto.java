@@ -0,0 +1,20 @@
+package jihong99.shoppingmall.dto.response.inquiry;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class InquiryQueueResponseDto {
+    private List<InquiryResponseDto> inquiries;
+    private Long totalElements;
+    private Boolean hasNext;
+    private Long nextCursorId;
+
+    public static InquiryQueueResponseDto of(List<InquiryResponseDto> inquiries, Long totalElements, Boolean hasNext) {
+        Long nextCursorId = hasNext ? inquiries.get(inquiries.size() - 1).getId() : null;
+        return new InquiryQueueResponseDto(inquiries, totalElements, hasNext, nextCursorId);
+    }
+}
@@ -0,0 +1,41 @@
+package jihong99.shoppingmall.dto.response.job;
+
+import jihong99.shoppingmall.entity.BackgroundJob;
+import jihong99.shoppingmall.entity.enums.JobStatus;
+import jihong99.shoppingmall.entity.enums.JobType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BackgroundJobResponseDto {
+    private Long id;
+    private JobType type;
+    private JobStatus status;
+    private Long targetId;
+    private Long referenceId;
+    private long lastProcessedId;
+    private long processedCount;
+    private boolean cancelRequested;
+    private String failureReason;
+    private LocalDateTime startedTime;
+    private LocalDateTime finishedTime;
+
+    public static BackgroundJobResponseDto of(BackgroundJob job) {
+        return new BackgroundJobResponseDto(
+                job.getId(),
+                job.getType(),
+                job.getStatus(),
+                job.getTargetId(),
+                job.getReferenceId(),
+                job.getLastProcessedId(),
+                job.getProcessedCount(),
+                job.isCancelRequested(),
+                job.getFailureReason(),
+                job.getStartedTime(),
+                job.getFinishedTime()
+        );
+    }
+}
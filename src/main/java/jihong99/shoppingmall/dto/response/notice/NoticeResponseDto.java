@@ -11,8 +11,9 @@ public class NoticeResponseDto {
     Long id;
     String title;
     LocalDate registrationDate;
+    Boolean seen;
 
-    public static NoticeResponseDto of(Long id, String title, LocalDate registrationDate){
-        return new NoticeResponseDto(id, title, registrationDate);
+    public static NoticeResponseDto of(Long id, String title, LocalDate registrationDate, Boolean seen){
+        return new NoticeResponseDto(id, title, registrationDate, seen);
     }
 }
@@ -0,0 +1,14 @@
+package jihong99.shoppingmall.dto.response.notice;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UnreadNoticeCountResponseDto {
+    Long unreadCount;
+
+    public static UnreadNoticeCountResponseDto of(Long unreadCount){
+        return new UnreadNoticeCountResponseDto(unreadCount);
+    }
+}
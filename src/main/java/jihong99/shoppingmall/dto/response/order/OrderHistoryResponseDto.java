@@ -0,0 +1,26 @@
+package jihong99.shoppingmall.dto.response.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class OrderHistoryResponseDto {
+    private List<OrderSummaryResponseDto> orders;
+    private Boolean hasNext;
+    private LocalDate nextCursorDate;
+    private Long nextCursorId;
+
+    public static OrderHistoryResponseDto of(List<OrderSummaryResponseDto> orders, Boolean hasNext) {
+        OrderSummaryResponseDto last = hasNext ? orders.get(orders.size() - 1) : null;
+        return new OrderHistoryResponseDto(
+                orders,
+                hasNext,
+                last != null ? last.getOrderDate() : null,
+                last != null ? last.getId() : null
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package jihong99.shoppingmall.dto.response.order;
+
+import jihong99.shoppingmall.entity.Orders;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class OrderSummaryResponseDto {
+    private Long id;
+    private String orderNumber;
+    private LocalDate orderDate;
+    private OrderStatus orderStatus;
+    private Long finalAmount;
+
+    public static OrderSummaryResponseDto of(Orders order) {
+        return new OrderSummaryResponseDto(
+                order.getId(),
+                order.getOrderNumber(),
+                order.getOrderDate(),
+                order.getOrderStatus(),
+                order.getFinalAmount()
+        );
+    }
+}
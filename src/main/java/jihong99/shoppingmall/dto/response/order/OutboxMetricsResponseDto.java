@@ -0,0 +1,17 @@
+package jihong99.shoppingmall.dto.response.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OutboxMetricsResponseDto {
+    private Long pendingCount;
+    private Long failedEntryCount;
+    private Long oldestPendingAgeMs;
+    private Long deliveredCount;
+    private Long failedCount;
+    private Long lastDeliveryLagMs;
+    private Long maxDeliveryLagMs;
+    private Long lastRelayTimeMs;
+}
@@ -0,0 +1,33 @@
+package jihong99.shoppingmall.dto.response.payment;
+
+import jihong99.shoppingmall.entity.Payment;
+import jihong99.shoppingmall.entity.enums.PaymentMethod;
+import jihong99.shoppingmall.entity.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class PaymentResponseDto {
+    private Long id;
+    private Long orderId;
+    private PaymentMethod method;
+    private Long amount;
+    private PaymentStatus status;
+    private LocalDateTime paymentDate;
+    private String failureReason;
+
+    public static PaymentResponseDto of(Payment payment, Long orderId) {
+        return new PaymentResponseDto(
+                payment.getId(),
+                orderId,
+                payment.getMethod(),
+                payment.getAmount(),
+                payment.getStatus(),
+                payment.getPaymentDate(),
+                payment.getFailureReason()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package jihong99.shoppingmall.dto.response.sales;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class DailySalesResponseDto {
+    private LocalDate salesDate;
+    private Long grossRevenue;
+    private Long netRevenue;
+    private Long orderCount;
+    private Long units;
+}
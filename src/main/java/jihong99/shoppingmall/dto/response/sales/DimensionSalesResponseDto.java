@@ -0,0 +1,29 @@
+package jihong99.shoppingmall.dto.response.sales;
+
+import jihong99.shoppingmall.entity.SalesRollup;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class DimensionSalesResponseDto {
+    private LocalDate salesDate;
+    private Long id;
+    private Long grossRevenue;
+    private Long netRevenue;
+    private Long orderCount;
+    private Long units;
+
+    public static DimensionSalesResponseDto of(SalesRollup salesRollup) {
+        return new DimensionSalesResponseDto(
+                salesRollup.getSalesDate(),
+                salesRollup.getDimensionId(),
+                salesRollup.getGrossRevenue(),
+                salesRollup.getNetRevenue(),
+                salesRollup.getOrderCount(),
+                salesRollup.getUnits()
+        );
+    }
+}
@@ -0,0 +1,185 @@
+package jihong99.shoppingmall.entity;
+
+import jakarta.persistence.*;
+import jihong99.shoppingmall.entity.base.BaseEntity;
+import jihong99.shoppingmall.entity.enums.JobStatus;
+import jihong99.shoppingmall.entity.enums.JobType;
+import lombok.*;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a long-running job processed in the background in chunks.
+ *
+ * <p>A job walks its input in ascending ID order. The ID of the last element of the last committed chunk
+ * is stored with the chunk, so an interrupted job resumes right after it.</p>
+ */
+@Table(
+        name = "background_job",
+        indexes = {
+                @Index(name = "idx_background_job_status", columnList = "status")
+        }
+)
+@Entity
+@Getter @Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class BackgroundJob extends BaseEntity {
+
+    /**
+     * Unique identifier for the job.
+     */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "background_job_id")
+    private Long id;
+
+    /**
+     * The kind of work the job does.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobType type;
+
+    /**
+     * The status of the job.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status;
+
+    /**
+     * The ID of the entity whose related rows the job walks, such as an item.
+     */
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    /**
+     * The ID of the entity the job applies to each row, such as a notice.
+     */
+    @Column(name = "reference_id")
+    private Long referenceId;
+
+    /**
+     * The ID of the last element covered by a committed chunk.
+     */
+    @Column(name = "last_processed_id", nullable = false)
+    private long lastProcessedId;
+
+    /**
+     * The number of elements processed so far.
+     */
+    @Column(name = "processed_count", nullable = false)
+    private long processedCount;
+
+    /**
+     * Whether an admin asked for the job to stop.
+     */
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    /**
+     * Why the job failed.
+     */
+    @Column(name = "failure_reason")
+    private String failureReason;
+
+    /**
+     * The time the job started running.
+     */
+    @Column(name = "started_time")
+    private LocalDateTime startedTime;
+
+    /**
+     * The time the job completed, failed or was cancelled.
+     */
+    @Column(name = "finished_time")
+    private LocalDateTime finishedTime;
+
+    /**
+     * Creates a new pending job.
+     *
+     * @param type The kind of work the job does
+     * @param targetId The ID of the entity whose related rows the job walks
+     * @param referenceId The ID of the entity the job applies to each row
+     * @return A new BackgroundJob instance
+     */
+    public static BackgroundJob of(JobType type, Long targetId, Long referenceId) {
+        return BackgroundJob.builder()
+                .type(type)
+                .status(JobStatus.PENDING)
+                .targetId(targetId)
+                .referenceId(referenceId)
+                .lastProcessedId(0L)
+                .processedCount(0L)
+                .cancelRequested(false)
+                .build();
+    }
+
+    /**
+     * Returns whether the job has completed, failed or been cancelled.
+     */
+    public boolean isFinished() {
+        return status == JobStatus.COMPLETED || status == JobStatus.FAILED || status == JobStatus.CANCELLED;
+    }
+
+    /**
+     * Marks the job as running.
+     */
+    public void start() {
+        if (this.status == JobStatus.PENDING) {
+            this.status = JobStatus.RUNNING;
+            this.startedTime = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Records a committed chunk.
+     *
+     * @param lastProcessedId The ID of the last element covered by the chunk
+     * @param processed The number of elements processed in the chunk
+     */
+    public void advance(long lastProcessedId, int processed) {
+        this.lastProcessedId = lastProcessedId;
+        this.processedCount += processed;
+    }
+
+    /**
+     * Marks the job as completed.
+     */
+    public void complete() {
+        finish(JobStatus.COMPLETED);
+    }
+
+    /**
+     * Marks the job as cancelled; the chunks committed so far stay committed.
+     */
+    public void cancel() {
+        finish(JobStatus.CANCELLED);
+    }
+
+    /**
+     * Marks the job as failed.
+     *
+     * @param failureReason Why the job failed
+     */
+    public void fail(String failureReason) {
+        this.failureReason = failureReason;
+        finish(JobStatus.FAILED);
+    }
+
+    /**
+     * Puts a failed job back to pending, so it runs again from its last committed chunk.
+     */
+    public void retry() {
+        this.status = JobStatus.PENDING;
+        this.failureReason = null;
+        this.finishedTime = null;
+    }
+
+    private void finish(JobStatus status) {
+        this.status = status;
+        this.finishedTime = LocalDateTime.now();
+    }
+}
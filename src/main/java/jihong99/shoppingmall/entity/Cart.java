@@ -2,12 +2,12 @@ package jihong99.shoppingmall.entity;
 
 import jakarta.persistence.*;
 import jihong99.shoppingmall.entity.base.BaseEntity;
-import jihong99.shoppingmall.entity.enums.DiscountType;
 import lombok.*;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongUnaryOperator;
 
 /**
  * Represents a shopping cart.
@@ -43,7 +43,7 @@ public class Cart extends BaseEntity {
     /**
      * Coupon applied to the cart, if any.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "coupon_id")
     private Coupon appliedCoupon;
 
@@ -69,26 +69,16 @@ public class Cart extends BaseEntity {
         this.appliedCoupon = coupon;
     }
 
-    public void recalculateTotalPrices() {
+    /**
+     * Recalculates the original and estimated total prices from the cart items.
+     *
+     * @param couponDiscount returns the discount of the applied coupon for a given original total price
+     */
+    public void recalculateTotalPrices(LongUnaryOperator couponDiscount) {
         this.originalTotalPrice = cartItems.stream()
                 .mapToLong(cartItem -> cartItem.getPrice() * cartItem.getQuantity())
                 .sum();
-        this.estimatedTotalPrice = this.originalTotalPrice;
-
-        applyCouponDiscount();
-    }
-
-    private void applyCouponDiscount() {
-        if (this.appliedCoupon != null) {
-            if (this.appliedCoupon.getDiscountType() == DiscountType.PERCENTAGE) {
-                this.estimatedTotalPrice -= (this.originalTotalPrice * this.appliedCoupon.getDiscountValue()) / 100;
-            } else if (this.appliedCoupon.getDiscountType() == DiscountType.FIXED) {
-                this.estimatedTotalPrice -= this.appliedCoupon.getDiscountValue();
-            }
-            if (this.estimatedTotalPrice < 0) {
-                this.estimatedTotalPrice = 0L;
-            }
-        }
+        this.estimatedTotalPrice = this.originalTotalPrice - couponDiscount.applyAsLong(this.originalTotalPrice);
     }
 
     public void addCartItem(CartItem cartItem){
@@ -3,6 +3,7 @@ package jihong99.shoppingmall.entity;
 import jakarta.persistence.*;
 import jihong99.shoppingmall.entity.base.BaseEntity;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 /**
@@ -11,6 +12,18 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
  * <p>The CartItem entity stores information about a specific item in a user's shopping cart,
  * including the item itself, the associated cart, the quantity of the item, and its price.</p>
  */
+@Table(
+        name = "cart_item",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "UniqueCartAndItem",
+                        columnNames = {
+                                "cart_id",
+                                "item_id"
+                        }
+                )
+        }
+)
 @Entity
 @Getter @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -48,6 +61,14 @@ public class CartItem extends BaseEntity {
      */
     private Long price;
 
+    /**
+     * Sequence number of the last write-behind journal record applied to this line, or 0 if none.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(name = "journal_sequence", nullable = false)
+    private Long journalSequence = 0L;
+
     /**
      * Updates the quantity of the item in the cart.
      *
@@ -57,6 +78,23 @@ public class CartItem extends BaseEntity {
         this.quantity = quantity;
     }
 
+    /**
+     * Applies a quantity recorded in the write-behind journal, unless this line already holds
+     * the same or a newer record. Replaying a record more than once therefore has no effect.
+     *
+     * @param quantity the recorded quantity
+     * @param sequence the sequence number of the journal record
+     * @return true if the quantity was applied
+     */
+    public boolean applyJournaledQuantity(Integer quantity, long sequence) {
+        if (sequence <= this.journalSequence) {
+            return false;
+        }
+        this.quantity = quantity;
+        this.journalSequence = sequence;
+        return true;
+    }
+
     /**
      * Updates the price of the item in the cart.
      *
@@ -54,6 +54,12 @@ public class Coupon extends BaseEntity {
     @Column(name = "expiration_date")
     private LocalDate expirationDate;
 
+    /**
+     * Number of users who can claim the coupon themselves, or null if the coupon can only be handed out by an admin.
+     */
+    @Column(name = "claim_quota")
+    private Long claimQuota;
+
     /**
      * Factory method to create a new Coupon instance.
      *
@@ -66,12 +72,26 @@ public class Coupon extends BaseEntity {
      * @return A new instance of the Coupon entity.
      */
     public static Coupon of(DiscountType discountType, Long discountValue, LocalDate expirationDate) {
+        return of(discountType, discountValue, expirationDate, null);
+    }
+
+    /**
+     * Factory method to create a new Coupon instance that users can claim until the quota runs out.
+     *
+     * @param discountType The type of discount the coupon provides.
+     * @param discountValue The value of the discount.
+     * @param expirationDate The expiration date of the coupon.
+     * @param claimQuota The number of users who can claim the coupon, or null if it cannot be claimed.
+     * @return A new instance of the Coupon entity.
+     */
+    public static Coupon of(DiscountType discountType, Long discountValue, LocalDate expirationDate, Long claimQuota) {
         String code = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + "-" + UUID.randomUUID().toString().substring(0, 8);
         return Coupon.builder()
                 .code(code)
                 .discountType(discountType)
                 .discountValue(discountValue)
                 .expirationDate(expirationDate)
+                .claimQuota(claimQuota)
                 .build();
     }
 
@@ -101,4 +121,34 @@ public class Coupon extends BaseEntity {
     public void updateExpirationDate(LocalDate expirationDate) {
         this.expirationDate = expirationDate;
     }
+
+    /**
+     * Calculates the discount this coupon grants on the given amount.
+     *
+     * <p>The discount never exceeds the amount itself.</p>
+     *
+     * @param amount The amount the coupon is applied to.
+     * @return The discount amount.
+     */
+    public Long calculateDiscountAmount(Long amount) {
+        return calculateDiscountAmount(this.discountType, this.discountValue, amount);
+    }
+
+    /**
+     * Calculates the discount a coupon with the given terms grants on the given amount.
+     *
+     * @param discountType The type of discount.
+     * @param discountValue The value of the discount.
+     * @param amount The amount the coupon is applied to.
+     * @return The discount amount, never more than the amount itself.
+     */
+    public static long calculateDiscountAmount(DiscountType discountType, Long discountValue, long amount) {
+        long discount = 0L;
+        if (discountType == DiscountType.PERCENTAGE) {
+            discount = (amount * discountValue) / 100;
+        } else if (discountType == DiscountType.FIXED) {
+            discount = discountValue;
+        }
+        return Math.min(discount, amount);
+    }
 }
@@ -0,0 +1,135 @@
+package jihong99.shoppingmall.entity;
+
+import jakarta.persistence.*;
+import jihong99.shoppingmall.entity.base.BaseEntity;
+import jihong99.shoppingmall.entity.enums.DistributionStatus;
+import lombok.*;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tracks the progress of distributing a coupon to all users.
+ *
+ * <p>Users are processed in ascending ID order in chunks. The ID of the last user of the last committed
+ * chunk is stored with the chunk, so an interrupted distribution resumes right after it.</p>
+ */
+@Table(name = "coupon_distribution")
+@Entity
+@Getter @Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class CouponDistribution extends BaseEntity {
+
+    /**
+     * Unique identifier for the distribution.
+     */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "coupon_distribution_id")
+    private Long id;
+
+    /**
+     * The ID of the coupon being distributed.
+     */
+    @Column(name = "coupon_id", nullable = false, unique = true)
+    private Long couponId;
+
+    /**
+     * The status of the distribution.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DistributionStatus status;
+
+    /**
+     * The number of users when the distribution started.
+     */
+    @Column(name = "total_users", nullable = false)
+    private long totalUsers;
+
+    /**
+     * The ID of the last user covered by a committed chunk.
+     */
+    @Column(name = "last_user_id", nullable = false)
+    private long lastUserId;
+
+    /**
+     * The number of coupons handed out so far; users who already held the coupon are not counted.
+     */
+    @Column(name = "inserted_count", nullable = false)
+    private long insertedCount;
+
+    /**
+     * The time the current run started.
+     */
+    @Column(name = "started_time", nullable = false)
+    private LocalDateTime startedTime;
+
+    /**
+     * The time the distribution completed.
+     */
+    @Column(name = "completed_time")
+    private LocalDateTime completedTime;
+
+    /**
+     * Creates a new distribution that starts from the first user.
+     *
+     * @param couponId The ID of the coupon being distributed
+     * @param totalUsers The number of users when the distribution started
+     * @return A new CouponDistribution instance
+     */
+    public static CouponDistribution of(Long couponId, long totalUsers) {
+        return CouponDistribution.builder()
+                .couponId(couponId)
+                .status(DistributionStatus.RUNNING)
+                .totalUsers(totalUsers)
+                .lastUserId(0L)
+                .insertedCount(0L)
+                .startedTime(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Starts the distribution again. A completed distribution starts over from the first user to reach
+     * users who signed up since; an interrupted one continues after the last committed chunk.
+     *
+     * @param totalUsers The current number of users
+     */
+    public void restart(long totalUsers) {
+        if (this.status == DistributionStatus.COMPLETED) {
+            this.lastUserId = 0L;
+            this.insertedCount = 0L;
+            this.completedTime = null;
+        }
+        this.status = DistributionStatus.RUNNING;
+        this.totalUsers = totalUsers;
+        this.startedTime = LocalDateTime.now();
+    }
+
+    /**
+     * Records a committed chunk.
+     *
+     * @param lastUserId The ID of the last user covered by the chunk
+     * @param inserted The number of coupons handed out in the chunk
+     */
+    public void advance(long lastUserId, int inserted) {
+        this.lastUserId = lastUserId;
+        this.insertedCount += inserted;
+    }
+
+    /**
+     * Marks the distribution as completed.
+     */
+    public void complete() {
+        this.status = DistributionStatus.COMPLETED;
+        this.completedTime = LocalDateTime.now();
+    }
+
+    /**
+     * Marks the distribution as failed; it can be resumed.
+     */
+    public void fail() {
+        this.status = DistributionStatus.FAILED;
+    }
+}
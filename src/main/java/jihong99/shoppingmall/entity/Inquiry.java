@@ -16,6 +16,13 @@ import static jihong99.shoppingmall.entity.enums.InquiryStatus.*;
 /**
  * Represents an inquiry made by a user regarding an item or general customer service.
  */
+@Table(
+        name = "inquiry",
+        indexes = {
+                @Index(name = "idx_inquiry_type_status_id", columnList = "inquiry_type, inquiry_status, inquiry_id"),
+                @Index(name = "idx_inquiry_type_id", columnList = "inquiry_type, inquiry_id")
+        }
+)
 @Entity
 @Getter
 @Builder
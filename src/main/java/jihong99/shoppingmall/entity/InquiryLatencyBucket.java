@@ -0,0 +1,65 @@
+package jihong99.shoppingmall.entity;
+
+import jakarta.persistence.*;
+import jihong99.shoppingmall.entity.enums.InquiryMetric;
+import jihong99.shoppingmall.entity.enums.InquiryType;
+import lombok.*;
+
+/**
+ * Represents one bucket of a persisted inquiry latency histogram.
+ *
+ * <p>Each node adds the samples it recorded since its last flush to these rows, so the rows hold the
+ * histograms of every node and survive restarts.</p>
+ */
+@Table(
+        name = "inquiry_latency_bucket",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "UniqueInquiryLatencyBucketKey",
+                        columnNames = {
+                                "inquiry_type",
+                                "metric",
+                                "bucket_index"
+                        }
+                )
+        }
+)
+@Entity
+@Getter @Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class InquiryLatencyBucket {
+
+    /**
+     * Unique identifier for the bucket row.
+     */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "inquiry_latency_bucket_id")
+    private Long id;
+
+    /**
+     * The type of inquiry the histogram measures.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "inquiry_type", nullable = false)
+    private InquiryType type;
+
+    /**
+     * The latency the histogram measures.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false)
+    private InquiryMetric metric;
+
+    /**
+     * The index of the bucket within the histogram.
+     */
+    @Column(name = "bucket_index", nullable = false)
+    private Integer bucketIndex;
+
+    /**
+     * Number of samples that fell into the bucket.
+     */
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount;
+}
@@ -6,6 +6,7 @@ import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.sql.Timestamp;
 import java.time.LocalDate;
 
 /**
@@ -13,7 +14,16 @@ import java.time.LocalDate;
  *
  * <p>The Notice entity stores information about notices that are shown to users.
  * It includes the title and content of the notice.</p>
+ *
+ * <p>A notice is delivered either to specific users through {@link UserNotice} rows, or to everyone as a
+ * broadcast. A broadcast notice is stored once and merged into each user's notices when they are read.</p>
  */
+@Table(
+        name = "notice",
+        indexes = {
+                @Index(name = "idx_notice_broadcast_time", columnList = "is_broadcast, broadcast_time")
+        }
+)
 @Entity
 @Getter
 @Builder
@@ -44,6 +54,18 @@ public class Notice extends BaseEntity {
     @Column(name = "registration_date")
     private LocalDate registrationDate;
 
+    /**
+     * Whether the notice is shown to every user.
+     */
+    @Column(name = "is_broadcast")
+    private Boolean isBroadcast;
+
+    /**
+     * Time the notice was posted to every user.
+     */
+    @Column(name = "broadcast_time")
+    private Timestamp broadcastTime;
+
     /**
      * Creates a new notice with the provided title and content.
      *
@@ -55,6 +77,7 @@ public class Notice extends BaseEntity {
         return Notice.builder()
                 .title(title)
                 .content(content)
+                .isBroadcast(false)
                 .build();
     }
 
@@ -76,4 +99,17 @@ public class Notice extends BaseEntity {
         this.content = content;
     }
 
+    /**
+     * Posts the notice to every user. Does nothing if the notice is already broadcast.
+     *
+     * @param broadcastTime The time the notice is posted.
+     */
+    public void broadcast(Timestamp broadcastTime) {
+        if (Boolean.TRUE.equals(this.isBroadcast)) {
+            return;
+        }
+        this.isBroadcast = true;
+        this.broadcastTime = broadcastTime;
+    }
+
 }
@@ -0,0 +1,51 @@
+package jihong99.shoppingmall.entity;
+
+import jakarta.persistence.*;
+import jihong99.shoppingmall.entity.base.BaseEntity;
+import lombok.*;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.sql.Timestamp;
+
+/**
+ * Represents how far a user has seen their notices.
+ *
+ * <p>Every notice delivered to the user at or before the watermark, targeted or broadcast, counts as seen,
+ * so read state does not need a row per user and broadcast notice.</p>
+ */
+@Table(name = "notice_watermark")
+@Entity
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class NoticeWatermark extends BaseEntity {
+
+    /**
+     * The ID of the user the watermark belongs to.
+     */
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Time up to which the user has seen their notices.
+     */
+    @Column(name = "last_seen_time", nullable = false)
+    private Timestamp lastSeenTime;
+
+    /**
+     * Creates a new watermark for a user.
+     *
+     * @param userId The ID of the user.
+     * @param lastSeenTime Time up to which the user has seen their notices.
+     * @return A new NoticeWatermark instance.
+     */
+    public static NoticeWatermark of(Long userId, Timestamp lastSeenTime) {
+        return NoticeWatermark.builder()
+                .userId(userId)
+                .lastSeenTime(lastSeenTime)
+                .build();
+    }
+}
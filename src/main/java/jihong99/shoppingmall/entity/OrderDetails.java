@@ -43,7 +43,7 @@ public class OrderDetails {
     /**
      * The coupon applied to this order detail.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "coupon_id")
     private Coupon appliedCoupon;
 
@@ -58,16 +58,18 @@ public class OrderDetails {
     private Long discount_amount;
 
     /**
-     * Creates a new OrderDetails instance with the provided delivery address, applied coupon, total amount, and discount amount.
+     * Creates a new OrderDetails instance with the provided order, delivery address, applied coupon, total amount, and discount amount.
      *
+     * @param orders          The order these details belong to.
      * @param deliveryAddress The delivery address for the order.
      * @param appliedCoupon   The coupon applied to the order.
      * @param totalAmount     The total amount before discounts.
      * @param discountAmount  The discount amount applied.
      * @return A new OrderDetails instance.
      */
-    public static OrderDetails of(DeliveryAddress deliveryAddress, Coupon appliedCoupon, Long totalAmount, Long discountAmount) {
+    public static OrderDetails of(Orders orders, DeliveryAddress deliveryAddress, Coupon appliedCoupon, Long totalAmount, Long discountAmount) {
         return OrderDetails.builder()
+                .orders(orders)
                 .deliveryAddress(deliveryAddress)
                 .appliedCoupon(appliedCoupon)
                 .total_amount(totalAmount)
@@ -35,7 +35,7 @@ public class OrderItem extends BaseEntity {
     /**
      * The item associated with this order item.
      */
-    @OneToOne(fetch = FetchType.LAZY)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
 
@@ -0,0 +1,118 @@
+package jihong99.shoppingmall.entity;
+
+import jakarta.persistence.*;
+import jihong99.shoppingmall.entity.base.BaseEntity;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import lombok.*;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.sql.Timestamp;
+
+/**
+ * Represents an order status transition waiting to be relayed to subscribers.
+ *
+ * <p>Rows are appended in the same transaction that changes the order's status, so a transition is
+ * recorded if and only if it is committed. The outbox relay delivers unpublished rows in ID order
+ * and then marks them as published. A row whose delivery fails is retried after a growing delay and
+ * marked as failed once it runs out of attempts. Published rows are deleted once they are older than the
+ * outbox retention; failed rows are kept.</p>
+ */
+@Table(
+        name = "order_outbox",
+        indexes = {
+                @Index(
+                        name = "idx_order_outbox_published_id",
+                        columnList = "published, order_outbox_id"
+                ),
+                @Index(
+                        name = "idx_order_outbox_published_time",
+                        columnList = "published, published_time"
+                )
+        }
+)
+@Entity
+@Getter @Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class OrderOutbox extends BaseEntity {
+
+    /**
+     * Unique identifier for the outbox entry. Also defines the delivery order.
+     */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "order_outbox_id")
+    private Long id;
+
+    /**
+     * The ID of the order whose status changed.
+     */
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    /**
+     * The ID of the user who placed the order.
+     */
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * The status before the transition, or null when the order was created.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private OrderStatus previousStatus;
+
+    /**
+     * The status after the transition.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_status", nullable = false)
+    private OrderStatus orderStatus;
+
+    /**
+     * Whether the entry has been delivered to every subscriber.
+     */
+    @Column(name = "published", nullable = false)
+    private boolean published;
+
+    /**
+     * When the entry was delivered to every subscriber.
+     */
+    @Column(name = "published_time")
+    private Timestamp publishedTime;
+
+    /**
+     * Number of failed delivery attempts.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * The earliest time the entry is delivered again after a failed attempt, or null if it has not failed.
+     */
+    @Column(name = "next_attempt_time")
+    private Timestamp nextAttemptTime;
+
+    /**
+     * Whether the entry ran out of delivery attempts. Failed entries are no longer relayed.
+     */
+    @Column(name = "failed", nullable = false)
+    private boolean failed;
+
+    /**
+     * Creates a new outbox entry for an order status transition.
+     *
+     * @param order The order whose status changed
+     * @param previousStatus The status before the transition, or null for a new order
+     * @return A new OrderOutbox instance
+     */
+    public static OrderOutbox of(Orders order, OrderStatus previousStatus) {
+        return OrderOutbox.builder()
+                .orderId(order.getId())
+                .userId(order.getUsers().getId())
+                .previousStatus(previousStatus)
+                .orderStatus(order.getOrderStatus())
+                .build();
+    }
+}
@@ -14,6 +14,24 @@ import java.time.LocalDate;
  * <p>The Orders entity stores information about a user's order,
  * including the order number, order date, status, and the final amount.</p>
  */
+@Table(
+        name = "orders",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "UniqueUserAndIdempotencyKey",
+                        columnNames = {
+                                "user_id",
+                                "idempotency_key"
+                        }
+                )
+        },
+        indexes = {
+                @Index(
+                        name = "idx_orders_user_date_id",
+                        columnList = "user_id, order_date, order_id, order_status"
+                )
+        }
+)
 @Entity
 @Getter @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -60,6 +78,26 @@ public class Orders extends BaseEntity {
     @Column(name = "final_amount")
     private Long finalAmount;
 
+    /**
+     * Client-supplied key identifying the checkout request that created this order.
+     * Retried requests with the same key resolve to this order instead of creating a new one.
+     */
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    /**
+     * Whether the stock reserved by this order has been returned after cancellation.
+     */
+    @Column(name = "stock_restored", nullable = false)
+    private boolean stockRestored;
+
+    /**
+     * The current payment of the order, or null if payment has not been requested.
+     */
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_id")
+    private Payment payment;
+
     /**
      * Creates a new order with the provided details.
      *
@@ -68,15 +106,17 @@ public class Orders extends BaseEntity {
      * @param orderDate The date when the order was placed
      * @param orderStatus The status of the order
      * @param finalAmount The final amount of the order
+     * @param idempotencyKey The idempotency key of the checkout request that created the order
      * @return A new Orders instance
      */
-    public static Orders of(String orderNumber, Users users, LocalDate orderDate, OrderStatus orderStatus, Long finalAmount) {
+    public static Orders of(String orderNumber, Users users, LocalDate orderDate, OrderStatus orderStatus, Long finalAmount, String idempotencyKey) {
         return Orders.builder()
                 .orderNumber(orderNumber)
                 .users(users)
                 .orderDate(orderDate)
                 .orderStatus(orderStatus)
                 .finalAmount(finalAmount)
+                .idempotencyKey(idempotencyKey)
                 .build();
     }
 
@@ -88,4 +128,13 @@ public class Orders extends BaseEntity {
     public void updateOrderStatus(OrderStatus orderStatus){
         this.orderStatus = orderStatus;
     }
+
+    /**
+     * Attaches a new payment to the order, replacing a failed one.
+     *
+     * @param payment The payment of the order
+     */
+    public void updatePayment(Payment payment){
+        this.payment = payment;
+    }
 }
@@ -0,0 +1,129 @@
+package jihong99.shoppingmall.entity;
+
+import jakarta.persistence.*;
+import jihong99.shoppingmall.entity.base.BaseEntity;
+import jihong99.shoppingmall.entity.enums.PaymentMethod;
+import jihong99.shoppingmall.entity.enums.PaymentStatus;
+import lombok.*;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a payment for an order.
+ *
+ * <p>A payment is created as PENDING and moves to APPROVED or FAILED once the payment gateway answers.
+ * The payment key is sent to the gateway with every attempt, so retrying a payment whose response was
+ * lost never charges the user twice.</p>
+ */
+@Table(
+        name = "payment",
+        indexes = {
+                @Index(
+                        name = "idx_payment_status_next_attempt",
+                        columnList = "status, next_attempt_time"
+                )
+        }
+)
+@Entity
+@Getter @Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class Payment extends BaseEntity {
+
+    /**
+     * Unique identifier for the payment.
+     */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "payment_id")
+    private Long id;
+
+    /**
+     * The user who pays.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private Users users;
+
+    /**
+     * The idempotency key sent to the payment gateway.
+     */
+    @Column(name = "payment_key", nullable = false, unique = true, length = 36)
+    private String paymentKey;
+
+    /**
+     * The payment method.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentMethod method;
+
+    /**
+     * The amount to be paid.
+     */
+    @Column(nullable = false)
+    private Long amount;
+
+    /**
+     * The status of the payment.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentStatus status;
+
+    /**
+     * The time the payment was requested, or the time it was approved or failed.
+     */
+    @Column(name = "payment_date", nullable = false)
+    private LocalDateTime paymentDate;
+
+    /**
+     * The number of gateway calls that failed without an answer.
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * The earliest time the payment may be sent to the gateway again.
+     */
+    @Column(name = "next_attempt_time")
+    private LocalDateTime nextAttemptTime;
+
+    /**
+     * The transaction ID assigned by the gateway to an approved payment.
+     */
+    @Column(name = "gateway_transaction_id", length = 64)
+    private String gatewayTransactionId;
+
+    /**
+     * The reason the payment failed.
+     */
+    @Column(name = "failure_reason")
+    private String failureReason;
+
+    /**
+     * Creates a new pending payment.
+     *
+     * @param users The user who pays
+     * @param paymentKey The idempotency key sent to the payment gateway
+     * @param method The payment method
+     * @param amount The amount to be paid
+     * @param requestTime The time the payment was requested
+     * @param nextAttemptTime The earliest time the payment may be picked up for a retry
+     * @return A new Payment instance
+     */
+    public static Payment of(Users users, String paymentKey, PaymentMethod method, Long amount,
+                             LocalDateTime requestTime, LocalDateTime nextAttemptTime) {
+        return Payment.builder()
+                .users(users)
+                .paymentKey(paymentKey)
+                .method(method)
+                .amount(amount)
+                .status(PaymentStatus.PENDING)
+                .paymentDate(requestTime)
+                .attempts(0)
+                .nextAttemptTime(nextAttemptTime)
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package jihong99.shoppingmall.entity;
+
+import jakarta.persistence.*;
+import jihong99.shoppingmall.entity.enums.SalesDimension;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Represents pre-aggregated sales for one day and one dimension value.
+ *
+ * <p>Rows are maintained incrementally when orders are created or cancelled, so admin sales reports
+ * never aggregate ORDERS or ORDER_ITEM. The TOTAL dimension is spread over several slots (chosen by
+ * order ID) so concurrent checkouts on the same day do not all update one row; readers sum the slots.
+ * ITEM and CATEGORY rows always use slot 0. Every row holds both the gross and the net revenue, so the
+ * dimensions can be compared on either basis.</p>
+ */
+@Table(
+        name = "sales_rollup",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "UniqueSalesRollupKey",
+                        columnNames = {
+                                "sales_date",
+                                "dimension",
+                                "dimension_id",
+                                "slot"
+                        }
+                )
+        }
+)
+@Entity
+@Getter @Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class SalesRollup {
+
+    /**
+     * Unique identifier for the rollup row.
+     */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "sales_rollup_id")
+    private Long id;
+
+    /**
+     * The order date the row aggregates.
+     */
+    @Column(name = "sales_date", nullable = false)
+    private LocalDate salesDate;
+
+    /**
+     * The dimension the row aggregates by.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", nullable = false)
+    private SalesDimension dimension;
+
+    /**
+     * The item or category ID, or 0 for the TOTAL dimension.
+     */
+    @Column(name = "dimension_id", nullable = false)
+    private Long dimensionId;
+
+    /**
+     * The counter slot of the row.
+     */
+    @Column(name = "slot", nullable = false)
+    private Integer slot;
+
+    /**
+     * Revenue of the day before coupon discounts.
+     */
+    @Column(name = "gross_revenue", nullable = false)
+    private Long grossRevenue;
+
+    /**
+     * Revenue of the day after coupon discounts. For ITEM and CATEGORY, each order's discount is
+     * spread over its lines in proportion to their totals.
+     */
+    @Column(name = "net_revenue", nullable = false)
+    private Long netRevenue;
+
+    /**
+     * Number of orders of the day (containing the item or category).
+     */
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    /**
+     * Number of units sold on the day.
+     */
+    @Column(name = "units", nullable = false)
+    private Long units;
+}
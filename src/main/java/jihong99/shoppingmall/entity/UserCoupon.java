@@ -11,6 +11,18 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
  * <p>The UserCoupon entity stores information about the association between a user and a coupon,
  * including the validity and usage status of the coupon.</p>
  */
+@Table(
+        name = "user_coupon",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "UniqueUserAndCoupon",
+                        columnNames = {
+                                "user_id",
+                                "coupon_id"
+                        }
+                )
+        }
+)
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -70,6 +82,7 @@ public class UserCoupon extends BaseEntity {
                 .users(user)
                 .coupon(coupon)
                 .isValid(true)
+                .isUsed(false)
                 .build();
     }
 }
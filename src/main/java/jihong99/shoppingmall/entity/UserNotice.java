@@ -3,13 +3,27 @@ package jihong99.shoppingmall.entity;
 import jakarta.persistence.*;
 import jihong99.shoppingmall.entity.base.BaseEntity;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 /**
  * Represents the relationship between a user and a notice in the shopping mall system.
  *
- * <p>The UserNotice entity stores information about the association between a user and a notice.</p>
+ * <p>The UserNotice entity stores information about the association between a user and a notice,
+ * and whether the user has read it.</p>
  */
+@Table(
+        name = "user_notice",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "UniqueUserAndNotice",
+                        columnNames = {
+                                "user_id",
+                                "notice_id"
+                        }
+                )
+        }
+)
 @Entity
 @Getter @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -38,10 +52,18 @@ public class UserNotice extends BaseEntity {
     @JoinColumn(name = "notice_id")
     private Notice notice;
 
+    /**
+     * Whether the user has read the notice.
+     */
+    @ColumnDefault("false")
+    @Column(name = "is_read", nullable = false)
+    private Boolean isRead;
+
     public static UserNotice of(Users user, Notice notice){
         return UserNotice.builder()
                 .users(user)
                 .notice(notice)
+                .isRead(false)
                 .build();
     }
 
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import jihong99.shoppingmall.entity.base.BaseEntity;
 import jihong99.shoppingmall.entity.enums.Roles;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDate;
@@ -96,6 +97,10 @@ public class Users extends BaseEntity {
     @Column(name = "refresh_token")
     private String refreshToken;
 
+    @ColumnDefault("0")
+    @Column(name = "unread_notice_count", nullable = false)
+    private long unreadNoticeCount;
+
     /**
      * Creates a new user with the given details.
      *
@@ -0,0 +1,5 @@
+package jihong99.shoppingmall.entity.enums;
+
+public enum JobType {
+    STOCK_ALERT_NOTICE, CART_ITEM_INVALIDATION_NOTICE
+}
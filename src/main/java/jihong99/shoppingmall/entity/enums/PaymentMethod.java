@@ -0,0 +1,5 @@
+package jihong99.shoppingmall.entity.enums;
+
+public enum PaymentMethod {
+    CARD, BANK_TRANSFER
+}
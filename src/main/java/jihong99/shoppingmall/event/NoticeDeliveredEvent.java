@@ -0,0 +1,33 @@
+package jihong99.shoppingmall.event;
+
+import jihong99.shoppingmall.entity.Notice;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A notice that has just been delivered, published once the delivering transaction commits.
+ *
+ * <p>A targeted delivery lists the users who received the notice. A broadcast delivery lists no users
+ * and reaches every user.</p>
+ */
+@Getter
+@AllArgsConstructor
+public class NoticeDeliveredEvent {
+    private Long noticeId;
+    private String title;
+    private LocalDate registrationDate;
+    private boolean broadcast;
+    private Collection<Long> userIds;
+
+    public static NoticeDeliveredEvent of(Notice notice, Collection<Long> userIds) {
+        return new NoticeDeliveredEvent(notice.getId(), notice.getTitle(), notice.getRegistrationDate(), false, userIds);
+    }
+
+    public static NoticeDeliveredEvent ofBroadcast(Notice notice) {
+        return new NoticeDeliveredEvent(notice.getId(), notice.getTitle(), notice.getRegistrationDate(), true, List.of());
+    }
+}
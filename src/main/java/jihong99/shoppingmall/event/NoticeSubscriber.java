@@ -0,0 +1,13 @@
+package jihong99.shoppingmall.event;
+
+/**
+ * In-process consumer of notice deliveries.
+ *
+ * <p>Every Spring bean implementing this interface receives every event, on the thread that committed the
+ * delivery, so {@link #onNoticeDelivered(NoticeDeliveredEvent)} must hand off any slow work instead of
+ * blocking. Events are not persisted; a subscriber that misses one must recover from the database.</p>
+ */
+public interface NoticeSubscriber {
+
+    void onNoticeDelivered(NoticeDeliveredEvent event);
+}
@@ -0,0 +1,37 @@
+package jihong99.shoppingmall.event;
+
+import jihong99.shoppingmall.entity.OrderOutbox;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.sql.Timestamp;
+
+/**
+ * An order status transition delivered by the outbox relay.
+ *
+ * <p>Delivery is at-least-once: a subscriber may see the same event (same {@code eventId}) more than
+ * once and must handle it idempotently. Events of the same order are delivered in the order the
+ * transitions were committed.</p>
+ */
+@Getter
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    private Long eventId;
+    private Long orderId;
+    private Long userId;
+    private OrderStatus previousStatus;
+    private OrderStatus orderStatus;
+    private Timestamp occurredTime;
+
+    public static OrderStatusChangedEvent of(OrderOutbox outbox) {
+        return new OrderStatusChangedEvent(
+                outbox.getId(),
+                outbox.getOrderId(),
+                outbox.getUserId(),
+                outbox.getPreviousStatus(),
+                outbox.getOrderStatus(),
+                outbox.getCreationTime()
+        );
+    }
+}
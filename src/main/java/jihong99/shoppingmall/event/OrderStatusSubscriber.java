@@ -0,0 +1,13 @@
+package jihong99.shoppingmall.event;
+
+/**
+ * In-process consumer of order status transitions relayed from the order outbox.
+ *
+ * <p>Every Spring bean implementing this interface receives every event. Throwing from
+ * {@link #onOrderStatusChanged(OrderStatusChangedEvent)} makes the relay retry the event, and hold back
+ * later events of the same order, on its next run.</p>
+ */
+public interface OrderStatusSubscriber {
+
+    void onOrderStatusChanged(OrderStatusChangedEvent event);
+}
@@ -0,0 +1,56 @@
+package jihong99.shoppingmall.job;
+
+import jihong99.shoppingmall.entity.BackgroundJob;
+import jihong99.shoppingmall.entity.Notice;
+import jihong99.shoppingmall.entity.enums.JobType;
+import jihong99.shoppingmall.event.NoticeDeliveredEvent;
+import jihong99.shoppingmall.repository.CartItemRepository;
+import jihong99.shoppingmall.repository.NoticeRepository;
+import jihong99.shoppingmall.repository.UserNoticeRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import jihong99.shoppingmall.service.NoticePublisher;
+import jihong99.shoppingmall.service.UnreadNoticeCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Delivers a cart item invalidation notice to every user whose cart holds an item, walking the item's cart
+ * lines in ID order.
+ *
+ * <p>The job's target is the item and its reference is the notice. Each chunk is a range of cart line IDs,
+ * and its user notices are inserted with a single INSERT ... SELECT joining the cart lines to their users,
+ * so no cart lines or users are loaded as entities and no ID lists are bound as parameters.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class CartItemInvalidationNoticeJobHandler implements JobHandler {
+
+    private final CartItemRepository cartItemRepository;
+    private final UserRepository userRepository;
+    private final NoticeRepository noticeRepository;
+    private final UserNoticeRepository userNoticeRepository;
+    private final UnreadNoticeCounter unreadNoticeCounter;
+    private final NoticePublisher noticePublisher;
+
+    @Override
+    public JobType getType() {
+        return JobType.CART_ITEM_INVALIDATION_NOTICE;
+    }
+
+    @Override
+    public JobChunk processChunk(BackgroundJob job, long afterId, int chunkSize) {
+        Long itemId = job.getTargetId();
+        Long upToId = cartItemRepository.findChunkUpperBoundByItemId(itemId, afterId, chunkSize);
+        if (upToId == null) {
+            return null;
+        }
+        List<Long> userIds = userRepository.findUserIdsWithoutNoticeByCartItemsBetween(job.getReferenceId(), itemId, afterId, upToId);
+        int delivered = userNoticeRepository.insertForCartItemsBetween(job.getReferenceId(), itemId, afterId, upToId);
+        unreadNoticeCounter.delivered(userIds);
+        Notice notice = noticeRepository.getReferenceById(job.getReferenceId());
+        noticePublisher.publish(NoticeDeliveredEvent.of(notice, userIds));
+        return JobChunk.of(upToId, delivered);
+    }
+}
@@ -0,0 +1,26 @@
+package jihong99.shoppingmall.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The result of processing one chunk of a background job.
+ */
+@Getter
+@AllArgsConstructor
+public class JobChunk {
+
+    /**
+     * The ID of the last element covered by the chunk; the next chunk starts after it.
+     */
+    private final long lastId;
+
+    /**
+     * The number of elements processed in the chunk.
+     */
+    private final int processedCount;
+
+    public static JobChunk of(long lastId, int processedCount) {
+        return new JobChunk(lastId, processedCount);
+    }
+}
@@ -0,0 +1,29 @@
+package jihong99.shoppingmall.job;
+
+import jihong99.shoppingmall.entity.BackgroundJob;
+import jihong99.shoppingmall.entity.enums.JobType;
+
+/**
+ * Does the work of one type of background job, one chunk at a time.
+ *
+ * <p>Implementations walk their input in ascending ID order starting after a cursor. Each call runs in its
+ * own transaction, which also records the returned cursor, so a chunk is either fully applied and
+ * checkpointed or not at all.</p>
+ */
+public interface JobHandler {
+
+    /**
+     * Returns the type of job this handler processes.
+     */
+    JobType getType();
+
+    /**
+     * Processes the next chunk of a job.
+     *
+     * @param job the job being run
+     * @param afterId the ID of the last element already processed, 0 for the first chunk
+     * @param chunkSize the maximum number of elements to process
+     * @return the processed chunk, or null if there is nothing left to process
+     */
+    JobChunk processChunk(BackgroundJob job, long afterId, int chunkSize);
+}
@@ -0,0 +1,60 @@
+package jihong99.shoppingmall.job;
+
+import jihong99.shoppingmall.entity.BackgroundJob;
+import jihong99.shoppingmall.entity.ItemAlert;
+import jihong99.shoppingmall.entity.Notice;
+import jihong99.shoppingmall.entity.UserNotice;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.entity.enums.JobType;
+import jihong99.shoppingmall.event.NoticeDeliveredEvent;
+import jihong99.shoppingmall.repository.ItemAlertRepository;
+import jihong99.shoppingmall.repository.NoticeRepository;
+import jihong99.shoppingmall.repository.UserNoticeRepository;
+import jihong99.shoppingmall.service.NoticePublisher;
+import jihong99.shoppingmall.service.UnreadNoticeCounter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Delivers a stock alert notice to every user tracking an item, walking the item's alerts in ID order.
+ *
+ * <p>The job's target is the item and its reference is the notice.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class StockAlertNoticeJobHandler implements JobHandler {
+
+    private final ItemAlertRepository itemAlertRepository;
+    private final NoticeRepository noticeRepository;
+    private final UserNoticeRepository userNoticeRepository;
+    private final UnreadNoticeCounter unreadNoticeCounter;
+    private final NoticePublisher noticePublisher;
+
+    @Override
+    public JobType getType() {
+        return JobType.STOCK_ALERT_NOTICE;
+    }
+
+    @Override
+    public JobChunk processChunk(BackgroundJob job, long afterId, int chunkSize) {
+        List<ItemAlert> itemAlerts = itemAlertRepository.findChunkByItemId(job.getTargetId(), afterId, PageRequest.of(0, chunkSize));
+        if (itemAlerts.isEmpty()) {
+            return null;
+        }
+        Notice notice = noticeRepository.getReferenceById(job.getReferenceId());
+        List<Users> users = itemAlerts.stream()
+                .map(ItemAlert::getUsers)
+                .distinct()
+                .toList();
+        userNoticeRepository.saveAll(users.stream()
+                .map(user -> UserNotice.of(user, notice))
+                .toList());
+        List<Long> userIds = users.stream().map(Users::getId).toList();
+        unreadNoticeCounter.delivered(userIds);
+        noticePublisher.publish(NoticeDeliveredEvent.of(notice, userIds));
+        return JobChunk.of(itemAlerts.get(itemAlerts.size() - 1).getId(), itemAlerts.size());
+    }
+}
@@ -0,0 +1,76 @@
+package jihong99.shoppingmall.payment;
+
+import jihong99.shoppingmall.entity.enums.PaymentMethod;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process stand-in for a real payment gateway, used for local development and tests.
+ *
+ * <p>Every call sleeps for the configured latency. A configurable share of approvals fails with
+ * {@link PaymentGatewayException}; half of those fail after the payment was processed, the way a
+ * response lost on the network does, so retries and reconciliation see an already processed key.
+ * Another configurable share of approvals is declined. Results are remembered per payment key.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "payment.gateway.type", havingValue = "local", matchIfMissing = true)
+public class LocalPaymentGateway implements PaymentGateway {
+
+    private final Map<String, PaymentGatewayResult> results = new ConcurrentHashMap<>();
+
+    @Value("${payment.gateway.local.latency-ms:200}")
+    private long latencyMs;
+
+    @Value("${payment.gateway.local.failure-rate:0.0}")
+    private double failureRate;
+
+    @Value("${payment.gateway.local.decline-rate:0.0}")
+    private double declineRate;
+
+    @Override
+    public PaymentGatewayResult approve(String paymentKey, Long amount, PaymentMethod method) {
+        simulateLatency();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean fail = random.nextDouble() < failureRate;
+        if (fail && random.nextBoolean()) {
+            throw new PaymentGatewayException("Local gateway timed out before processing payment " + paymentKey);
+        }
+        PaymentGatewayResult result = results.computeIfAbsent(paymentKey, key -> random.nextDouble() < declineRate
+                ? PaymentGatewayResult.declined("Declined by local gateway.")
+                : PaymentGatewayResult.approved(UUID.randomUUID().toString()));
+        if (fail) {
+            throw new PaymentGatewayException("Local gateway response lost for payment " + paymentKey);
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, PaymentGatewayResult> inquire(Collection<String> paymentKeys) {
+        simulateLatency();
+        Map<String, PaymentGatewayResult> found = new HashMap<>();
+        for (String paymentKey : paymentKeys) {
+            found.put(paymentKey, results.getOrDefault(paymentKey, PaymentGatewayResult.notFound()));
+        }
+        return found;
+    }
+
+    private void simulateLatency() {
+        if (latencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException("Interrupted while calling local gateway", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package jihong99.shoppingmall.payment;
+
+import jihong99.shoppingmall.entity.enums.PaymentMethod;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A payment gateway that charges users.
+ *
+ * <p>Implementations must be idempotent on the payment key: approving a key that was already processed
+ * returns the original result instead of charging again. A call that fails without a definite answer
+ * (timeout, connection error, 5xx) throws {@link PaymentGatewayException}; the caller retries with the
+ * same key. Calls may block and must not be made inside a database transaction.</p>
+ */
+public interface PaymentGateway {
+
+    /**
+     * Requests approval of a payment.
+     *
+     * @param paymentKey the idempotency key of the payment
+     * @param amount     the amount to charge
+     * @param method     the payment method
+     * @return the gateway's decision
+     * @throws PaymentGatewayException if the gateway did not answer
+     */
+    PaymentGatewayResult approve(String paymentKey, Long amount, PaymentMethod method);
+
+    /**
+     * Looks up the results of previously requested payments.
+     *
+     * @param paymentKeys the idempotency keys of the payments
+     * @return the result per key; keys the gateway has never processed map to {@link PaymentGatewayResult.Outcome#NOT_FOUND}
+     * @throws PaymentGatewayException if the gateway did not answer
+     */
+    Map<String, PaymentGatewayResult> inquire(Collection<String> paymentKeys);
+}
@@ -0,0 +1,14 @@
+package jihong99.shoppingmall.payment;
+
+/**
+ * Thrown when a payment gateway call ends without a definite answer and may be retried.
+ */
+public class PaymentGatewayException extends RuntimeException {
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,32 @@
+package jihong99.shoppingmall.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The answer of a payment gateway for one payment.
+ */
+@Getter
+@AllArgsConstructor
+public class PaymentGatewayResult {
+
+    public enum Outcome {
+        APPROVED, DECLINED, NOT_FOUND
+    }
+
+    private Outcome outcome;
+    private String transactionId;
+    private String reason;
+
+    public static PaymentGatewayResult approved(String transactionId) {
+        return new PaymentGatewayResult(Outcome.APPROVED, transactionId, null);
+    }
+
+    public static PaymentGatewayResult declined(String reason) {
+        return new PaymentGatewayResult(Outcome.DECLINED, null, reason);
+    }
+
+    public static PaymentGatewayResult notFound() {
+        return new PaymentGatewayResult(Outcome.NOT_FOUND, null, null);
+    }
+}
@@ -0,0 +1,37 @@
+package jihong99.shoppingmall.repository;
+
+import jakarta.persistence.LockModeType;
+import jihong99.shoppingmall.entity.BackgroundJob;
+import jihong99.shoppingmall.entity.enums.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BackgroundJobRepository extends JpaRepository<BackgroundJob, Long> {
+
+    @Query("SELECT j.id FROM BackgroundJob j WHERE j.status IN :statuses ORDER BY j.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<JobStatus> statuses);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM BackgroundJob j WHERE j.id = :jobId")
+    Optional<BackgroundJob> findByIdForUpdate(@Param("jobId") Long jobId);
+
+    /**
+     * Asks a pending or running job to stop after its current chunk.
+     *
+     * @return 1 if the job was asked to stop, 0 if it does not exist or has already finished
+     */
+    @Modifying
+    @Query("UPDATE BackgroundJob j SET j.cancelRequested = true " +
+            "WHERE j.id = :jobId AND j.status IN (jihong99.shoppingmall.entity.enums.JobStatus.PENDING, " +
+            "jihong99.shoppingmall.entity.enums.JobStatus.RUNNING)")
+    int requestCancel(@Param("jobId") Long jobId);
+}
@@ -1,7 +1,12 @@
 package jihong99.shoppingmall.repository;
 
+import jakarta.persistence.LockModeType;
 import jihong99.shoppingmall.entity.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,5 +15,70 @@ import java.util.Optional;
 @Repository
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     List<CartItem> findByItemId(Long itemId);
+
+    /**
+     * Returns the ID of the last of the next {@code chunkSize} cart lines holding the item after {@code afterId},
+     * or null if there are none.
+     */
+    @Query(value = "SELECT MAX(t.cart_item_id) FROM (SELECT cart_item_id FROM cart_item WHERE item_id = :itemId " +
+            "AND cart_item_id > :afterId ORDER BY cart_item_id LIMIT :chunkSize) t", nativeQuery = true)
+    Long findChunkUpperBoundByItemId(@Param("itemId") Long itemId, @Param("afterId") long afterId,
+                                     @Param("chunkSize") int chunkSize);
+
     Optional<CartItem> findByCartIdAndItemId(Long cartId, Long itemId);
+
+    @Query("SELECT ci.quantity FROM CartItem ci WHERE ci.cart.id = :cartId AND ci.item.id = :itemId")
+    int findQuantityByCartIdAndItemId(@Param("cartId") Long cartId, @Param("itemId") Long itemId);
+
+    @Query("SELECT COALESCE(SUM(ci.price * ci.quantity), 0L) FROM CartItem ci WHERE ci.cart.id = :cartId")
+    long sumTotalPriceByCartId(@Param("cartId") Long cartId);
+
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.item WHERE ci.cart.id = :cartId")
+    List<CartItem> findAllWithItemByCartId(@Param("cartId") Long cartId);
+
+    /**
+     * Returns the lines of the cart and locks them until the transaction ends, so their quantities cannot
+     * change while the cart is checked out. Items are not fetched, so item rows stay unlocked.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ci FROM CartItem ci WHERE ci.cart.id = :cartId ORDER BY ci.id")
+    List<CartItem> findAllByCartIdForUpdate(@Param("cartId") Long cartId);
+
+    /**
+     * Returns the sequence number of the newest write-behind journal record applied to any cart line, or 0.
+     */
+    @Query("SELECT COALESCE(MAX(ci.journalSequence), 0) FROM CartItem ci")
+    long findMaxJournalSequence();
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.cart.id = :cartId")
+    int deleteAllByCartId(@Param("cartId") Long cartId);
+
+    /**
+     * Inserts a cart line or, if the cart already holds the item, increments its quantity (H2).
+     * The persistence context is cleared afterwards, so the cart's lines are read again.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "MERGE INTO cart_item t " +
+            "USING (VALUES (CAST(:cartId AS BIGINT), CAST(:itemId AS BIGINT), CAST(:quantity AS INT), CAST(:price AS BIGINT))) " +
+            "AS s(cart_id, item_id, quantity, price) " +
+            "ON t.cart_id = s.cart_id AND t.item_id = s.item_id " +
+            "WHEN MATCHED THEN UPDATE SET t.quantity = t.quantity + s.quantity, t.last_modified_time = CURRENT_TIMESTAMP " +
+            "WHEN NOT MATCHED THEN INSERT (cart_id, item_id, quantity, price, creation_time, last_modified_time) " +
+            "VALUES (s.cart_id, s.item_id, s.quantity, s.price, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+            nativeQuery = true)
+    int upsertQuantityH2(@Param("cartId") Long cartId, @Param("itemId") Long itemId,
+                         @Param("quantity") Integer quantity, @Param("price") Long price);
+
+    /**
+     * Inserts a cart line or, if the cart already holds the item, increments its quantity (MySQL).
+     * The persistence context is cleared afterwards, so the cart's lines are read again.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO cart_item (cart_id, item_id, quantity, price, creation_time, last_modified_time) " +
+            "VALUES (:cartId, :itemId, :quantity, :price, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), last_modified_time = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int upsertQuantityMySql(@Param("cartId") Long cartId, @Param("itemId") Long itemId,
+                            @Param("quantity") Integer quantity, @Param("price") Long price);
 }
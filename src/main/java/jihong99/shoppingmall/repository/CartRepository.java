@@ -1,9 +1,35 @@
 package jihong99.shoppingmall.repository;
 
+import jakarta.persistence.LockModeType;
 import jihong99.shoppingmall.entity.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface CartRepository extends JpaRepository<Cart, Long> {
+
+    /**
+     * Returns the cart and locks it until the transaction ends, so concurrent changes to the cart's lines
+     * recalculate its totals one after another. Take the lock before inserting a line, since the insert's
+     * foreign key check holds a shared lock on the cart that two transactions could not both upgrade.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.id = :cartId")
+    Optional<Cart> findByIdForUpdate(@Param("cartId") Long cartId);
+
+    @Modifying
+    @Query("UPDATE Cart c SET c.originalTotalPrice = :originalTotalPrice, c.estimatedTotalPrice = :estimatedTotalPrice " +
+            "WHERE c.id = :cartId")
+    int updateTotalPrices(@Param("cartId") Long cartId, @Param("originalTotalPrice") Long originalTotalPrice,
+                          @Param("estimatedTotalPrice") Long estimatedTotalPrice);
+
+    @Modifying
+    @Query("UPDATE Cart c SET c.appliedCoupon = null, c.originalTotalPrice = 0, c.estimatedTotalPrice = 0 WHERE c.id = :cartId")
+    int resetTotalPrices(@Param("cartId") Long cartId);
 }
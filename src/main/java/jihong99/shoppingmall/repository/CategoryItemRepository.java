@@ -1,10 +1,13 @@
 package jihong99.shoppingmall.repository;
 
 import jihong99.shoppingmall.entity.CategoryItem;
-import jihong99.shoppingmall.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,5 +16,9 @@ public interface CategoryItemRepository extends JpaRepository<CategoryItem, Long
 
     List<CategoryItem> findByCategoryId(Long categoryId);
 
-    void deleteAllByItem(Item item);
+    List<CategoryItem> findAllByItemIdIn(Collection<Long> itemIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CategoryItem ci WHERE ci.item.id = :itemId")
+    int deleteAllByItemId(@Param("itemId") Long itemId);
 }
@@ -0,0 +1,16 @@
+package jihong99.shoppingmall.repository;
+
+import jihong99.shoppingmall.entity.CouponDistribution;
+import jihong99.shoppingmall.entity.enums.DistributionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CouponDistributionRepository extends JpaRepository<CouponDistribution, Long> {
+    Optional<CouponDistribution> findByCouponId(Long couponId);
+
+    List<CouponDistribution> findAllByStatus(DistributionStatus status);
+}
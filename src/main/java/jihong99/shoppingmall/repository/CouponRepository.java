@@ -2,9 +2,20 @@ package jihong99.shoppingmall.repository;
 
 import jihong99.shoppingmall.entity.Coupon;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
 public interface CouponRepository extends JpaRepository<Coupon, Long> {
 
+    /**
+     * Returns the IDs of coupons that expired before the given date and are still held as valid by some user.
+     */
+    @Query("SELECT c.id FROM Coupon c WHERE c.expirationDate < :today " +
+            "AND EXISTS (SELECT 1 FROM UserCoupon uc WHERE uc.coupon = c AND uc.isValid = true) ORDER BY c.id ASC")
+    List<Long> findExpiredIdsWithValidUserCoupons(@Param("today") LocalDate today);
 }
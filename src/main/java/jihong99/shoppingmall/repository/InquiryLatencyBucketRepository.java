@@ -0,0 +1,38 @@
+package jihong99.shoppingmall.repository;
+
+import jihong99.shoppingmall.entity.InquiryLatencyBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InquiryLatencyBucketRepository extends JpaRepository<InquiryLatencyBucket, Long> {
+
+    /**
+     * Adds samples to a histogram bucket, creating it if it does not exist (H2).
+     */
+    @Modifying
+    @Query(value = "MERGE INTO inquiry_latency_bucket t " +
+            "USING (VALUES (CAST(:type AS VARCHAR(255)), CAST(:metric AS VARCHAR(255)), CAST(:bucketIndex AS INT), CAST(:samples AS BIGINT))) " +
+            "AS s(inquiry_type, metric, bucket_index, sample_count) " +
+            "ON t.inquiry_type = s.inquiry_type AND t.metric = s.metric AND t.bucket_index = s.bucket_index " +
+            "WHEN MATCHED THEN UPDATE SET t.sample_count = t.sample_count + s.sample_count " +
+            "WHEN NOT MATCHED THEN INSERT (inquiry_type, metric, bucket_index, sample_count) " +
+            "VALUES (s.inquiry_type, s.metric, s.bucket_index, s.sample_count)",
+            nativeQuery = true)
+    int addH2(@Param("type") String type, @Param("metric") String metric,
+              @Param("bucketIndex") Integer bucketIndex, @Param("samples") Long samples);
+
+    /**
+     * Adds samples to a histogram bucket, creating it if it does not exist (MySQL).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO inquiry_latency_bucket (inquiry_type, metric, bucket_index, sample_count) " +
+            "VALUES (:type, :metric, :bucketIndex, :samples) " +
+            "ON DUPLICATE KEY UPDATE sample_count = sample_count + VALUES(sample_count)",
+            nativeQuery = true)
+    int addMySql(@Param("type") String type, @Param("metric") String metric,
+                 @Param("bucketIndex") Integer bucketIndex, @Param("samples") Long samples);
+}
@@ -1,18 +1,59 @@
 package jihong99.shoppingmall.repository;
 
+import jihong99.shoppingmall.dto.response.inquiry.InquiryResponseDto;
 import jihong99.shoppingmall.entity.Inquiry;
 import jihong99.shoppingmall.entity.enums.InquiryStatus;
 import jihong99.shoppingmall.entity.enums.InquiryType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
-    Page<Inquiry> findAllByTypeAndStatus(InquiryType type, InquiryStatus status, Pageable pageable);
+    /**
+     * Returns the inquiries of a type and status that come strictly before the cursor in ID descending order,
+     * with their item names, seeking backwards on the (inquiry_type, inquiry_status, inquiry_id) index.
+     */
+    @Query("SELECT new jihong99.shoppingmall.dto.response.inquiry.InquiryResponseDto(i.id, it.name, i.title, i.type, i.status) " +
+            "FROM Inquiry i LEFT JOIN i.item it " +
+            "WHERE i.type = :type AND i.status = :status AND i.id < :cursorId " +
+            "ORDER BY i.id DESC")
+    List<InquiryResponseDto> findQueueByTypeAndStatus(@Param("type") InquiryType type,
+                                                      @Param("status") InquiryStatus status,
+                                                      @Param("cursorId") Long cursorId,
+                                                      Pageable pageable);
+
+    /**
+     * Same as {@link #findQueueByTypeAndStatus} for every status, seeking on the (inquiry_type, inquiry_id) index.
+     */
+    @Query("SELECT new jihong99.shoppingmall.dto.response.inquiry.InquiryResponseDto(i.id, it.name, i.title, i.type, i.status) " +
+            "FROM Inquiry i LEFT JOIN i.item it " +
+            "WHERE i.type = :type AND i.id < :cursorId " +
+            "ORDER BY i.id DESC")
+    List<InquiryResponseDto> findQueueByType(@Param("type") InquiryType type,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    /**
+     * Returns the inquiries with the given IDs as queue entries, with their item names, in no particular order.
+     */
+    @Query("SELECT new jihong99.shoppingmall.dto.response.inquiry.InquiryResponseDto(i.id, it.name, i.title, i.type, i.status) " +
+            "FROM Inquiry i LEFT JOIN i.item it " +
+            "WHERE i.id IN :ids")
+    List<InquiryResponseDto> findQueueByIdIn(@Param("ids") Collection<Long> ids);
+
+    List<Inquiry> findAllByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    long countByType(InquiryType type);
+
+    long countByTypeAndStatus(InquiryType type, InquiryStatus status);
 
     Page<Inquiry> findAllByUsersId(Long userId, Pageable pageable);
 
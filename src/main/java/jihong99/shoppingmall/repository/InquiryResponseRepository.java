@@ -4,6 +4,18 @@ import jihong99.shoppingmall.entity.InquiryResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface InquiryResponseRepository extends JpaRepository<InquiryResponse, Long> {
+
+    /**
+     * Returns every response of the inquiry, at any depth, in the order they were written.
+     */
+    List<InquiryResponse> findAllByInquiryIdOrderByIdAsc(Long inquiryId);
+
+    boolean existsByInquiryId(Long inquiryId);
+
+    List<InquiryResponse> findAllByInquiryIdIn(Collection<Long> inquiryIds);
 }
@@ -1,11 +1,17 @@
 package jihong99.shoppingmall.repository;
 
 import jihong99.shoppingmall.entity.ItemAlert;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 @Repository
 public interface ItemAlertRepository extends JpaRepository<ItemAlert, Long> {
     List<ItemAlert> findAllByItemId(Long itemId);
+
+    @Query("SELECT ia FROM ItemAlert ia WHERE ia.item.id = :itemId AND ia.id > :afterId ORDER BY ia.id")
+    List<ItemAlert> findChunkByItemId(@Param("itemId") Long itemId, @Param("afterId") long afterId, Pageable pageable);
 }
@@ -2,8 +2,24 @@ package jihong99.shoppingmall.repository;
 
 import jihong99.shoppingmall.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ItemRepository  extends JpaRepository<Item, Long> {
+
+    /**
+     * Decrements the item's stock only if enough stock remains and the item is still valid.
+     *
+     * @return the number of rows updated; 0 if the stock could not be reserved
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.stock = i.stock - :quantity WHERE i.id = :itemId AND i.stock >= :quantity AND i.isInvalid = false")
+    int decreaseStock(@Param("itemId") Long itemId, @Param("quantity") Integer quantity);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.stock = i.stock + :quantity WHERE i.id = :itemId")
+    int increaseStock(@Param("itemId") Long itemId, @Param("quantity") Integer quantity);
 }
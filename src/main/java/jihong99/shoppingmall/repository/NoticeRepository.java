@@ -1,9 +1,40 @@
 package jihong99.shoppingmall.repository;
 
+import jihong99.shoppingmall.dto.response.notice.NoticeResponseDto;
 import jihong99.shoppingmall.entity.Notice;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Optional;
+
 @Repository
 public interface NoticeRepository extends JpaRepository<Notice, Long> {
+
+    /**
+     * Returns the notices targeted at the user merged with every broadcast notice, newest delivery first.
+     * A notice that has been read, or was delivered at or before {@code lastSeenTime}, is marked as seen.
+     */
+    @Query(value = "SELECT new jihong99.shoppingmall.dto.response.notice.NoticeResponseDto(" +
+            "n.id, n.title, n.registrationDate, " +
+            "CASE WHEN un.isRead = true OR COALESCE(un.creationTime, n.broadcastTime) <= :lastSeenTime " +
+            "THEN true ELSE false END) " +
+            "FROM Notice n LEFT JOIN UserNotice un ON un.notice = n AND un.users.id = :userId " +
+            "WHERE un.id IS NOT NULL OR n.isBroadcast = true " +
+            "ORDER BY COALESCE(un.creationTime, n.broadcastTime) DESC, n.id DESC",
+            countQuery = "SELECT COUNT(n) FROM Notice n LEFT JOIN UserNotice un ON un.notice = n AND un.users.id = :userId " +
+                    "WHERE un.id IS NOT NULL OR n.isBroadcast = true")
+    Page<NoticeResponseDto> findAllVisibleToUser(@Param("userId") Long userId,
+                                                 @Param("lastSeenTime") Timestamp lastSeenTime,
+                                                 Pageable pageable);
+
+    long countByIsBroadcastTrueAndBroadcastTimeAfter(Timestamp broadcastTime);
+
+    @Query("SELECT n FROM Notice n WHERE n.id = :noticeId AND (n.isBroadcast = true OR EXISTS (" +
+            "SELECT 1 FROM UserNotice un WHERE un.notice = n AND un.users.id = :userId))")
+    Optional<Notice> findVisibleToUser(@Param("noticeId") Long noticeId, @Param("userId") Long userId);
 }
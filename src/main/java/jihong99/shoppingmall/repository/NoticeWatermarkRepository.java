@@ -0,0 +1,43 @@
+package jihong99.shoppingmall.repository;
+
+import jihong99.shoppingmall.entity.NoticeWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+@Repository
+public interface NoticeWatermarkRepository extends JpaRepository<NoticeWatermark, Long> {
+
+    @Query("SELECT w.lastSeenTime FROM NoticeWatermark w WHERE w.userId = :userId")
+    Optional<Timestamp> findLastSeenTimeByUserId(@Param("userId") Long userId);
+
+    /**
+     * Creates the user's watermark or moves it forward; never moves it back (H2).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "MERGE INTO notice_watermark t " +
+            "USING (VALUES (CAST(:userId AS BIGINT), CAST(:lastSeenTime AS TIMESTAMP))) AS s(user_id, last_seen_time) " +
+            "ON t.user_id = s.user_id " +
+            "WHEN MATCHED AND t.last_seen_time < s.last_seen_time THEN " +
+            "UPDATE SET t.last_seen_time = s.last_seen_time, t.last_modified_time = CURRENT_TIMESTAMP " +
+            "WHEN NOT MATCHED THEN INSERT (user_id, last_seen_time, creation_time, last_modified_time) " +
+            "VALUES (s.user_id, s.last_seen_time, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+            nativeQuery = true)
+    int advanceH2(@Param("userId") Long userId, @Param("lastSeenTime") Timestamp lastSeenTime);
+
+    /**
+     * Creates the user's watermark or moves it forward; never moves it back (MySQL).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO notice_watermark (user_id, last_seen_time, creation_time, last_modified_time) " +
+            "VALUES (:userId, :lastSeenTime, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON DUPLICATE KEY UPDATE last_seen_time = GREATEST(last_seen_time, VALUES(last_seen_time)), " +
+            "last_modified_time = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int advanceMySql(@Param("userId") Long userId, @Param("lastSeenTime") Timestamp lastSeenTime);
+}
@@ -1,12 +1,45 @@
 package jihong99.shoppingmall.repository;
 
+import jakarta.persistence.QueryHint;
 import jihong99.shoppingmall.entity.OrderDetails;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface OrderDetailsRepository extends JpaRepository<OrderDetails, Long> {
     Page<OrderDetails> findAllByOrdersId(Long OrderId, Pageable pageable);
+    Optional<OrderDetails> findByOrdersId(Long orderId);
+
+    @Query(value = "SELECT od FROM OrderDetails od JOIN FETCH od.orders o WHERE o.users.id = :userId ORDER BY o.id DESC",
+            countQuery = "SELECT COUNT(od) FROM OrderDetails od WHERE od.orders.users.id = :userId")
+    Page<OrderDetails> findAllWithOrdersByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Streams the order details placed in [from, to] (optionally restricted to one status) in order-id order.
+     *
+     * <p>The result is read forward-only with a fixed JDBC fetch size and the entities are loaded read-only,
+     * so only one fetch window of rows is held by the driver at a time. The caller must consume the stream
+     * inside a transaction and close it.</p>
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT od FROM OrderDetails od JOIN FETCH od.orders o " +
+            "WHERE o.orderDate BETWEEN :from AND :to AND (:status IS NULL OR o.orderStatus = :status) " +
+            "ORDER BY o.id ASC")
+    Stream<OrderDetails> streamForExport(@Param("from") LocalDate from,
+                                         @Param("to") LocalDate to,
+                                         @Param("status") OrderStatus status);
 }
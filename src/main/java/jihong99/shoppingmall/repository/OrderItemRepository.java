@@ -2,10 +2,32 @@ package jihong99.shoppingmall.repository;
 
 import jihong99.shoppingmall.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findAllByOrdersId(Long OrderId);
+
+    List<OrderItem> findAllByOrdersIdIn(Collection<Long> orderIds);
+
+    @Query("SELECT oi FROM OrderItem oi JOIN FETCH oi.item WHERE oi.orders.id IN :orderIds")
+    List<OrderItem> findAllWithItemByOrdersIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Copies every line of the cart into the order in a single statement.
+     * The caller must hold the locks of the cart lines, so the copied lines are the ones stock was reserved for.
+     *
+     * @return the number of order items inserted
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_item (order_id, item_id, quantity, total_price, creation_time, last_modified_time) " +
+            "SELECT :orderId, ci.item_id, ci.quantity, ci.price * ci.quantity, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+            "FROM cart_item ci WHERE ci.cart_id = :cartId",
+            nativeQuery = true)
+    int insertFromCart(@Param("orderId") Long orderId, @Param("cartId") Long cartId);
 }
@@ -0,0 +1,57 @@
+package jihong99.shoppingmall.repository;
+
+import jihong99.shoppingmall.entity.OrderOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+    /**
+     * Returns the entries due for delivery in ID order. Entries waiting for a retry are skipped, and so are
+     * later entries of their orders, so each order's entries are still delivered in order.
+     */
+    @Query("SELECT o FROM OrderOutbox o WHERE o.published = false AND o.failed = false " +
+            "AND (o.nextAttemptTime IS NULL OR o.nextAttemptTime <= :now) " +
+            "AND NOT EXISTS (SELECT p.id FROM OrderOutbox p WHERE p.orderId = o.orderId AND p.id < o.id " +
+            "AND p.published = false AND p.failed = false AND p.nextAttemptTime > :now) " +
+            "ORDER BY o.id ASC")
+    List<OrderOutbox> findDue(@Param("now") Timestamp now, Pageable pageable);
+
+    long countByPublishedFalse();
+
+    long countByPublishedFalseAndFailedFalse();
+
+    long countByFailedTrue();
+
+    Optional<OrderOutbox> findFirstByPublishedFalseAndFailedFalseOrderByIdAsc();
+
+    @Modifying
+    @Query("UPDATE OrderOutbox o SET o.published = true, o.publishedTime = :publishedTime WHERE o.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedTime") Timestamp publishedTime);
+
+    @Query("SELECT o.id FROM OrderOutbox o WHERE o.published = true AND o.publishedTime < :cutoff ORDER BY o.id ASC")
+    List<Long> findIdsPublishedBefore(@Param("cutoff") Timestamp cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OrderOutbox o WHERE o.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Records a failed delivery attempt, scheduling the next one or marking the entry as failed.
+     */
+    @Modifying
+    @Query("UPDATE OrderOutbox o SET o.attempts = o.attempts + 1, o.nextAttemptTime = :nextAttemptTime, " +
+            "o.failed = :failed WHERE o.id = :id")
+    int recordFailedAttempt(@Param("id") Long id, @Param("nextAttemptTime") Timestamp nextAttemptTime,
+                            @Param("failed") boolean failed);
+}
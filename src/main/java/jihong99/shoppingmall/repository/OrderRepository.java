@@ -1,13 +1,71 @@
 package jihong99.shoppingmall.repository;
 
+import jakarta.persistence.LockModeType;
 import jihong99.shoppingmall.entity.Orders;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Orders, Long> {
 
-    Optional<Orders> findByUsersId(Long userId);
+    Optional<Orders> findByUsersIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    @Query("SELECT o FROM Orders o WHERE o.orderStatus = jihong99.shoppingmall.entity.enums.OrderStatus.PROCESSED " +
+            "AND o.orderDate BETWEEN :from AND :to AND o.id > :afterId ORDER BY o.id ASC")
+    List<Orders> findProcessedByOrderDateBetween(@Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Orders o WHERE o.id = :orderId")
+    Optional<Orders> findByIdForUpdate(@Param("orderId") Long orderId);
+
+    /**
+     * Claims the one-time stock restore of a cancelled order.
+     *
+     * @return 1 if the caller should restore the stock, 0 if it was already restored
+     */
+    @Modifying
+    @Query("UPDATE Orders o SET o.stockRestored = true WHERE o.id = :orderId AND o.stockRestored = false")
+    int markStockRestored(@Param("orderId") Long orderId);
+
+    /**
+     * Returns the user's orders placed in [from, cursorDate] that come strictly before the cursor
+     * in (order_date, order_id) descending order, seeking on the (user_id, order_date, order_id) index.
+     */
+    @Query("SELECT o FROM Orders o WHERE o.users.id = :userId " +
+            "AND o.orderDate >= :from AND o.orderDate <= :cursorDate " +
+            "AND (o.orderDate < :cursorDate OR o.id < :cursorId) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Orders> findHistoryByUserId(@Param("userId") Long userId,
+                                     @Param("from") LocalDate from,
+                                     @Param("cursorDate") LocalDate cursorDate,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
+
+    /**
+     * Same as {@link #findHistoryByUserId} restricted to one status; the status is the trailing
+     * column of the index, so it is filtered from index entries during the same range scan.
+     */
+    @Query("SELECT o FROM Orders o WHERE o.users.id = :userId AND o.orderStatus = :status " +
+            "AND o.orderDate >= :from AND o.orderDate <= :cursorDate " +
+            "AND (o.orderDate < :cursorDate OR o.id < :cursorId) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Orders> findHistoryByUserIdAndStatus(@Param("userId") Long userId,
+                                              @Param("status") OrderStatus status,
+                                              @Param("from") LocalDate from,
+                                              @Param("cursorDate") LocalDate cursorDate,
+                                              @Param("cursorId") Long cursorId,
+                                              Pageable pageable);
 }
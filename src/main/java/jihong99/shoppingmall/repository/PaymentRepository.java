@@ -0,0 +1,68 @@
+package jihong99.shoppingmall.repository;
+
+import jihong99.shoppingmall.entity.Payment;
+import jihong99.shoppingmall.entity.enums.PaymentStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    /**
+     * Returns pending payments whose next attempt is due and that still have gateway attempts left.
+     */
+    @Query("SELECT p FROM Payment p WHERE p.status = jihong99.shoppingmall.entity.enums.PaymentStatus.PENDING " +
+            "AND p.nextAttemptTime <= :now AND p.attempts < :maxAttempts ORDER BY p.nextAttemptTime ASC")
+    List<Payment> findDueForRetry(@Param("now") LocalDateTime now,
+                                  @Param("maxAttempts") int maxAttempts,
+                                  Pageable pageable);
+
+    /**
+     * Returns pending payments that ran out of gateway attempts and must be resolved by asking the gateway.
+     */
+    @Query("SELECT p FROM Payment p WHERE p.status = jihong99.shoppingmall.entity.enums.PaymentStatus.PENDING " +
+            "AND p.nextAttemptTime <= :now AND p.attempts >= :maxAttempts ORDER BY p.nextAttemptTime ASC")
+    List<Payment> findDueForReconciliation(@Param("now") LocalDateTime now,
+                                           @Param("maxAttempts") int maxAttempts,
+                                           Pageable pageable);
+
+    /**
+     * Leases a pending payment to the caller until the given time, so no other worker sends it to the gateway.
+     *
+     * @return 1 if the lease was taken, 0 if the payment is no longer due or no longer pending
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.nextAttemptTime = :leaseUntil WHERE p.id = :id " +
+            "AND p.status = jihong99.shoppingmall.entity.enums.PaymentStatus.PENDING AND p.nextAttemptTime <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Records a gateway call that failed without an answer and schedules the next attempt.
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.attempts = p.attempts + 1, p.nextAttemptTime = :nextAttemptTime " +
+            "WHERE p.id = :id AND p.status = jihong99.shoppingmall.entity.enums.PaymentStatus.PENDING")
+    int recordFailedAttempt(@Param("id") Long id, @Param("nextAttemptTime") LocalDateTime nextAttemptTime);
+
+    /**
+     * Moves a pending payment to its final status. Completing an already completed payment is a no-op.
+     *
+     * @return 1 if the payment was completed by this call, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = :status, p.gatewayTransactionId = :gatewayTransactionId, " +
+            "p.failureReason = :failureReason, p.paymentDate = :completionTime, p.nextAttemptTime = null " +
+            "WHERE p.id = :id AND p.status = jihong99.shoppingmall.entity.enums.PaymentStatus.PENDING")
+    int complete(@Param("id") Long id,
+                 @Param("status") PaymentStatus status,
+                 @Param("gatewayTransactionId") String gatewayTransactionId,
+                 @Param("failureReason") String failureReason,
+                 @Param("completionTime") LocalDateTime completionTime);
+}
@@ -0,0 +1,63 @@
+package jihong99.shoppingmall.repository;
+
+import jihong99.shoppingmall.dto.response.sales.DailySalesResponseDto;
+import jihong99.shoppingmall.entity.SalesRollup;
+import jihong99.shoppingmall.entity.enums.SalesDimension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    @Query("SELECT new jihong99.shoppingmall.dto.response.sales.DailySalesResponseDto(" +
+            "r.salesDate, SUM(r.grossRevenue), SUM(r.netRevenue), SUM(r.orderCount), SUM(r.units)) " +
+            "FROM SalesRollup r WHERE r.dimension = jihong99.shoppingmall.entity.enums.SalesDimension.TOTAL " +
+            "AND r.salesDate BETWEEN :from AND :to " +
+            "GROUP BY r.salesDate ORDER BY r.salesDate")
+    List<DailySalesResponseDto> findDailyTotals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    Page<SalesRollup> findAllBySalesDateAndDimensionOrderByNetRevenueDesc(LocalDate salesDate, SalesDimension dimension, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM SalesRollup r WHERE r.salesDate BETWEEN :from AND :to")
+    int deleteAllBySalesDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Adds the given deltas to a rollup row, creating it if it does not exist (H2).
+     */
+    @Modifying
+    @Query(value = "MERGE INTO sales_rollup t " +
+            "USING (VALUES (CAST(:salesDate AS DATE), CAST(:dimension AS VARCHAR(255)), CAST(:dimensionId AS BIGINT), CAST(:slot AS INT), " +
+            "CAST(:grossRevenue AS BIGINT), CAST(:netRevenue AS BIGINT), CAST(:orderCount AS BIGINT), CAST(:units AS BIGINT))) " +
+            "AS s(sales_date, dimension, dimension_id, slot, gross_revenue, net_revenue, order_count, units) " +
+            "ON t.sales_date = s.sales_date AND t.dimension = s.dimension AND t.dimension_id = s.dimension_id AND t.slot = s.slot " +
+            "WHEN MATCHED THEN UPDATE SET t.gross_revenue = t.gross_revenue + s.gross_revenue, t.net_revenue = t.net_revenue + s.net_revenue, " +
+            "t.order_count = t.order_count + s.order_count, t.units = t.units + s.units " +
+            "WHEN NOT MATCHED THEN INSERT (sales_date, dimension, dimension_id, slot, gross_revenue, net_revenue, order_count, units) " +
+            "VALUES (s.sales_date, s.dimension, s.dimension_id, s.slot, s.gross_revenue, s.net_revenue, s.order_count, s.units)",
+            nativeQuery = true)
+    int addH2(@Param("salesDate") LocalDate salesDate, @Param("dimension") String dimension, @Param("dimensionId") Long dimensionId,
+              @Param("slot") Integer slot, @Param("grossRevenue") Long grossRevenue, @Param("netRevenue") Long netRevenue,
+              @Param("orderCount") Long orderCount, @Param("units") Long units);
+
+    /**
+     * Adds the given deltas to a rollup row, creating it if it does not exist (MySQL).
+     */
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollup (sales_date, dimension, dimension_id, slot, gross_revenue, net_revenue, order_count, units) " +
+            "VALUES (:salesDate, :dimension, :dimensionId, :slot, :grossRevenue, :netRevenue, :orderCount, :units) " +
+            "ON DUPLICATE KEY UPDATE gross_revenue = gross_revenue + VALUES(gross_revenue), net_revenue = net_revenue + VALUES(net_revenue), " +
+            "order_count = order_count + VALUES(order_count), units = units + VALUES(units)",
+            nativeQuery = true)
+    int addMySql(@Param("salesDate") LocalDate salesDate, @Param("dimension") String dimension, @Param("dimensionId") Long dimensionId,
+                 @Param("slot") Integer slot, @Param("grossRevenue") Long grossRevenue, @Param("netRevenue") Long netRevenue,
+                 @Param("orderCount") Long orderCount, @Param("units") Long units);
+}
@@ -4,25 +4,107 @@ import jihong99.shoppingmall.entity.UserCoupon;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserCouponRepository extends JpaRepository<UserCoupon, Long> {
-    void deleteAllByCouponId(Long couponId);
+    long countByCouponId(Long couponId);
 
-    @Query("SELECT uc FROM UserCoupon uc WHERE uc.users.id = :userId " +
+    @Query("SELECT uc.id FROM UserCoupon uc WHERE uc.coupon.id = :couponId")
+    List<Long> findIdsByCouponId(@Param("couponId") Long couponId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM UserCoupon uc WHERE uc.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM UserCoupon uc WHERE uc.coupon.id = :couponId")
+    int deleteAllByCouponId(@Param("couponId") Long couponId);
+
+    /**
+     * Returns the user's coupons in the given status. A coupon past its expiration date counts as invalid
+     * even if the expiry sweep has not marked it yet.
+     */
+    @Query(value = "SELECT uc FROM UserCoupon uc JOIN FETCH uc.coupon c WHERE uc.users.id = :userId " +
             "AND ( " +
-            "(:status = 'available' AND uc.isValid = true AND uc.isUsed = false) OR " +
+            "(:status = 'available' AND uc.isValid = true AND uc.isUsed = false AND c.expirationDate >= :today) OR " +
             "(:status = 'used' AND uc.isUsed = true) OR " +
-            "(:status = 'invalid' AND uc.isValid = false) " +
-            ")")
-    Page<UserCoupon> findAllByUsersIdAndStatus(Long userId, String status, Pageable pageable);
+            "(:status = 'invalid' AND (uc.isValid = false OR c.expirationDate < :today)) " +
+            ")",
+            countQuery = "SELECT COUNT(uc) FROM UserCoupon uc JOIN uc.coupon c WHERE uc.users.id = :userId " +
+                    "AND ( " +
+                    "(:status = 'available' AND uc.isValid = true AND uc.isUsed = false AND c.expirationDate >= :today) OR " +
+                    "(:status = 'used' AND uc.isUsed = true) OR " +
+                    "(:status = 'invalid' AND (uc.isValid = false OR c.expirationDate < :today)) " +
+                    ")")
+    Page<UserCoupon> findAllByUsersIdAndStatus(@Param("userId") Long userId,
+                                               @Param("status") String status,
+                                               @Param("today") LocalDate today,
+                                               Pageable pageable);
 
     Optional<UserCoupon> findByUsersIdAndCouponId(Long userId, Long couponId);
+    boolean existsByUsersIdAndCouponId(Long userId, Long couponId);
     Page<UserCoupon> findAllByUsersId(Long userId, Pageable pageable);
     List<UserCoupon> findAllByUsersId(Long userId);
+
+    /**
+     * Marks the user's coupon as used only if it is still valid, unused and not past its expiration date.
+     *
+     * @return the number of rows updated; 0 if the coupon could not be consumed
+     */
+    @Modifying
+    @Query("UPDATE UserCoupon uc SET uc.isUsed = true " +
+            "WHERE uc.users.id = :userId AND uc.coupon.id = :couponId AND uc.isValid = true AND uc.isUsed = false " +
+            "AND uc.coupon.id IN (SELECT c.id FROM Coupon c WHERE c.expirationDate >= :today)")
+    int markAsUsed(@Param("userId") Long userId, @Param("couponId") Long couponId, @Param("today") LocalDate today);
+
+    /**
+     * Invalidates every still-valid copy of the coupon.
+     *
+     * @return the number of user coupons invalidated
+     */
+    @Modifying
+    @Query("UPDATE UserCoupon uc SET uc.isValid = false WHERE uc.coupon.id = :couponId AND uc.isValid = true")
+    int invalidateAllByCouponId(@Param("couponId") Long couponId);
+
+    /**
+     * Hands the coupon to every user with the USER role in (afterId, upToId] who does not hold it yet.
+     *
+     * @return the number of coupons handed out
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_coupon (user_id, coupon_id, is_valid, is_used, creation_time, last_modified_time) " +
+            "SELECT u.user_id, :couponId, TRUE, FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM users u " +
+            "WHERE u.role = 'USER' AND u.user_id > :afterId AND u.user_id <= :upToId " +
+            "AND NOT EXISTS (SELECT 1 FROM user_coupon uc WHERE uc.user_id = u.user_id AND uc.coupon_id = :couponId)",
+            nativeQuery = true)
+    int insertForUsersBetween(@Param("couponId") Long couponId,
+                              @Param("afterId") long afterId,
+                              @Param("upToId") long upToId);
+
+    @Query("SELECT uc.users.id FROM UserCoupon uc WHERE uc.coupon.id = :couponId")
+    List<Long> findUserIdsByCouponId(@Param("couponId") Long couponId);
+
+    /**
+     * Hands the coupon to each of the given users who does not hold it yet. Nothing is inserted if the coupon
+     * has been deleted in the meantime.
+     *
+     * @return the number of coupons handed out
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_coupon (user_id, coupon_id, is_valid, is_used, creation_time, last_modified_time) " +
+            "SELECT u.user_id, :couponId, TRUE, FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM users u " +
+            "WHERE u.user_id IN (:userIds) " +
+            "AND EXISTS (SELECT 1 FROM coupon c WHERE c.coupon_id = :couponId) " +
+            "AND NOT EXISTS (SELECT 1 FROM user_coupon uc WHERE uc.user_id = u.user_id AND uc.coupon_id = :couponId)",
+            nativeQuery = true)
+    int insertForUsers(@Param("couponId") Long couponId, @Param("userIds") Collection<Long> userIds);
 }
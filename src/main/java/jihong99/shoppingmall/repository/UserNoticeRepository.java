@@ -4,13 +4,76 @@ import jihong99.shoppingmall.entity.UserNotice;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 @Repository
 public interface UserNoticeRepository extends JpaRepository<UserNotice, Long> {
-    void deleteAllByNoticeId(Long noticeId);
+    long countByNoticeId(Long noticeId);
+
+    @Query("SELECT un.id FROM UserNotice un WHERE un.notice.id = :noticeId")
+    List<Long> findIdsByNoticeId(@Param("noticeId") Long noticeId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM UserNotice un WHERE un.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM UserNotice un WHERE un.notice.id = :noticeId")
+    int deleteAllByNoticeId(@Param("noticeId") Long noticeId);
+
     Page<UserNotice> findAllByUsersId(Long userId, Pageable pageable);
 
+    boolean existsByUsersIdAndNoticeId(Long userId, Long noticeId);
+
+    /**
+     * Delivers the notice to every user holding the item in a cart line with an ID in ({@code afterId}, {@code upToId}]
+     * who does not have it yet.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_notice (user_id, notice_id, is_read, creation_time, last_modified_time) " +
+            "SELECT u.user_id, :noticeId, FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP " +
+            "FROM cart_item ci JOIN users u ON u.cart_id = ci.cart_id " +
+            "WHERE ci.item_id = :itemId AND ci.cart_item_id > :afterId AND ci.cart_item_id <= :upToId " +
+            "AND NOT EXISTS (SELECT 1 FROM user_notice un WHERE un.user_id = u.user_id AND un.notice_id = :noticeId)",
+            nativeQuery = true)
+    int insertForCartItemsBetween(@Param("noticeId") Long noticeId,
+                                  @Param("itemId") Long itemId,
+                                  @Param("afterId") long afterId,
+                                  @Param("upToId") long upToId);
+
+    /**
+     * Returns the users of the unread rows among the given ones. A user holds at most one row per notice,
+     * so each user appears at most once.
+     */
+    @Query("SELECT un.users.id FROM UserNotice un WHERE un.id IN :ids AND un.isRead = false")
+    List<Long> findUnreadUserIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns the users who have not read the notice yet, each at most once.
+     */
+    @Query("SELECT un.users.id FROM UserNotice un WHERE un.notice.id = :noticeId AND un.isRead = false")
+    List<Long> findUnreadUserIdsByNoticeId(@Param("noticeId") Long noticeId);
+
+    /**
+     * Marks the user's copy of a notice as read. Returns 0 if it was already read.
+     */
+    @Modifying
+    @Query("UPDATE UserNotice un SET un.isRead = true " +
+            "WHERE un.users.id = :userId AND un.notice.id = :noticeId AND un.isRead = false")
+    int markAsRead(@Param("userId") Long userId, @Param("noticeId") Long noticeId);
+
+    /**
+     * Marks every unread notice of the user as read and returns how many there were.
+     */
+    @Modifying
+    @Query("UPDATE UserNotice un SET un.isRead = true WHERE un.users.id = :userId AND un.isRead = false")
+    int markAllAsRead(@Param("userId") Long userId);
+
     Optional<UserNotice> findByUsersIdAndNoticeId(Long userId, Long noticeId);
 }
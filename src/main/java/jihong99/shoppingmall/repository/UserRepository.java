@@ -5,10 +5,12 @@ import jihong99.shoppingmall.entity.enums.Roles;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,8 +21,59 @@ public interface UserRepository extends JpaRepository<Users, Long> {
     Page<Users> findAllByRole(Roles role, Pageable pageable);
 
     List<Users> findAllByRole(Roles role);
-    @Query("SELECT u FROM Users u WHERE u.cart.id IN :cartIds")
-    List<Users> findUsersByCartIds(@Param("cartIds") List<Long> cartIds);
+
+    /**
+     * Returns the IDs of the users whose cart lines for the item have IDs in ({@code afterId}, {@code upToId}]
+     * and who have not been delivered the notice yet.
+     */
+    @Query(value = "SELECT u.user_id FROM cart_item ci JOIN users u ON u.cart_id = ci.cart_id " +
+            "WHERE ci.item_id = :itemId AND ci.cart_item_id > :afterId AND ci.cart_item_id <= :upToId " +
+            "AND NOT EXISTS (SELECT 1 FROM user_notice un WHERE un.user_id = u.user_id AND un.notice_id = :noticeId)",
+            nativeQuery = true)
+    List<Long> findUserIdsWithoutNoticeByCartItemsBetween(@Param("noticeId") Long noticeId,
+                                                          @Param("itemId") Long itemId,
+                                                          @Param("afterId") long afterId,
+                                                          @Param("upToId") long upToId);
+
+    @Query("SELECT u.cart.id FROM Users u WHERE u.id = :userId")
+    Optional<Long> findCartIdById(@Param("userId") Long userId);
+
+    long countByRole(Roles role);
+
+    /**
+     * Returns the ID of the last of the next {@code chunkSize} users with the USER role after {@code afterId},
+     * or null if there are none.
+     */
+    @Query(value = "SELECT MAX(t.user_id) FROM (SELECT user_id FROM users WHERE role = 'USER' AND user_id > :afterId " +
+            "ORDER BY user_id LIMIT :chunkSize) t", nativeQuery = true)
+    Long findChunkUpperBoundOfUsers(@Param("afterId") long afterId, @Param("chunkSize") int chunkSize);
+
+    @Query("SELECT u.unreadNoticeCount FROM Users u WHERE u.id = :userId")
+    Optional<Long> findUnreadNoticeCountById(@Param("userId") Long userId);
+
+    /**
+     * Adds one unread notice for each of the users. Each user must appear at most once.
+     */
+    @Modifying
+    @Query("UPDATE Users u SET u.unreadNoticeCount = u.unreadNoticeCount + 1 WHERE u.id IN :userIds")
+    int incrementUnreadNoticeCounts(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Removes one unread notice for each of the users. Each user must appear at most once.
+     */
+    @Modifying
+    @Query("UPDATE Users u SET u.unreadNoticeCount = u.unreadNoticeCount - 1 " +
+            "WHERE u.id IN :userIds AND u.unreadNoticeCount > 0")
+    int decrementUnreadNoticeCounts(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Removes {@code count} unread notices for the user, never going below zero.
+     */
+    @Modifying
+    @Query("UPDATE Users u SET u.unreadNoticeCount = " +
+            "CASE WHEN u.unreadNoticeCount > :count THEN u.unreadNoticeCount - :count ELSE 0 END " +
+            "WHERE u.id = :userId")
+    int decrementUnreadNoticeCount(@Param("userId") Long userId, @Param("count") long count);
 
 }
 
@@ -0,0 +1,155 @@
+package jihong99.shoppingmall.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jihong99.shoppingmall.entity.BackgroundJob;
+import jihong99.shoppingmall.entity.enums.JobStatus;
+import jihong99.shoppingmall.entity.enums.JobType;
+import jihong99.shoppingmall.job.JobChunk;
+import jihong99.shoppingmall.job.JobHandler;
+import jihong99.shoppingmall.repository.BackgroundJobRepository;
+import jihong99.shoppingmall.utils.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs background jobs in chunks on a small in-process pool.
+ *
+ * <p>Every chunk runs in its own transaction that locks the job row, lets the job's {@link JobHandler}
+ * process the elements after the job's cursor, and stores the new cursor, so a chunk's work and its
+ * checkpoint commit together. A job that fails keeps the chunks it committed and can be retried from its
+ * last checkpoint. Cancellation is checked before every chunk. A job interrupted by shutdown is left running
+ * rather than failed, and jobs left pending or running by a previous shutdown are resumed from their last
+ * checkpoint when the application starts.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class BackgroundJobRunner {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(BackgroundJobRunner.class);
+
+    private final BackgroundJobRepository backgroundJobRepository;
+    private final List<JobHandler> jobHandlers;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${job.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${job.pool-size:2}")
+    private int poolSize;
+
+    private final Map<JobType, JobHandler> handlersByType = new EnumMap<>(JobType.class);
+    private final Set<Long> runningJobs = ConcurrentHashMap.newKeySet();
+    private ExecutorService jobExecutor;
+
+    @PostConstruct
+    public void start() {
+        jobHandlers.forEach(handler -> handlersByType.put(handler.getType(), handler));
+        jobExecutor = Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("background-job-"));
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        jobExecutor.shutdownNow();
+        jobExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a job. It starts once the current transaction commits, or right away if there is none.
+     *
+     * @param type the kind of work the job does
+     * @param targetId the ID of the entity whose related rows the job walks
+     * @param referenceId the ID of the entity the job applies to each row
+     * @return the created job
+     */
+    public BackgroundJob submit(JobType type, Long targetId, Long referenceId) {
+        BackgroundJob job = backgroundJobRepository.save(BackgroundJob.of(type, targetId, referenceId));
+        TransactionCallbacks.afterCommit(() -> schedule(job.getId()));
+        return job;
+    }
+
+    /**
+     * Runs a job that was put back to pending. It starts once the current transaction commits, or right away
+     * if there is none.
+     *
+     * @param jobId the ID of the job
+     */
+    public void resume(Long jobId) {
+        TransactionCallbacks.afterCommit(() -> schedule(jobId));
+    }
+
+    /**
+     * Resumes the jobs a previous shutdown left pending or running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        backgroundJobRepository.findIdsByStatusIn(List.of(JobStatus.PENDING, JobStatus.RUNNING))
+                .forEach(this::schedule);
+    }
+
+    private void schedule(Long jobId) {
+        if (runningJobs.add(jobId)) {
+            jobExecutor.execute(() -> run(jobId));
+        }
+    }
+
+    private void run(Long jobId) {
+        try {
+            boolean hasMore = true;
+            while (hasMore && !Thread.currentThread().isInterrupted()) {
+                hasMore = runChunk(jobId);
+            }
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted() || jobExecutor.isShutdown()) {
+                LOGGER.warn("Background job {} was interrupted; it is resumed on the next start", jobId);
+                return;
+            }
+            LOGGER.error("Background job {} failed", jobId, e);
+            transactionTemplate.executeWithoutResult(status -> backgroundJobRepository.findByIdForUpdate(jobId)
+                    .ifPresent(job -> job.fail(e.getMessage())));
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    private boolean runChunk(Long jobId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            BackgroundJob job = backgroundJobRepository.findByIdForUpdate(jobId).orElse(null);
+            if (job == null || job.isFinished()) {
+                return false;
+            }
+            if (job.isCancelRequested()) {
+                job.cancel();
+                return false;
+            }
+            job.start();
+            JobHandler handler = handlersByType.get(job.getType());
+            if (handler == null) {
+                throw new IllegalStateException("No handler for job type " + job.getType());
+            }
+            JobChunk chunk = handler.processChunk(job, job.getLastProcessedId(), chunkSize);
+            if (chunk == null) {
+                job.complete();
+                return false;
+            }
+            job.advance(chunk.getLastId(), chunk.getProcessedCount());
+            return true;
+        }));
+    }
+}
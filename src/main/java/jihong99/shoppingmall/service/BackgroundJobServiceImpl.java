@@ -0,0 +1,76 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.response.job.BackgroundJobResponseDto;
+import jihong99.shoppingmall.entity.BackgroundJob;
+import jihong99.shoppingmall.entity.enums.JobStatus;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.exception.NotFoundException;
+import jihong99.shoppingmall.repository.BackgroundJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static jihong99.shoppingmall.constants.Constants.*;
+
+@Service
+@RequiredArgsConstructor
+public class BackgroundJobServiceImpl implements IBackgroundJobService {
+
+    private final BackgroundJobRepository backgroundJobRepository;
+    private final BackgroundJobRunner backgroundJobRunner;
+
+    /**
+     * Retrieves the status and progress of a background job.
+     *
+     * @param jobId The ID of the job.
+     * @return The status and progress of the job.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BackgroundJobResponseDto getJob(Long jobId) {
+        return BackgroundJobResponseDto.of(findJobOrThrow(jobId));
+    }
+
+    /**
+     * Asks a pending or running job to stop. The job stops before its next chunk; chunks already committed stay committed.
+     *
+     * @param jobId The ID of the job.
+     * @return The status and progress of the job.
+     */
+    @Override
+    @Transactional
+    public BackgroundJobResponseDto cancelJob(Long jobId) {
+        if (backgroundJobRepository.requestCancel(jobId) == 0) {
+            findJobOrThrow(jobId);
+            throw new InvalidOperationException(MESSAGE_400_JobAlreadyFinished);
+        }
+        return BackgroundJobResponseDto.of(findJobOrThrow(jobId));
+    }
+
+    /**
+     * Runs a failed job again from its last committed chunk, once the current transaction commits.
+     *
+     * @param jobId The ID of the job.
+     * @return The status and progress of the job.
+     * @throws InvalidOperationException if the job has not failed.
+     */
+    @Override
+    @Transactional
+    public BackgroundJobResponseDto retryJob(Long jobId) {
+        BackgroundJob job = backgroundJobRepository.findByIdForUpdate(jobId).orElseThrow(
+                () -> new NotFoundException(MESSAGE_404_JobNotFound)
+        );
+        if (job.getStatus() != JobStatus.FAILED) {
+            throw new InvalidOperationException(MESSAGE_400_JobNotFailed);
+        }
+        job.retry();
+        backgroundJobRunner.resume(jobId);
+        return BackgroundJobResponseDto.of(job);
+    }
+
+    private BackgroundJob findJobOrThrow(Long jobId) {
+        return backgroundJobRepository.findById(jobId).orElseThrow(
+                () -> new NotFoundException(MESSAGE_404_JobNotFound)
+        );
+    }
+}
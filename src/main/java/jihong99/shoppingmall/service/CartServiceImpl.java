@@ -1,7 +1,14 @@
 package jihong99.shoppingmall.service;
 
+import jihong99.shoppingmall.config.DatabasePlatform;
+import jihong99.shoppingmall.dto.request.cart.CartBatchRequestDto;
 import jihong99.shoppingmall.dto.request.cart.CartItemRequestDto;
+import jihong99.shoppingmall.dto.request.cart.CartOperationRequestDto;
 import jihong99.shoppingmall.dto.request.cart.UpdateQuantityRequestDto;
+import jihong99.shoppingmall.dto.response.cart.CartBatchResponseDto;
+import jihong99.shoppingmall.dto.response.cart.CartBatchResponseDto.OperationResultDto;
+import jihong99.shoppingmall.dto.response.cart.CartResponseDto;
+import jihong99.shoppingmall.dto.response.cart.CartResponseDto.CartLineDto;
 import jihong99.shoppingmall.entity.*;
 import jihong99.shoppingmall.exception.InvalidOperationException;
 import jihong99.shoppingmall.exception.NotFoundException;
@@ -10,6 +17,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Collectors;
 
 import static jihong99.shoppingmall.constants.Constants.*;
 
@@ -21,41 +33,82 @@ public class CartServiceImpl implements ICartService{
     private final CartItemRepository cartItemRepository;
     private final ItemRepository itemRepository;
     private final UserCouponRepository userCouponRepository;
+    private final CartWriteBehindStore cartWriteBehindStore;
+    private final CouponCatalog couponCatalog;
+    private final DatabasePlatform databasePlatform;
 
     /**
-     * Adds an item to the user's cart. If the item is already in the cart, updates the quantity.
-     * Recalculates the cart's total prices after the addition.
+     * Retrieves the user's cart with its lines and total prices.
+     *
+     * <p>Quantities recorded in the write-behind store but not written to the database yet are overlaid
+     * onto the stored lines, and the totals are computed from the overlaid quantities, so a read always
+     * reflects every acknowledged change.</p>
+     *
+     * @param userId The ID of the user.
+     * @return The cart lines, the applied coupon and the total prices.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CartResponseDto getCart(Long userId) {
+        Cart cart = findUserOrThrow(userId).getCart();
+        Map<Long, Integer> pendingQuantities = cartWriteBehindStore.getPendingQuantities(userId);
+
+        List<CartLineDto> lines = cartItemRepository.findAllWithItemByCartId(cart.getId()).stream()
+                .map(cartItem -> CartLineDto.of(cartItem.getItem().getId(), cartItem.getItem().getName(), cartItem.getPrice(),
+                        pendingQuantities.getOrDefault(cartItem.getItem().getId(), cartItem.getQuantity())))
+                .collect(Collectors.toList());
+        long originalTotalPrice = lines.stream().mapToLong(CartLineDto::getTotalPrice).sum();
+        long discount = couponCatalog.discountOf(cart.getAppliedCoupon()).applyAsLong(originalTotalPrice);
+        Long appliedCouponId = cart.getAppliedCoupon() == null ? null : cart.getAppliedCoupon().getId();
+        return CartResponseDto.of(lines, appliedCouponId, originalTotalPrice, originalTotalPrice - discount);
+    }
+
+    /**
+     * Adds an item to the user's cart. If the item is already in the cart, increments the quantity.
+     *
+     * <p>The cart row is locked first, so concurrent additions to the same cart run one after another; taking
+     * the lock before the line is inserted keeps the foreign key check of the insert from deadlocking them.
+     * The cart line is then written with a single native upsert backed by the unique (cart_id, item_id)
+     * constraint. The quantity of the upserted line, including what the cart already held, is then checked
+     * against the stock, and the transaction is rolled back if it exceeds it. Finally the total prices are set
+     * with one update from the sum of the lines and the coupon terms of the coupon catalog, without loading
+     * the cart's lines.</p>
      *
      * @param userId The ID of the user.
      * @param itemId The ID of the item to add.
      * @param cartItemRequestDto Contains the quantity of the item to add.
+     * @throws InvalidOperationException if the cart would hold more of the item than is in stock.
      */
     @Override
     @Transactional
     public void addCartItem(Long userId, Long itemId, CartItemRequestDto cartItemRequestDto) {
-        Users user = findUserOrThrow(userId);
+        cartWriteBehindStore.flush(userId);
+        Long cartId = userRepository.findCartIdById(userId)
+                .orElseThrow(() -> new NotFoundException(MESSAGE_404_UserNotFound));
         Item item = findItemOrThrow(itemId);
-        Cart cart = user.getCart();
 
         validateStockAvailability(item, cartItemRequestDto.getQuantity());
 
-        CartItem cartItem = cartItemRepository.findByCartIdAndItemId(cart.getId(), item.getId())
-                .orElseGet(() -> createNewCartItem(cart, item, cartItemRequestDto.getQuantity()));
-
-        if (cartItem.getId() != null) {
-            updateCartItemQuantity(cartItem, cartItemRequestDto.getQuantity());
-        }else{
-            cart.addCartItem(cartItem);
+        Cart cart = cartRepository.findByIdForUpdate(cartId)
+                .orElseThrow(() -> new NotFoundException(MESSAGE_404_UserNotFound));
+        LongUnaryOperator couponDiscount = couponCatalog.discountOf(cart.getAppliedCoupon());
+        if (databasePlatform.isMySql()) {
+            cartItemRepository.upsertQuantityMySql(cartId, item.getId(), cartItemRequestDto.getQuantity(), item.getPrice());
+        } else {
+            cartItemRepository.upsertQuantityH2(cartId, item.getId(), cartItemRequestDto.getQuantity(), item.getPrice());
         }
-
-        cart.recalculateTotalPrices();
-        cartItemRepository.save(cartItem);
+        validateStockAvailability(item, cartItemRepository.findQuantityByCartIdAndItemId(cartId, item.getId()));
+        long originalTotalPrice = cartItemRepository.sumTotalPriceByCartId(cartId);
+        cartRepository.updateTotalPrices(cartId, originalTotalPrice, originalTotalPrice - couponDiscount.applyAsLong(originalTotalPrice));
     }
 
     /**
      * Updates the quantity of an item in the user's cart.
      * Recalculates the cart's total prices after updating the quantity.
      *
+     * <p>When the write-behind store is enabled, the new quantity is journaled and absorbed in memory,
+     * and the cart is written to the database later with the user's other coalesced changes.</p>
+     *
      * @param userId The ID of the user.
      * @param itemId The ID of the item to update.
      * @param updateQuantityRequestDto Contains the new quantity for the item.
@@ -66,11 +119,19 @@ public class CartServiceImpl implements ICartService{
         Users user = findUserOrThrow(userId);
         Cart cart = user.getCart();
         Item item = findItemOrThrow(itemId);
-        CartItem cartItem = findCartItemOrThrow(itemId, cart);
-
         validateStockAvailability(item, updateQuantityRequestDto.getQuantity());
+
+        if (cartWriteBehindStore.isEnabled()) {
+            if (!cartWriteBehindStore.isTracked(userId, itemId)) {
+                findCartItemOrThrow(itemId, cart);
+            }
+            cartWriteBehindStore.recordQuantity(userId, cart.getId(), itemId, updateQuantityRequestDto.getQuantity());
+            return;
+        }
+
+        CartItem cartItem = findCartItemOrThrow(itemId, cart);
         cartItem.updateQuantity(updateQuantityRequestDto.getQuantity());
-        cart.recalculateTotalPrices();
+        cart.recalculateTotalPrices(couponCatalog.discountOf(cart.getAppliedCoupon()));
 
         cartItemRepository.save(cartItem);
     }
@@ -86,18 +147,20 @@ public class CartServiceImpl implements ICartService{
     @Override
     @Transactional
     public void removeCartItem(Long userId, Long itemId) {
+        cartWriteBehindStore.flush(userId);
         Users user = findUserOrThrow(userId);
         Cart cart = user.getCart();
         CartItem cartItem = findCartItemOrThrow(itemId, cart);
 
         cartItemRepository.delete(cartItem);
         cart.removeCartItem(cartItem);
-        cart.recalculateTotalPrices();
+        cart.recalculateTotalPrices(couponCatalog.discountOf(cart.getAppliedCoupon()));
         cartRepository.save(cart);
     }
     /**
      * Applies a valid coupon to the user's cart.
      * Recalculates the cart's total prices after applying the coupon.
+     * The coupon's expiration and discount are read from the coupon catalog, not the database.
      *
      * @param userId The ID of the user applying the coupon
      * @param couponId The ID of the coupon to apply
@@ -105,14 +168,18 @@ public class CartServiceImpl implements ICartService{
     @Override
     @Transactional
     public void applyCoupon(Long userId, Long couponId) {
+        cartWriteBehindStore.flush(userId);
         Users user = findUserOrThrow(userId);
         Cart cart = user.getCart();
         UserCoupon userCoupon = findUserCouponOrThrow(userId, couponId);
-        if(!userCoupon.getIsValid() || userCoupon.getIsUsed()){
+        boolean expired = couponCatalog.findById(couponId)
+                .map(coupon -> coupon.isExpired(LocalDate.now()))
+                .orElse(true);
+        if(!userCoupon.getIsValid() || userCoupon.getIsUsed() || expired){
             throw new InvalidOperationException(MESSAGE_400_InvalidOrUsedCoupon);
         }
         cart.updateAppliedCoupon(userCoupon.getCoupon());
-        cart.recalculateTotalPrices();
+        cart.recalculateTotalPrices(couponCatalog.discountOf(cart.getAppliedCoupon()));
         cartRepository.save(cart);
     }
 
@@ -126,16 +193,108 @@ public class CartServiceImpl implements ICartService{
     @Override
     @Transactional
     public void removeAppliedCoupon(Long userId) {
+        cartWriteBehindStore.flush(userId);
         Users user = findUserOrThrow(userId);
         Cart cart = user.getCart();
         if(cart.getAppliedCoupon() == null){
             throw new InvalidOperationException(MESSAGE_400_NoAppliedCouponExists);
         }
         cart.updateAppliedCoupon(null);
-        cart.recalculateTotalPrices();
+        cart.recalculateTotalPrices(couponCatalog.discountOf(cart.getAppliedCoupon()));
+        cartRepository.save(cart);
+    }
+
+    /**
+     * Applies a batch of add, update and remove operations to the user's cart in a single transaction.
+     *
+     * <p>All referenced items are loaded with one query and stock is validated in memory against the
+     * quantity the line would end up with, including what the cart already holds. An operation
+     * that fails validation is reported in its result and does not affect the others. The cart's total
+     * prices are recalculated once after every operation has been applied.</p>
+     *
+     * @param userId The ID of the user.
+     * @param cartBatchRequestDto Contains the operations to apply, in order.
+     * @return The per-operation results in request order, along with the recalculated cart totals.
+     */
+    @Override
+    @Transactional
+    public CartBatchResponseDto applyCartOperations(Long userId, CartBatchRequestDto cartBatchRequestDto) {
+        cartWriteBehindStore.flush(userId);
+        Users user = findUserOrThrow(userId);
+        Cart cart = user.getCart();
+        List<CartOperationRequestDto> operations = cartBatchRequestDto.getOperations();
+
+        Set<Long> itemIds = operations.stream()
+                .map(CartOperationRequestDto::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, CartItem> cartItems = cart.getCartItems().stream()
+                .collect(Collectors.toMap(cartItem -> cartItem.getItem().getId(), Function.identity()));
+
+        List<OperationResultDto> results = new ArrayList<>(operations.size());
+        for (int index = 0; index < operations.size(); index++) {
+            CartOperationRequestDto operation = operations.get(index);
+            String failure = applyCartOperation(cart, operation, items, cartItems);
+            results.add(OperationResultDto.of(index, operation.getType(), operation.getItemId(),
+                    failure == null, failure == null ? MESSAGE_200_CartOperationSuccess : failure));
+        }
+
+        cart.recalculateTotalPrices(couponCatalog.discountOf(cart.getAppliedCoupon()));
         cartRepository.save(cart);
+        return CartBatchResponseDto.of(results, cart.getOriginalTotalPrice(), cart.getEstimatedTotalPrice());
     }
 
+    private String applyCartOperation(Cart cart, CartOperationRequestDto operation,
+                                      Map<Long, Item> items, Map<Long, CartItem> cartItems) {
+        CartItem cartItem = cartItems.get(operation.getItemId());
+        switch (operation.getType()) {
+            case ADD -> {
+                Item item = items.get(operation.getItemId());
+                if (item == null) {
+                    return MESSAGE_404_ItemNotFound;
+                }
+                if (operation.getQuantity() == null) {
+                    return MESSAGE_400_QuantityRequired;
+                }
+                int quantityInCart = cartItem == null ? 0 : cartItem.getQuantity();
+                if (item.getStock() < quantityInCart + operation.getQuantity()) {
+                    return MESSAGE_400_StockUnavailable;
+                }
+                if (cartItem != null) {
+                    updateCartItemQuantity(cartItem, operation.getQuantity());
+                } else {
+                    CartItem newCartItem = CartItem.of(cart, item, operation.getQuantity(), item.getPrice());
+                    cart.addCartItem(newCartItem);
+                    cartItems.put(item.getId(), newCartItem);
+                }
+            }
+            case UPDATE -> {
+                Item item = items.get(operation.getItemId());
+                if (item == null) {
+                    return MESSAGE_404_ItemNotFound;
+                }
+                if (operation.getQuantity() == null) {
+                    return MESSAGE_400_QuantityRequired;
+                }
+                if (item.getStock() < operation.getQuantity()) {
+                    return MESSAGE_400_StockUnavailable;
+                }
+                if (cartItem == null) {
+                    return MESSAGE_404_CartItemNotFound;
+                }
+                cartItem.updateQuantity(operation.getQuantity());
+            }
+            case REMOVE -> {
+                if (cartItem == null) {
+                    return MESSAGE_404_CartItemNotFound;
+                }
+                cart.removeCartItem(cartItem);
+                cartItems.remove(operation.getItemId());
+            }
+        }
+        return null;
+    }
 
     private Users findUserOrThrow(Long userId) {
         return userRepository.findById(userId)
@@ -147,12 +306,6 @@ public class CartServiceImpl implements ICartService{
                 .orElseThrow(() -> new NotFoundException(MESSAGE_404_ItemNotFound));
     }
 
-    private CartItem createNewCartItem(Cart cart, Item item, int quantity) {
-        CartItem newCartItem = CartItem.of(cart, item, quantity, item.getPrice());
-        cartItemRepository.save(newCartItem);
-        return newCartItem;
-    }
-
     private void updateCartItemQuantity(CartItem cartItem, int additionalQuantity) {
         cartItem.updateQuantity(cartItem.getQuantity() + additionalQuantity);
     }
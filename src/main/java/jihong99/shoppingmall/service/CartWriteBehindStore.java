@@ -0,0 +1,517 @@
+package jihong99.shoppingmall.service;
+
+import jakarta.annotation.PreDestroy;
+import jihong99.shoppingmall.entity.Cart;
+import jihong99.shoppingmall.entity.CartItem;
+import jihong99.shoppingmall.repository.CartItemRepository;
+import jihong99.shoppingmall.repository.CartRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process write-behind store for cart quantity changes.
+ *
+ * <p>Quantity updates are absorbed in memory and appended to a local append-only journal
+ * before they are acknowledged. Coalesced changes are written to the CART and CART_ITEM tables
+ * on a fixed interval, or immediately through {@link #flush(Long)} when a user's cart has to be
+ * read or changed through another path (e.g., checkout).</p>
+ *
+ * <p>The journal contains two kinds of records, each carrying a monotonically increasing sequence number:</p>
+ * <ul>
+ *     <li>{@code S,seq,userId,cartId,itemId,quantity} - a quantity was set for a cart line</li>
+ *     <li>{@code F,seq,userId,flushedSeq} - every record of the user up to {@code flushedSeq} is in the database</li>
+ * </ul>
+ * <p>On startup the journal segments are replayed and every set record that is not covered by a later
+ * flush record is written to the database, so no acknowledged change is lost.</p>
+ *
+ * <p>Each cart line remembers the sequence number of the last record applied to it, and a record is only
+ * applied to a line holding an older one. A crash between the commit of a flush and its flush record
+ * therefore replays changes that are already in the database without effect, instead of writing them
+ * over newer quantities. Sequence numbers are seeded from the clock and from the newest applied record,
+ * so they keep increasing across restarts.</p>
+ *
+ * <p>Reads of a cart that may have pending changes should overlay {@link #getPendingQuantities(Long)}
+ * onto the stored quantities, or call {@link #flush(Long)} first.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CartWriteBehindStore {
+
+    private static final String JOURNAL_PREFIX = "cart-journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+
+    private final Logger LOGGER = LoggerFactory.getLogger(CartWriteBehindStore.class);
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CouponCatalog couponCatalog;
+
+    @Value("${cart.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cart.write-behind.journal-dir:./cart-journal}")
+    private String journalDir;
+
+    /**
+     * Pending changes per user. Guarded by {@link #journalLock}.
+     */
+    private final Map<Long, PendingCart> pendingCarts = new HashMap<>();
+
+    /**
+     * Journal segments that were sealed but could not be deleted yet. Guarded by {@link #journalLock}.
+     */
+    private final List<Path> sealedSegments = new ArrayList<>();
+
+    /**
+     * Users whose changes are being written by {@link #flushAll()}. Guarded by {@link #journalLock}.
+     */
+    private final Set<Long> writingUsers = new HashSet<>();
+
+    /**
+     * Changes per user that were taken out of {@link #pendingCarts} and are being written but are not
+     * committed yet, oldest first. Guarded by {@link #journalLock}.
+     */
+    private final Map<Long, List<PendingCart>> inFlightCarts = new HashMap<>();
+
+    private final Object journalLock = new Object();
+
+    private FileChannel activeJournal;
+    private long activeSegmentNumber;
+    private long nextSequence = System.currentTimeMillis() * 1000;
+    private int inFlightUserFlushes;
+
+    /**
+     * Indicates whether the write-behind store is enabled.
+     *
+     * @return true if cart quantity changes should be recorded through this store
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks whether a pending change exists for the given cart line.
+     *
+     * @param userId The ID of the user.
+     * @param itemId The ID of the item.
+     * @return true if the cart line has an unflushed quantity change
+     */
+    public boolean isTracked(Long userId, Long itemId) {
+        synchronized (journalLock) {
+            PendingCart pending = pendingCarts.get(userId);
+            return pending != null && pending.quantities.containsKey(itemId);
+        }
+    }
+
+    /**
+     * Returns the quantities that were recorded for the user's cart but are not in the database yet.
+     *
+     * @param userId The ID of the user.
+     * @return the pending quantities keyed by item ID; empty if there are none or the store is disabled
+     */
+    public Map<Long, Integer> getPendingQuantities(Long userId) {
+        if (!enabled) {
+            return Collections.emptyMap();
+        }
+        synchronized (journalLock) {
+            Map<Long, Integer> quantities = new HashMap<>();
+            inFlightCarts.getOrDefault(userId, Collections.emptyList())
+                    .forEach(pending -> quantities.putAll(pending.quantities));
+            PendingCart pending = pendingCarts.get(userId);
+            if (pending != null) {
+                quantities.putAll(pending.quantities);
+            }
+            return quantities;
+        }
+    }
+
+    /**
+     * Records a new quantity for a cart line.
+     *
+     * <p>The change is appended to the journal and forced to disk before this method returns,
+     * so a returned call is an acknowledged change.</p>
+     *
+     * @param userId The ID of the user.
+     * @param cartId The ID of the user's cart.
+     * @param itemId The ID of the item.
+     * @param quantity The new quantity of the cart line.
+     */
+    public void recordQuantity(Long userId, Long cartId, Long itemId, int quantity) {
+        synchronized (journalLock) {
+            long sequence = nextSequence++;
+            appendToJournal("S," + sequence + "," + userId + "," + cartId + "," + itemId + "," + quantity);
+            pendingCarts.computeIfAbsent(userId, id -> new PendingCart(cartId)).put(itemId, quantity, sequence);
+        }
+    }
+
+    /**
+     * Writes the pending changes of a single user to the database.
+     *
+     * <p>When called inside a transaction the changes join it. If that transaction rolls back,
+     * the changes are put back into the store so they are not lost.</p>
+     *
+     * @param userId The ID of the user whose pending changes should be written.
+     */
+    public void flush(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        PendingCart pending;
+        synchronized (journalLock) {
+            awaitBackgroundWrite(userId);
+            pending = pendingCarts.remove(userId);
+            if (pending == null) {
+                return;
+            }
+            markInFlight(userId, pending);
+            inFlightUserFlushes++;
+        }
+        try {
+            writeToDatabase(pending);
+        } catch (RuntimeException e) {
+            completeUserFlush(userId, pending, false);
+            throw e;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    completeUserFlush(userId, pending, status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            completeUserFlush(userId, pending, true);
+        }
+    }
+
+    /**
+     * Periodically writes all coalesced changes to the database and rotates the journal.
+     */
+    @Scheduled(fixedDelayString = "${cart.write-behind.flush-interval-ms:1000}")
+    public void flushAll() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, PendingCart> snapshot;
+        synchronized (journalLock) {
+            if (pendingCarts.isEmpty()) {
+                return;
+            }
+            snapshot = new HashMap<>(pendingCarts);
+            pendingCarts.clear();
+            writingUsers.addAll(snapshot.keySet());
+            snapshot.forEach(this::markInFlight);
+            rotateJournal();
+        }
+
+        snapshot.forEach((userId, pending) -> {
+            boolean written = true;
+            try {
+                writeToDatabase(pending);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to flush cart changes for user {}", userId, e);
+                written = false;
+            }
+            synchronized (journalLock) {
+                if (written) {
+                    appendFlushMarker(userId, pending.lastSequence);
+                } else {
+                    requeue(userId, pending);
+                }
+                unmarkInFlight(userId, pending);
+                writingUsers.remove(userId);
+                journalLock.notifyAll();
+            }
+        });
+
+        synchronized (journalLock) {
+            deleteSealedSegmentsIfIdle();
+        }
+    }
+
+    /**
+     * Replays the journal left behind by a previous run and writes the recovered changes to the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (journalLock) {
+            List<Path> segments = listSegments();
+            Map<Long, PendingCart> recovered = replay(segments);
+            nextSequence = Math.max(nextSequence, cartItemRepository.findMaxJournalSequence() + 1);
+            activeSegmentNumber = segments.isEmpty() ? 0 : segmentNumber(segments.get(segments.size() - 1)) + 1;
+            openActiveSegment();
+            recovered.forEach(this::requeue);
+            segments.forEach(CartWriteBehindStore::deleteQuietly);
+            LOGGER.info("Recovered pending cart changes for {} users from the journal", recovered.size());
+        }
+        flushAll();
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        flushAll();
+        synchronized (journalLock) {
+            if (activeJournal != null) {
+                try {
+                    activeJournal.close();
+                } catch (IOException e) {
+                    LOGGER.warn("Failed to close the cart journal", e);
+                }
+            }
+        }
+    }
+
+    private void writeToDatabase(PendingCart pending) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Optional<Cart> found = cartRepository.findById(pending.cartId);
+            if (found.isEmpty()) {
+                return;
+            }
+            Cart cart = found.get();
+            for (CartItem cartItem : cart.getCartItems()) {
+                Long itemId = cartItem.getItem().getId();
+                Integer quantity = pending.quantities.get(itemId);
+                if (quantity != null) {
+                    cartItem.applyJournaledQuantity(quantity, pending.sequences.get(itemId));
+                }
+            }
+            cart.recalculateTotalPrices(couponCatalog.discountOf(cart.getAppliedCoupon()));
+            cartRepository.save(cart);
+        });
+    }
+
+    /**
+     * Waits until a periodic flush has committed the older changes of the user,
+     * so they can never overwrite newer changes written by {@link #flush(Long)}.
+     */
+    private void awaitBackgroundWrite(Long userId) {
+        while (writingUsers.contains(userId)) {
+            try {
+                journalLock.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the cart flush", e);
+            }
+        }
+    }
+
+    private void markInFlight(Long userId, PendingCart pending) {
+        inFlightCarts.computeIfAbsent(userId, id -> new ArrayList<>()).add(pending);
+    }
+
+    private void unmarkInFlight(Long userId, PendingCart pending) {
+        List<PendingCart> carts = inFlightCarts.get(userId);
+        if (carts != null && carts.remove(pending) && carts.isEmpty()) {
+            inFlightCarts.remove(userId);
+        }
+    }
+
+    private void completeUserFlush(Long userId, PendingCart pending, boolean committed) {
+        synchronized (journalLock) {
+            if (committed) {
+                appendFlushMarker(userId, pending.lastSequence);
+            } else {
+                requeue(userId, pending);
+            }
+            unmarkInFlight(userId, pending);
+            inFlightUserFlushes--;
+            deleteSealedSegmentsIfIdle();
+        }
+    }
+
+    /**
+     * Puts changes that were not written back into the store. Newer changes for the same
+     * cart line take precedence. Re-queued changes are journaled again, so sealed segments
+     * never hold the only copy of a pending change.
+     */
+    private void requeue(Long userId, PendingCart pending) {
+        PendingCart current = pendingCarts.computeIfAbsent(userId, id -> new PendingCart(pending.cartId));
+        pending.quantities.forEach((itemId, quantity) -> {
+            if (!current.quantities.containsKey(itemId)) {
+                long sequence = nextSequence++;
+                appendToJournal("S," + sequence + "," + userId + "," + pending.cartId + "," + itemId + "," + quantity);
+                current.put(itemId, quantity, sequence);
+            }
+        });
+    }
+
+    private void appendFlushMarker(Long userId, long flushedSequence) {
+        appendToJournal("F," + nextSequence++ + "," + userId + "," + flushedSequence);
+    }
+
+    private void appendToJournal(String record) {
+        if (activeJournal == null) {
+            openActiveSegment();
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                activeJournal.write(buffer);
+            }
+            activeJournal.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to the cart journal", e);
+        }
+    }
+
+    private void rotateJournal() {
+        if (activeJournal == null) {
+            return;
+        }
+        try {
+            activeJournal.close();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close the cart journal segment", e);
+        }
+        sealedSegments.add(segmentPath(activeSegmentNumber));
+        activeSegmentNumber++;
+        openActiveSegment();
+    }
+
+    private void deleteSealedSegmentsIfIdle() {
+        if (inFlightUserFlushes > 0) {
+            return;
+        }
+        sealedSegments.forEach(CartWriteBehindStore::deleteQuietly);
+        sealedSegments.clear();
+    }
+
+    private void openActiveSegment() {
+        try {
+            Files.createDirectories(Paths.get(journalDir));
+            activeJournal = FileChannel.open(segmentPath(activeSegmentNumber),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the cart journal", e);
+        }
+    }
+
+    private Map<Long, PendingCart> replay(List<Path> segments) {
+        Map<Long, PendingCart> recovered = new HashMap<>();
+        Map<Long, Long> flushedUpTo = new HashMap<>();
+        for (Path segment : segments) {
+            try (Stream<String> lines = Files.lines(segment, StandardCharsets.UTF_8)) {
+                lines.forEach(line -> replayRecord(line, recovered, flushedUpTo));
+            } catch (IOException | UncheckedIOException e) {
+                LOGGER.warn("Failed to read cart journal segment {}", segment, e);
+            }
+        }
+        Map<Long, PendingCart> pending = new HashMap<>();
+        recovered.forEach((userId, cart) -> {
+            long flushed = flushedUpTo.getOrDefault(userId, 0L);
+            PendingCart remaining = new PendingCart(cart.cartId);
+            cart.quantities.forEach((itemId, quantity) -> {
+                long sequence = cart.sequences.get(itemId);
+                if (sequence > flushed) {
+                    remaining.put(itemId, quantity, sequence);
+                }
+            });
+            if (!remaining.quantities.isEmpty()) {
+                pending.put(userId, remaining);
+            }
+        });
+        return pending;
+    }
+
+    private void replayRecord(String line, Map<Long, PendingCart> recovered, Map<Long, Long> flushedUpTo) {
+        String[] fields = line.split(",");
+        try {
+            if (fields.length == 6 && "S".equals(fields[0])) {
+                long sequence = Long.parseLong(fields[1]);
+                Long userId = Long.valueOf(fields[2]);
+                Long cartId = Long.valueOf(fields[3]);
+                recovered.computeIfAbsent(userId, id -> new PendingCart(cartId))
+                        .put(Long.valueOf(fields[4]), Integer.parseInt(fields[5]), sequence);
+                nextSequence = Math.max(nextSequence, sequence + 1);
+            } else if (fields.length == 4 && "F".equals(fields[0])) {
+                long sequence = Long.parseLong(fields[1]);
+                flushedUpTo.merge(Long.valueOf(fields[2]), Long.parseLong(fields[3]), Math::max);
+                nextSequence = Math.max(nextSequence, sequence + 1);
+            }
+        } catch (NumberFormatException e) {
+            // A torn record from a crash in the middle of an append was never acknowledged.
+            LOGGER.warn("Skipping malformed cart journal record: {}", line);
+        }
+    }
+
+    private List<Path> listSegments() {
+        Path directory = Paths.get(journalDir);
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(JOURNAL_PREFIX))
+                    .sorted(Comparator.comparingLong(CartWriteBehindStore::segmentNumber))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list cart journal segments", e);
+        }
+    }
+
+    private Path segmentPath(long segmentNumber) {
+        return Paths.get(journalDir, JOURNAL_PREFIX + segmentNumber + JOURNAL_SUFFIX);
+    }
+
+    private static long segmentNumber(Path segment) {
+        String fileName = segment.getFileName().toString();
+        return Long.parseLong(fileName.substring(JOURNAL_PREFIX.length(), fileName.length() - JOURNAL_SUFFIX.length()));
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // A leftover segment is replayed safely on the next start.
+        }
+    }
+
+    /**
+     * Coalesced quantity changes of a single cart, keyed by item ID.
+     */
+    private static class PendingCart {
+        private final Long cartId;
+        private final Map<Long, Integer> quantities = new LinkedHashMap<>();
+        private final Map<Long, Long> sequences = new HashMap<>();
+        private long lastSequence;
+
+        private PendingCart(Long cartId) {
+            this.cartId = cartId;
+        }
+
+        private void put(Long itemId, int quantity, long sequence) {
+            quantities.put(itemId, quantity);
+            sequences.put(itemId, sequence);
+            lastSequence = Math.max(lastSequence, sequence);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package jihong99.shoppingmall.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes large sets of rows in bounded chunks, each chunk in its own transaction.
+ *
+ * <p>Each chunk selects up to {@code bulk-delete.chunk-size} IDs and removes them with a single bulk
+ * DELETE, so no entities are loaded and no transaction holds more than one chunk's locks or undo log.
+ * Once no IDs are left, a final transaction runs the caller's last step, typically deleting whatever
+ * was added concurrently together with the parent row. Deletions expected to touch more than
+ * {@code bulk-delete.background-threshold} rows run on a background thread instead of the caller's.</p>
+ *
+ * <p>A deletion that is interrupted, e.g. by a shutdown, stops after its current chunk and skips the final
+ * step, so the parent row stays in place and the deletion can simply be requested again. Every deletion
+ * logs when it starts, every {@code bulk-delete.progress-log-chunks} chunks, and when it finishes or stops.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ChunkedDeleter {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ChunkedDeleter.class);
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bulk-delete.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${bulk-delete.background-threshold:10000}")
+    private long backgroundThreshold;
+
+    @Value("${bulk-delete.progress-log-chunks:100}")
+    private int progressLogChunks;
+
+    private final ExecutorService deleteExecutor = Executors.newSingleThreadExecutor();
+
+    @PreDestroy
+    public void close() {
+        deleteExecutor.shutdownNow();
+    }
+
+    /**
+     * Deletes rows in chunks until the selector finds none, then runs the final step.
+     * If the deleting thread is interrupted first, the final step is skipped.
+     *
+     * @param description what is being deleted, for logging
+     * @param expectedRows the number of rows expected to be deleted, used to decide whether to run in the background
+     * @param idSelector returns the IDs of up to one page of rows still to delete
+     * @param deleteByIds deletes the rows with the given IDs and returns how many were deleted
+     * @param finalStep runs in its own transaction after the last chunk, unless the deletion was interrupted
+     * @return true if the deletion continues in the background, false if it has completed
+     */
+    public boolean delete(String description, long expectedRows, Function<Pageable, List<Long>> idSelector,
+                          ToIntFunction<List<Long>> deleteByIds, Runnable finalStep) {
+        if (expectedRows <= backgroundThreshold) {
+            deleteInChunks(description, idSelector, deleteByIds, finalStep);
+            return false;
+        }
+        LOGGER.info("Deleting {} with about {} dependent rows in the background", description, expectedRows);
+        deleteExecutor.execute(() -> {
+            try {
+                deleteInChunks(description, idSelector, deleteByIds, finalStep);
+            } catch (RuntimeException e) {
+                LOGGER.error("Background deletion of {} failed; deleted chunks stay deleted and the deletion can be requested again",
+                        description, e);
+            }
+        });
+        return true;
+    }
+
+    private void deleteInChunks(String description, Function<Pageable, List<Long>> idSelector,
+                                ToIntFunction<List<Long>> deleteByIds, Runnable finalStep) {
+        Pageable chunk = PageRequest.of(0, chunkSize);
+        long deleted = 0L;
+        long chunks = 0L;
+        while (true) {
+            if (Thread.currentThread().isInterrupted()) {
+                LOGGER.warn("Deletion of {} was interrupted after {} dependent rows; {} is kept until the deletion is requested again",
+                        description, deleted, description);
+                return;
+            }
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = idSelector.apply(chunk);
+                return ids.isEmpty() ? null : deleteByIds.applyAsInt(ids);
+            });
+            if (count == null) {
+                break;
+            }
+            deleted += count;
+            if (++chunks % progressLogChunks == 0) {
+                LOGGER.info("Deleting {}: {} dependent rows deleted so far", description, deleted);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> finalStep.run());
+        LOGGER.info("Deleted {} and {} dependent rows", description, deleted);
+    }
+}
@@ -0,0 +1,185 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.entity.Coupon;
+import jihong99.shoppingmall.entity.enums.DiscountType;
+import jihong99.shoppingmall.repository.CouponRepository;
+import jihong99.shoppingmall.utils.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * In-memory catalog of all coupons, indexed by ID and by code.
+ *
+ * <p>Coupons are few and almost never change, while cart totals and checkouts evaluate them constantly.
+ * The catalog keeps an immutable snapshot of every coupon's terms that readers use without locking or
+ * database access. Coupon changes made through {@link CouponServiceImpl} refresh the affected entry once
+ * their transaction commits; a periodic full reload picks up changes made by other nodes. A lookup of a
+ * coupon the snapshot does not know yet falls back to the database once and adds it. A coupon that is not in
+ * the database either is remembered as missing until the next full reload, so a stale coupon ID held by many
+ * carts costs one query per reload interval instead of one per lookup. Coupons created through
+ * {@link CouponServiceImpl} clear their missing mark when they are refreshed, and the set of missing IDs is
+ * bounded by {@code coupon.catalog.missing-cache-size}.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CouponCatalog {
+
+    private final CouponRepository couponRepository;
+
+    @Value("${coupon.catalog.missing-cache-size:10000}")
+    private int missingCacheSize;
+
+    private final Object reloadLock = new Object();
+    private volatile Snapshot snapshot;
+
+    /**
+     * IDs looked up since the last reload that matched no coupon. Written under {@link #reloadLock}.
+     */
+    private final Set<Long> missingIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Returns the terms of a coupon.
+     *
+     * @param couponId the ID of the coupon
+     * @return the coupon's terms, or empty if the coupon does not exist
+     */
+    public Optional<Entry> findById(Long couponId) {
+        Entry entry = snapshot().byId.get(couponId);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        return missingIds.contains(couponId) ? Optional.empty() : Optional.ofNullable(refresh(couponId));
+    }
+
+    /**
+     * Returns the terms of a coupon by its code.
+     *
+     * @param code the code of the coupon
+     * @return the coupon's terms, or empty if no coupon with the code is known
+     */
+    public Optional<Entry> findByCode(String code) {
+        return Optional.ofNullable(snapshot().byCode.get(code));
+    }
+
+    /**
+     * Returns a function computing the discount a coupon grants on a given amount.
+     * The coupon is only used for its ID, so an uninitialized proxy is never loaded.
+     *
+     * @param coupon the applied coupon, or null for no coupon
+     * @return the discount function; always 0 for no coupon or a coupon that no longer exists
+     */
+    public LongUnaryOperator discountOf(Coupon coupon) {
+        if (coupon == null) {
+            return amount -> 0L;
+        }
+        Optional<Entry> entry = findById(coupon.getId());
+        return amount -> entry.map(found -> found.calculateDiscountAmount(amount)).orElse(0L);
+    }
+
+    /**
+     * Refreshes the catalog entry of a coupon after the current transaction commits,
+     * or right away if there is no transaction.
+     *
+     * @param couponId the ID of the created, updated or deleted coupon
+     */
+    public void refreshAfterCommit(Long couponId) {
+        TransactionCallbacks.afterCommit(() -> refresh(couponId));
+    }
+
+    /**
+     * Replaces the snapshot with every coupon currently in the database.
+     */
+    @Scheduled(fixedDelayString = "${coupon.catalog.reload-interval-ms:60000}")
+    public void reload() {
+        synchronized (reloadLock) {
+            Map<Long, Entry> byId = new HashMap<>();
+            Map<String, Entry> byCode = new HashMap<>();
+            for (Coupon coupon : couponRepository.findAll()) {
+                Entry entry = Entry.of(coupon);
+                byId.put(entry.id(), entry);
+                if (entry.code() != null) {
+                    byCode.put(entry.code(), entry);
+                }
+            }
+            snapshot = new Snapshot(Map.copyOf(byId), Map.copyOf(byCode));
+            missingIds.clear();
+        }
+    }
+
+    private Entry refresh(Long couponId) {
+        synchronized (reloadLock) {
+            Snapshot current = snapshot();
+            Entry entry = couponRepository.findById(couponId).map(Entry::of).orElse(null);
+            if (entry == null) {
+                if (missingIds.size() >= missingCacheSize) {
+                    missingIds.clear();
+                }
+                missingIds.add(couponId);
+            } else {
+                missingIds.remove(couponId);
+            }
+            if (entry == null && !current.byId.containsKey(couponId)) {
+                return null;
+            }
+            Map<Long, Entry> byId = new HashMap<>(current.byId);
+            Map<String, Entry> byCode = new HashMap<>(current.byCode);
+            Entry previous = byId.remove(couponId);
+            if (previous != null && previous.code() != null) {
+                byCode.remove(previous.code());
+            }
+            if (entry != null) {
+                byId.put(couponId, entry);
+                if (entry.code() != null) {
+                    byCode.put(entry.code(), entry);
+                }
+            }
+            snapshot = new Snapshot(Map.copyOf(byId), Map.copyOf(byCode));
+            return entry;
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (reloadLock) {
+                if (snapshot == null) {
+                    reload();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private record Snapshot(Map<Long, Entry> byId, Map<String, Entry> byCode) {
+    }
+
+    /**
+     * The terms of a coupon as cached by the catalog.
+     */
+    public record Entry(Long id, String code, DiscountType discountType, Long discountValue, LocalDate expirationDate) {
+
+        static Entry of(Coupon coupon) {
+            return new Entry(coupon.getId(), coupon.getCode(), coupon.getDiscountType(),
+                    coupon.getDiscountValue(), coupon.getExpirationDate());
+        }
+
+        public long calculateDiscountAmount(long amount) {
+            return Coupon.calculateDiscountAmount(discountType, discountValue, amount);
+        }
+
+        public boolean isExpired(LocalDate today) {
+            return expirationDate.isBefore(today);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package jihong99.shoppingmall.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jihong99.shoppingmall.entity.Coupon;
+import jihong99.shoppingmall.repository.CouponRepository;
+import jihong99.shoppingmall.repository.UserCouponRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Admits first-come claims of limited-quantity coupons and persists them in the background.
+ *
+ * <p>Admission happens entirely in memory: each claimable coupon has a set of the users who claimed it and
+ * an atomic counter that is only advanced while it is below the quota, so a claim costs a set insert and a
+ * compare-and-set and the quota can never be exceeded. Both are seeded from the database the first time a
+ * coupon is claimed after startup. Admitted claims are queued and a single writer thread inserts them as
+ * {@code UserCoupon} rows in batches, one statement per coupon and batch, retrying a batch until it
+ * commits.</p>
+ *
+ * <p>The counter lives in this process, so a campaign must be served by a single node. Claims still
+ * queued when the node is killed without a graceful shutdown are lost; they never count against the
+ * quota after a restart because the counter is reseeded from the persisted rows.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CouponClaimProcessor {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(CouponClaimProcessor.class);
+
+    private final CouponRepository couponRepository;
+    private final UserCouponRepository userCouponRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${coupon.claim.batch-size:500}")
+    private int batchSize;
+
+    @Value("${coupon.claim.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    private final Map<Long, Campaign> campaigns = new ConcurrentHashMap<>();
+    private final BlockingQueue<Claim> pendingClaims = new LinkedBlockingQueue<>();
+    private final AtomicInteger unpersistedCount = new AtomicInteger();
+    private volatile boolean running;
+    private ExecutorService writer;
+
+    /**
+     * The outcome of a claim.
+     */
+    public enum Outcome {
+        ADMITTED, NOT_CLAIMABLE, ALREADY_CLAIMED, SOLD_OUT
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("coupon-claim-"));
+        writer.execute(this::writePendingClaims);
+    }
+
+    /**
+     * Stops accepting claims and waits for the queued ones to be persisted.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        writer.shutdown();
+        writer.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Claims a coupon for a user. An admitted claim is persisted shortly afterwards.
+     *
+     * @param couponId the ID of an existing coupon
+     * @param userId the ID of the user
+     * @return whether the claim was admitted, and why not otherwise
+     */
+    public Outcome claim(Long couponId, Long userId) {
+        Campaign campaign = campaigns.computeIfAbsent(couponId, this::loadCampaign);
+        if (campaign.quota == 0L) {
+            return Outcome.NOT_CLAIMABLE;
+        }
+        if (campaign.admitted.get() >= campaign.quota) {
+            return Outcome.SOLD_OUT;
+        }
+        if (!campaign.claimants.add(userId)) {
+            return Outcome.ALREADY_CLAIMED;
+        }
+        if (!campaign.admit()) {
+            campaign.claimants.remove(userId);
+            return Outcome.SOLD_OUT;
+        }
+        unpersistedCount.incrementAndGet();
+        pendingClaims.add(new Claim(couponId, userId));
+        return Outcome.ADMITTED;
+    }
+
+    /**
+     * Returns how many users have been admitted for a coupon on this node, persisted or not.
+     *
+     * @param couponId the ID of the coupon
+     * @return the number of admitted claims, or 0 if the coupon has not been claimed since startup
+     */
+    public long getAdmittedCount(Long couponId) {
+        Campaign campaign = campaigns.get(couponId);
+        return campaign != null ? campaign.admitted.get() : 0L;
+    }
+
+    /**
+     * Returns the number of admitted claims that have not been persisted yet.
+     */
+    public int getPendingCount() {
+        return unpersistedCount.get();
+    }
+
+    private Campaign loadCampaign(Long couponId) {
+        Long quota = couponRepository.findById(couponId).map(Coupon::getClaimQuota).orElse(null);
+        if (quota == null) {
+            return new Campaign(0L, List.of());
+        }
+        return new Campaign(quota, userCouponRepository.findUserIdsByCouponId(couponId));
+    }
+
+    private void writePendingClaims() {
+        List<Claim> batch = new ArrayList<>(batchSize);
+        while (running || !pendingClaims.isEmpty()) {
+            try {
+                Claim first = pendingClaims.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pendingClaims.drainTo(batch, batchSize - 1);
+                while (!persist(batch)) {
+                    Thread.sleep(flushIntervalMs);
+                }
+                unpersistedCount.addAndGet(-batch.size());
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Coupon claim writer interrupted with {} claims not persisted", unpersistedCount.get());
+                return;
+            }
+        }
+    }
+
+    private boolean persist(List<Claim> batch) {
+        Map<Long, List<Long>> userIdsByCoupon = batch.stream()
+                .collect(Collectors.groupingBy(Claim::couponId, Collectors.mapping(Claim::userId, Collectors.toList())));
+        try {
+            transactionTemplate.executeWithoutResult(status -> userIdsByCoupon.forEach(userCouponRepository::insertForUsers));
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to persist {} coupon claims; retrying", batch.size(), e);
+            return false;
+        }
+    }
+
+    private record Claim(Long couponId, Long userId) {
+    }
+
+    private static final class Campaign {
+        private final long quota;
+        private final AtomicLong admitted;
+        private final Set<Long> claimants = ConcurrentHashMap.newKeySet();
+
+        private Campaign(long quota, List<Long> claimedUserIds) {
+            this.quota = quota;
+            this.claimants.addAll(claimedUserIds);
+            this.admitted = new AtomicLong(claimedUserIds.size());
+        }
+
+        private boolean admit() {
+            long current = admitted.get();
+            while (current < quota) {
+                if (admitted.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+                current = admitted.get();
+            }
+            return false;
+        }
+    }
+}
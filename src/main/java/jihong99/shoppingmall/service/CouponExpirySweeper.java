@@ -0,0 +1,43 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.repository.CouponRepository;
+import jihong99.shoppingmall.repository.UserCouponRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Marks user coupons of expired coupons as invalid.
+ *
+ * <p>Runs once a day after midnight and issues one bulk UPDATE per expired coupon that still has valid
+ * holders, each in its own transaction. Reads do not depend on this sweep: they compare the coupon's
+ * expiration date themselves, so the sweep only keeps the stored flag in line with it.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class CouponExpirySweeper {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(CouponExpirySweeper.class);
+
+    private final CouponRepository couponRepository;
+    private final UserCouponRepository userCouponRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Invalidates the user coupons of every coupon that expired before today.
+     */
+    @Scheduled(cron = "${coupon.expiry.cron:0 5 0 * * *}")
+    public void sweep() {
+        List<Long> expiredCouponIds = couponRepository.findExpiredIdsWithValidUserCoupons(LocalDate.now());
+        for (Long couponId : expiredCouponIds) {
+            Integer invalidated = transactionTemplate.execute(status -> userCouponRepository.invalidateAllByCouponId(couponId));
+            LOGGER.info("Invalidated {} user coupons of expired coupon {}", invalidated, couponId);
+        }
+    }
+}
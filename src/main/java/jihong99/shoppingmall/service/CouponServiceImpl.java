@@ -1,37 +1,67 @@
 package jihong99.shoppingmall.service;
 
+import jakarta.annotation.PreDestroy;
 import jihong99.shoppingmall.constants.Constants;
 import jihong99.shoppingmall.dto.request.coupon.CouponRequestDto;
 import jihong99.shoppingmall.dto.request.coupon.PatchCouponRequestDto;
 import jihong99.shoppingmall.dto.response.coupon.CouponDetailsResponseDto;
+import jihong99.shoppingmall.dto.response.coupon.CouponDistributionResponseDto;
 import jihong99.shoppingmall.dto.response.coupon.CouponResponseDto;
 import jihong99.shoppingmall.dto.response.coupon.CouponSummaryResponseDto;
 import jihong99.shoppingmall.dto.response.coupon.UserCouponsResponseDto;
 import jihong99.shoppingmall.entity.Coupon;
+import jihong99.shoppingmall.entity.CouponDistribution;
 import jihong99.shoppingmall.entity.UserCoupon;
 import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.entity.enums.DistributionStatus;
 import jihong99.shoppingmall.entity.enums.Roles;
+import jihong99.shoppingmall.exception.InvalidOperationException;
 import jihong99.shoppingmall.exception.NotFoundException;
+import jihong99.shoppingmall.repository.CouponDistributionRepository;
 import jihong99.shoppingmall.repository.CouponRepository;
 import jihong99.shoppingmall.repository.UserCouponRepository;
 import jihong99.shoppingmall.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 public class CouponServiceImpl implements ICouponService {
 
+    private final Logger LOGGER = LoggerFactory.getLogger(CouponServiceImpl.class);
+
     private final CouponRepository couponRepository;
     private final UserRepository userRepository;
     private final UserCouponRepository userCouponRepository;
+    private final CouponDistributionRepository couponDistributionRepository;
+    private final CouponCatalog couponCatalog;
+    private final CouponClaimProcessor couponClaimProcessor;
+    private final ChunkedDeleter chunkedDeleter;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${coupon.distribution.chunk-size:1000}")
+    private int distributionChunkSize;
+
+    private final ExecutorService distributionExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("coupon-distribution-"));
+    private final Set<Long> runningDistributions = ConcurrentHashMap.newKeySet();
 
     /**
      * Retrieves the coupons of a specific user.
@@ -59,9 +89,11 @@ public class CouponServiceImpl implements ICouponService {
         Coupon coupon = Coupon.of(
                 couponRequestDto.getDiscountType(),
                 couponRequestDto.getDiscountValue(),
-                couponRequestDto.getExpirationDate()
+                couponRequestDto.getExpirationDate(),
+                couponRequestDto.getClaimQuota()
         );
         couponRepository.save(coupon);
+        couponCatalog.refreshAfterCommit(coupon.getId());
     }
 
     /**
@@ -79,7 +111,7 @@ public class CouponServiceImpl implements ICouponService {
 
 
     /**
-     * Distributes a coupon to a specific user.
+     * Distributes a coupon to a specific user. Does nothing if the user already holds the coupon.
      *
      * @param couponId The ID of the coupon to be distributed.
      * @param userId The ID of the user to whom the coupon will be distributed.
@@ -89,35 +121,173 @@ public class CouponServiceImpl implements ICouponService {
     public void distributeCouponToUser(Long couponId, Long userId) {
         Coupon coupon = findCouponOrThrow(couponId);
         Users user = findUserOrThrow(userId);
+        if (userCouponRepository.existsByUsersIdAndCouponId(userId, couponId)) {
+            return;
+        }
         UserCoupon userCoupon = UserCoupon.of(user, coupon);
         userCouponRepository.save(userCoupon);
     }
 
     /**
-     * Distributes a coupon to all users.
+     * Starts distributing a coupon to all users in the background, or resumes an interrupted distribution.
+     *
+     * <p>Users are covered in ascending ID order in chunks. Each chunk is a single
+     * INSERT ... SELECT over a keyset-bounded ID range that skips users who already hold the coupon, and
+     * commits together with the distribution's progress, so no user entities are loaded and a failed or
+     * interrupted distribution resumes after the last committed chunk. Starting a completed distribution
+     * again hands the coupon to users who signed up since.</p>
      *
      * @param couponId The ID of the coupon to be distributed.
+     * @return The progress of the distribution.
      */
     @Override
-    @Transactional
-    public void distributeCouponToAllUsers(Long couponId) {
-        Coupon coupon = findCouponOrThrow(couponId);
-        List<Users> users = userRepository.findAllByRole(Roles.USER);
-        List<UserCoupon> userCoupons = createUserCoupons(users, coupon);
-        userCouponRepository.saveAll(userCoupons);
+    public CouponDistributionResponseDto distributeCouponToAllUsers(Long couponId) {
+        findCouponOrThrow(couponId);
+        if (!runningDistributions.add(couponId)) {
+            throw new InvalidOperationException(Constants.MESSAGE_400_DistributionAlreadyRunning);
+        }
+        try {
+            CouponDistribution distribution = transactionTemplate.execute(status -> {
+                long totalUsers = userRepository.countByRole(Roles.USER);
+                CouponDistribution current = couponDistributionRepository.findByCouponId(couponId)
+                        .orElseGet(() -> CouponDistribution.of(couponId, totalUsers));
+                if (current.getId() != null) {
+                    current.restart(totalUsers);
+                }
+                return couponDistributionRepository.save(current);
+            });
+            distributionExecutor.execute(() -> runDistribution(distribution.getId(), couponId));
+            return CouponDistributionResponseDto.of(distribution);
+        } catch (RuntimeException e) {
+            runningDistributions.remove(couponId);
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the progress of distributing a coupon to all users.
+     *
+     * @param couponId The ID of the coupon.
+     * @return The progress of the distribution.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CouponDistributionResponseDto getCouponDistribution(Long couponId) {
+        return couponDistributionRepository.findByCouponId(couponId)
+                .map(CouponDistributionResponseDto::of)
+                .orElseThrow(() -> new NotFoundException(Constants.MESSAGE_404_CouponDistributionNotFound));
+    }
+
+    /**
+     * Claims a limited-quantity coupon for a user on a first-come basis.
+     *
+     * <p>The claim is admitted in memory against the coupon's quota, without touching the database, and the
+     * user's coupon is stored shortly afterwards.</p>
+     *
+     * @param couponId The ID of the coupon to be claimed.
+     * @param userId The ID of the user claiming the coupon.
+     */
+    @Override
+    public void claimCoupon(Long couponId, Long userId) {
+        CouponCatalog.Entry coupon = couponCatalog.findById(couponId).orElseThrow(
+                () -> new NotFoundException(Constants.MESSAGE_404_CouponNotFound)
+        );
+        if (coupon.isExpired(LocalDate.now())) {
+            throw new InvalidOperationException(Constants.MESSAGE_400_CouponExpired);
+        }
+        CouponClaimProcessor.Outcome outcome = couponClaimProcessor.claim(couponId, userId);
+        if (outcome == CouponClaimProcessor.Outcome.NOT_CLAIMABLE) {
+            throw new InvalidOperationException(Constants.MESSAGE_400_CouponNotClaimable);
+        }
+        if (outcome == CouponClaimProcessor.Outcome.ALREADY_CLAIMED) {
+            throw new InvalidOperationException(Constants.MESSAGE_400_CouponAlreadyClaimed);
+        }
+        if (outcome == CouponClaimProcessor.Outcome.SOLD_OUT) {
+            throw new InvalidOperationException(Constants.MESSAGE_400_CouponSoldOut);
+        }
+    }
+
+    /**
+     * Resumes the distributions a previous shutdown left running, after their last committed chunk.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRunningDistributions() {
+        for (CouponDistribution distribution : couponDistributionRepository.findAllByStatus(DistributionStatus.RUNNING)) {
+            Long couponId = distribution.getCouponId();
+            if (runningDistributions.add(couponId)) {
+                LOGGER.info("Resuming distribution of coupon {} after user {}", couponId, distribution.getLastUserId());
+                distributionExecutor.execute(() -> runDistribution(distribution.getId(), couponId));
+            }
+        }
+    }
+
+    /**
+     * Stops the running distribution after its current chunk. It stays running in the database
+     * and is resumed on the next start.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        distributionExecutor.shutdownNow();
+        distributionExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void runDistribution(Long distributionId, Long couponId) {
+        try {
+            boolean hasMoreUsers = true;
+            while (hasMoreUsers && !Thread.currentThread().isInterrupted()) {
+                hasMoreUsers = distributeChunk(distributionId, couponId);
+            }
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                LOGGER.warn("Distribution of coupon {} was interrupted; it is resumed on the next start", couponId);
+                return;
+            }
+            LOGGER.error("Distribution of coupon {} failed; it can be resumed", couponId, e);
+            transactionTemplate.executeWithoutResult(status -> couponDistributionRepository.findById(distributionId)
+                    .ifPresent(CouponDistribution::fail));
+        } finally {
+            runningDistributions.remove(couponId);
+        }
+    }
+
+    private boolean distributeChunk(Long distributionId, Long couponId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            CouponDistribution distribution = couponDistributionRepository.findById(distributionId)
+                    .orElseThrow(() -> new NotFoundException(Constants.MESSAGE_404_CouponDistributionNotFound));
+            Long upToId = userRepository.findChunkUpperBoundOfUsers(distribution.getLastUserId(), distributionChunkSize);
+            if (upToId == null) {
+                distribution.complete();
+                return false;
+            }
+            int inserted = userCouponRepository.insertForUsersBetween(couponId, distribution.getLastUserId(), upToId);
+            distribution.advance(upToId, inserted);
+            return true;
+        }));
     }
 
     /**
      * Deletes a coupon and all its associations with users.
      *
+     * <p>The users' coupons are deleted in chunks, each in its own transaction, and the coupon itself last.
+     * A coupon held by very many users is deleted in the background and stays in place until its users'
+     * coupons are gone.</p>
+     *
      * @param couponId The ID of the coupon to be deleted.
+     * @return true if the deletion continues in the background, false if it has completed.
      */
     @Override
-    @Transactional
-    public void deleteCoupon(Long couponId) {
-        Coupon coupon = findCouponOrThrow(couponId);
-        userCouponRepository.deleteAllByCouponId(coupon.getId());
-        couponRepository.delete(coupon);
+    public boolean deleteCoupon(Long couponId) {
+        findCouponOrThrow(couponId);
+        return chunkedDeleter.delete(
+                "coupon " + couponId,
+                userCouponRepository.countByCouponId(couponId),
+                chunk -> userCouponRepository.findIdsByCouponId(couponId, chunk),
+                userCouponRepository::deleteAllByIdIn,
+                () -> {
+                    userCouponRepository.deleteAllByCouponId(couponId);
+                    couponRepository.deleteById(couponId);
+                    couponCatalog.refreshAfterCommit(couponId);
+                });
     }
 
     /**
@@ -140,38 +310,26 @@ public class CouponServiceImpl implements ICouponService {
             coupon.updateExpirationDate(patchCouponRequestDto.getExpirationDate());
         }
         couponRepository.save(coupon);
+        couponCatalog.refreshAfterCommit(couponId);
     }
     /**
-     * Retrieves all coupon summaries for a user and updates expired coupons to invalid.
+     * Retrieves all coupon summaries for a user.
      *
-     * <p>This method checks each coupon's expiration date and updates its status to invalid if it has expired.</p>
+     * <p>Coupons past their expiration date are treated as invalid by the query itself, so the result is
+     * correct even before the scheduled expiry sweep has marked them, and this method never writes.</p>
      *
      * @param userId The ID of the user.
-     * @param status The status filter for coupons (e.g., 'valid', 'invalid').
+     * @param status The status filter for coupons (e.g., 'available', 'used', 'invalid').
      * @param pageable Pagination information.
      * @return A paginated list of coupon summaries.
      */
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public Page<CouponSummaryResponseDto> getAllCouponSummaries(Long userId, String status, Pageable pageable) {
-        updateExpiredCouponsForUser(userId);
-        return userCouponRepository.findAllByUsersIdAndStatus(userId, status, pageable)
+        return userCouponRepository.findAllByUsersIdAndStatus(userId, status, LocalDate.now(), pageable)
                 .map(this::convertToCouponSummaryResponseDto);
     }
 
-    public List<UserCoupon> updateExpiredCouponsForUser(Long userId) {
-        List<UserCoupon> userCoupons = userCouponRepository.findAllByUsersId(userId);
-
-        userCoupons.forEach(userCoupon -> {
-            if (userCoupon.getCoupon().getExpirationDate().isBefore(LocalDate.now())) {
-                userCoupon.updateToInvalid();
-                userCouponRepository.save(userCoupon);
-            }
-        });
-
-        return userCoupons;
-    }
-
     /**
      * Retrieves detailed information of a specific coupon for a user.
      *
@@ -204,11 +362,11 @@ public class CouponServiceImpl implements ICouponService {
                 () -> new NotFoundException(Constants.MESSAGE_404_CouponNotFound)
         );
     }
-    private static List<UserCoupon> createUserCoupons(List<Users> users, Coupon coupon) {
-        return users.stream()
-                .map(user -> UserCoupon.of(user, coupon))
-                .collect(Collectors.toList());
+    private static boolean isEffectivelyValid(UserCoupon userCoupon) {
+        return Boolean.TRUE.equals(userCoupon.getIsValid())
+                && !userCoupon.getCoupon().getExpirationDate().isBefore(LocalDate.now());
     }
+
     private static UserCouponsResponseDto convertToUserCouponsResponseDto(UserCoupon userCoupon) {
         return UserCouponsResponseDto.of(
                 userCoupon.getCoupon().getId(),
@@ -216,7 +374,7 @@ public class CouponServiceImpl implements ICouponService {
                 userCoupon.getCoupon().getDiscountType(),
                 userCoupon.getCoupon().getDiscountValue(),
                 userCoupon.getCoupon().getExpirationDate(),
-                userCoupon.getIsValid(),
+                isEffectivelyValid(userCoupon),
                 userCoupon.getIsUsed(),
                 userCoupon.getCreationTime(),
                 userCoupon.getLastModifiedTime()
@@ -230,6 +388,7 @@ public class CouponServiceImpl implements ICouponService {
                 coupon.getDiscountType(),
                 coupon.getDiscountValue(),
                 coupon.getExpirationDate(),
+                coupon.getClaimQuota(),
                 coupon.getCreationTime(),
                 coupon.getLastModifiedTime());
     }
@@ -251,7 +410,7 @@ public class CouponServiceImpl implements ICouponService {
                 userCoupon.getCoupon().getCode(),
                 userCoupon.getCoupon().getDiscountType(),
                 userCoupon.getCoupon().getDiscountValue(),
-                userCoupon.getIsValid(),
+                isEffectivelyValid(userCoupon),
                 userCoupon.getIsUsed()
         );
     }
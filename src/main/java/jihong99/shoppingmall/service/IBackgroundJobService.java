@@ -0,0 +1,9 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.response.job.BackgroundJobResponseDto;
+
+public interface IBackgroundJobService {
+    BackgroundJobResponseDto getJob(Long jobId);
+    BackgroundJobResponseDto cancelJob(Long jobId);
+    BackgroundJobResponseDto retryJob(Long jobId);
+}
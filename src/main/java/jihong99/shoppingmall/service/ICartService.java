@@ -1,10 +1,15 @@
 package jihong99.shoppingmall.service;
 
+import jihong99.shoppingmall.dto.request.cart.CartBatchRequestDto;
 import jihong99.shoppingmall.dto.request.cart.CartItemRequestDto;
 import jihong99.shoppingmall.dto.request.cart.UpdateQuantityRequestDto;
+import jihong99.shoppingmall.dto.response.cart.CartBatchResponseDto;
+import jihong99.shoppingmall.dto.response.cart.CartResponseDto;
 
 public interface ICartService {
 
+    CartResponseDto getCart(Long userId);
+
     void updateItemQuantity(Long userId, Long itemId, UpdateQuantityRequestDto updateQuantityRequestDto);
 
     void addCartItem(Long userId, Long itemId, CartItemRequestDto cartItemRequestDto);
@@ -14,4 +19,6 @@ public interface ICartService {
     void applyCoupon(Long userId, Long couponId);
 
     void removeAppliedCoupon(Long userId);
+
+    CartBatchResponseDto applyCartOperations(Long userId, CartBatchRequestDto cartBatchRequestDto);
 }
@@ -4,6 +4,7 @@ package jihong99.shoppingmall.service;
 import jihong99.shoppingmall.dto.request.coupon.CouponRequestDto;
 import jihong99.shoppingmall.dto.request.coupon.PatchCouponRequestDto;
 import jihong99.shoppingmall.dto.response.coupon.CouponDetailsResponseDto;
+import jihong99.shoppingmall.dto.response.coupon.CouponDistributionResponseDto;
 import jihong99.shoppingmall.dto.response.coupon.CouponResponseDto;
 import jihong99.shoppingmall.dto.response.coupon.CouponSummaryResponseDto;
 import jihong99.shoppingmall.dto.response.coupon.UserCouponsResponseDto;
@@ -18,9 +19,11 @@ public interface ICouponService {
 
     Page<CouponResponseDto> getAllCoupons(Pageable pageable);
     void distributeCouponToUser(Long couponId, Long UserId);
-    void distributeCouponToAllUsers(Long couponId);
+    CouponDistributionResponseDto distributeCouponToAllUsers(Long couponId);
+    CouponDistributionResponseDto getCouponDistribution(Long couponId);
+    void claimCoupon(Long couponId, Long userId);
 
-    void deleteCoupon(Long couponId);
+    boolean deleteCoupon(Long couponId);
     void patchCoupon(Long couponId, PatchCouponRequestDto patchCouponRequestDto);
 
     Page<CouponSummaryResponseDto> getAllCouponSummaries(Long userId, String status, Pageable pageable);
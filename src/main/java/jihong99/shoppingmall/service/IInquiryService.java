@@ -5,12 +5,16 @@ import jihong99.shoppingmall.dto.request.inquiry.InquiryRequestDto;
 import jihong99.shoppingmall.dto.request.inquiry.PatchResponseRequestDto;
 import jihong99.shoppingmall.dto.request.inquiry.ResponseRequestDto;
 import jihong99.shoppingmall.dto.response.inquiry.InquiryDetailsResponseDto;
+import jihong99.shoppingmall.dto.response.inquiry.InquiryLatencyResponseDto;
+import jihong99.shoppingmall.dto.response.inquiry.InquiryQueueResponseDto;
 import jihong99.shoppingmall.dto.response.inquiry.InquiryResponseDto;
 import jihong99.shoppingmall.entity.enums.InquiryStatus;
 import jihong99.shoppingmall.entity.enums.InquiryType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface IInquiryService {
     void respondToInquiry(Long inquiryId, ResponseRequestDto responseRequestDto);
 
@@ -18,10 +22,16 @@ public interface IInquiryService {
 
     void deleteInquiryResponse(Long inquiryId, Long respondId);
 
-    Page<InquiryResponseDto> getAllInquiries(InquiryType type, InquiryStatus status, Pageable pageable);
+    InquiryQueueResponseDto getAllInquiries(InquiryType type, InquiryStatus status, Long cursorId, int size);
 
     InquiryDetailsResponseDto getInquiryDetails(Long inquiryId);
 
+    void updateInquiryStatus(Long inquiryId, InquiryStatus status);
+
+    List<InquiryLatencyResponseDto> getInquiryLatencies();
+
+    Page<InquiryResponseDto> searchInquiries(String query, InquiryStatus status, Pageable pageable);
+
     void respondToParentResponse(Long inquiryId, Long responseId, ChildResponseRequestDto responseRequestDto);
 
     void submitItemInquiry(Long userId, Long itemId, InquiryRequestDto inquiryRequestDto);
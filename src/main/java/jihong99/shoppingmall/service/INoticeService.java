@@ -2,10 +2,13 @@ package jihong99.shoppingmall.service;
 
 import jihong99.shoppingmall.dto.request.notice.NoticeRequestDto;
 import jihong99.shoppingmall.dto.request.notice.PatchNoticeRequestDto;
+import jihong99.shoppingmall.dto.response.job.BackgroundJobResponseDto;
 import jihong99.shoppingmall.dto.response.notice.NoticeDetailsResponseDto;
 import jihong99.shoppingmall.dto.response.notice.NoticeResponseDto;
+import jihong99.shoppingmall.dto.response.notice.UnreadNoticeCountResponseDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface INoticeService {
     void createNotice(NoticeRequestDto noticeRequestDto);
@@ -13,11 +16,14 @@ public interface INoticeService {
     void postNoticeToAllUsers(Long noticeId);
     void patchNotice(Long noticeId, PatchNoticeRequestDto patchNoticeRequestDto);
 
-    void deleteNotice(Long noticeId);
-    void notifyStockAlertToUsers(Long itemId);
-    void notifyCartItemInvalidationToUsers(Long itemId);
+    boolean deleteNotice(Long noticeId);
+    BackgroundJobResponseDto notifyStockAlertToUsers(Long itemId);
+    BackgroundJobResponseDto notifyCartItemInvalidationToUsers(Long itemId);
 
     Page<NoticeResponseDto> getAllNotices(Long userId, Pageable pageable);
+    void markNoticesAsSeen(Long userId);
+    SseEmitter subscribeToNotices(Long userId);
+    UnreadNoticeCountResponseDto getUnreadNoticeCount(Long userId);
 
     NoticeDetailsResponseDto getNoticeDetails(Long userId, Long noticeId);
 }
@@ -1,10 +1,26 @@
 package jihong99.shoppingmall.service;
 
+import jihong99.shoppingmall.dto.request.order.CheckoutRequestDto;
+import jihong99.shoppingmall.dto.request.order.OrderStatusRequestDto;
 import jihong99.shoppingmall.dto.response.order.OrderDetailsResponseDto;
+import jihong99.shoppingmall.dto.response.order.OrderHistoryResponseDto;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
 
 public interface IOrderService {
 
     Page<OrderDetailsResponseDto> getUserOrderDetails(Long userId, Pageable pageable);
+
+    OrderHistoryResponseDto getUserOrderHistory(Long userId, OrderStatus status, LocalDate from, LocalDate to,
+                                                LocalDate cursorDate, Long cursorId, int size);
+
+    OrderDetailsResponseDto checkout(Long userId, String idempotencyKey, CheckoutRequestDto checkoutRequestDto);
+
+    void updateOrderStatus(Long orderId, OrderStatusRequestDto orderStatusRequestDto);
+
+    StreamingResponseBody exportOrdersAsCsv(OrderStatus status, LocalDate from, LocalDate to);
 }
@@ -0,0 +1,11 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.request.payment.PaymentRequestDto;
+import jihong99.shoppingmall.dto.response.payment.PaymentResponseDto;
+
+public interface IPaymentService {
+
+    PaymentResponseDto requestPayment(Long userId, Long orderId, PaymentRequestDto paymentRequestDto);
+
+    PaymentResponseDto getPayment(Long userId, Long orderId);
+}
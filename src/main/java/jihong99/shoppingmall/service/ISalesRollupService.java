@@ -0,0 +1,24 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.response.sales.DailySalesResponseDto;
+import jihong99.shoppingmall.dto.response.sales.DimensionSalesResponseDto;
+import jihong99.shoppingmall.entity.Orders;
+import jihong99.shoppingmall.entity.enums.SalesDimension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ISalesRollupService {
+
+    void recordOrder(Orders order);
+
+    void recordCancellation(Orders order);
+
+    List<DailySalesResponseDto> getDailySales(LocalDate from, LocalDate to);
+
+    Page<DimensionSalesResponseDto> getDimensionSales(LocalDate salesDate, SalesDimension dimension, Pageable pageable);
+
+    void startBackfill(LocalDate from, LocalDate to);
+}
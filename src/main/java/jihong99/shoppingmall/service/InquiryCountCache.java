@@ -0,0 +1,68 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.entity.enums.InquiryStatus;
+import jihong99.shoppingmall.entity.enums.InquiryType;
+import jihong99.shoppingmall.repository.InquiryRepository;
+import jihong99.shoppingmall.utils.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the number of inquiries in each admin queue, keyed by type and optional status.
+ *
+ * <p>The admin queue is reloaded every few seconds, and counting a large queue is the costliest part of
+ * serving it. A type's counts are dropped once a transaction that adds or removes one of its inquiries
+ * commits. That only clears this node's cache, so counts also expire after
+ * {@code inquiry.queue.count-cache-ttl-ms} to pick up changes made elsewhere.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class InquiryCountCache {
+
+    private final InquiryRepository inquiryRepository;
+
+    @Value("${inquiry.queue.count-cache-ttl-ms:10000}")
+    private long cacheTtlMs;
+
+    private final Map<QueueKey, CachedCount> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the number of inquiries of a type, optionally restricted to one status.
+     *
+     * @param type the type of inquiry
+     * @param status the status of inquiry, or null for all statuses
+     * @return the number of matching inquiries
+     */
+    public long getCount(InquiryType type, InquiryStatus status) {
+        long now = System.currentTimeMillis();
+        QueueKey key = new QueueKey(type, status);
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.count();
+        }
+        long count = status == null
+                ? inquiryRepository.countByType(type)
+                : inquiryRepository.countByTypeAndStatus(type, status);
+        counts.put(key, new CachedCount(count, now + cacheTtlMs));
+        return count;
+    }
+
+    /**
+     * Drops the counts of a type once the current transaction commits, or right away if there is none.
+     *
+     * @param type the type of inquiry that was added or removed
+     */
+    public void invalidate(InquiryType type) {
+        TransactionCallbacks.afterCommit(() -> counts.keySet().removeIf(key -> key.type() == type));
+    }
+
+    private record QueueKey(InquiryType type, InquiryStatus status) {
+    }
+
+    private record CachedCount(long count, long expiresAt) {
+    }
+}
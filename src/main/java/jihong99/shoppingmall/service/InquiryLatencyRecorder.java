@@ -0,0 +1,267 @@
+package jihong99.shoppingmall.service;
+
+import jakarta.annotation.PreDestroy;
+import jihong99.shoppingmall.config.DatabasePlatform;
+import jihong99.shoppingmall.dto.response.inquiry.InquiryLatencyResponseDto;
+import jihong99.shoppingmall.entity.InquiryLatencyBucket;
+import jihong99.shoppingmall.entity.enums.InquiryMetric;
+import jihong99.shoppingmall.entity.enums.InquiryType;
+import jihong99.shoppingmall.repository.InquiryLatencyBucketRepository;
+import jihong99.shoppingmall.utils.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records how long inquiries wait for their first response and for their resolution, per inquiry type.
+ *
+ * <p>Each histogram has fixed bucket bounds, from one minute to thirty days plus an overflow bucket, so
+ * its memory does not grow with the number of samples. Percentiles are reported as the upper bound of the
+ * bucket they fall into, and samples in the overflow bucket are reported as the largest bound.</p>
+ *
+ * <p>Samples are counted once their transaction commits. The samples recorded since the last flush are
+ * added to the INQUIRY_LATENCY_BUCKET rows every {@code inquiry.metrics.flush-interval-ms} and on shutdown,
+ * after which the totals of every node are reloaded; the totals are also loaded on startup.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class InquiryLatencyRecorder {
+
+    private static final long[] BUCKET_BOUNDS_MS = {
+            Duration.ofMinutes(1).toMillis(),
+            Duration.ofMinutes(5).toMillis(),
+            Duration.ofMinutes(15).toMillis(),
+            Duration.ofMinutes(30).toMillis(),
+            Duration.ofHours(1).toMillis(),
+            Duration.ofHours(2).toMillis(),
+            Duration.ofHours(4).toMillis(),
+            Duration.ofHours(8).toMillis(),
+            Duration.ofHours(12).toMillis(),
+            Duration.ofDays(1).toMillis(),
+            Duration.ofDays(2).toMillis(),
+            Duration.ofDays(3).toMillis(),
+            Duration.ofDays(7).toMillis(),
+            Duration.ofDays(14).toMillis(),
+            Duration.ofDays(30).toMillis()
+    };
+    private static final int BUCKET_COUNT = BUCKET_BOUNDS_MS.length + 1;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(InquiryLatencyRecorder.class);
+
+    private final InquiryLatencyBucketRepository inquiryLatencyBucketRepository;
+    private final DatabasePlatform databasePlatform;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Histogram[][] histograms = createHistograms();
+
+    /**
+     * Records the time an inquiry waited for its first response, once the current transaction commits.
+     *
+     * @param type the type of the inquiry
+     * @param latencyMs the time from submission to the first response
+     */
+    public void firstResponded(InquiryType type, long latencyMs) {
+        TransactionCallbacks.afterCommit(() -> histogram(type, InquiryMetric.FIRST_RESPONSE).record(latencyMs));
+    }
+
+    /**
+     * Records the time an inquiry took to be resolved, once the current transaction commits.
+     *
+     * @param type the type of the inquiry
+     * @param latencyMs the time from submission to resolution
+     */
+    public void resolved(InquiryType type, long latencyMs) {
+        TransactionCallbacks.afterCommit(() -> histogram(type, InquiryMetric.RESOLUTION).record(latencyMs));
+    }
+
+    /**
+     * Returns the sample count and percentiles of every histogram, including samples not yet flushed.
+     *
+     * @return one entry per inquiry type and metric
+     */
+    public List<InquiryLatencyResponseDto> getLatencies() {
+        List<InquiryLatencyResponseDto> latencies = new ArrayList<>();
+        for (InquiryType type : InquiryType.values()) {
+            for (InquiryMetric metric : InquiryMetric.values()) {
+                long[] counts = histogram(type, metric).snapshot();
+                long total = 0;
+                for (long count : counts) {
+                    total += count;
+                }
+                latencies.add(InquiryLatencyResponseDto.of(type, metric, total,
+                        percentile(counts, total, 0.50),
+                        percentile(counts, total, 0.90),
+                        percentile(counts, total, 0.95),
+                        percentile(counts, total, 0.99)));
+            }
+        }
+        return latencies;
+    }
+
+    /**
+     * Loads the persisted histograms on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Adds the samples recorded since the last flush to the persisted histograms and reloads their totals.
+     * Samples that could not be written are kept for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${inquiry.metrics.flush-interval-ms:60000}")
+    public synchronized void flush() {
+        long[][][] drained = new long[InquiryType.values().length][InquiryMetric.values().length][];
+        boolean empty = true;
+        for (InquiryType type : InquiryType.values()) {
+            for (InquiryMetric metric : InquiryMetric.values()) {
+                long[] pending = histogram(type, metric).drainPending();
+                drained[type.ordinal()][metric.ordinal()] = pending;
+                for (long count : pending) {
+                    empty &= count == 0;
+                }
+            }
+        }
+        if (empty) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (InquiryType type : InquiryType.values()) {
+                    for (InquiryMetric metric : InquiryMetric.values()) {
+                        add(type, metric, drained[type.ordinal()][metric.ordinal()]);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to persist inquiry latency histograms; retrying on the next flush", e);
+            for (InquiryType type : InquiryType.values()) {
+                for (InquiryMetric metric : InquiryMetric.values()) {
+                    histogram(type, metric).restorePending(drained[type.ordinal()][metric.ordinal()]);
+                }
+            }
+            return;
+        }
+        reload();
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    private void add(InquiryType type, InquiryMetric metric, long[] samples) {
+        for (int bucket = 0; bucket < samples.length; bucket++) {
+            if (samples[bucket] == 0) {
+                continue;
+            }
+            if (databasePlatform.isMySql()) {
+                inquiryLatencyBucketRepository.addMySql(type.name(), metric.name(), bucket, samples[bucket]);
+            } else {
+                inquiryLatencyBucketRepository.addH2(type.name(), metric.name(), bucket, samples[bucket]);
+            }
+        }
+    }
+
+    private void reload() {
+        long[][][] persisted = new long[InquiryType.values().length][InquiryMetric.values().length][BUCKET_COUNT];
+        for (InquiryLatencyBucket bucket : inquiryLatencyBucketRepository.findAll()) {
+            if (bucket.getBucketIndex() < BUCKET_COUNT) {
+                persisted[bucket.getType().ordinal()][bucket.getMetric().ordinal()][bucket.getBucketIndex()] = bucket.getSampleCount();
+            }
+        }
+        for (InquiryType type : InquiryType.values()) {
+            for (InquiryMetric metric : InquiryMetric.values()) {
+                histogram(type, metric).setPersisted(persisted[type.ordinal()][metric.ordinal()]);
+            }
+        }
+    }
+
+    private Histogram histogram(InquiryType type, InquiryMetric metric) {
+        return histograms[type.ordinal()][metric.ordinal()];
+    }
+
+    private static Long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return BUCKET_BOUNDS_MS[Math.min(bucket, BUCKET_BOUNDS_MS.length - 1)];
+            }
+        }
+        return BUCKET_BOUNDS_MS[BUCKET_BOUNDS_MS.length - 1];
+    }
+
+    private static int bucketOf(long latencyMs) {
+        for (int bucket = 0; bucket < BUCKET_BOUNDS_MS.length; bucket++) {
+            if (latencyMs <= BUCKET_BOUNDS_MS[bucket]) {
+                return bucket;
+            }
+        }
+        return BUCKET_BOUNDS_MS.length;
+    }
+
+    private static Histogram[][] createHistograms() {
+        Histogram[][] histograms = new Histogram[InquiryType.values().length][InquiryMetric.values().length];
+        for (Histogram[] row : histograms) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new Histogram();
+            }
+        }
+        return histograms;
+    }
+
+    /**
+     * Bucket counts of one histogram: the totals last loaded from the database and the samples recorded
+     * on this node since the last flush.
+     */
+    private static final class Histogram {
+        private volatile long[] persisted = new long[BUCKET_COUNT];
+        private final AtomicLongArray pending = new AtomicLongArray(BUCKET_COUNT);
+
+        private void record(long latencyMs) {
+            pending.incrementAndGet(bucketOf(Math.max(latencyMs, 0)));
+        }
+
+        private long[] snapshot() {
+            long[] counts = persisted.clone();
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                counts[bucket] += pending.get(bucket);
+            }
+            return counts;
+        }
+
+        private long[] drainPending() {
+            long[] drained = new long[BUCKET_COUNT];
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                drained[bucket] = pending.getAndSet(bucket, 0);
+            }
+            return drained;
+        }
+
+        private void restorePending(long[] drained) {
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                pending.addAndGet(bucket, drained[bucket]);
+            }
+        }
+
+        private void setPersisted(long[] persisted) {
+            this.persisted = persisted;
+        }
+    }
+}
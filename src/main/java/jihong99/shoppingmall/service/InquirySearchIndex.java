@@ -0,0 +1,351 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.entity.Inquiry;
+import jihong99.shoppingmall.entity.InquiryResponse;
+import jihong99.shoppingmall.entity.enums.InquiryStatus;
+import jihong99.shoppingmall.repository.InquiryRepository;
+import jihong99.shoppingmall.repository.InquiryResponseRepository;
+import jihong99.shoppingmall.utils.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-process full-text index over inquiry titles, contents and response bodies.
+ *
+ * <p>Text is split into lowercase words on anything that is not a letter or digit. Each inquiry is one
+ * document whose words are counted across its title (weighted {@link #TITLE_WEIGHT} times), content and
+ * responses, and the index maps each word to the inquiries containing it. Searches rank inquiries by the
+ * TF-IDF sum of the query words they contain.</p>
+ *
+ * <p>The index is built from the database on startup, chunk by chunk, and then kept up to date by the inquiry
+ * write paths once their transactions commit. A chunk only adds the inquiries that are not indexed yet, so it
+ * never overwrites a newer update with its older snapshot. The inquiries changed while the build runs are
+ * recorded, including those whose updates could not be applied because they were not indexed yet, and are
+ * reloaded from the database once every chunk is indexed. It is held by this node only, so changes made on
+ * other nodes are picked up on the next restart.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class InquirySearchIndex {
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Logger LOGGER = LoggerFactory.getLogger(InquirySearchIndex.class);
+
+    private final InquiryRepository inquiryRepository;
+    private final InquiryResponseRepository inquiryResponseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inquiry.search.build-chunk-size:500}")
+    private int buildChunkSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Set<Long> changedDuringBuild = new HashSet<>();
+    private boolean building = true;
+
+    /**
+     * Indexes the title and content of a new or edited inquiry, once the current transaction commits.
+     *
+     * @param inquiry the inquiry
+     */
+    public void inquirySaved(Inquiry inquiry) {
+        Long inquiryId = inquiry.getId();
+        InquiryStatus status = inquiry.getStatus();
+        String title = inquiry.getTitle();
+        String content = inquiry.getContent();
+        TransactionCallbacks.afterCommit(() -> write(() -> {
+            markChanged(inquiryId);
+            Document document = documents.computeIfAbsent(inquiryId, id -> new Document());
+            document.status = status;
+            document.inquiryWords = countInquiryWords(title, content);
+            reindex(inquiryId, document);
+        }));
+    }
+
+    /**
+     * Updates the status of an indexed inquiry, once the current transaction commits.
+     *
+     * @param inquiryId the ID of the inquiry
+     * @param status the new status of the inquiry
+     */
+    public void statusChanged(Long inquiryId, InquiryStatus status) {
+        TransactionCallbacks.afterCommit(() -> write(() -> {
+            markChanged(inquiryId);
+            Document document = documents.get(inquiryId);
+            if (document != null) {
+                document.status = status;
+            }
+        }));
+    }
+
+    /**
+     * Removes an inquiry and its responses from the index, once the current transaction commits.
+     *
+     * @param inquiryId the ID of the inquiry
+     */
+    public void inquiryRemoved(Long inquiryId) {
+        TransactionCallbacks.afterCommit(() -> write(() -> {
+            markChanged(inquiryId);
+            Document document = documents.remove(inquiryId);
+            if (document != null) {
+                unpost(inquiryId, document.words);
+            }
+        }));
+    }
+
+    /**
+     * Indexes the body of a new or edited response, once the current transaction commits.
+     *
+     * @param inquiryId the ID of the inquiry the response belongs to
+     * @param responseId the ID of the response
+     * @param content the body of the response
+     */
+    public void responseSaved(Long inquiryId, Long responseId, String content) {
+        TransactionCallbacks.afterCommit(() -> write(() -> {
+            markChanged(inquiryId);
+            Document document = documents.get(inquiryId);
+            if (document != null) {
+                document.responseWords.put(responseId, countWords(content, 1));
+                reindex(inquiryId, document);
+            }
+        }));
+    }
+
+    /**
+     * Removes the body of a deleted response from the index, once the current transaction commits.
+     *
+     * @param inquiryId the ID of the inquiry the response belongs to
+     * @param responseId the ID of the response
+     */
+    public void responseRemoved(Long inquiryId, Long responseId) {
+        TransactionCallbacks.afterCommit(() -> write(() -> {
+            markChanged(inquiryId);
+            Document document = documents.get(inquiryId);
+            if (document != null && document.responseWords.remove(responseId) != null) {
+                reindex(inquiryId, document);
+            }
+        }));
+    }
+
+    /**
+     * Returns the IDs of the inquiries matching any word of the query, best match first.
+     * Inquiries with equal scores are ordered newest first.
+     *
+     * @param query the words to search for
+     * @param status the status the inquiries must have, or null for any status
+     * @return the matching inquiry IDs in rank order
+     */
+    public List<Long> search(String query, InquiryStatus status) {
+        Set<String> words = countWords(query, 1).keySet();
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = new HashMap<>();
+            for (String word : words) {
+                Map<Long, Integer> matches = postings.get(word);
+                if (matches == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (double) documents.size() / matches.size());
+                matches.forEach((inquiryId, count) -> {
+                    if (status == null || documents.get(inquiryId).status == status) {
+                        scores.merge(inquiryId, count * idf, Double::sum);
+                    }
+                });
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether the query contains at least one searchable word.
+     *
+     * @param query the words to search for
+     * @return true if the query can match an inquiry
+     */
+    public static boolean isSearchable(String query) {
+        return !countWords(query, 1).isEmpty();
+    }
+
+    /**
+     * Builds the index from every inquiry and response in the database, then reloads the inquiries that
+     * changed while it ran.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long afterId = 0L;
+        int indexed = 0;
+        while (true) {
+            long cursor = afterId;
+            List<Inquiry> inquiries = transactionTemplate.execute(status -> {
+                List<Inquiry> chunk = inquiryRepository.findAllByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, buildChunkSize));
+                if (!chunk.isEmpty()) {
+                    List<Long> inquiryIds = chunk.stream().map(Inquiry::getId).collect(Collectors.toList());
+                    Map<Long, Document> loaded = load(chunk, inquiryResponseRepository.findAllByInquiryIdIn(inquiryIds));
+                    write(() -> loaded.forEach((inquiryId, document) -> {
+                        if (documents.putIfAbsent(inquiryId, document) == null) {
+                            reindex(inquiryId, document);
+                        }
+                    }));
+                }
+                return chunk;
+            });
+            if (inquiries == null || inquiries.isEmpty()) {
+                break;
+            }
+            indexed += inquiries.size();
+            afterId = inquiries.get(inquiries.size() - 1).getId();
+        }
+        int reloaded = 0;
+        while (true) {
+            Set<Long> changed = new HashSet<>();
+            write(() -> {
+                changed.addAll(changedDuringBuild);
+                changedDuringBuild.clear();
+                building = !changed.isEmpty();
+            });
+            if (changed.isEmpty()) {
+                break;
+            }
+            reload(changed);
+            reloaded += changed.size();
+        }
+        LOGGER.info("Indexed {} inquiries for search, reloaded {} changed during the build", indexed, reloaded);
+    }
+
+    /**
+     * Replaces the documents of the given inquiries with their current state in the database, removing
+     * those that no longer exist. Inquiries changed again while this runs are recorded and reloaded by the
+     * next round of the build.
+     */
+    private void reload(Set<Long> inquiryIds) {
+        Map<Long, Document> loaded = transactionTemplate.execute(status ->
+                load(inquiryRepository.findAllById(inquiryIds), inquiryResponseRepository.findAllByInquiryIdIn(inquiryIds)));
+        write(() -> inquiryIds.forEach(inquiryId -> {
+            Document previous = documents.remove(inquiryId);
+            if (previous != null) {
+                unpost(inquiryId, previous.words);
+            }
+            Document document = loaded.get(inquiryId);
+            if (document != null) {
+                documents.put(inquiryId, document);
+                reindex(inquiryId, document);
+            }
+        }));
+    }
+
+    private static Map<Long, Document> load(List<Inquiry> inquiries, List<InquiryResponse> responses) {
+        Map<Long, Document> loaded = new HashMap<>();
+        for (Inquiry inquiry : inquiries) {
+            Document document = new Document();
+            document.status = inquiry.getStatus();
+            document.inquiryWords = countInquiryWords(inquiry.getTitle(), inquiry.getContent());
+            loaded.put(inquiry.getId(), document);
+        }
+        for (InquiryResponse response : responses) {
+            Document document = loaded.get(response.getInquiry().getId());
+            if (document != null) {
+                document.responseWords.put(response.getId(), countWords(response.getContent(), 1));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Records an inquiry as changed while the index is being built. Must be called under the write lock.
+     */
+    private void markChanged(Long inquiryId) {
+        if (building) {
+            changedDuringBuild.add(inquiryId);
+        }
+    }
+
+    /**
+     * Recounts a document's words and replaces its postings. Must be called under the write lock.
+     */
+    private void reindex(Long inquiryId, Document document) {
+        Map<String, Integer> words = new HashMap<>(document.inquiryWords);
+        document.responseWords.values()
+                .forEach(responseWords -> responseWords.forEach((word, count) -> words.merge(word, count, Integer::sum)));
+        unpost(inquiryId, document.words);
+        words.forEach((word, count) -> postings.computeIfAbsent(word, w -> new HashMap<>()).put(inquiryId, count));
+        document.words = words;
+    }
+
+    private void unpost(Long inquiryId, Map<String, Integer> words) {
+        for (String word : words.keySet()) {
+            Map<Long, Integer> matches = postings.get(word);
+            if (matches != null) {
+                matches.remove(inquiryId);
+                if (matches.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<String, Integer> countInquiryWords(String title, String content) {
+        Map<String, Integer> counts = countWords(title, TITLE_WEIGHT);
+        countWords(content, 1).forEach((word, count) -> counts.merge(word, count, Integer::sum));
+        return counts;
+    }
+
+    private static Map<String, Integer> countWords(String text, int weight) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (text == null) {
+            return counts;
+        }
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                counts.merge(word, weight, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * The indexed words of one inquiry: those of its title and content, those of each response, and their
+     * combined counts as currently posted.
+     */
+    private static final class Document {
+        private InquiryStatus status;
+        private Map<String, Integer> inquiryWords = new HashMap<>();
+        private final Map<Long, Map<String, Integer>> responseWords = new HashMap<>();
+        private Map<String, Integer> words = new HashMap<>();
+    }
+}
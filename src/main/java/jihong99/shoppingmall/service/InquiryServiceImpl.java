@@ -5,6 +5,8 @@ import jihong99.shoppingmall.dto.request.inquiry.InquiryRequestDto;
 import jihong99.shoppingmall.dto.request.inquiry.PatchResponseRequestDto;
 import jihong99.shoppingmall.dto.request.inquiry.ResponseRequestDto;
 import jihong99.shoppingmall.dto.response.inquiry.InquiryDetailsResponseDto;
+import jihong99.shoppingmall.dto.response.inquiry.InquiryLatencyResponseDto;
+import jihong99.shoppingmall.dto.response.inquiry.InquiryQueueResponseDto;
 import jihong99.shoppingmall.dto.response.inquiry.InquiryResponseDto;
 import jihong99.shoppingmall.entity.Inquiry;
 import jihong99.shoppingmall.entity.InquiryResponse;
@@ -21,13 +23,16 @@ import jihong99.shoppingmall.repository.ItemRepository;
 import jihong99.shoppingmall.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import static jihong99.shoppingmall.constants.Constants.*;
 
@@ -35,12 +40,19 @@ import static jihong99.shoppingmall.constants.Constants.*;
 @RequiredArgsConstructor
 public class InquiryServiceImpl implements IInquiryService {
 
+    private static final int MAX_QUEUE_PAGE_SIZE = 100;
+
     private final InquiryRepository inquiryRepository;
     private final InquiryResponseRepository inquiryResponseRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final InquiryCountCache inquiryCountCache;
+    private final InquiryLatencyRecorder inquiryLatencyRecorder;
+    private final InquirySearchIndex inquirySearchIndex;
+
     /**
      * Adds a response to a specific inquiry.
+     * If it is the first response to the inquiry, the time the inquiry waited for it is recorded.
      *
      * @param inquiryId The ID of the inquiry to respond to.
      * @param responseRequestDto The DTO containing the response content.
@@ -50,8 +62,79 @@ public class InquiryServiceImpl implements IInquiryService {
     @Transactional
     public void respondToInquiry(Long inquiryId, ResponseRequestDto responseRequestDto) {
         Inquiry inquiry = findInquiryOrThrow(inquiryId);
+        boolean firstResponse = !inquiryResponseRepository.existsByInquiryId(inquiryId);
         InquiryResponse response = InquiryResponse.ofInquiry(inquiry, responseRequestDto.getContent());
         inquiryResponseRepository.save(response);
+        inquirySearchIndex.responseSaved(inquiryId, response.getId(), response.getContent());
+        if (firstResponse) {
+            inquiryLatencyRecorder.firstResponded(inquiry.getType(), getAgeMs(inquiry));
+        }
+    }
+
+    /**
+     * Updates the status of a specific inquiry.
+     * When an unresolved inquiry is resolved, the time it took to resolve is recorded.
+     *
+     * @param inquiryId The ID of the inquiry.
+     * @param status The new status of the inquiry.
+     * @throws NotFoundException if the inquiry is not found.
+     */
+    @Override
+    @Transactional
+    public void updateInquiryStatus(Long inquiryId, InquiryStatus status) {
+        Inquiry inquiry = findInquiryOrThrow(inquiryId);
+        if (inquiry.getStatus() == status) {
+            return;
+        }
+        inquiry.updateInquiryStatus(status);
+        inquiryRepository.save(inquiry);
+        inquiryCountCache.invalidate(inquiry.getType());
+        inquirySearchIndex.statusChanged(inquiryId, status);
+        if (status == InquiryStatus.RESOLVED) {
+            inquiryLatencyRecorder.resolved(inquiry.getType(), getAgeMs(inquiry));
+        }
+    }
+
+    /**
+     * Searches inquiries by the words of their title, content and responses, best match first.
+     * Ranking is done by the in-process search index; only the requested page is loaded from the database.
+     *
+     * @param query The words to search for.
+     * @param status The status of the inquiry (e.g., RESOLVED, UNRESOLVED), or null for all statuses.
+     * @param pageable The pagination information.
+     * @return A paginated list of matching InquiryResponseDto objects.
+     * @throws InvalidOperationException if the query contains no searchable word.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<InquiryResponseDto> searchInquiries(String query, InquiryStatus status, Pageable pageable) {
+        if (!InquirySearchIndex.isSearchable(query)) {
+            throw new InvalidOperationException(MESSAGE_400_InvalidSearchQuery);
+        }
+        List<Long> rankedIds = inquirySearchIndex.search(query, status);
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, Math.min(from + pageable.getPageSize(), rankedIds.size()));
+
+        Map<Long, InquiryResponseDto> inquiriesById = new HashMap<>();
+        inquiryRepository.findQueueByIdIn(pageIds).forEach(inquiry -> inquiriesById.put(inquiry.getId(), inquiry));
+        List<InquiryResponseDto> inquiries = new ArrayList<>();
+        for (Long inquiryId : pageIds) {
+            InquiryResponseDto inquiry = inquiriesById.get(inquiryId);
+            if (inquiry != null) {
+                inquiries.add(inquiry);
+            }
+        }
+        return new PageImpl<>(inquiries, pageable, rankedIds.size());
+    }
+
+    /**
+     * Retrieves the first response and resolution time percentiles of each inquiry type.
+     *
+     * @return The latency percentiles per inquiry type and metric.
+     */
+    @Override
+    public List<InquiryLatencyResponseDto> getInquiryLatencies() {
+        return inquiryLatencyRecorder.getLatencies();
     }
 
     /**
@@ -78,6 +161,7 @@ public class InquiryServiceImpl implements IInquiryService {
 
         response.updateContent(patchResponseRequestDto.getContent());
         inquiryResponseRepository.save(response);
+        inquirySearchIndex.responseSaved(inquiryId, responseId, response.getContent());
     }
 
     /**
@@ -102,31 +186,44 @@ public class InquiryServiceImpl implements IInquiryService {
         validateResponseHasNoChildResponses(response);
 
         inquiryResponseRepository.delete(response);
+        inquirySearchIndex.responseRemoved(inquiryId, responseId);
     }
 
     /**
-     * Retrieves a paginated list of inquiries filtered by type and status.
+     * Retrieves a page of the admin inquiry queue, newest first, filtered by type and optionally by status.
+     * Each page is a single projection query that joins the item name and seeks past the cursor on an index,
+     * and the total comes from a short-lived count cache.
      *
      * @param type The type of inquiry (e.g., ITEM, CUSTOMER).
-     * @param status The status of the inquiry (e.g., RESOLVED, UNRESOLVED).
-     * @param pageable The pagination information.
-     * @return A paginated list of InquiryResponseDto objects.
+     * @param status The status of the inquiry (e.g., RESOLVED, UNRESOLVED), or null for all statuses.
+     * @param cursorId The ID of the last inquiry of the previous page, or null for the first page.
+     * @param size The number of inquiries to return.
+     * @return A page of InquiryResponseDto objects with the cursor for the next page.
+     * @throws InvalidOperationException if the page size is out of range.
      */
     @Override
     @Transactional(readOnly = true)
-    public Page<InquiryResponseDto> getAllInquiries(InquiryType type, InquiryStatus status, Pageable pageable) {
-        return inquiryRepository.findAllByTypeAndStatus(type, status, pageable)
-                .map(inquiry -> {
-                    String itemName = inquiry.getType() == InquiryType.ITEM && inquiry.getItem() != null
-                            ? inquiry.getItem().getName()
-                            : null;
-
-                    return getInquiryResponseDto(inquiry, itemName);
-                });
+    public InquiryQueueResponseDto getAllInquiries(InquiryType type, InquiryStatus status, Long cursorId, int size) {
+        if (size < 1 || size > MAX_QUEUE_PAGE_SIZE) {
+            throw new InvalidOperationException(MESSAGE_400_InvalidPageSize);
+        }
+        long seekId = cursorId != null ? cursorId : Long.MAX_VALUE;
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<InquiryResponseDto> inquiries = status == null
+                ? inquiryRepository.findQueueByType(type, seekId, limit)
+                : inquiryRepository.findQueueByTypeAndStatus(type, status, seekId, limit);
+
+        boolean hasNext = inquiries.size() > size;
+        return InquiryQueueResponseDto.of(
+                hasNext ? inquiries.subList(0, size) : inquiries,
+                inquiryCountCache.getCount(type, status),
+                hasNext
+        );
     }
 
     /**
      * Retrieves the details of a specific inquiry, including its responses.
+     * The whole response thread is loaded with a single query.
      *
      * @param inquiryId The ID of the inquiry.
      * @return The details of the inquiry as an InquiryDetailsResponseDto.
@@ -137,7 +234,7 @@ public class InquiryServiceImpl implements IInquiryService {
     public InquiryDetailsResponseDto getInquiryDetails(Long inquiryId) {
         Inquiry inquiry = findInquiryOrThrow(inquiryId);
 
-        List<InquiryDetailsResponseDto.ResponseDto> responses = mapInquiryResponsesToDtoList(inquiry);
+        List<InquiryDetailsResponseDto.ResponseDto> responses = loadResponseTree(inquiryId);
 
         String itemName = inquiry.getItem() != null ? inquiry.getItem().getName() : null;
         return buildInquiryDetailsResponseDto(inquiry, itemName, responses);
@@ -163,6 +260,7 @@ public class InquiryServiceImpl implements IInquiryService {
 
         InquiryResponse childResponse = InquiryResponse.ofParentResponse(parentResponse, responseRequestDto.getContent());
         inquiryResponseRepository.save(childResponse);
+        inquirySearchIndex.responseSaved(inquiryId, childResponse.getId(), childResponse.getContent());
     }
 
     /**
@@ -180,6 +278,8 @@ public class InquiryServiceImpl implements IInquiryService {
         Item item = findItemOrThrow(itemId);
         Inquiry inquiry = Inquiry.of(user, item, inquiryRequestDto.getTitle(), inquiryRequestDto.getContent());
         inquiryRepository.save(inquiry);
+        inquiryCountCache.invalidate(inquiry.getType());
+        inquirySearchIndex.inquirySaved(inquiry);
     }
 
     /**
@@ -195,6 +295,8 @@ public class InquiryServiceImpl implements IInquiryService {
         Users user = findUserOrThrow(userId);
         Inquiry inquiry = Inquiry.createCustomerInquiry(user, inquiryRequestDto.getTitle(), inquiryRequestDto.getContent());
         inquiryRepository.save(inquiry);
+        inquiryCountCache.invalidate(inquiry.getType());
+        inquirySearchIndex.inquirySaved(inquiry);
     }
 
     /**
@@ -220,6 +322,7 @@ public class InquiryServiceImpl implements IInquiryService {
 
     /**
      * Retrieves the details of a specific inquiry submitted by a user.
+     * The whole response thread is loaded with a single query.
      *
      * @param userId The ID of the user.
      * @param inquiryId The ID of the inquiry.
@@ -232,7 +335,7 @@ public class InquiryServiceImpl implements IInquiryService {
         findUserOrThrow(userId);
         Inquiry inquiry = findInquiryOrThrow(inquiryId, userId);
 
-        List<InquiryDetailsResponseDto.ResponseDto> responses = mapInquiryResponsesToDtoList(inquiry);
+        List<InquiryDetailsResponseDto.ResponseDto> responses = loadResponseTree(inquiryId);
 
         String itemName = inquiry.getItem() != null ? inquiry.getItem().getName() : null;
         return buildInquiryDetailsResponseDto(inquiry, itemName, responses);
@@ -251,6 +354,8 @@ public class InquiryServiceImpl implements IInquiryService {
         findUserOrThrow(userId);
         Inquiry inquiry = findInquiryOrThrow(inquiryId, userId);
         inquiryRepository.delete(inquiry);
+        inquiryCountCache.invalidate(inquiry.getType());
+        inquirySearchIndex.inquiryRemoved(inquiryId);
     }
 
     /**
@@ -273,6 +378,7 @@ public class InquiryServiceImpl implements IInquiryService {
 
         InquiryResponse childResponse = InquiryResponse.ofParentResponse(parentResponse, responseRequestDto.getContent());
         inquiryResponseRepository.save(childResponse);
+        inquirySearchIndex.responseSaved(inquiryId, childResponse.getId(), childResponse.getContent());
     }
 
     /**
@@ -298,6 +404,7 @@ public class InquiryServiceImpl implements IInquiryService {
 
         response.updateContent(patchResponseRequestDto.getContent());
         inquiryResponseRepository.save(response);
+        inquirySearchIndex.responseSaved(inquiryId, responseId, response.getContent());
     }
 
     /**
@@ -321,6 +428,7 @@ public class InquiryServiceImpl implements IInquiryService {
         validateResponseHasNoChildResponses(response);
 
         inquiryResponseRepository.delete(response);
+        inquirySearchIndex.responseRemoved(inquiryId, responseId);
     }
 
 
@@ -365,10 +473,29 @@ public class InquiryServiceImpl implements IInquiryService {
     }
 
 
-    private List<InquiryDetailsResponseDto.ResponseDto> mapInquiryResponsesToDtoList(Inquiry inquiry) {
-        return inquiry.getResponses().stream()
-                .map(this::mapInquiryResponseToDto)
-                .collect(Collectors.toList());
+    private static long getAgeMs(Inquiry inquiry) {
+        return System.currentTimeMillis() - inquiry.getCreationTime().getTime();
+    }
+
+    /**
+     * Loads every response of an inquiry with one query and links them into a tree in memory,
+     * so the child response collections are never initialized.
+     */
+    private List<InquiryDetailsResponseDto.ResponseDto> loadResponseTree(Long inquiryId) {
+        Map<Long, List<InquiryDetailsResponseDto.ResponseDto>> childrenByParentId = new HashMap<>();
+        List<InquiryDetailsResponseDto.ResponseDto> roots = new ArrayList<>();
+        for (InquiryResponse response : inquiryResponseRepository.findAllByInquiryIdOrderByIdAsc(inquiryId)) {
+            List<InquiryDetailsResponseDto.ResponseDto> children =
+                    childrenByParentId.computeIfAbsent(response.getId(), id -> new ArrayList<>());
+            InquiryDetailsResponseDto.ResponseDto dto = getResponseDto(response, children);
+            InquiryResponse parentResponse = response.getParentResponse();
+            if (parentResponse == null) {
+                roots.add(dto);
+            } else {
+                childrenByParentId.computeIfAbsent(parentResponse.getId(), id -> new ArrayList<>()).add(dto);
+            }
+        }
+        return roots;
     }
 
     private static InquiryDetailsResponseDto buildInquiryDetailsResponseDto(Inquiry inquiry, String itemName, List<InquiryDetailsResponseDto.ResponseDto> responses) {
@@ -384,23 +511,6 @@ public class InquiryServiceImpl implements IInquiryService {
         );
     }
 
-    private InquiryDetailsResponseDto.ResponseDto mapInquiryResponseToDto(InquiryResponse response) {
-        List<InquiryDetailsResponseDto.ResponseDto> childResponses = mapInquiryResponsesToDtoList(response);
-        return getResponseDto(response, childResponses);
-    }
-
-    private List<InquiryDetailsResponseDto.ResponseDto> mapInquiryResponsesToDtoList(InquiryResponse response) {
-        return getResponseDtoList(response);
-    }
-
-    private List<InquiryDetailsResponseDto.ResponseDto> getResponseDtoList(InquiryResponse response) {
-        return response.getChildResponses() != null
-                ? response.getChildResponses().stream()
-                .map(this::mapInquiryResponseToDto)
-                .collect(Collectors.toList())
-                : Collections.emptyList();
-    }
-
     private static InquiryResponseDto getInquiryResponseDto(Inquiry inquiry, String itemName) {
         return InquiryResponseDto.of(
                 inquiry.getId(),
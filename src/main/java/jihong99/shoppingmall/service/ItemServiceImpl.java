@@ -152,7 +152,7 @@ public class ItemServiceImpl implements IItemService {
     }
 
     private void updateItemCategoryAssociations(Item item, List<Long> categoryIds) {
-        categoryItemRepository.deleteAllByItem(item);
+        categoryItemRepository.deleteAllByItemId(item.getId());
         associateCategoriesWithItem(categoryIds, item);
     }
 
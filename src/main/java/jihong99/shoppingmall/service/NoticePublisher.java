@@ -0,0 +1,45 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.event.NoticeDeliveredEvent;
+import jihong99.shoppingmall.event.NoticeSubscriber;
+import jihong99.shoppingmall.utils.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Hands notice deliveries to every {@link NoticeSubscriber} once the delivering transaction commits.
+ *
+ * <p>Nothing is published for a transaction that rolls back. A failing subscriber is logged and does not
+ * keep the event from the others.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class NoticePublisher {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(NoticePublisher.class);
+
+    private final List<NoticeSubscriber> subscribers;
+
+    /**
+     * Publishes a delivery after the current transaction commits, or right away if there is none.
+     *
+     * @param event the delivery
+     */
+    public void publish(NoticeDeliveredEvent event) {
+        TransactionCallbacks.afterCommit(() -> dispatch(event));
+    }
+
+    private void dispatch(NoticeDeliveredEvent event) {
+        for (NoticeSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onNoticeDelivered(event);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Notice subscriber {} failed for notice {}", subscriber.getClass().getSimpleName(), event.getNoticeId(), e);
+            }
+        }
+    }
+}
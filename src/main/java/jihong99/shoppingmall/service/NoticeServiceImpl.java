@@ -1,10 +1,16 @@
 package jihong99.shoppingmall.service;
 
+import jihong99.shoppingmall.config.DatabasePlatform;
 import jihong99.shoppingmall.dto.request.notice.NoticeRequestDto;
 import jihong99.shoppingmall.dto.request.notice.PatchNoticeRequestDto;
+import jihong99.shoppingmall.dto.response.job.BackgroundJobResponseDto;
 import jihong99.shoppingmall.dto.response.notice.NoticeDetailsResponseDto;
 import jihong99.shoppingmall.dto.response.notice.NoticeResponseDto;
+import jihong99.shoppingmall.dto.response.notice.UnreadNoticeCountResponseDto;
 import jihong99.shoppingmall.entity.*;
+import jihong99.shoppingmall.entity.enums.JobType;
+import jihong99.shoppingmall.event.NoticeDeliveredEvent;
+import jihong99.shoppingmall.exception.InvalidOperationException;
 import jihong99.shoppingmall.exception.NotFoundException;
 import jihong99.shoppingmall.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -12,9 +18,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.sql.Timestamp;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static jihong99.shoppingmall.constants.Constants.*;
 
@@ -22,12 +29,19 @@ import static jihong99.shoppingmall.constants.Constants.*;
 @RequiredArgsConstructor
 public class NoticeServiceImpl implements INoticeService {
 
+    private static final Timestamp NEVER_SEEN = new Timestamp(0L);
+
     private final NoticeRepository noticeRepository;
     private final UserNoticeRepository userNoticeRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
-    private final ItemAlertRepository itemAlertRepository;
-    private final CartItemRepository cartItemRepository;
+    private final NoticeWatermarkRepository noticeWatermarkRepository;
+    private final ChunkedDeleter chunkedDeleter;
+    private final BackgroundJobRunner backgroundJobRunner;
+    private final UnreadNoticeCounter unreadNoticeCounter;
+    private final NoticePublisher noticePublisher;
+    private final NoticeStreamHub noticeStreamHub;
+    private final DatabasePlatform databasePlatform;
 
     /**
      * Creates a new notice.
@@ -46,30 +60,42 @@ public class NoticeServiceImpl implements INoticeService {
     /**
      * Assigns a notice to a specific user.
      *
+     * <p>A notice is posted to a user at most once, which the unique (user_id, notice_id) constraint
+     * enforces against concurrent posts, so each copy is counted as unread exactly once.</p>
+     *
      * @param noticeId The ID of the notice.
      * @param userId The ID of the user.
+     * @throws InvalidOperationException if the notice has already been posted to the user
      */
     @Override
     @Transactional
     public void postNoticeToUser(Long noticeId, Long userId) {
         Notice notice = findNoticeOrThrow(noticeId);
         Users user = findUserOrThrow(userId);
+        if (userNoticeRepository.existsByUsersIdAndNoticeId(userId, noticeId)) {
+            throw new InvalidOperationException(MESSAGE_400_NoticeAlreadyPosted);
+        }
         UserNotice userNotice = UserNotice.of(user, notice);
         userNoticeRepository.save(userNotice);
+        unreadNoticeCounter.delivered(List.of(userId));
+        noticePublisher.publish(NoticeDeliveredEvent.of(notice, List.of(userId)));
     }
 
     /**
      * Assigns a notice to all users.
      *
+     * <p>The notice is marked as a broadcast instead of being copied to every user, and is merged into each
+     * user's notices when they are read, so users who sign up later see it as well.</p>
+     *
      * @param noticeId The ID of the notice.
      */
     @Override
     @Transactional
     public void postNoticeToAllUsers(Long noticeId) {
         Notice notice = findNoticeOrThrow(noticeId);
-        List<Users> users = userRepository.findAll();
-        List<UserNotice> userNotices = createUserNotices(users, notice);
-        userNoticeRepository.saveAll(userNotices);
+        notice.broadcast(new Timestamp(System.currentTimeMillis()));
+        unreadNoticeCounter.broadcastPosted();
+        noticePublisher.publish(NoticeDeliveredEvent.ofBroadcast(notice));
     }
 
     /**
@@ -95,62 +121,72 @@ public class NoticeServiceImpl implements INoticeService {
     /**
      * Deletes a notice and all associated user notices.
      *
+     * <p>The user notices are deleted in chunks, each in its own transaction, and the notice itself last.
+     * A notice posted to very many users is deleted in the background. Unread copies are uncounted from
+     * their users' unread counters as they are deleted.</p>
+     *
      * @param noticeId The ID of the notice to be deleted.
+     * @return true if the deletion continues in the background, false if it has completed.
      */
     @Override
-    @Transactional
-    public void deleteNotice(Long noticeId) {
-        Notice notice = findNoticeOrThrow(noticeId);
-        userNoticeRepository.deleteAllByNoticeId(notice.getId());
-        noticeRepository.delete(notice);
+    public boolean deleteNotice(Long noticeId) {
+        findNoticeOrThrow(noticeId);
+        return chunkedDeleter.delete(
+                "notice " + noticeId,
+                userNoticeRepository.countByNoticeId(noticeId),
+                chunk -> userNoticeRepository.findIdsByNoticeId(noticeId, chunk),
+                ids -> {
+                    unreadNoticeCounter.removed(userNoticeRepository.findUnreadUserIdsByIdIn(ids));
+                    return userNoticeRepository.deleteAllByIdIn(ids);
+                },
+                () -> {
+                    unreadNoticeCounter.removed(userNoticeRepository.findUnreadUserIdsByNoticeId(noticeId));
+                    userNoticeRepository.deleteAllByNoticeId(noticeId);
+                    noticeRepository.deleteById(noticeId);
+                });
     }
 
     /**
      * Sends a stock alert notice to users who are tracking an item.
      *
+     * <p>The notice is stored right away and delivered to the users by a background job.</p>
+     *
      * @param itemId The ID of the item that is back in stock.
+     * @return The job delivering the notice.
      */
     @Override
     @Transactional
-    public void notifyStockAlertToUsers(Long itemId) {
+    public BackgroundJobResponseDto notifyStockAlertToUsers(Long itemId) {
         Item item = findItemOrThrow(itemId);
         String title = "Stock Alert: " + item.getName();
         String content = String.format("The item '%s' is back in stock. Don't miss out!", item.getName());
-        Notice notice = Notice.of(title, content);
-        List<ItemAlert> itemAlerts = itemAlertRepository.findAllByItemId(itemId);
-        if (itemAlerts.isEmpty()) {
-            return;
-        }
-        List<UserNotice> userNotices = createUserNoticesFromAlerts(itemAlerts, notice);
-
-        userNoticeRepository.saveAll(userNotices);
+        Notice notice = noticeRepository.save(Notice.of(title, content));
+        return BackgroundJobResponseDto.of(backgroundJobRunner.submit(JobType.STOCK_ALERT_NOTICE, itemId, notice.getId()));
     }
 
     /**
      * Sends a cart item invalidation notice to users who have an invalidated item in their cart.
      *
+     * <p>The notice is stored right away and delivered to the users by a background job.</p>
+     *
      * @param itemId The ID of the item that has been invalidated.
+     * @return The job delivering the notice.
      */
     @Override
     @Transactional
-    public void notifyCartItemInvalidationToUsers(Long itemId) {
+    public BackgroundJobResponseDto notifyCartItemInvalidationToUsers(Long itemId) {
         Item item = findItemOrThrow(itemId);
         String title = "Cart Item Invalidation Notice: " + item.getName();
         String content = String.format("The item '%s' in your cart has been invalidated and is no longer available for purchase.", item.getName());
-        Notice notice = Notice.of(title, content);
-        List<CartItem> cartItems = cartItemRepository.findByItemId(itemId);
-
-        if (cartItems.isEmpty()) {
-            return;
-        }
-
-        List<Users> users = findUsersByCartItems(cartItems);
-        List<UserNotice> userNotices = createUserNotices(users, notice);
-        userNoticeRepository.saveAll(userNotices);
+        Notice notice = noticeRepository.save(Notice.of(title, content));
+        return BackgroundJobResponseDto.of(backgroundJobRunner.submit(JobType.CART_ITEM_INVALIDATION_NOTICE, itemId, notice.getId()));
     }
     /**
      * Retrieves a paginated list of all notices for a specific user.
      *
+     * <p>The notices targeted at the user are merged with all broadcast notices, newest first. Notices
+     * delivered at or before the user's watermark are marked as seen.</p>
+     *
      * @param userId   The ID of the user whose notices are being retrieved.
      * @param pageable The pagination information.
      * @return A paginated list of NoticeResponseDto objects.
@@ -158,50 +194,72 @@ public class NoticeServiceImpl implements INoticeService {
     @Override
     @Transactional(readOnly = true)
     public Page<NoticeResponseDto> getAllNotices(Long userId, Pageable pageable) {
-        return userNoticeRepository.findAllByUsersId(userId, pageable)
-                .map(NoticeServiceImpl::convertToNoticeResponseDto);
+        Timestamp lastSeenTime = noticeWatermarkRepository.findLastSeenTimeByUserId(userId)
+                .orElse(NEVER_SEEN);
+        return noticeRepository.findAllVisibleToUser(userId, lastSeenTime, pageable);
     }
 
-
     /**
-     * Retrieves the details of a specific notice for a user.
+     * Marks every notice delivered to a user so far as seen by moving the user's watermark to now,
+     * and marks the user's targeted notices as read. The watermark is created or moved with a single
+     * upsert, so concurrent calls for a user without one do not collide on its primary key.
      *
-     * @param userId   The ID of the user associated with the notice.
-     * @param noticeId The ID of the notice to retrieve.
-     * @return A NoticeDetailsResponseDto containing detailed notice information.
+     * @param userId The ID of the user.
      */
     @Override
-    @Transactional(readOnly = true)
-    public NoticeDetailsResponseDto getNoticeDetails(Long userId, Long noticeId) {
-        UserNotice userNotice = findUserNoticeOrThrow(userId, noticeId);
-        return convertToNoticeDetailsResponseDto(userNotice);
+    @Transactional
+    public void markNoticesAsSeen(Long userId) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        if (databasePlatform.isMySql()) {
+            noticeWatermarkRepository.advanceMySql(userId, now);
+        } else {
+            noticeWatermarkRepository.advanceH2(userId, now);
+        }
+        unreadNoticeCounter.read(userId, userNoticeRepository.markAllAsRead(userId));
     }
 
-
-    private static List<UserNotice> createUserNoticesFromAlerts(List<ItemAlert> itemAlerts, Notice notice) {
-        return itemAlerts.stream()
-                .map(itemAlert -> {
-                    Users user = itemAlert.getUsers();
-                    return UserNotice.of(user, notice);
-                })
-                .collect(Collectors.toList());
+    /**
+     * Opens a stream on which every notice delivered to a user from now on is pushed.
+     *
+     * @param userId The ID of the user.
+     * @return The emitter backing the stream.
+     */
+    @Override
+    public SseEmitter subscribeToNotices(Long userId) {
+        return noticeStreamHub.connect(userId);
     }
 
+    /**
+     * Retrieves the number of notices a user has not read yet.
+     *
+     * @param userId The ID of the user.
+     * @return An UnreadNoticeCountResponseDto containing the number of unread notices.
+     */
+    @Override
+    public UnreadNoticeCountResponseDto getUnreadNoticeCount(Long userId) {
+        return UnreadNoticeCountResponseDto.of(unreadNoticeCounter.getUnreadCount(userId));
+    }
 
-    private List<Users> findUsersByCartItems(List<CartItem> cartItems) {
-        List<Long> cartIds = cartItems.stream()
-                .map(cartItem -> cartItem.getCart().getId())
-                .distinct()
-                .collect(Collectors.toList());
 
-        return userRepository.findUsersByCartIds(cartIds);
+    /**
+     * Retrieves the details of a specific notice for a user and marks the user's copy of it as read.
+     *
+     * @param userId   The ID of the user associated with the notice.
+     * @param noticeId The ID of the notice to retrieve.
+     * @return A NoticeDetailsResponseDto containing detailed notice information.
+     */
+    @Override
+    @Transactional
+    public NoticeDetailsResponseDto getNoticeDetails(Long userId, Long noticeId) {
+        Notice notice = noticeRepository.findVisibleToUser(noticeId, userId)
+                .orElseThrow(() -> new NotFoundException(MESSAGE_404_NoticeNotFound));
+        int marked = userNoticeRepository.markAsRead(userId, noticeId);
+        if (marked > 0) {
+            unreadNoticeCounter.read(userId, marked);
+        }
+        return convertToNoticeDetailsResponseDto(notice);
     }
 
-    private static List<UserNotice> createUserNotices(List<Users> users, Notice notice) {
-        return users.stream()
-                .map(user -> UserNotice.of(user, notice))
-                .collect(Collectors.toList());
-    }
 
     private Item findItemOrThrow(Long itemId) {
         return itemRepository.findById(itemId).orElseThrow(
@@ -222,23 +280,11 @@ public class NoticeServiceImpl implements INoticeService {
     }
 
 
-    private static NoticeResponseDto convertToNoticeResponseDto(UserNotice notice) {
-        return NoticeResponseDto.of(
-                notice.getNotice().getId(),
-                notice.getNotice().getTitle(),
-                notice.getNotice().getRegistrationDate());
-    }
-
-
-    private UserNotice findUserNoticeOrThrow(Long userId, Long noticeId) {
-        return userNoticeRepository.findByUsersIdAndNoticeId(userId, noticeId).orElseThrow(() -> new NotFoundException(MESSAGE_404_NoticeNotFound));
-    }
-
-    private static NoticeDetailsResponseDto convertToNoticeDetailsResponseDto(UserNotice userNotice) {
+    private static NoticeDetailsResponseDto convertToNoticeDetailsResponseDto(Notice notice) {
         return NoticeDetailsResponseDto.of(
-                userNotice.getNotice().getTitle(),
-                userNotice.getNotice().getContent(),
-                userNotice.getNotice().getRegistrationDate()
+                notice.getTitle(),
+                notice.getContent(),
+                notice.getRegistrationDate()
         );
     }
 
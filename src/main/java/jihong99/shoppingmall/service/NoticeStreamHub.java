@@ -0,0 +1,211 @@
+package jihong99.shoppingmall.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jihong99.shoppingmall.dto.response.notice.NoticeResponseDto;
+import jihong99.shoppingmall.event.NoticeDeliveredEvent;
+import jihong99.shoppingmall.event.NoticeSubscriber;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes delivered notices to users over Server-Sent Events.
+ *
+ * <p>Each open stream is a connection with a bounded buffer of pending events. Publishing an event only
+ * enqueues it on the recipients' connections; a small pool of sender threads drains a connection whenever it
+ * has pending events, so an idle connection holds no thread and a slow client never blocks the publisher.
+ * A connection whose buffer overflows is closed, and the client reconnects and reloads its notices. A comment
+ * is sent on every connection every {@code notice.stream.heartbeat-interval-ms}, which keeps proxies from
+ * dropping idle streams and removes connections whose client has gone away.</p>
+ *
+ * <p>Streams are held by this node only, so a client receives the notices delivered while it is connected;
+ * it loads its notices once when the stream opens to catch up on anything it missed.</p>
+ */
+@Service
+public class NoticeStreamHub implements NoticeSubscriber {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final Logger LOGGER = LoggerFactory.getLogger(NoticeStreamHub.class);
+
+    @Value("${notice.stream.timeout-ms:3600000}")
+    private long timeoutMs;
+
+    @Value("${notice.stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${notice.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${notice.stream.sender-threads:4}")
+    private int senderThreads;
+
+    private final Map<Long, Set<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private ExecutorService sender;
+
+    @PostConstruct
+    public void start() {
+        sender = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("notice-stream-"));
+    }
+
+    @PreDestroy
+    public void close() {
+        sender.shutdownNow();
+        connectionsByUser.values().forEach(connections -> connections.forEach(connection -> connection.emitter.complete()));
+        connectionsByUser.clear();
+    }
+
+    /**
+     * Opens a notice stream for a user. The stream starts with a {@code connected} event, after which the
+     * client should load its notices once; every notice delivered to the user afterwards is sent as a
+     * {@code notice} event.
+     *
+     * @param userId the ID of the user
+     * @return the emitter backing the stream
+     */
+    public SseEmitter connect(Long userId) {
+        SseEmitter emitter = createEmitter();
+        Connection connection = new Connection(userId, emitter, bufferSize);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(connection));
+        Connection evicted = add(connection);
+        if (evicted != null) {
+            evicted.emitter.complete();
+        }
+        enqueue(connection, SseEmitter.event().name("connected").data(userId).build());
+        return emitter;
+    }
+
+    /**
+     * Returns the number of streams open on this node.
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @Override
+    public void onNoticeDelivered(NoticeDeliveredEvent event) {
+        Set<DataWithMediaType> frame = SseEmitter.event()
+                .id(String.valueOf(event.getNoticeId()))
+                .name("notice")
+                .data(NoticeResponseDto.of(event.getNoticeId(), event.getTitle(), event.getRegistrationDate(), false))
+                .build();
+        if (event.isBroadcast()) {
+            connectionsByUser.values().forEach(connections -> connections.forEach(connection -> enqueue(connection, frame)));
+            return;
+        }
+        for (Long userId : event.getUserIds()) {
+            Set<Connection> connections = connectionsByUser.get(userId);
+            if (connections != null) {
+                connections.forEach(connection -> enqueue(connection, frame));
+            }
+        }
+    }
+
+    /**
+     * Sends a heartbeat on every open stream that has nothing else pending.
+     */
+    @Scheduled(fixedDelayString = "${notice.stream.heartbeat-interval-ms:20000}")
+    public void sendHeartbeats() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(connection -> {
+            if (connection.pending.isEmpty()) {
+                enqueue(connection, HEARTBEAT);
+            }
+        }));
+    }
+
+    /**
+     * Creates the emitter backing a new stream.
+     */
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private Connection add(Connection connection) {
+        Connection[] evicted = new Connection[1];
+        connectionsByUser.compute(connection.userId, (userId, connections) -> {
+            Set<Connection> updated = connections != null ? connections : ConcurrentHashMap.newKeySet();
+            if (updated.size() >= maxConnectionsPerUser) {
+                evicted[0] = updated.stream().min(Comparator.comparingLong(c -> c.openedAt)).orElse(null);
+                updated.remove(evicted[0]);
+                connectionCount.decrementAndGet();
+            }
+            updated.add(connection);
+            connectionCount.incrementAndGet();
+            return updated;
+        });
+        return evicted[0];
+    }
+
+    private void remove(Connection connection) {
+        connectionsByUser.computeIfPresent(connection.userId, (userId, connections) -> {
+            if (connections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return connections.isEmpty() ? null : connections;
+        });
+    }
+
+    private void enqueue(Connection connection, Set<DataWithMediaType> frame) {
+        if (!connection.pending.offer(frame)) {
+            LOGGER.debug("Notice stream of user {} fell behind; closing it", connection.userId);
+            remove(connection);
+            connection.emitter.complete();
+            return;
+        }
+        if (connection.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(Connection connection) {
+        do {
+            Set<DataWithMediaType> frame;
+            while ((frame = connection.pending.poll()) != null) {
+                try {
+                    connection.emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    remove(connection);
+                    connection.pending.clear();
+                    connection.emitter.completeWithError(e);
+                    return;
+                }
+            }
+            connection.draining.set(false);
+        } while (!connection.pending.isEmpty() && connection.draining.compareAndSet(false, true));
+    }
+
+    private static final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final long openedAt = System.nanoTime();
+
+        private Connection(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
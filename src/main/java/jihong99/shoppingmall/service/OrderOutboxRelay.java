@@ -0,0 +1,198 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.response.order.OutboxMetricsResponseDto;
+import jihong99.shoppingmall.entity.OrderOutbox;
+import jihong99.shoppingmall.event.OrderStatusChangedEvent;
+import jihong99.shoppingmall.event.OrderStatusSubscriber;
+import jihong99.shoppingmall.repository.OrderOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the order outbox and delivers order status transitions to in-process subscribers.
+ *
+ * <p>Each run reads unpublished entries in ID order, in batches, and hands every entry to every
+ * {@link OrderStatusSubscriber}. An entry is marked as published only after all subscribers
+ * accepted it, so delivery is at-least-once. If a subscriber fails, the entry stays unpublished
+ * and the remaining entries of the same order are held back, which keeps the delivery order per
+ * order intact while other orders keep flowing.</p>
+ *
+ * <p>A failed entry is retried after {@code order.outbox.retry-backoff-ms}, doubling with every
+ * attempt up to {@code order.outbox.max-retry-backoff-ms}, and is not fetched while it waits. After
+ * {@code order.outbox.max-attempts} failed attempts it is marked as failed and no longer relayed, so a
+ * poison entry can neither be retried forever nor block the entries behind it. Later entries of its
+ * order are then delivered; the failed entry is reported in the metrics and has to be handled by hand.</p>
+ *
+ * <p>Published entries are deleted once they are older than {@code order.outbox.retention-ms}, in chunks of
+ * {@code order.outbox.cleanup-chunk-size}, each in its own transaction, so the outbox does not keep every
+ * transition ever made.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderOutboxRelay {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final List<OrderStatusSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${order.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${order.outbox.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${order.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${order.outbox.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${order.outbox.max-retry-backoff-ms:300000}")
+    private long maxRetryBackoffMs;
+
+    @Value("${order.outbox.retention-ms:604800000}")
+    private long retentionMs;
+
+    @Value("${order.outbox.cleanup-chunk-size:1000}")
+    private int cleanupChunkSize;
+
+    private final ReentrantLock relayLock = new ReentrantLock();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong lastDeliveryLagMs = new AtomicLong();
+    private final AtomicLong maxDeliveryLagMs = new AtomicLong();
+    private final AtomicLong lastRelayTimeMs = new AtomicLong();
+
+    /**
+     * Delivers pending outbox entries until the outbox is drained, a batch makes no progress,
+     * or the per-run batch limit is reached.
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.relay-interval-ms:500}")
+    public void relay() {
+        if (!relayLock.tryLock()) {
+            return;
+        }
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Timestamp now = new Timestamp(System.currentTimeMillis());
+                List<OrderOutbox> entries = orderOutboxRepository.findDue(now, PageRequest.of(0, batchSize));
+                if (entries.isEmpty() || deliver(entries) == 0 || entries.size() < batchSize) {
+                    break;
+                }
+            }
+            lastRelayTimeMs.set(System.currentTimeMillis());
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the entries published before the retention period, one chunk per transaction.
+     * Unpublished and failed entries are kept.
+     */
+    @Scheduled(fixedDelayString = "${order.outbox.cleanup-interval-ms:3600000}")
+    public void cleanUp() {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - retentionMs);
+        long deleted = 0L;
+        while (!Thread.currentThread().isInterrupted()) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = orderOutboxRepository.findIdsPublishedBefore(cutoff, PageRequest.of(0, cleanupChunkSize));
+                return ids.isEmpty() ? null : orderOutboxRepository.deleteAllByIdIn(ids);
+            });
+            if (count == null) {
+                break;
+            }
+            deleted += count;
+        }
+        if (deleted > 0) {
+            LOGGER.info("Deleted {} order outbox entries published before {}", deleted, cutoff);
+        }
+    }
+
+    /**
+     * Returns the current delivery lag and throughput counters of the relay.
+     *
+     * @return the outbox metrics
+     */
+    public OutboxMetricsResponseDto getMetrics() {
+        long now = System.currentTimeMillis();
+        Long oldestPendingAgeMs = orderOutboxRepository.findFirstByPublishedFalseAndFailedFalseOrderByIdAsc()
+                .map(entry -> now - entry.getCreationTime().getTime())
+                .orElse(0L);
+        return new OutboxMetricsResponseDto(
+                orderOutboxRepository.countByPublishedFalseAndFailedFalse(),
+                orderOutboxRepository.countByFailedTrue(),
+                oldestPendingAgeMs,
+                deliveredCount.get(),
+                failedCount.get(),
+                lastDeliveryLagMs.get(),
+                maxDeliveryLagMs.get(),
+                lastRelayTimeMs.get()
+        );
+    }
+
+    private int deliver(List<OrderOutbox> entries) {
+        Set<Long> heldBackOrders = new HashSet<>();
+        List<Long> delivered = new ArrayList<>();
+        for (OrderOutbox entry : entries) {
+            if (heldBackOrders.contains(entry.getOrderId())) {
+                continue;
+            }
+            OrderStatusChangedEvent event = OrderStatusChangedEvent.of(entry);
+            try {
+                for (OrderStatusSubscriber subscriber : subscribers) {
+                    subscriber.onOrderStatusChanged(event);
+                }
+                delivered.add(entry.getId());
+            } catch (RuntimeException e) {
+                heldBackOrders.add(entry.getOrderId());
+                failedCount.incrementAndGet();
+                recordFailedAttempt(entry, e);
+            }
+        }
+        if (delivered.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp publishedTime = new Timestamp(System.currentTimeMillis());
+        transactionTemplate.executeWithoutResult(status -> orderOutboxRepository.markPublished(delivered, publishedTime));
+        deliveredCount.addAndGet(delivered.size());
+        entries.stream()
+                .filter(entry -> delivered.contains(entry.getId()))
+                .mapToLong(entry -> publishedTime.getTime() - entry.getCreationTime().getTime())
+                .forEach(lag -> {
+                    lastDeliveryLagMs.set(lag);
+                    maxDeliveryLagMs.accumulateAndGet(lag, Math::max);
+                });
+        return delivered.size();
+    }
+
+    private void recordFailedAttempt(OrderOutbox entry, RuntimeException cause) {
+        int attempts = entry.getAttempts() + 1;
+        boolean failed = attempts >= maxAttempts;
+        long backoffMs = Math.min(maxRetryBackoffMs, retryBackoffMs << Math.min(attempts - 1, 30));
+        Timestamp nextAttemptTime = new Timestamp(System.currentTimeMillis() + backoffMs);
+        if (failed) {
+            LOGGER.error("Giving up on order outbox entry {} for order {} after {} attempts",
+                    entry.getId(), entry.getOrderId(), attempts, cause);
+        } else {
+            LOGGER.warn("Failed to deliver order outbox entry {} for order {} (attempt {}); retrying in {} ms",
+                    entry.getId(), entry.getOrderId(), attempts, backoffMs, cause);
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                orderOutboxRepository.recordFailedAttempt(entry.getId(), nextAttemptTime, failed));
+    }
+}
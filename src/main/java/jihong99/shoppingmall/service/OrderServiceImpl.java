@@ -1,23 +1,35 @@
 package jihong99.shoppingmall.service;
 
+import jakarta.persistence.EntityManager;
+import jihong99.shoppingmall.dto.request.order.CheckoutRequestDto;
+import jihong99.shoppingmall.dto.request.order.OrderStatusRequestDto;
 import jihong99.shoppingmall.dto.response.order.OrderDetailsResponseDto;
 import jihong99.shoppingmall.dto.response.order.OrderDetailsResponseDto.OrderItemResponseDto;
-import jihong99.shoppingmall.entity.Coupon;
-import jihong99.shoppingmall.entity.OrderDetails;
-import jihong99.shoppingmall.entity.Orders;
+import jihong99.shoppingmall.dto.response.order.OrderHistoryResponseDto;
+import jihong99.shoppingmall.dto.response.order.OrderSummaryResponseDto;
+import jihong99.shoppingmall.entity.*;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import jihong99.shoppingmall.exception.InvalidOperationException;
 import jihong99.shoppingmall.exception.NotFoundException;
-import jihong99.shoppingmall.repository.OrderDetailsRepository;
-import jihong99.shoppingmall.repository.OrderItemRepository;
-import jihong99.shoppingmall.repository.OrderRepository;
+import jihong99.shoppingmall.repository.*;
+import jihong99.shoppingmall.utils.OrderNumberGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
-import java.util.Optional;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static jihong99.shoppingmall.constants.Constants.*;
 
@@ -25,16 +37,40 @@ import static jihong99.shoppingmall.constants.Constants.*;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements IOrderService {
 
+    private static final LocalDate HISTORY_START = LocalDate.of(1970, 1, 1);
+    private static final LocalDate HISTORY_END = LocalDate.of(9999, 12, 31);
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int EXPORT_CLEAR_INTERVAL = 1000;
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    private static final String EXPORT_CSV_HEADER =
+            "order_id,order_number,user_id,order_date,order_status,total_amount,discount_amount,final_amount,coupon_id\n";
+
     private final OrderDetailsRepository orderDetailsRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ItemRepository itemRepository;
+    private final UserCouponRepository userCouponRepository;
+    private final DeliveryAddressRepository deliveryAddressRepository;
+    private final CouponRepository couponRepository;
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final ISalesRollupService salesRollupService;
+    private final CartWriteBehindStore cartWriteBehindStore;
+    private final CouponCatalog couponCatalog;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final EntityManager entityManager;
 
 
     /**
      * Retrieves a paginated list of order details for a specific user.
      *
-     * <p>This method fetches a page of order details for the specified user and maps
-     * each order detail entity to a response DTO.</p>
+     * <p>This method fetches a page of order details together with their orders, then loads the order
+     * items (with their items), delivery addresses and coupons referenced by that page with one
+     * IN-query each and assembles the response DTOs in memory. The number of statements does not
+     * depend on the page size.</p>
      *
      * @param userId   the ID of the user whose orders are to be retrieved
      * @param pageable the pagination information
@@ -43,16 +79,307 @@ public class OrderServiceImpl implements IOrderService {
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDetailsResponseDto> getUserOrderDetails(Long userId, Pageable pageable) {
-        Orders order = findOrderOrThrow(userId);
-        return orderDetailsRepository.findAllByOrdersId(order.getId(), pageable)
-                .map(orderDetail -> {
-                    List<OrderItemResponseDto> items = mapOrderItemsToResponseDtos(orderDetail);
-                    return createOrderDetailsResponseDto(orderDetail, items);
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(MESSAGE_404_UserNotFound);
+        }
+        Page<OrderDetails> orderDetailsPage = orderDetailsRepository.findAllWithOrdersByUserId(userId, pageable);
+        List<OrderDetails> orderDetails = orderDetailsPage.getContent();
+
+        Map<Long, List<OrderItemResponseDto>> itemsByOrderId = findOrderItemsByOrderId(orderDetails.stream()
+                .map(orderDetail -> orderDetail.getOrders().getId())
+                .collect(Collectors.toSet()));
+        Map<Long, DeliveryAddress> addresses = deliveryAddressRepository.findAllById(orderDetails.stream()
+                        .map(orderDetail -> orderDetail.getDeliveryAddress().getId())
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(DeliveryAddress::getId, Function.identity()));
+        Map<Long, Coupon> coupons = couponRepository.findAllById(orderDetails.stream()
+                        .map(OrderDetails::getAppliedCoupon)
+                        .filter(Objects::nonNull)
+                        .map(Coupon::getId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Coupon::getId, Function.identity()));
+
+        return orderDetailsPage.map(orderDetail -> createOrderDetailsResponseDto(
+                orderDetail,
+                itemsByOrderId.getOrDefault(orderDetail.getOrders().getId(), List.of()),
+                addresses.get(orderDetail.getDeliveryAddress().getId()),
+                Optional.ofNullable(orderDetail.getAppliedCoupon())
+                        .map(coupon -> coupons.get(coupon.getId()))
+                        .orElse(null)
+        ));
+    }
+
+    /**
+     * Retrieves a user's order history with keyset pagination.
+     *
+     * <p>Orders are returned newest first, ordered by (order date, order ID). Instead of an offset, the
+     * caller passes the date and ID of the last order it received, so every page is a range seek on the
+     * (user_id, order_date, order_id) index and costs the same no matter how deep the caller has paged.
+     * Status and date-range filters narrow the same range scan.</p>
+     *
+     * @param userId     the ID of the user whose orders are to be retrieved
+     * @param status     the order status to filter by, or null for all statuses
+     * @param from       the earliest order date to include, or null for no lower bound
+     * @param to         the latest order date to include, or null for no upper bound
+     * @param cursorDate the order date of the last order of the previous page, or null for the first page
+     * @param cursorId   the ID of the last order of the previous page, or null for the first page
+     * @param size       the number of orders to return
+     * @return a page of order summaries with the cursor for the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderHistoryResponseDto getUserOrderHistory(Long userId, OrderStatus status, LocalDate from, LocalDate to,
+                                                       LocalDate cursorDate, Long cursorId, int size) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new InvalidOperationException(MESSAGE_400_InvalidPageSize);
+        }
+        if ((cursorDate == null) != (cursorId == null)) {
+            throw new InvalidOperationException(MESSAGE_400_InvalidCursor);
+        }
+        LocalDate lowerBound = from != null ? from : HISTORY_START;
+        LocalDate upperBound = to != null ? to : HISTORY_END;
+        if (lowerBound.isAfter(upperBound)) {
+            throw new InvalidOperationException(MESSAGE_400_InvalidDateRange);
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(MESSAGE_404_UserNotFound);
+        }
+
+        LocalDate seekDate = upperBound;
+        long seekId = Long.MAX_VALUE;
+        if (cursorDate != null && !cursorDate.isAfter(upperBound)) {
+            seekDate = cursorDate;
+            seekId = cursorId;
+        }
+
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Orders> orders = status == null
+                ? orderRepository.findHistoryByUserId(userId, lowerBound, seekDate, seekId, limit)
+                : orderRepository.findHistoryByUserIdAndStatus(userId, status, lowerBound, seekDate, seekId, limit);
+
+        boolean hasNext = orders.size() > size;
+        List<OrderSummaryResponseDto> summaries = orders.stream()
+                .limit(size)
+                .map(OrderSummaryResponseDto::of)
+                .collect(Collectors.toList());
+        return OrderHistoryResponseDto.of(summaries, hasNext);
+    }
+
+    /**
+     * Converts the user's cart into an order in a single transaction.
+     *
+     * <p>The cart lines are read with row locks, so their quantities cannot change until the checkout ends.
+     * Stock is reserved with conditional updates in item-id order, the applied coupon is consumed,
+     * the locked cart lines are copied into order items with one statement and the cart is cleared. A line
+     * added concurrently makes the copied and deleted line counts disagree with the reserved lines, and
+     * any failed step rolls the whole checkout back.</p>
+     *
+     * <p>The idempotency key deduplicates client retries: if the user already has an order created with
+     * the same key, that order is returned and nothing is written. Two concurrent requests with the same
+     * key are resolved by the unique (user_id, idempotency_key) constraint.</p>
+     *
+     * @param userId             the ID of the user checking out
+     * @param idempotencyKey     the client-supplied key identifying this checkout attempt
+     * @param checkoutRequestDto the checkout request containing the delivery address
+     * @return the details of the created (or previously created) order
+     */
+    @Override
+    public OrderDetailsResponseDto checkout(Long userId, String idempotencyKey, CheckoutRequestDto checkoutRequestDto) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > 64) {
+            throw new InvalidOperationException(MESSAGE_400_InvalidIdempotencyKey);
+        }
+        try {
+            return transactionTemplate.execute(status -> placeOrder(userId, idempotencyKey, checkoutRequestDto));
+        } catch (DataIntegrityViolationException e) {
+            return transactionTemplate.execute(status -> orderRepository.findByUsersIdAndIdempotencyKey(userId, idempotencyKey)
+                    .map(this::getOrderDetailsResponseDto)
+                    .orElseThrow(() -> e));
+        }
+    }
+
+    private OrderDetailsResponseDto placeOrder(Long userId, String idempotencyKey, CheckoutRequestDto checkoutRequestDto) {
+        Optional<Orders> existingOrder = orderRepository.findByUsersIdAndIdempotencyKey(userId, idempotencyKey);
+        if (existingOrder.isPresent()) {
+            return getOrderDetailsResponseDto(existingOrder.get());
+        }
+
+        cartWriteBehindStore.flush(userId);
+        Long cartId = userRepository.findCartIdById(userId)
+                .orElseThrow(() -> new NotFoundException(MESSAGE_404_UserNotFound));
+        Cart cart = cartRepository.findById(cartId)
+                .orElseThrow(() -> new NotFoundException(MESSAGE_404_UserNotFound));
+        List<CartItem> cartItems = cartItemRepository.findAllByCartIdForUpdate(cartId);
+        if (cartItems.isEmpty()) {
+            throw new InvalidOperationException(MESSAGE_400_EmptyCart);
+        }
+        DeliveryAddress deliveryAddress = deliveryAddressRepository.findByIdAndUsersId(checkoutRequestDto.getDeliveryAddressId(), userId)
+                .orElseThrow(() -> new NotFoundException(MESSAGE_404_DeliveryAddressNotFound));
+
+        reserveStock(cartItems);
+        Coupon appliedCoupon = cart.getAppliedCoupon();
+        if (appliedCoupon != null && userCouponRepository.markAsUsed(userId, appliedCoupon.getId(), LocalDate.now()) == 0) {
+            throw new InvalidOperationException(MESSAGE_400_InvalidOrUsedCoupon);
+        }
+
+        long totalAmount = cartItems.stream()
+                .mapToLong(CartItem::getTotalPrice)
+                .sum();
+        long discountAmount = couponCatalog.discountOf(appliedCoupon).applyAsLong(totalAmount);
+
+        Orders order = orderRepository.save(Orders.of(
+                orderNumberGenerator.generate(),
+                userRepository.getReferenceById(userId),
+                LocalDate.now(),
+                OrderStatus.PROCESSED,
+                totalAmount - discountAmount,
+                idempotencyKey
+        ));
+        orderOutboxRepository.save(OrderOutbox.of(order, null));
+        OrderDetails orderDetails = orderDetailsRepository.save(
+                OrderDetails.of(order, deliveryAddress, appliedCoupon, totalAmount, discountAmount));
+
+        if (orderItemRepository.insertFromCart(order.getId(), cartId) != cartItems.size()) {
+            throw new InvalidOperationException(MESSAGE_400_CartChangedDuringCheckout);
+        }
+        salesRollupService.recordOrder(order);
+        if (cartItemRepository.deleteAllByCartId(cartId) != cartItems.size()) {
+            throw new InvalidOperationException(MESSAGE_400_CartChangedDuringCheckout);
+        }
+        cartRepository.resetTotalPrices(cartId);
+
+        return createOrderDetailsResponseDto(orderDetails);
+    }
+
+    /**
+     * Changes the status of an order.
+     *
+     * <p>The transition is appended to the order outbox in the same transaction, so subscribers
+     * (e.g., stock restore on cancellation) are notified if and only if the change commits.
+     * A cancelled order cannot change status again.</p>
+     *
+     * @param orderId               the ID of the order
+     * @param orderStatusRequestDto the new status of the order
+     */
+    @Override
+    @Transactional
+    public void updateOrderStatus(Long orderId, OrderStatusRequestDto orderStatusRequestDto) {
+        Orders order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new NotFoundException(MESSAGE_404_OrdersNotFound));
+        OrderStatus previousStatus = order.getOrderStatus();
+        OrderStatus newStatus = orderStatusRequestDto.getOrderStatus();
+        if (previousStatus == newStatus || previousStatus == OrderStatus.CANCELLED) {
+            throw new InvalidOperationException(MESSAGE_400_InvalidOrderStatusTransition);
+        }
+        order.updateOrderStatus(newStatus);
+        orderOutboxRepository.save(OrderOutbox.of(order, previousStatus));
+        if (newStatus == OrderStatus.CANCELLED) {
+            salesRollupService.recordCancellation(order);
+        }
+    }
+
+    /**
+     * Exports the orders placed in a date range as CSV.
+     *
+     * <p>The arguments are validated before anything is written. The returned body reads the orders through
+     * a forward-only stream in one read-only transaction and writes each row as it arrives; the persistence
+     * context is cleared every {@value #EXPORT_CLEAR_INTERVAL} rows, so memory use does not grow with the
+     * size of the export.</p>
+     *
+     * @param status the order status to filter by, or null for all statuses
+     * @param from   the earliest order date to include, or null for no lower bound
+     * @param to     the latest order date to include, or null for no upper bound
+     * @return a response body that writes the CSV to the response output stream
+     */
+    @Override
+    public StreamingResponseBody exportOrdersAsCsv(OrderStatus status, LocalDate from, LocalDate to) {
+        LocalDate lowerBound = from != null ? from : HISTORY_START;
+        LocalDate upperBound = to != null ? to : HISTORY_END;
+        if (lowerBound.isAfter(upperBound)) {
+            throw new InvalidOperationException(MESSAGE_400_InvalidDateRange);
+        }
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+            TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            readOnlyTransaction.setReadOnly(true);
+            try {
+                readOnlyTransaction.executeWithoutResult(transactionStatus -> writeOrdersCsv(writer, status, lowerBound, upperBound));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private void writeOrdersCsv(Writer writer, OrderStatus status, LocalDate from, LocalDate to) {
+        try (Stream<OrderDetails> rows = orderDetailsRepository.streamForExport(from, to, status)) {
+            writer.write(EXPORT_CSV_HEADER);
+            int written = 0;
+            for (Iterator<OrderDetails> iterator = rows.iterator(); iterator.hasNext(); ) {
+                writeOrderCsvRow(writer, iterator.next());
+                if (++written % EXPORT_CLEAR_INTERVAL == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeOrderCsvRow(Writer writer, OrderDetails orderDetail) throws IOException {
+        Orders order = orderDetail.getOrders();
+        Coupon coupon = orderDetail.getAppliedCoupon();
+        writer.write(String.join(",",
+                String.valueOf(order.getId()),
+                csvField(order.getOrderNumber()),
+                String.valueOf(order.getUsers().getId()),
+                String.valueOf(order.getOrderDate()),
+                String.valueOf(order.getOrderStatus()),
+                String.valueOf(orderDetail.getTotal_amount()),
+                String.valueOf(orderDetail.getDiscount_amount()),
+                String.valueOf(order.getFinalAmount()),
+                coupon == null ? "" : String.valueOf(coupon.getId())));
+        writer.write("\n");
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void reserveStock(List<CartItem> cartItems) {
+        cartItems.stream()
+                .sorted(Comparator.comparing(cartItem -> cartItem.getItem().getId()))
+                .forEach(cartItem -> {
+                    if (itemRepository.decreaseStock(cartItem.getItem().getId(), cartItem.getQuantity()) == 0) {
+                        throw new InvalidOperationException(MESSAGE_400_StockUnavailable);
+                    }
                 });
     }
 
+    private OrderDetailsResponseDto getOrderDetailsResponseDto(Orders order) {
+        OrderDetails orderDetails = orderDetailsRepository.findByOrdersId(order.getId())
+                .orElseThrow(() -> new NotFoundException(MESSAGE_404_OrdersNotFound));
+        return createOrderDetailsResponseDto(orderDetails);
+    }
+
+    private OrderDetailsResponseDto createOrderDetailsResponseDto(OrderDetails orderDetail) {
+        Long orderId = orderDetail.getOrders().getId();
+        return createOrderDetailsResponseDto(
+                orderDetail,
+                findOrderItemsByOrderId(Set.of(orderId)).getOrDefault(orderId, List.of()),
+                orderDetail.getDeliveryAddress(),
+                orderDetail.getAppliedCoupon()
+        );
+    }
 
-    private static OrderDetailsResponseDto createOrderDetailsResponseDto(OrderDetails orderDetail, List<OrderItemResponseDto> items) {
+    private static OrderDetailsResponseDto createOrderDetailsResponseDto(OrderDetails orderDetail, List<OrderItemResponseDto> items,
+                                                                         DeliveryAddress deliveryAddress, Coupon coupon) {
         return new OrderDetailsResponseDto(
                 orderDetail.getId(),
                 orderDetail.getOrders().getOrderNumber(),
@@ -60,12 +387,12 @@ public class OrderServiceImpl implements IOrderService {
                 orderDetail.getOrders().getOrderStatus(),
                 items,
                 orderDetail.getOrders().getFinalAmount(),
-                orderDetail.getDeliveryAddress().getName(),
-                orderDetail.getDeliveryAddress().getPhoneNumber(),
-                orderDetail.getDeliveryAddress().getZipCode(),
-                orderDetail.getDeliveryAddress().getAddress(),
-                orderDetail.getDeliveryAddress().getAddressDetail(),
-                Optional.ofNullable(orderDetail.getAppliedCoupon())
+                deliveryAddress.getName(),
+                deliveryAddress.getPhoneNumber(),
+                deliveryAddress.getZipCode(),
+                deliveryAddress.getAddress(),
+                deliveryAddress.getAddressDetail(),
+                Optional.ofNullable(coupon)
                         .map(Coupon::getCode)
                         .orElse(null),
                 orderDetail.getTotal_amount(),
@@ -73,21 +400,19 @@ public class OrderServiceImpl implements IOrderService {
         );
     }
 
-    private List<OrderItemResponseDto> mapOrderItemsToResponseDtos(OrderDetails orderDetail) {
-        return orderItemRepository.findAllByOrdersId(orderDetail.getOrders().getId()).stream()
-                .map(orderItem -> new OrderItemResponseDto(
-                        orderItem.getItem().getName(),
-                        orderItem.getItem().getPrice(),
-                        orderItem.getQuantity(),
-                        orderItem.getTotalPrice()
-                ))
-                .collect(Collectors.toList());
-    }
-
-
-    private Orders findOrderOrThrow(Long userId) {
-        return orderRepository.findByUsersId(userId).orElseThrow(
-                () -> new NotFoundException(MESSAGE_404_UserNotFound)
-        );
+    private Map<Long, List<OrderItemResponseDto>> findOrderItemsByOrderId(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Map.of();
+        }
+        return orderItemRepository.findAllWithItemByOrdersIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(
+                        orderItem -> orderItem.getOrders().getId(),
+                        Collectors.mapping(orderItem -> new OrderItemResponseDto(
+                                orderItem.getItem().getName(),
+                                orderItem.getItem().getPrice(),
+                                orderItem.getQuantity(),
+                                orderItem.getTotalPrice()
+                        ), Collectors.toList())
+                ));
     }
 }
@@ -0,0 +1,42 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import jihong99.shoppingmall.event.OrderStatusChangedEvent;
+import jihong99.shoppingmall.event.OrderStatusSubscriber;
+import jihong99.shoppingmall.repository.ItemRepository;
+import jihong99.shoppingmall.repository.OrderItemRepository;
+import jihong99.shoppingmall.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+
+/**
+ * Returns the stock reserved by an order to its items when the order is cancelled.
+ *
+ * <p>The order's stock-restored flag is claimed with a conditional update in the same transaction as
+ * the stock increments, so a redelivered cancellation event never restores stock twice.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderStockRestoreSubscriber implements OrderStatusSubscriber {
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ItemRepository itemRepository;
+
+    @Override
+    @Transactional
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getOrderStatus() != OrderStatus.CANCELLED) {
+            return;
+        }
+        if (orderRepository.markStockRestored(event.getOrderId()) == 0) {
+            return;
+        }
+        orderItemRepository.findAllByOrdersId(event.getOrderId()).stream()
+                .sorted(Comparator.comparing(orderItem -> orderItem.getItem().getId()))
+                .forEach(orderItem -> itemRepository.increaseStock(orderItem.getItem().getId(), orderItem.getQuantity()));
+    }
+}
@@ -0,0 +1,181 @@
+package jihong99.shoppingmall.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jihong99.shoppingmall.entity.Payment;
+import jihong99.shoppingmall.entity.enums.PaymentStatus;
+import jihong99.shoppingmall.payment.PaymentGateway;
+import jihong99.shoppingmall.payment.PaymentGatewayException;
+import jihong99.shoppingmall.payment.PaymentGatewayResult;
+import jihong99.shoppingmall.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Sends pending payments to the payment gateway and records the answers.
+ *
+ * <p>Gateway calls run on a bounded pool, outside any database transaction; only the short reads and
+ * conditional updates around a call touch the database. Before a payment is sent, it is leased by moving
+ * its next attempt time forward, so a payment is in flight on at most one thread at a time.</p>
+ *
+ * <p>A call that ends without an answer is retried with the same payment key after an exponential
+ * backoff. Once a payment has used up its attempts, the periodic sweep stops sending it and instead asks
+ * the gateway, in batches, what happened to it: payments the gateway approved become APPROVED, everything
+ * else becomes FAILED.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentProcessor {
+
+    private static final String NOT_RECEIVED_REASON = "Payment was not received by the gateway.";
+
+    private final Logger LOGGER = LoggerFactory.getLogger(PaymentProcessor.class);
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${payment.executor.pool-size:8}")
+    private int poolSize;
+
+    @Value("${payment.executor.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${payment.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${payment.retry.base-delay-ms:500}")
+    private long baseDelayMs;
+
+    @Value("${payment.retry.max-delay-ms:60000}")
+    private long maxDelayMs;
+
+    @Value("${payment.attempt-lease-ms:30000}")
+    private long attemptLeaseMs;
+
+    @Value("${payment.sweep.batch-size:100}")
+    private int batchSize;
+
+    private final ReentrantLock sweepLock = new ReentrantLock();
+    private ExecutorService paymentExecutor;
+
+    @PostConstruct
+    public void start() {
+        paymentExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("payment-"));
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        paymentExecutor.shutdown();
+        paymentExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Leases a due pending payment and sends it to the gateway in the background.
+     * Does nothing if the payment is already in flight or no longer pending.
+     *
+     * @param paymentId the ID of the payment
+     */
+    public void dispatch(Long paymentId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status ->
+                paymentRepository.claim(paymentId, now, now.plus(attemptLeaseMs, ChronoUnit.MILLIS)));
+        if (claimed == null || claimed == 0) {
+            return;
+        }
+        try {
+            paymentExecutor.execute(() -> attempt(paymentId));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Payment executor is saturated; payment {} will be retried when its lease expires", paymentId);
+        }
+    }
+
+    /**
+     * Dispatches pending payments whose retry is due and reconciles payments that ran out of attempts.
+     */
+    @Scheduled(fixedDelayString = "${payment.sweep.interval-ms:1000}")
+    public void sweep() {
+        if (!sweepLock.tryLock()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            paymentRepository.findDueForRetry(now, maxAttempts, PageRequest.of(0, batchSize))
+                    .forEach(payment -> dispatch(payment.getId()));
+            reconcile(paymentRepository.findDueForReconciliation(now, maxAttempts, PageRequest.of(0, batchSize)));
+        } finally {
+            sweepLock.unlock();
+        }
+    }
+
+    private void attempt(Long paymentId) {
+        Payment payment = paymentRepository.findById(paymentId).orElse(null);
+        if (payment == null || payment.getStatus() != PaymentStatus.PENDING) {
+            return;
+        }
+        try {
+            PaymentGatewayResult result = paymentGateway.approve(payment.getPaymentKey(), payment.getAmount(), payment.getMethod());
+            if (result.getOutcome() == PaymentGatewayResult.Outcome.NOT_FOUND) {
+                throw new PaymentGatewayException("Gateway returned no result for payment " + paymentId);
+            }
+            transactionTemplate.executeWithoutResult(status -> complete(paymentId, result));
+        } catch (PaymentGatewayException e) {
+            int attempts = payment.getAttempts() + 1;
+            LOGGER.warn("Payment {} attempt {} failed: {}", paymentId, attempts, e.getMessage());
+            transactionTemplate.executeWithoutResult(status ->
+                    paymentRepository.recordFailedAttempt(paymentId, LocalDateTime.now().plus(backoffMs(attempts), ChronoUnit.MILLIS)));
+        }
+    }
+
+    private void reconcile(List<Payment> payments) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Payment> claimed = payments.stream()
+                .filter(payment -> Integer.valueOf(1).equals(transactionTemplate.execute(status ->
+                        paymentRepository.claim(payment.getId(), now, now.plus(attemptLeaseMs, ChronoUnit.MILLIS)))))
+                .collect(Collectors.toList());
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, PaymentGatewayResult> results = paymentGateway.inquire(claimed.stream()
+                    .map(Payment::getPaymentKey)
+                    .collect(Collectors.toList()));
+            transactionTemplate.executeWithoutResult(status -> claimed.forEach(payment -> complete(payment.getId(),
+                    results.getOrDefault(payment.getPaymentKey(), PaymentGatewayResult.notFound()))));
+        } catch (PaymentGatewayException e) {
+            LOGGER.warn("Reconciliation of {} payments failed: {}", claimed.size(), e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> claimed.forEach(payment -> paymentRepository.recordFailedAttempt(
+                    payment.getId(), LocalDateTime.now().plus(backoffMs(payment.getAttempts() + 1), ChronoUnit.MILLIS))));
+        }
+    }
+
+    private void complete(Long paymentId, PaymentGatewayResult result) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (result.getOutcome()) {
+            case APPROVED -> paymentRepository.complete(paymentId, PaymentStatus.APPROVED, result.getTransactionId(), null, now);
+            case DECLINED -> paymentRepository.complete(paymentId, PaymentStatus.FAILED, null, result.getReason(), now);
+            case NOT_FOUND -> paymentRepository.complete(paymentId, PaymentStatus.FAILED, null, NOT_RECEIVED_REASON, now);
+        }
+    }
+
+    private long backoffMs(int attempts) {
+        long delay = Math.min(maxDelayMs, baseDelayMs << Math.min(attempts - 1, 20));
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+}
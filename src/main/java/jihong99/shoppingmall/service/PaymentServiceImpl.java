@@ -0,0 +1,88 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.request.payment.PaymentRequestDto;
+import jihong99.shoppingmall.dto.response.payment.PaymentResponseDto;
+import jihong99.shoppingmall.entity.Orders;
+import jihong99.shoppingmall.entity.Payment;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import jihong99.shoppingmall.entity.enums.PaymentStatus;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.exception.NotFoundException;
+import jihong99.shoppingmall.repository.OrderRepository;
+import jihong99.shoppingmall.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static jihong99.shoppingmall.constants.Constants.*;
+
+@Service
+@RequiredArgsConstructor
+public class PaymentServiceImpl implements IPaymentService {
+
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentProcessor paymentProcessor;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Requests payment of an order.
+     *
+     * <p>The payment is stored as PENDING and committed before the gateway is called; the gateway call
+     * itself runs in the background, and the caller polls the payment for the result. Requesting payment
+     * of an order that already has a pending or approved payment returns that payment, so the request can
+     * be retried safely. An order whose last payment failed gets a new payment.</p>
+     *
+     * @param userId            the ID of the user who placed the order
+     * @param orderId           the ID of the order
+     * @param paymentRequestDto the payment method
+     * @return the payment of the order
+     */
+    @Override
+    public PaymentResponseDto requestPayment(Long userId, Long orderId, PaymentRequestDto paymentRequestDto) {
+        Payment payment = transactionTemplate.execute(status -> {
+            Orders order = orderRepository.findByIdForUpdate(orderId)
+                    .filter(found -> found.getUsers().getId().equals(userId))
+                    .orElseThrow(() -> new NotFoundException(MESSAGE_404_OrdersNotFound));
+            if (order.getOrderStatus() != OrderStatus.PROCESSED) {
+                throw new InvalidOperationException(MESSAGE_400_OrderNotPayable);
+            }
+            Payment current = order.getPayment();
+            if (current != null && current.getStatus() != PaymentStatus.FAILED) {
+                return current;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            Payment created = paymentRepository.save(Payment.of(order.getUsers(), UUID.randomUUID().toString(),
+                    paymentRequestDto.getMethod(), order.getFinalAmount(), now, now));
+            order.updatePayment(created);
+            return created;
+        });
+        if (payment.getStatus() == PaymentStatus.PENDING) {
+            paymentProcessor.dispatch(payment.getId());
+        }
+        return PaymentResponseDto.of(payment, orderId);
+    }
+
+    /**
+     * Retrieves the current payment of an order.
+     *
+     * @param userId  the ID of the user who placed the order
+     * @param orderId the ID of the order
+     * @return the payment of the order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaymentResponseDto getPayment(Long userId, Long orderId) {
+        Orders order = orderRepository.findById(orderId)
+                .filter(found -> found.getUsers().getId().equals(userId))
+                .orElseThrow(() -> new NotFoundException(MESSAGE_404_OrdersNotFound));
+        if (order.getPayment() == null) {
+            throw new NotFoundException(MESSAGE_404_PaymentNotFound);
+        }
+        return PaymentResponseDto.of(order.getPayment(), orderId);
+    }
+}
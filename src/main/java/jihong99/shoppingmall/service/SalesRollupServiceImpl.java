@@ -0,0 +1,293 @@
+package jihong99.shoppingmall.service;
+
+import jakarta.annotation.PreDestroy;
+import jihong99.shoppingmall.config.DatabasePlatform;
+import jihong99.shoppingmall.dto.response.sales.DailySalesResponseDto;
+import jihong99.shoppingmall.dto.response.sales.DimensionSalesResponseDto;
+import jihong99.shoppingmall.entity.CategoryItem;
+import jihong99.shoppingmall.entity.OrderItem;
+import jihong99.shoppingmall.entity.Orders;
+import jihong99.shoppingmall.entity.enums.SalesDimension;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.repository.CategoryItemRepository;
+import jihong99.shoppingmall.repository.OrderItemRepository;
+import jihong99.shoppingmall.repository.OrderRepository;
+import jihong99.shoppingmall.repository.SalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static jihong99.shoppingmall.constants.Constants.*;
+
+/**
+ * Maintains and serves the daily sales rollups.
+ *
+ * <p>Order creation and cancellation add (or subtract) the order's revenue, count and units to the
+ * TOTAL, ITEM and CATEGORY rollup rows of the order date, inside the caller's transaction. Revenue is
+ * kept both gross (line totals) and net (after the coupon discount, which is spread over the order's
+ * lines in proportion to their totals), so every dimension reports on the same two bases and the net
+ * ITEM revenues of a day add up to its net TOTAL. Admin reports read only the rollup rows, so their
+ * cost does not depend on the number of orders.</p>
+ *
+ * <p>Rollups for orders placed before this was deployed are rebuilt by the backfill, which deletes
+ * the rollups of a date range and re-aggregates that range's processed orders chunk by chunk, each
+ * chunk in its own transaction. Orders in the range that change while a backfill runs may be
+ * counted twice or not at all, so a backfill is only accepted for dates before today.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesRollupServiceImpl implements ISalesRollupService {
+
+    private static final long TOTAL_DIMENSION_ID = 0L;
+    private static final int MAX_REPORT_DAYS = 366;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(SalesRollupServiceImpl.class);
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final CategoryItemRepository categoryItemRepository;
+    private final DatabasePlatform databasePlatform;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${sales.rollup.total-slots:8}")
+    private int totalSlots;
+
+    @Value("${sales.rollup.backfill-chunk-size:500}")
+    private int backfillChunkSize;
+
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+
+    /**
+     * Adds a newly created order to the rollups of its order date.
+     *
+     * @param order the created order, whose order items are already persisted
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrder(Orders order) {
+        apply(aggregate(List.of(order), 1));
+    }
+
+    /**
+     * Removes a cancelled order from the rollups of its order date.
+     *
+     * @param order the cancelled order
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCancellation(Orders order) {
+        apply(aggregate(List.of(order), -1));
+    }
+
+    /**
+     * Retrieves the daily totals for an inclusive date range.
+     *
+     * @param from the first day of the range
+     * @param to   the last day of the range
+     * @return one entry per day that had orders, in date order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailySalesResponseDto> getDailySales(LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new InvalidOperationException(MESSAGE_400_DateRangeTooLong);
+        }
+        return salesRollupRepository.findDailyTotals(from, to);
+    }
+
+    /**
+     * Retrieves the sales of one day per item or per category, highest net revenue first.
+     *
+     * @param salesDate the day
+     * @param dimension ITEM or CATEGORY
+     * @param pageable  the pagination information
+     * @return a page of per-item or per-category sales
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<DimensionSalesResponseDto> getDimensionSales(LocalDate salesDate, SalesDimension dimension, Pageable pageable) {
+        if (dimension == SalesDimension.TOTAL) {
+            throw new InvalidOperationException(MESSAGE_400_InvalidSalesDimension);
+        }
+        return salesRollupRepository.findAllBySalesDateAndDimensionOrderByNetRevenueDesc(salesDate, dimension, pageable)
+                .map(DimensionSalesResponseDto::of);
+    }
+
+    /**
+     * Starts rebuilding the rollups of an inclusive date range in the background.
+     *
+     * @param from the first day to rebuild
+     * @param to   the last day to rebuild, which must be before today
+     * @throws InvalidOperationException if the range is inverted, reaches today or a backfill is already running
+     */
+    @Override
+    public void startBackfill(LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        if (!to.isBefore(LocalDate.now())) {
+            throw new InvalidOperationException(MESSAGE_400_BackfillOpenDate);
+        }
+        if (!backfillRunning.compareAndSet(false, true)) {
+            throw new InvalidOperationException(MESSAGE_400_BackfillAlreadyRunning);
+        }
+        backfillExecutor.submit(() -> {
+            try {
+                backfill(from, to);
+            } catch (RuntimeException e) {
+                LOGGER.error("Sales rollup backfill for {} - {} failed", from, to, e);
+            } finally {
+                backfillRunning.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        backfillExecutor.shutdownNow();
+    }
+
+    private void backfill(LocalDate from, LocalDate to) {
+        transactionTemplate.executeWithoutResult(status -> salesRollupRepository.deleteAllBySalesDateBetween(from, to));
+        long lastOrderId = 0L;
+        int chunks = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long afterId = lastOrderId;
+            Long chunkLastOrderId = transactionTemplate.execute(status -> {
+                List<Orders> orders = orderRepository.findProcessedByOrderDateBetween(
+                        from, to, afterId, PageRequest.of(0, backfillChunkSize));
+                if (orders.isEmpty()) {
+                    return null;
+                }
+                apply(aggregate(orders, 1));
+                return orders.get(orders.size() - 1).getId();
+            });
+            if (chunkLastOrderId == null) {
+                break;
+            }
+            lastOrderId = chunkLastOrderId;
+            chunks++;
+        }
+        LOGGER.info("Sales rollup backfill for {} - {} finished after {} chunks", from, to, chunks);
+    }
+
+    private Map<RollupKey, long[]> aggregate(List<Orders> orders, int sign) {
+        Map<RollupKey, long[]> deltas = new TreeMap<>();
+        if (orders.isEmpty()) {
+            return deltas;
+        }
+        Map<Long, Orders> ordersById = orders.stream()
+                .collect(Collectors.toMap(Orders::getId, order -> order));
+        Map<Long, List<OrderItem>> itemsByOrderId = orderItemRepository.findAllByOrdersIdIn(ordersById.keySet()).stream()
+                .collect(Collectors.groupingBy(orderItem -> orderItem.getOrders().getId()));
+        Set<Long> itemIds = itemsByOrderId.values().stream()
+                .flatMap(List::stream)
+                .map(orderItem -> orderItem.getItem().getId())
+                .collect(Collectors.toSet());
+        Map<Long, List<Long>> categoryIdsByItemId = itemIds.isEmpty() ? Map.of() : categoryItemRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(categoryItem -> categoryItem.getItem().getId(),
+                        Collectors.mapping(categoryItem -> categoryItem.getCategory().getId(), Collectors.toList())));
+
+        for (Orders order : orders) {
+            List<OrderItem> orderItems = itemsByOrderId.getOrDefault(order.getId(), List.of());
+            LocalDate salesDate = order.getOrderDate();
+            long units = orderItems.stream().mapToLong(OrderItem::getQuantity).sum();
+            long grossAmount = orderItems.stream().mapToLong(OrderItem::getTotalPrice).sum();
+            add(deltas, new RollupKey(salesDate, SalesDimension.TOTAL, TOTAL_DIMENSION_ID, (int) (order.getId() % totalSlots)),
+                    sign * grossAmount, sign * order.getFinalAmount(), sign, sign * units);
+
+            long[] netPrices = allocateNetPrices(orderItems, grossAmount, order.getFinalAmount());
+            Map<Long, long[]> byCategory = new HashMap<>();
+            for (int i = 0; i < orderItems.size(); i++) {
+                OrderItem orderItem = orderItems.get(i);
+                Long itemId = orderItem.getItem().getId();
+                add(deltas, new RollupKey(salesDate, SalesDimension.ITEM, itemId, 0),
+                        sign * orderItem.getTotalPrice(), sign * netPrices[i], sign, sign * orderItem.getQuantity());
+                for (Long categoryId : categoryIdsByItemId.getOrDefault(itemId, List.of())) {
+                    long[] categoryTotals = byCategory.computeIfAbsent(categoryId, id -> new long[3]);
+                    categoryTotals[0] += orderItem.getTotalPrice();
+                    categoryTotals[1] += netPrices[i];
+                    categoryTotals[2] += orderItem.getQuantity();
+                }
+            }
+            byCategory.forEach((categoryId, totals) -> add(deltas, new RollupKey(salesDate, SalesDimension.CATEGORY, categoryId, 0),
+                    sign * totals[0], sign * totals[1], sign, sign * totals[2]));
+        }
+        return deltas;
+    }
+
+    /**
+     * Spreads an order's final amount over its lines in proportion to their totals. The last line takes
+     * the rounding remainder, so the net prices always add up to the final amount.
+     */
+    private static long[] allocateNetPrices(List<OrderItem> orderItems, long grossAmount, long finalAmount) {
+        long[] netPrices = new long[orderItems.size()];
+        long allocated = 0L;
+        for (int i = 0; i < orderItems.size() - 1; i++) {
+            netPrices[i] = grossAmount == 0 ? 0L : orderItems.get(i).getTotalPrice() * finalAmount / grossAmount;
+            allocated += netPrices[i];
+        }
+        if (netPrices.length > 0) {
+            netPrices[netPrices.length - 1] = finalAmount - allocated;
+        }
+        return netPrices;
+    }
+
+    private static void add(Map<RollupKey, long[]> deltas, RollupKey key, long grossRevenue, long netRevenue, long orderCount, long units) {
+        long[] delta = deltas.computeIfAbsent(key, k -> new long[4]);
+        delta[0] += grossRevenue;
+        delta[1] += netRevenue;
+        delta[2] += orderCount;
+        delta[3] += units;
+    }
+
+    /**
+     * Writes the deltas in key order so concurrent transactions lock rollup rows in the same order.
+     */
+    private void apply(Map<RollupKey, long[]> deltas) {
+        deltas.forEach((key, delta) -> {
+            if (databasePlatform.isMySql()) {
+                salesRollupRepository.addMySql(key.salesDate(), key.dimension().name(), key.dimensionId(), key.slot(), delta[0], delta[1], delta[2], delta[3]);
+            } else {
+                salesRollupRepository.addH2(key.salesDate(), key.dimension().name(), key.dimensionId(), key.slot(), delta[0], delta[1], delta[2], delta[3]);
+            }
+        });
+    }
+
+    private static void validateDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidOperationException(MESSAGE_400_InvalidDateRange);
+        }
+    }
+
+    private record RollupKey(LocalDate salesDate, SalesDimension dimension, Long dimensionId, Integer slot)
+            implements Comparable<RollupKey> {
+
+        private static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::salesDate)
+                .thenComparing(RollupKey::dimension)
+                .thenComparing(RollupKey::dimensionId)
+                .thenComparing(RollupKey::slot);
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
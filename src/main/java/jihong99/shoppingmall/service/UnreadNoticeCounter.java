@@ -0,0 +1,122 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.exception.NotFoundException;
+import jihong99.shoppingmall.repository.NoticeRepository;
+import jihong99.shoppingmall.repository.NoticeWatermarkRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import jihong99.shoppingmall.utils.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static jihong99.shoppingmall.constants.Constants.MESSAGE_404_UserNotFound;
+
+/**
+ * Keeps each user's number of unread notices.
+ *
+ * <p>Notices targeted at a user are counted in a denormalized counter on the user's row, adjusted with a
+ * single atomic UPDATE in the same transaction that delivers, reads or deletes them. Broadcast notices have
+ * no per-user row; the ones posted after the user's watermark count as unread. Totals are cached in memory
+ * and a user's entry is evicted once a transaction that changes the user's count commits, so the count is
+ * read from the database at most once per change. Other nodes never see that eviction and keep serving
+ * their entry until it expires after {@code notice.unread-count.cache-ttl-ms}.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class UnreadNoticeCounter {
+
+    private static final Timestamp NEVER_SEEN = new Timestamp(0L);
+
+    private final UserRepository userRepository;
+    private final NoticeRepository noticeRepository;
+    private final NoticeWatermarkRepository noticeWatermarkRepository;
+
+    @Value("${notice.unread-count.cache-ttl-ms:5000}")
+    private long cacheTtlMs;
+
+    @Value("${notice.unread-count.cache-size:100000}")
+    private int cacheSize;
+
+    private final Map<Long, CachedCount> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the number of notices the user has not read yet, targeted or broadcast.
+     *
+     * @param userId the ID of the user
+     * @return the number of unread notices
+     * @throws NotFoundException if the user does not exist
+     */
+    public long getUnreadCount(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = cache.get(userId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.count();
+        }
+        long count = loadUnreadCount(userId);
+        if (cache.size() >= cacheSize) {
+            cache.clear();
+        }
+        cache.put(userId, new CachedCount(count, now + cacheTtlMs));
+        return count;
+    }
+
+    /**
+     * Counts one new unread notice for each of the users, who must be distinct.
+     */
+    public void delivered(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        userRepository.incrementUnreadNoticeCounts(userIds);
+        evictAfterCommit(userIds);
+    }
+
+    /**
+     * Uncounts {@code count} notices the user has just read.
+     */
+    public void read(Long userId, long count) {
+        if (count > 0) {
+            userRepository.decrementUnreadNoticeCount(userId, count);
+        }
+        evictAfterCommit(List.of(userId));
+    }
+
+    /**
+     * Uncounts one unread notice for each of the users, who must be distinct, because it is being deleted.
+     */
+    public void removed(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        userRepository.decrementUnreadNoticeCounts(userIds);
+        evictAfterCommit(userIds);
+    }
+
+    /**
+     * Drops every cached count because a notice has been posted to all users.
+     */
+    public void broadcastPosted() {
+        TransactionCallbacks.afterCommit(cache::clear);
+    }
+
+    private long loadUnreadCount(Long userId) {
+        long targeted = userRepository.findUnreadNoticeCountById(userId)
+                .orElseThrow(() -> new NotFoundException(MESSAGE_404_UserNotFound));
+        Timestamp lastSeenTime = noticeWatermarkRepository.findLastSeenTimeByUserId(userId)
+                .orElse(NEVER_SEEN);
+        return targeted + noticeRepository.countByIsBroadcastTrueAndBroadcastTimeAfter(lastSeenTime);
+    }
+
+    private void evictAfterCommit(Collection<Long> userIds) {
+        TransactionCallbacks.afterCommit(() -> userIds.forEach(cache::remove));
+    }
+
+    private record CachedCount(long count, long expiresAt) {
+    }
+}
@@ -0,0 +1,113 @@
+package jihong99.shoppingmall.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates unique, time-ordered order numbers without locks or database round trips.
+ *
+ * <p>Each ID is a 64-bit value made of 41 bits of milliseconds since a custom epoch, 10 bits of node id
+ * and a 12-bit per-millisecond sequence, which allows 4096 IDs per millisecond per node. The timestamp
+ * and sequence live together in a single {@link AtomicLong} advanced with compare-and-set.</p>
+ *
+ * <p>If the wall clock moves backwards, or a millisecond's sequence is exhausted, the generator keeps
+ * counting forward from the last issued value instead of waiting or failing, so IDs stay unique and
+ * monotonic per node. The logical clock catches up with the wall clock once it moves past it again.</p>
+ *
+ * <p>Order numbers are rendered as the order date followed by the ID in Crockford base32,
+ * e.g. {@code 261019-0DKQ6W2M4G00A}.</p>
+ */
+@Component
+public class OrderNumberGenerator {
+
+    private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] CROCKFORD_BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyMMdd").withZone(ZoneId.systemDefault());
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    /**
+     * Last issued (timestamp << SEQUENCE_BITS | sequence).
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    public OrderNumberGenerator(@Value("${order-number.node-id:0}") long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    OrderNumberGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    /**
+     * Generates a new human-readable order number.
+     *
+     * @return a unique order number
+     */
+    public String generate() {
+        long id = nextId();
+        return DATE_FORMAT.format(Instant.ofEpochMilli(timestampOf(id))) + "-" + encode(id);
+    }
+
+    /**
+     * Generates a new 64-bit ID.
+     *
+     * @return a unique, time-ordered ID
+     */
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long now = clock.getAsLong() - EPOCH;
+            long next = now > (current >>> SEQUENCE_BITS)
+                    ? now << SEQUENCE_BITS
+                    // Same millisecond, clock rollback or sequence overflow: the increment carries
+                    // into the timestamp bits, borrowing from the next logical millisecond.
+                    : current + 1;
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                        | (nodeId << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Returns the epoch milliseconds encoded in the given ID.
+     *
+     * @param id an ID produced by {@link #nextId()}
+     * @return the epoch milliseconds of the ID
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    /**
+     * Encodes an ID as 13 Crockford base32 characters, preserving numeric order.
+     *
+     * @param id the ID to encode
+     * @return the encoded ID
+     */
+    public static String encode(long id) {
+        char[] chars = new char[13];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD_BASE32[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
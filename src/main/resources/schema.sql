@@ -13,6 +13,7 @@ CREATE TABLE IF NOT EXISTS USERS (
     role VARCHAR(255) DEFAULT 'USER',
     registration_date DATETIME,
     refresh_token VARCHAR(255),
+    unread_notice_count BIGINT NOT NULL DEFAULT 0,
     creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     CONSTRAINT UniqueCartAndWishList UNIQUE (cart_id, wish_list_id)
@@ -20,7 +21,9 @@ CREATE TABLE IF NOT EXISTS USERS (
 
 CREATE TABLE IF NOT EXISTS CART (
     cart_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    original_total_price BIGINT,
     estimated_total_price BIGINT,
+    coupon_id BIGINT,
     creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
@@ -65,10 +68,12 @@ CREATE TABLE IF NOT EXISTS CART_ITEM (
     cart_id BIGINT,
     quantity INT NOT NULL,
     price BIGINT NOT NULL,
+    journal_sequence BIGINT NOT NULL DEFAULT 0,
     creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (item_id) REFERENCES ITEM(item_id),
-    FOREIGN KEY (cart_id) REFERENCES CART(cart_id)
+    FOREIGN KEY (cart_id) REFERENCES CART(cart_id),
+    CONSTRAINT UniqueCartAndItem UNIQUE (cart_id, item_id)
     );
 
 CREATE TABLE IF NOT EXISTS WISH_ITEM (
@@ -159,6 +164,7 @@ CREATE TABLE IF NOT EXISTS COUPON (
     name VARCHAR(255) NOT NULL,
     content VARCHAR(255) NOT NULL,
     expiration_date DATETIME NOT NULL,
+    claim_quota BIGINT,
     creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
     );
@@ -168,10 +174,25 @@ CREATE TABLE IF NOT EXISTS USER_COUPON (
     user_id BIGINT,
     coupon_id BIGINT,
     is_valid BOOLEAN DEFAULT TRUE NOT NULL,
+    is_used BOOLEAN DEFAULT FALSE NOT NULL,
     creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES USERS(user_id),
-    FOREIGN KEY (coupon_id) REFERENCES COUPON(coupon_id)
+    FOREIGN KEY (coupon_id) REFERENCES COUPON(coupon_id),
+    CONSTRAINT UniqueUserAndCoupon UNIQUE (user_id, coupon_id)
+    );
+
+CREATE TABLE IF NOT EXISTS COUPON_DISTRIBUTION (
+    coupon_distribution_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    coupon_id BIGINT NOT NULL UNIQUE,
+    status VARCHAR(255) NOT NULL,
+    total_users BIGINT NOT NULL,
+    last_user_id BIGINT NOT NULL,
+    inserted_count BIGINT NOT NULL,
+    started_time DATETIME NOT NULL,
+    completed_time DATETIME,
+    creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
     );
 
 CREATE TABLE IF NOT EXISTS ALARM (
@@ -219,19 +240,33 @@ CREATE TABLE IF NOT EXISTS PAYMENT (
     amount BIGINT NOT NULL,
     status VARCHAR(255) DEFAULT 'PENDING' NOT NULL,
     payment_date DATETIME NOT NULL,
+    payment_key VARCHAR(36) NOT NULL UNIQUE,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_time DATETIME,
+    gateway_transaction_id VARCHAR(64),
+    failure_reason VARCHAR(255),
     creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES USERS(user_id)
     );
 
+CREATE INDEX IF NOT EXISTS idx_payment_status_next_attempt ON PAYMENT (status, next_attempt_time);
+
 CREATE TABLE IF NOT EXISTS ORDERS (
     order_id BIGINT AUTO_INCREMENT PRIMARY KEY,
     user_id BIGINT,
     payment_id BIGINT,
+    order_number VARCHAR(255) NOT NULL UNIQUE,
+    order_date DATE,
+    order_status VARCHAR(255),
+    final_amount BIGINT,
+    idempotency_key VARCHAR(64),
+    stock_restored BOOLEAN NOT NULL DEFAULT FALSE,
     creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES USERS(user_id),
-    FOREIGN KEY (payment_id) REFERENCES PAYMENT(payment_id)
+    FOREIGN KEY (payment_id) REFERENCES PAYMENT(payment_id),
+    CONSTRAINT UniqueUserAndIdempotencyKey UNIQUE (user_id, idempotency_key)
     );
 
 CREATE TABLE IF NOT EXISTS ORDER_ITEM (
@@ -239,9 +274,89 @@ CREATE TABLE IF NOT EXISTS ORDER_ITEM (
     order_id BIGINT,
     item_id BIGINT,
     quantity INT NOT NULL,
-    price BIGINT NOT NULL,
+    total_price BIGINT NOT NULL,
     creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (order_id) REFERENCES ORDERS(order_id),
     FOREIGN KEY (item_id) REFERENCES ITEM(item_id)
     );
+
+CREATE TABLE IF NOT EXISTS ORDER_DETAILS (
+    order_detail_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT,
+    deliver_address_id BIGINT,
+    coupon_id BIGINT,
+    total_amount BIGINT,
+    discount_amount BIGINT,
+    FOREIGN KEY (order_id) REFERENCES ORDERS(order_id),
+    FOREIGN KEY (deliver_address_id) REFERENCES DELIVERY_ADDRESS(delivery_address_id),
+    FOREIGN KEY (coupon_id) REFERENCES COUPON(coupon_id)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_orders_user_date_id ON ORDERS (user_id, order_date, order_id, order_status);
+
+CREATE TABLE IF NOT EXISTS ORDER_OUTBOX (
+    order_outbox_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    user_id BIGINT,
+    previous_status VARCHAR(255),
+    order_status VARCHAR(255) NOT NULL,
+    published BOOLEAN NOT NULL DEFAULT FALSE,
+    published_time TIMESTAMP,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_time TIMESTAMP,
+    failed BOOLEAN NOT NULL DEFAULT FALSE,
+    creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    );
+
+CREATE INDEX IF NOT EXISTS idx_order_outbox_published_id ON ORDER_OUTBOX (published, order_outbox_id);
+CREATE INDEX IF NOT EXISTS idx_order_outbox_published_time ON ORDER_OUTBOX (published, published_time);
+
+CREATE TABLE IF NOT EXISTS SALES_ROLLUP (
+    sales_rollup_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    sales_date DATE NOT NULL,
+    dimension VARCHAR(255) NOT NULL,
+    dimension_id BIGINT NOT NULL,
+    slot INT NOT NULL,
+    gross_revenue BIGINT NOT NULL,
+    net_revenue BIGINT NOT NULL,
+    order_count BIGINT NOT NULL,
+    units BIGINT NOT NULL,
+    CONSTRAINT UniqueSalesRollupKey UNIQUE (sales_date, dimension, dimension_id, slot)
+    );
+
+CREATE TABLE IF NOT EXISTS NOTICE_WATERMARK (
+    user_id BIGINT PRIMARY KEY,
+    last_seen_time TIMESTAMP NOT NULL,
+    creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES USERS(user_id)
+    );
+
+CREATE TABLE IF NOT EXISTS BACKGROUND_JOB (
+    background_job_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    type VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    target_id BIGINT NOT NULL,
+    reference_id BIGINT,
+    last_processed_id BIGINT NOT NULL DEFAULT 0,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    cancel_requested BOOLEAN NOT NULL DEFAULT FALSE,
+    failure_reason VARCHAR(255),
+    started_time TIMESTAMP,
+    finished_time TIMESTAMP,
+    creation_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_modified_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    );
+
+CREATE INDEX IF NOT EXISTS idx_background_job_status ON BACKGROUND_JOB (status);
+
+CREATE TABLE IF NOT EXISTS INQUIRY_LATENCY_BUCKET (
+    inquiry_latency_bucket_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    inquiry_type VARCHAR(255) NOT NULL,
+    metric VARCHAR(255) NOT NULL,
+    bucket_index INT NOT NULL,
+    sample_count BIGINT NOT NULL,
+    CONSTRAINT UniqueInquiryLatencyBucketKey UNIQUE (inquiry_type, metric, bucket_index)
+    );
@@ -0,0 +1,43 @@
+package jihong99.shoppingmall.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DatabasePlatformTest {
+
+    @Autowired
+    private DatabasePlatform databasePlatform;
+
+    /**
+     * Test method to detect the database of the test profile.
+     * Ensures the H2 statements are selected.
+     */
+    @Test
+    void isMySql_TestProfile_False() {
+        assertThat(databasePlatform.isMySql()).isFalse();
+    }
+
+    /**
+     * Test method to detect the database from the dialects of the prod and dev profiles.
+     * Ensures the MySQL statements are selected for the MySQL dialect only.
+     */
+    @Test
+    void isMySql_ConfiguredDialect_SelectsStatements() {
+        // given
+        DatabasePlatform mySql = new DatabasePlatform();
+        ReflectionTestUtils.setField(mySql, "databasePlatform", "org.hibernate.dialect.MySQLDialect");
+        DatabasePlatform h2 = new DatabasePlatform();
+        ReflectionTestUtils.setField(h2, "databasePlatform", "org.hibernate.dialect.H2Dialect");
+
+        // when & then
+        assertThat(mySql.isMySql()).isTrue();
+        assertThat(h2.isMySql()).isFalse();
+    }
+}
@@ -0,0 +1,42 @@
+package jihong99.shoppingmall.fixture;
+
+import jihong99.shoppingmall.entity.Cart;
+import jihong99.shoppingmall.entity.CartItem;
+import jihong99.shoppingmall.entity.Item;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.repository.CartItemRepository;
+import jihong99.shoppingmall.repository.CartRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Creates users with filled carts for the service tests that exercise carts and checkout.
+ */
+@Component
+@RequiredArgsConstructor
+public class CartFixtures {
+
+    private final UserRepository userRepository;
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+
+    /**
+     * Creates a user whose cart holds one line of an item at the item's current price.
+     *
+     * @param identification The identification of the user.
+     * @param item The item in the cart.
+     * @param quantity The quantity of the item.
+     * @return The saved user.
+     */
+    public Users createUserWithCart(String identification, Item item, int quantity) {
+        Cart cart = cartRepository.save(Cart.of());
+        Users user = Users.of(identification, "password", "name", LocalDate.now(), "01012345678");
+        user.updateCart(cart);
+        userRepository.save(user);
+        cartItemRepository.save(CartItem.of(cart, item, quantity, item.getPrice()));
+        return user;
+    }
+}
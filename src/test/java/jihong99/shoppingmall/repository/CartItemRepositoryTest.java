@@ -0,0 +1,85 @@
+package jihong99.shoppingmall.repository;
+
+import jihong99.shoppingmall.entity.Cart;
+import jihong99.shoppingmall.entity.CartItem;
+import jihong99.shoppingmall.entity.Item;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CartItemRepositoryTest {
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        cartItemRepository.deleteAll();
+        cartRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    /**
+     * Test method to upsert an item the cart does not hold yet.
+     * Ensures a new line is inserted with the requested quantity and the item's price.
+     */
+    @Test
+    void upsertQuantityH2_NewLine_Inserted() {
+        // given
+        Cart cart = cartRepository.save(Cart.of());
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+
+        // when
+        Integer updated = transactionTemplate.execute(status ->
+                cartItemRepository.upsertQuantityH2(cart.getId(), item.getId(), 2, item.getPrice()));
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(cartItemRepository.findByCartIdAndItemId(cart.getId(), item.getId()))
+                .hasValueSatisfying(cartItem -> {
+                    assertThat(cartItem.getQuantity()).isEqualTo(2);
+                    assertThat(cartItem.getPrice()).isEqualTo(1000L);
+                    assertThat(cartItem.getJournalSequence()).isZero();
+                });
+    }
+
+    /**
+     * Test method to upsert an item the cart already holds.
+     * Ensures the existing line's quantity is incremented and no second line is created.
+     */
+    @Test
+    void upsertQuantityH2_ExistingLine_QuantityIncremented() {
+        // given
+        Cart cart = cartRepository.save(Cart.of());
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        CartItem existing = cartItemRepository.save(CartItem.of(cart, item, 3, item.getPrice()));
+
+        // when
+        Integer updated = transactionTemplate.execute(status ->
+                cartItemRepository.upsertQuantityH2(cart.getId(), item.getId(), 2, item.getPrice()));
+
+        // then
+        assertThat(updated).isEqualTo(1);
+        assertThat(cartItemRepository.findAllWithItemByCartId(cart.getId()))
+                .singleElement()
+                .satisfies(cartItem -> {
+                    assertThat(cartItem.getId()).isEqualTo(existing.getId());
+                    assertThat(cartItem.getQuantity()).isEqualTo(5);
+                });
+    }
+}
@@ -0,0 +1,239 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.response.job.BackgroundJobResponseDto;
+import jihong99.shoppingmall.entity.BackgroundJob;
+import jihong99.shoppingmall.entity.Cart;
+import jihong99.shoppingmall.entity.CartItem;
+import jihong99.shoppingmall.entity.Item;
+import jihong99.shoppingmall.entity.ItemAlert;
+import jihong99.shoppingmall.entity.Notice;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.entity.enums.JobStatus;
+import jihong99.shoppingmall.entity.enums.JobType;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.job.JobChunk;
+import jihong99.shoppingmall.job.JobHandler;
+import jihong99.shoppingmall.repository.BackgroundJobRepository;
+import jihong99.shoppingmall.repository.CartItemRepository;
+import jihong99.shoppingmall.repository.CartRepository;
+import jihong99.shoppingmall.repository.ItemAlertRepository;
+import jihong99.shoppingmall.repository.ItemRepository;
+import jihong99.shoppingmall.repository.NoticeRepository;
+import jihong99.shoppingmall.repository.UserNoticeRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "job.chunk-size=2")
+@ActiveProfiles("test")
+class BackgroundJobRunnerTest {
+
+    @Autowired
+    private INoticeService noticeService;
+    @Autowired
+    private IBackgroundJobService backgroundJobService;
+    @Autowired
+    private BackgroundJobRunner backgroundJobRunner;
+    @Autowired
+    private BackgroundJobRepository backgroundJobRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemAlertRepository itemAlertRepository;
+    @Autowired
+    private NoticeRepository noticeRepository;
+    @Autowired
+    private UserNoticeRepository userNoticeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Users> users = new ArrayList<>();
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        for (int i = 0; i < 5; i++) {
+            Cart cart = cartRepository.save(Cart.of());
+            Users user = Users.of("job_user" + i, "password", "name", LocalDate.now(), "01012345678");
+            user.updateCart(cart);
+            userRepository.save(user);
+            itemAlertRepository.save(ItemAlert.builder().users(user).item(item).build());
+            cartItemRepository.save(CartItem.of(cart, item, 1, 1000L));
+            users.add(user);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        backgroundJobRepository.deleteAll();
+        userNoticeRepository.deleteAll();
+        noticeRepository.deleteAll();
+        itemAlertRepository.deleteAll();
+        cartItemRepository.deleteAll();
+        userRepository.deleteAll(users);
+        users.forEach(user -> cartRepository.delete(user.getCart()));
+        users.clear();
+        itemRepository.delete(item);
+    }
+
+    /**
+     * Test method to send a stock alert to more users than fit in one chunk.
+     * Ensures the job delivers the notice to every tracking user over several chunks and completes.
+     */
+    @Test
+    void notifyStockAlertToUsers_DeliveredInChunks() throws InterruptedException {
+        // when
+        BackgroundJobResponseDto submitted = noticeService.notifyStockAlertToUsers(item.getId());
+        BackgroundJob job = awaitFinished(submitted.getId());
+
+        // then
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getProcessedCount()).isEqualTo(5L);
+        assertThat(userNoticeRepository.countByNoticeId(submitted.getReferenceId())).isEqualTo(5L);
+    }
+
+    /**
+     * Test method to send a cart item invalidation notice to more carts than fit in one chunk.
+     * Ensures the stored notice is delivered to every user holding the item, with their unread counters updated.
+     */
+    @Test
+    void notifyCartItemInvalidationToUsers_DeliveredInChunks() throws InterruptedException {
+        // when
+        BackgroundJobResponseDto submitted = noticeService.notifyCartItemInvalidationToUsers(item.getId());
+        BackgroundJob job = awaitFinished(submitted.getId());
+
+        // then
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getProcessedCount()).isEqualTo(5L);
+        assertThat(noticeRepository.existsById(submitted.getReferenceId())).isTrue();
+        assertThat(userNoticeRepository.countByNoticeId(submitted.getReferenceId())).isEqualTo(5L);
+        users.forEach(user -> assertThat(userRepository.findUnreadNoticeCountById(user.getId())).contains(1L));
+    }
+
+    /**
+     * Test method to cancel a job before it runs, and to cancel it again once it has stopped.
+     * Ensures the job stops without delivering anything and a finished job cannot be cancelled.
+     */
+    @Test
+    void cancelJob_StopsBeforeNextChunk() throws InterruptedException {
+        // given
+        Notice notice = noticeRepository.save(Notice.of("title", "content"));
+        BackgroundJob pending = backgroundJobRepository.save(BackgroundJob.of(JobType.STOCK_ALERT_NOTICE, item.getId(), notice.getId()));
+
+        // when
+        backgroundJobService.cancelJob(pending.getId());
+        backgroundJobRunner.resumeUnfinishedJobs();
+        BackgroundJob job = awaitFinished(pending.getId());
+
+        // then
+        assertThat(job.getStatus()).isEqualTo(JobStatus.CANCELLED);
+        assertThat(userNoticeRepository.countByNoticeId(notice.getId())).isZero();
+        assertThatThrownBy(() -> backgroundJobService.cancelJob(pending.getId()))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    /**
+     * Test method to retry a failed job, and to retry it again once it has completed.
+     * Ensures the job runs again to completion and only a failed job can be retried.
+     */
+    @Test
+    void retryJob_FailedJob_RunsToCompletion() throws InterruptedException {
+        // given
+        Notice notice = noticeRepository.save(Notice.of("title", "content"));
+        BackgroundJob failed = BackgroundJob.of(JobType.STOCK_ALERT_NOTICE, item.getId(), notice.getId());
+        failed.fail("connection reset");
+        backgroundJobRepository.save(failed);
+
+        // when
+        BackgroundJobResponseDto retried = backgroundJobService.retryJob(failed.getId());
+        BackgroundJob job = awaitFinished(failed.getId());
+
+        // then
+        assertThat(retried.getStatus()).isEqualTo(JobStatus.PENDING);
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getFailureReason()).isNull();
+        assertThat(userNoticeRepository.countByNoticeId(notice.getId())).isEqualTo(5L);
+        assertThatThrownBy(() -> backgroundJobService.retryJob(failed.getId()))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    /**
+     * Test method to shut the runner down while a job is in the middle of a chunk.
+     * Ensures the interrupted job is left running at its last checkpoint instead of being marked as failed,
+     * so it is resumed on the next start.
+     */
+    @Test
+    void close_JobInterrupted_LeftRunning() throws InterruptedException {
+        // given
+        CountDownLatch secondChunkStarted = new CountDownLatch(1);
+        JobHandler blockingHandler = new JobHandler() {
+            @Override
+            public JobType getType() {
+                return JobType.STOCK_ALERT_NOTICE;
+            }
+
+            @Override
+            public JobChunk processChunk(BackgroundJob job, long afterId, int chunkSize) {
+                if (afterId == 0L) {
+                    return JobChunk.of(1L, 1);
+                }
+                secondChunkStarted.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while processing a chunk", e);
+                }
+                return null;
+            }
+        };
+        BackgroundJobRunner runner = new BackgroundJobRunner(backgroundJobRepository, List.of(blockingHandler), transactionTemplate);
+        ReflectionTestUtils.setField(runner, "chunkSize", 2);
+        ReflectionTestUtils.setField(runner, "poolSize", 1);
+        runner.start();
+        Notice notice = noticeRepository.save(Notice.of("title", "content"));
+        Long jobId = runner.submit(JobType.STOCK_ALERT_NOTICE, item.getId(), notice.getId()).getId();
+        assertThat(secondChunkStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        runner.close();
+
+        // then
+        BackgroundJob job = backgroundJobRepository.findById(jobId).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(job.getLastProcessedId()).isEqualTo(1L);
+        assertThat(job.getFailureReason()).isNull();
+    }
+
+    private BackgroundJob awaitFinished(Long jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        BackgroundJob job = backgroundJobRepository.findById(jobId).orElseThrow();
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            job = backgroundJobRepository.findById(jobId).orElseThrow();
+        }
+        return job;
+    }
+}
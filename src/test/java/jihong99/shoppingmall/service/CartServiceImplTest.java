@@ -0,0 +1,197 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.request.cart.CartBatchRequestDto;
+import jihong99.shoppingmall.dto.request.cart.CartItemRequestDto;
+import jihong99.shoppingmall.dto.request.cart.CartOperationRequestDto;
+import jihong99.shoppingmall.dto.response.cart.CartBatchResponseDto.OperationResultDto;
+import jihong99.shoppingmall.dto.response.cart.CartBatchResponseDto;
+import jihong99.shoppingmall.entity.Cart;
+import jihong99.shoppingmall.entity.CartItem;
+import jihong99.shoppingmall.entity.Item;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.fixture.CartFixtures;
+import jihong99.shoppingmall.repository.CartItemRepository;
+import jihong99.shoppingmall.repository.CartRepository;
+import jihong99.shoppingmall.repository.ItemRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static jihong99.shoppingmall.constants.Constants.*;
+import static jihong99.shoppingmall.entity.enums.CartOperationType.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CartServiceImplTest {
+
+    @Autowired
+    private ICartService cartService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CartFixtures cartFixtures;
+
+    @AfterEach
+    public void tearDown() {
+        cartItemRepository.deleteAll();
+        userRepository.deleteAll();
+        cartRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    /**
+     * Test method to add more of an item the cart already holds than the remaining stock allows.
+     * Ensures the quantity already in the cart counts against the stock, so the addition fails
+     * while a smaller addition of the same item succeeds.
+     */
+    @Test
+    void applyCartOperations_AddBeyondStockWithExistingLine_Fails() {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("batch_stock_user", item, 8);
+
+        // when
+        CartBatchResponseDto response = cartService.applyCartOperations(user.getId(), new CartBatchRequestDto(List.of(
+                new CartOperationRequestDto(ADD, item.getId(), 3),
+                new CartOperationRequestDto(ADD, item.getId(), 2))));
+
+        // then
+        assertThat(response.getResults()).extracting(OperationResultDto::getSuccess).containsExactly(false, true);
+        assertThat(response.getResults().get(0).getMessage()).isEqualTo(MESSAGE_400_StockUnavailable);
+        assertThat(response.getOriginalTotalPrice()).isEqualTo(10_000L);
+        assertThat(cartItemRepository.findByCartIdAndItemId(user.getCart().getId(), item.getId()).get().getQuantity())
+                .isEqualTo(10);
+    }
+
+    /**
+     * Test method to apply a batch mixing valid and invalid operations.
+     * Ensures each operation's result is reported in request order, failed operations change nothing,
+     * and the totals reflect the successful ones.
+     */
+    @Test
+    void applyCartOperations_MixedBatch_ReportsPerOperationResults() {
+        // given
+        Item held = itemRepository.save(Item.of("held", 1000L, 10, "keyword", new ArrayList<>()));
+        Item added = itemRepository.save(Item.of("added", 500L, 10, "keyword", new ArrayList<>()));
+        Item missing = itemRepository.save(Item.of("missing", 300L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("batch_mixed_user", held, 1);
+
+        // when
+        CartBatchResponseDto response = cartService.applyCartOperations(user.getId(), new CartBatchRequestDto(List.of(
+                new CartOperationRequestDto(ADD, added.getId(), 2),
+                new CartOperationRequestDto(UPDATE, missing.getId(), 1),
+                new CartOperationRequestDto(ADD, -1L, 1),
+                new CartOperationRequestDto(UPDATE, held.getId(), null),
+                new CartOperationRequestDto(UPDATE, held.getId(), 11),
+                new CartOperationRequestDto(UPDATE, held.getId(), 4),
+                new CartOperationRequestDto(REMOVE, missing.getId(), null))));
+
+        // then
+        assertThat(response.getResults()).extracting(OperationResultDto::getIndex).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(response.getResults()).extracting(OperationResultDto::getSuccess)
+                .containsExactly(true, false, false, false, false, true, false);
+        assertThat(response.getResults()).extracting(OperationResultDto::getMessage).containsExactly(
+                MESSAGE_200_CartOperationSuccess,
+                MESSAGE_404_CartItemNotFound,
+                MESSAGE_404_ItemNotFound,
+                MESSAGE_400_QuantityRequired,
+                MESSAGE_400_StockUnavailable,
+                MESSAGE_200_CartOperationSuccess,
+                MESSAGE_404_CartItemNotFound);
+        assertThat(response.getOriginalTotalPrice()).isEqualTo(5000L);
+        assertThat(cartItemRepository.findAllWithItemByCartId(user.getCart().getId()))
+                .extracting(cartItem -> cartItem.getItem().getId(), CartItem::getQuantity)
+                .containsExactlyInAnyOrder(
+                        tuple(held.getId(), 4),
+                        tuple(added.getId(), 2));
+    }
+
+    /**
+     * Test method to add more of an item the cart already holds than the remaining stock allows, one item
+     * at a time.
+     * Ensures the quantity already in the cart counts against the stock, the failed addition changes
+     * nothing, and an addition that fits succeeds.
+     */
+    @Test
+    void addCartItem_BeyondStockWithExistingLine_InvalidOperationException() {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("single_stock_user", item, 8);
+
+        // when
+        assertThatThrownBy(() -> cartService.addCartItem(user.getId(), item.getId(), new CartItemRequestDto(3)))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessage(MESSAGE_400_StockUnavailable);
+        Integer quantityAfterFailure = cartItemRepository.findByCartIdAndItemId(user.getCart().getId(), item.getId()).get().getQuantity();
+        cartService.addCartItem(user.getId(), item.getId(), new CartItemRequestDto(2));
+
+        // then
+        assertThat(quantityAfterFailure).isEqualTo(8);
+        assertThat(cartItemRepository.findByCartIdAndItemId(user.getCart().getId(), item.getId()).get().getQuantity())
+                .isEqualTo(10);
+        assertThat(cartRepository.findById(user.getCart().getId()).orElseThrow().getOriginalTotalPrice()).isEqualTo(10_000L);
+    }
+
+    /**
+     * Test method to add two different items to the same cart at the same time.
+     * Ensures both additions succeed and the cart's total prices include both lines.
+     */
+    @Test
+    void addCartItem_ConcurrentDifferentItems_BothAddedAndTotalled() throws Exception {
+        // given
+        Item first = itemRepository.save(Item.of("first", 1000L, 10, "keyword", new ArrayList<>()));
+        Item second = itemRepository.save(Item.of("second", 500L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("concurrent_add_user", first, 1);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        List<Future<?>> additions = List.of(
+                executor.submit(() -> {
+                    start.await();
+                    cartService.addCartItem(user.getId(), first.getId(), new CartItemRequestDto(2));
+                    return null;
+                }),
+                executor.submit(() -> {
+                    start.await();
+                    cartService.addCartItem(user.getId(), second.getId(), new CartItemRequestDto(3));
+                    return null;
+                }));
+        start.countDown();
+        for (Future<?> addition : additions) {
+            addition.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(cartItemRepository.findAllWithItemByCartId(user.getCart().getId()))
+                .extracting(cartItem -> cartItem.getItem().getId(), CartItem::getQuantity)
+                .containsExactlyInAnyOrder(
+                        tuple(first.getId(), 3),
+                        tuple(second.getId(), 3));
+        Cart cart = cartRepository.findById(user.getCart().getId()).orElseThrow();
+        assertThat(cart.getOriginalTotalPrice()).isEqualTo(4500L);
+        assertThat(cart.getEstimatedTotalPrice()).isEqualTo(4500L);
+    }
+}
@@ -0,0 +1,248 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.request.cart.UpdateQuantityRequestDto;
+import jihong99.shoppingmall.dto.response.cart.CartResponseDto;
+import jihong99.shoppingmall.entity.Item;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.fixture.CartFixtures;
+import jihong99.shoppingmall.repository.CartItemRepository;
+import jihong99.shoppingmall.repository.CartRepository;
+import jihong99.shoppingmall.repository.ItemRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "cart.write-behind.enabled=true",
+        "cart.write-behind.journal-dir=build/test-cart-journal",
+        "cart.write-behind.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class CartWriteBehindStoreTest {
+
+    @Autowired
+    private ICartService cartService;
+    @Autowired
+    private CartWriteBehindStore cartWriteBehindStore;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CartFixtures cartFixtures;
+    @Autowired
+    private CouponCatalog couponCatalog;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    private Path journalDir;
+
+    private final List<CartWriteBehindStore> restartedStores = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        restartedStores.forEach(CartWriteBehindStore::close);
+        restartedStores.clear();
+        cartWriteBehindStore.flushAll();
+        cartItemRepository.deleteAll();
+        userRepository.deleteAll();
+        cartRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    /**
+     * Test method to read a cart whose quantity change has not been flushed yet.
+     * Ensures the pending quantity and the totals computed from it are returned, and the database
+     * only changes once the store is flushed.
+     */
+    @Test
+    void getCart_PendingQuantity_Overlaid() {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("overlay_user", item, 2);
+
+        // when
+        cartService.updateItemQuantity(user.getId(), item.getId(), new UpdateQuantityRequestDto(5));
+        CartResponseDto cart = cartService.getCart(user.getId());
+        Integer storedBeforeFlush = storedQuantity(user, item);
+        cartWriteBehindStore.flushAll();
+
+        // then
+        assertThat(storedBeforeFlush).isEqualTo(2);
+        assertThat(cart.getItems()).extracting(CartResponseDto.CartLineDto::getQuantity).containsExactly(5);
+        assertThat(cart.getOriginalTotalPrice()).isEqualTo(5000L);
+        assertThat(cart.getEstimatedTotalPrice()).isEqualTo(5000L);
+        assertThat(storedQuantity(user, item)).isEqualTo(5);
+    }
+
+    /**
+     * Test method to flush a user's changes inside a transaction that rolls back.
+     * Ensures the changes are put back into the store and written by the next flush.
+     */
+    @Test
+    void flush_TransactionRolledBack_ChangesRequeued() {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("rollback_user", item, 2);
+        cartWriteBehindStore.recordQuantity(user.getId(), user.getCart().getId(), item.getId(), 4);
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            cartWriteBehindStore.flush(user.getId());
+            status.setRollbackOnly();
+        });
+        boolean trackedAfterRollback = cartWriteBehindStore.isTracked(user.getId(), item.getId());
+        Integer storedAfterRollback = storedQuantity(user, item);
+        cartWriteBehindStore.flush(user.getId());
+
+        // then
+        assertThat(trackedAfterRollback).isTrue();
+        assertThat(storedAfterRollback).isEqualTo(2);
+        assertThat(cartWriteBehindStore.isTracked(user.getId(), item.getId())).isFalse();
+        assertThat(storedQuantity(user, item)).isEqualTo(4);
+    }
+
+    /**
+     * Test method to flush the store.
+     * Ensures a flush record covering the written changes is appended to the journal.
+     */
+    @Test
+    void flush_Committed_AppendsFlushMarker() throws IOException {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("marker_user", item, 2);
+        CartWriteBehindStore store = restartedStore(journalDir);
+        store.recordQuantity(user.getId(), user.getCart().getId(), item.getId(), 3);
+        long sequence = sequenceOf(readJournal(journalDir).get(0));
+
+        // when
+        store.flush(user.getId());
+
+        // then
+        assertThat(readJournal(journalDir)).hasSize(2)
+                .last().asString().startsWith("F,").endsWith("," + user.getId() + "," + sequence);
+        assertThat(storedQuantity(user, item)).isEqualTo(3);
+    }
+
+    /**
+     * Test method to replay a journal holding a change that was never flushed.
+     * Ensures the change is written to the database and the replayed segment is removed.
+     */
+    @Test
+    void recover_UnflushedRecord_WrittenToDatabase() throws IOException {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("replay_user", item, 2);
+        Path segment = journalDir.resolve("cart-journal-0.log");
+        Files.write(segment, List.of(setRecord(100, user, item, 6)), StandardCharsets.UTF_8);
+
+        // when
+        restartedStore(journalDir).recover();
+
+        // then
+        assertThat(storedQuantity(user, item)).isEqualTo(6);
+        assertThat(segment).doesNotExist();
+    }
+
+    /**
+     * Test method to replay a journal whose change is covered by a later flush record.
+     * Ensures the change is not written again.
+     */
+    @Test
+    void recover_RecordCoveredByFlushMarker_NotReplayed() throws IOException {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("flushed_user", item, 2);
+        Files.write(journalDir.resolve("cart-journal-0.log"),
+                List.of(setRecord(100, user, item, 6), "F,101," + user.getId() + ",100"), StandardCharsets.UTF_8);
+
+        // when
+        restartedStore(journalDir).recover();
+
+        // then
+        assertThat(storedQuantity(user, item)).isEqualTo(2);
+    }
+
+    /**
+     * Test method to replay a change whose flush committed but whose flush record was never written,
+     * after the cart line was changed again through another path.
+     * Ensures the replayed change does not overwrite the newer quantity.
+     */
+    @Test
+    void recover_CommittedWithoutFlushMarker_DoesNotOverwriteNewerQuantity() throws IOException {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("crash_user", item, 2);
+        CartWriteBehindStore store = restartedStore(journalDir.resolve("before-crash"));
+        store.recordQuantity(user.getId(), user.getCart().getId(), item.getId(), 6);
+        store.flush(user.getId());
+        List<String> setRecords = readJournal(journalDir.resolve("before-crash")).stream()
+                .filter(record -> record.startsWith("S,"))
+                .collect(Collectors.toList());
+        transactionTemplate.executeWithoutResult(status -> cartItemRepository
+                .findByCartIdAndItemId(user.getCart().getId(), item.getId()).get().updateQuantity(9));
+        Path afterCrash = Files.createDirectories(journalDir.resolve("after-crash"));
+        Files.write(afterCrash.resolve("cart-journal-0.log"), setRecords, StandardCharsets.UTF_8);
+
+        // when
+        restartedStore(afterCrash).recover();
+
+        // then
+        assertThat(setRecords).hasSize(1);
+        assertThat(storedQuantity(user, item)).isEqualTo(9);
+        assertThat(cartItemRepository.findByCartIdAndItemId(user.getCart().getId(), item.getId()).get().getJournalSequence())
+                .isEqualTo(sequenceOf(setRecords.get(0)));
+    }
+
+    private CartWriteBehindStore restartedStore(Path directory) {
+        CartWriteBehindStore store = new CartWriteBehindStore(cartRepository, cartItemRepository, transactionTemplate, couponCatalog);
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "journalDir", directory.toString());
+        restartedStores.add(store);
+        return store;
+    }
+
+    private Integer storedQuantity(Users user, Item item) {
+        return cartItemRepository.findByCartIdAndItemId(user.getCart().getId(), item.getId()).get().getQuantity();
+    }
+
+    private static String setRecord(long sequence, Users user, Item item, int quantity) {
+        return "S," + sequence + "," + user.getId() + "," + user.getCart().getId() + "," + item.getId() + "," + quantity;
+    }
+
+    private static long sequenceOf(String record) {
+        return Long.parseLong(record.split(",")[1]);
+    }
+
+    private static List<String> readJournal(Path directory) throws IOException {
+        List<String> records = new ArrayList<>();
+        try (Stream<Path> segments = Files.list(directory)) {
+            for (Path segment : segments.sorted().collect(Collectors.toList())) {
+                records.addAll(Files.readAllLines(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return records;
+    }
+}
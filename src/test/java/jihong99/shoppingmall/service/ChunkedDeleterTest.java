@@ -0,0 +1,140 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.entity.Coupon;
+import jihong99.shoppingmall.entity.Notice;
+import jihong99.shoppingmall.entity.UserCoupon;
+import jihong99.shoppingmall.entity.UserNotice;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.entity.enums.DiscountType;
+import jihong99.shoppingmall.repository.CouponRepository;
+import jihong99.shoppingmall.repository.NoticeRepository;
+import jihong99.shoppingmall.repository.UserCouponRepository;
+import jihong99.shoppingmall.repository.UserNoticeRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"bulk-delete.chunk-size=2", "bulk-delete.background-threshold=3"})
+@ActiveProfiles("test")
+class ChunkedDeleterTest {
+
+    @Autowired
+    private ChunkedDeleter chunkedDeleter;
+    @Autowired
+    private ICouponService couponService;
+    @Autowired
+    private INoticeService noticeService;
+    @Autowired
+    private CouponRepository couponRepository;
+    @Autowired
+    private UserCouponRepository userCouponRepository;
+    @Autowired
+    private NoticeRepository noticeRepository;
+    @Autowired
+    private UserNoticeRepository userNoticeRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Users> users = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < 5; i++) {
+            users.add(userRepository.save(Users.of("chunked_delete_user" + i, "password", "name", LocalDate.now(), "01012345678")));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userCouponRepository.deleteAll();
+        userNoticeRepository.deleteAll();
+        userRepository.deleteAll(users);
+        users.clear();
+    }
+
+    /**
+     * Test method to delete a coupon held by fewer users than the background threshold.
+     * Ensures the coupon and all its user coupons are deleted before the call returns, over several chunks.
+     */
+    @Test
+    void deleteCoupon_SmallFanOut_DeletesInline() {
+        // given
+        Coupon coupon = couponRepository.save(Coupon.of(DiscountType.FIXED, 1000L, LocalDate.now().plusDays(7)));
+        users.subList(0, 3).forEach(user -> userCouponRepository.save(UserCoupon.of(user, coupon)));
+
+        // when
+        boolean deferred = couponService.deleteCoupon(coupon.getId());
+
+        // then
+        assertThat(deferred).isFalse();
+        assertThat(userCouponRepository.countByCouponId(coupon.getId())).isZero();
+        assertThat(couponRepository.existsById(coupon.getId())).isFalse();
+    }
+
+    /**
+     * Test method to interrupt a deletion after its first chunk.
+     * Ensures the remaining chunks and the final step are skipped, so the coupon stays in place for a retry.
+     */
+    @Test
+    void delete_Interrupted_SkipsFinalStep() {
+        // given
+        Coupon coupon = couponRepository.save(Coupon.of(DiscountType.FIXED, 1000L, LocalDate.now().plusDays(7)));
+        users.subList(0, 3).forEach(user -> userCouponRepository.save(UserCoupon.of(user, coupon)));
+        AtomicBoolean finalStepRun = new AtomicBoolean();
+
+        // when
+        boolean deferred = chunkedDeleter.delete(
+                "coupon " + coupon.getId(),
+                3,
+                chunk -> userCouponRepository.findIdsByCouponId(coupon.getId(), chunk),
+                ids -> {
+                    Thread.currentThread().interrupt();
+                    return userCouponRepository.deleteAllByIdIn(ids);
+                },
+                () -> finalStepRun.set(true));
+        boolean interrupted = Thread.interrupted();
+
+        // then
+        assertThat(deferred).isFalse();
+        assertThat(interrupted).isTrue();
+        assertThat(finalStepRun).isFalse();
+        assertThat(userCouponRepository.countByCouponId(coupon.getId())).isEqualTo(1);
+        assertThat(couponRepository.existsById(coupon.getId())).isTrue();
+        userCouponRepository.deleteAll();
+        couponRepository.deleteById(coupon.getId());
+    }
+
+    /**
+     * Test method to delete a notice posted to more users than the background threshold.
+     * Ensures the deletion continues in the background and eventually removes the notice and all its user notices.
+     */
+    @Test
+    void deleteNotice_LargeFanOut_DeletesInBackground() throws InterruptedException {
+        // given
+        Notice notice = noticeRepository.save(Notice.of("title", "content"));
+        users.forEach(user -> userNoticeRepository.save(UserNotice.of(user, notice)));
+
+        // when
+        boolean deferred = noticeService.deleteNotice(notice.getId());
+
+        // then
+        assertThat(deferred).isTrue();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (noticeRepository.existsById(notice.getId()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(noticeRepository.existsById(notice.getId())).isFalse();
+        assertThat(userNoticeRepository.countByNoticeId(notice.getId())).isZero();
+    }
+}
@@ -0,0 +1,129 @@
+package jihong99.shoppingmall.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import jihong99.shoppingmall.dto.request.coupon.CouponRequestDto;
+import jihong99.shoppingmall.dto.request.coupon.PatchCouponRequestDto;
+import jihong99.shoppingmall.entity.Coupon;
+import jihong99.shoppingmall.entity.enums.DiscountType;
+import jihong99.shoppingmall.repository.CouponRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongUnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponCatalogTest {
+
+    @Autowired
+    private CouponCatalog couponCatalog;
+    @Autowired
+    private ICouponService couponService;
+    @Autowired
+    private CouponRepository couponRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> createdCouponIds = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        couponRepository.deleteAllById(couponRepository.findAllById(createdCouponIds).stream().map(Coupon::getId).toList());
+        createdCouponIds.clear();
+        couponCatalog.reload();
+    }
+
+    /**
+     * Test method to create, update and delete a coupon through the coupon service.
+     * Ensures the catalog follows every change by ID and by code.
+     */
+    @Test
+    void couponChanges_RefreshCatalog() {
+        // given
+        Coupon coupon = createCoupon(DiscountType.FIXED, 500L);
+
+        // when & then
+        assertThat(couponCatalog.findByCode(coupon.getCode()))
+                .hasValueSatisfying(entry -> assertThat(entry.discountValue()).isEqualTo(500L));
+
+        couponService.patchCoupon(coupon.getId(), new PatchCouponRequestDto(DiscountType.PERCENTAGE, 10L, null));
+        assertThat(couponCatalog.findById(coupon.getId()))
+                .hasValueSatisfying(entry -> {
+                    assertThat(entry.discountType()).isEqualTo(DiscountType.PERCENTAGE);
+                    assertThat(entry.calculateDiscountAmount(3000L)).isEqualTo(300L);
+                });
+
+        couponService.deleteCoupon(coupon.getId());
+        assertThat(couponCatalog.findById(coupon.getId())).isEmpty();
+        assertThat(couponCatalog.findByCode(coupon.getCode())).isEmpty();
+    }
+
+    /**
+     * Test method to evaluate a coupon discount.
+     * Ensures the evaluation does not touch the database once the coupon is cached.
+     */
+    @Test
+    void discountOf_CachedCoupon_NoStatements() {
+        // given
+        Coupon coupon = createCoupon(DiscountType.FIXED, 700L);
+        couponCatalog.findById(coupon.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        LongUnaryOperator discount = couponCatalog.discountOf(coupon);
+        long large = discount.applyAsLong(10_000L);
+        long small = discount.applyAsLong(300L);
+
+        // then
+        assertThat(large).isEqualTo(700L);
+        assertThat(small).isEqualTo(300L);
+        assertThat(couponCatalog.discountOf(null).applyAsLong(10_000L)).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    /**
+     * Test method to look up a coupon that does not exist, twice.
+     * Ensures only the first lookup queries the database, and the coupon is looked up again after a reload.
+     */
+    @Test
+    void findById_MissingCoupon_MissCached() {
+        // given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        couponCatalog.findById(-1L);
+        statistics.clear();
+
+        // when
+        boolean foundAgain = couponCatalog.findById(-1L).isPresent();
+        long statementsWhileCached = statistics.getPrepareStatementCount();
+        couponCatalog.reload();
+        statistics.clear();
+        couponCatalog.findById(-1L);
+
+        // then
+        assertThat(foundAgain).isFalse();
+        assertThat(statementsWhileCached).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Coupon createCoupon(DiscountType discountType, Long discountValue) {
+        List<Long> before = couponRepository.findAll().stream().map(Coupon::getId).toList();
+        couponService.createCoupon(new CouponRequestDto(discountType, discountValue, LocalDate.now().plusDays(7)));
+        Coupon coupon = couponRepository.findAll().stream()
+                .filter(found -> !before.contains(found.getId()))
+                .findFirst()
+                .orElseThrow();
+        createdCouponIds.add(coupon.getId());
+        return coupon;
+    }
+}
@@ -0,0 +1,191 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.entity.Coupon;
+import jihong99.shoppingmall.entity.enums.DiscountType;
+import jihong99.shoppingmall.repository.CouponRepository;
+import jihong99.shoppingmall.repository.UserCouponRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponClaimProcessorTest {
+
+    private static final int USER_COUNT = 12_000;
+    private static final long QUOTA = 10_000L;
+    private static final int THREADS = 16;
+    private static final int CLAIMS_PER_THREAD = 25_000;
+
+    private final Logger LOGGER = LoggerFactory.getLogger(CouponClaimProcessorTest.class);
+
+    @Autowired
+    private CouponClaimProcessor couponClaimProcessor;
+    @Autowired
+    private CouponRepository couponRepository;
+    @Autowired
+    private UserCouponRepository userCouponRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Coupon> createdCoupons = new ArrayList<>();
+    private List<Long> userIds;
+
+    @BeforeEach
+    public void setUp() {
+        List<Object[]> rows = new ArrayList<>(USER_COUNT);
+        for (int i = 0; i < USER_COUNT; i++) {
+            rows.add(new Object[]{"claim_load_user" + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (identification, password, name, role, creation_time, last_modified_time) " +
+                "VALUES (?, 'password', 'name', 'USER', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", rows);
+        userIds = jdbcTemplate.queryForList("SELECT user_id FROM users WHERE identification LIKE 'claim_load_user%'", Long.class);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        userCouponRepository.deleteAll();
+        couponRepository.deleteAll(createdCoupons);
+        createdCoupons.clear();
+        jdbcTemplate.update("DELETE FROM users WHERE identification LIKE 'claim_load_user%'");
+    }
+
+    /**
+     * Load test claiming a limited-quantity coupon from many threads at once, with every user claiming repeatedly.
+     * Ensures exactly the quota is admitted with no user admitted twice, and that every admitted claim is persisted.
+     */
+    @Test
+    void claim_ConcurrentLoad_NeverExceedsQuota() throws Exception {
+        // given
+        Coupon coupon = createCoupon(QUOTA);
+
+        // when
+        Map<CouponClaimProcessor.Outcome, Long> outcomes = runClaims(coupon.getId());
+        awaitPersisted();
+
+        // then
+        assertQuotaAdmittedOnce(coupon, outcomes);
+    }
+
+    /**
+     * Benchmark claiming a limited-quantity coupon from many threads at once. Excluded from the regular test run;
+     * run it with the benchmark task.
+     * Ensures claims are admitted at 50,000 per second or more without exceeding the quota.
+     */
+    @Test
+    @Tag("benchmark")
+    void claim_ConcurrentLoadBenchmark_FiftyThousandPerSecond() throws Exception {
+        // given
+        Coupon coupon = createCoupon(QUOTA);
+        Coupon warmUp = createCoupon(QUOTA);
+        runClaims(warmUp.getId());
+        awaitPersisted();
+
+        // when
+        long startNanos = System.nanoTime();
+        Map<CouponClaimProcessor.Outcome, Long> outcomes = runClaims(coupon.getId());
+        double claimsPerSecond = (double) THREADS * CLAIMS_PER_THREAD / ((System.nanoTime() - startNanos) / 1_000_000_000.0);
+        LOGGER.info("Processed {} claims on {} threads: {} claims/s", THREADS * CLAIMS_PER_THREAD, THREADS, String.format("%,.0f", claimsPerSecond));
+        awaitPersisted();
+
+        // then
+        assertQuotaAdmittedOnce(coupon, outcomes);
+        assertThat(claimsPerSecond).isGreaterThanOrEqualTo(50_000);
+    }
+
+    /**
+     * Test method to claim a coupon that was created without a claim quota, and to claim a coupon twice.
+     * Ensures only the first claim is admitted and a user cannot claim the same coupon twice.
+     */
+    @Test
+    void claim_NotClaimableOrRepeated_Rejected() throws InterruptedException {
+        // given
+        Coupon regular = createCoupon(null);
+        Coupon claimable = createCoupon(1L);
+        Long userId = userIds.get(0);
+
+        // when
+        CouponClaimProcessor.Outcome notClaimable = couponClaimProcessor.claim(regular.getId(), userId);
+        CouponClaimProcessor.Outcome first = couponClaimProcessor.claim(claimable.getId(), userId);
+        CouponClaimProcessor.Outcome repeated = couponClaimProcessor.claim(claimable.getId(), userId);
+        CouponClaimProcessor.Outcome soldOut = couponClaimProcessor.claim(claimable.getId(), userIds.get(1));
+        awaitPersisted();
+
+        // then
+        assertThat(notClaimable).isEqualTo(CouponClaimProcessor.Outcome.NOT_CLAIMABLE);
+        assertThat(first).isEqualTo(CouponClaimProcessor.Outcome.ADMITTED);
+        assertThat(repeated).isEqualTo(CouponClaimProcessor.Outcome.ALREADY_CLAIMED);
+        assertThat(soldOut).isEqualTo(CouponClaimProcessor.Outcome.SOLD_OUT);
+        assertThat(userCouponRepository.existsByUsersIdAndCouponId(userId, claimable.getId())).isTrue();
+    }
+
+    private Map<CouponClaimProcessor.Outcome, Long> runClaims(Long couponId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Map<CouponClaimProcessor.Outcome, Long>>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t;
+            Callable<Map<CouponClaimProcessor.Outcome, Long>> claims = () -> {
+                Map<CouponClaimProcessor.Outcome, Long> counts = new EnumMap<>(CouponClaimProcessor.Outcome.class);
+                start.await();
+                for (int i = 0; i < CLAIMS_PER_THREAD; i++) {
+                    Long userId = userIds.get((i * THREADS + offset) % userIds.size());
+                    counts.merge(couponClaimProcessor.claim(couponId, userId), 1L, Long::sum);
+                }
+                return counts;
+            };
+            futures.add(executor.submit(claims));
+        }
+        start.countDown();
+        Map<CouponClaimProcessor.Outcome, Long> outcomes = new EnumMap<>(CouponClaimProcessor.Outcome.class);
+        for (Future<Map<CouponClaimProcessor.Outcome, Long>> future : futures) {
+            future.get(60, TimeUnit.SECONDS).forEach((outcome, count) -> outcomes.merge(outcome, count, Long::sum));
+        }
+        executor.shutdown();
+        return outcomes;
+    }
+
+    private void assertQuotaAdmittedOnce(Coupon coupon, Map<CouponClaimProcessor.Outcome, Long> outcomes) {
+        assertThat(outcomes.get(CouponClaimProcessor.Outcome.ADMITTED)).isEqualTo(QUOTA);
+        assertThat(couponClaimProcessor.getAdmittedCount(coupon.getId())).isEqualTo(QUOTA);
+        List<Long> persisted = jdbcTemplate.queryForList(
+                "SELECT user_id FROM user_coupon WHERE coupon_id = ?", Long.class, coupon.getId());
+        assertThat(persisted).hasSize((int) QUOTA);
+        assertThat(new HashSet<>(persisted)).hasSize((int) QUOTA);
+    }
+
+    private void awaitPersisted() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (couponClaimProcessor.getPendingCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private Coupon createCoupon(Long claimQuota) {
+        Coupon coupon = couponRepository.save(Coupon.of(DiscountType.FIXED, 1000L, LocalDate.now().plusDays(7), claimQuota));
+        createdCoupons.add(coupon);
+        return coupon;
+    }
+}
@@ -0,0 +1,140 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.entity.Coupon;
+import jihong99.shoppingmall.entity.CouponDistribution;
+import jihong99.shoppingmall.entity.UserCoupon;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.entity.enums.DiscountType;
+import jihong99.shoppingmall.entity.enums.DistributionStatus;
+import jihong99.shoppingmall.repository.CouponDistributionRepository;
+import jihong99.shoppingmall.repository.CouponRepository;
+import jihong99.shoppingmall.repository.UserCouponRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "coupon.distribution.chunk-size=2")
+@ActiveProfiles("test")
+class CouponDistributionTest {
+
+    @Autowired
+    private ICouponService couponService;
+    @Autowired
+    private CouponServiceImpl couponServiceImpl;
+    @Autowired
+    private CouponRepository couponRepository;
+    @Autowired
+    private CouponDistributionRepository couponDistributionRepository;
+    @Autowired
+    private UserCouponRepository userCouponRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Users> users = new ArrayList<>();
+    private Coupon coupon;
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 0; i < 5; i++) {
+            users.add(userRepository.save(Users.of("distribution_user" + i, "password", "name", LocalDate.now(), "01012345678")));
+        }
+        coupon = couponRepository.save(Coupon.of(DiscountType.FIXED, 1000L, LocalDate.now().plusDays(7)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        couponDistributionRepository.deleteAll();
+        userCouponRepository.deleteAll();
+        couponRepository.delete(coupon);
+        userRepository.deleteAll(users);
+        users.clear();
+    }
+
+    /**
+     * Test method to distribute a coupon to more users than fit in one chunk, one of whom already holds it.
+     * Ensures every user ends up with exactly one coupon and the user who held it is not counted again.
+     */
+    @Test
+    void distributeCouponToAllUsers_SeveralChunks_SkipsExistingCoupons() throws InterruptedException {
+        // given
+        userCouponRepository.save(UserCoupon.of(users.get(2), coupon));
+
+        // when
+        couponService.distributeCouponToAllUsers(coupon.getId());
+        CouponDistribution distribution = awaitCompletion();
+
+        // then
+        users.forEach(user -> assertThat(userCouponRepository.findAllByUsersId(user.getId())).hasSize(1));
+        assertThat(distribution.getInsertedCount()).isEqualTo(userCouponRepository.countByCouponId(coupon.getId()) - 1);
+        assertThat(distribution.getLastUserId()).isGreaterThanOrEqualTo(users.get(4).getId());
+    }
+
+    /**
+     * Test method to start a distribution again after it failed past its first chunk.
+     * Ensures it resumes after the last committed chunk instead of starting over.
+     */
+    @Test
+    void distributeCouponToAllUsers_AfterFailure_ResumesAfterCheckpoint() throws InterruptedException {
+        // given
+        users.subList(0, 2).forEach(user -> userCouponRepository.save(UserCoupon.of(user, coupon)));
+        CouponDistribution failed = CouponDistribution.of(coupon.getId(), users.size());
+        failed.advance(users.get(1).getId(), 2);
+        failed.fail();
+        couponDistributionRepository.save(failed);
+        userCouponRepository.deleteAll(userCouponRepository.findAllByUsersId(users.get(0).getId()));
+
+        // when
+        couponService.distributeCouponToAllUsers(coupon.getId());
+        CouponDistribution distribution = awaitCompletion();
+
+        // then
+        assertThat(userCouponRepository.existsByUsersIdAndCouponId(users.get(0).getId(), coupon.getId())).isFalse();
+        users.subList(1, 5).forEach(user ->
+                assertThat(userCouponRepository.existsByUsersIdAndCouponId(user.getId(), coupon.getId())).isTrue());
+        assertThat(distribution.getInsertedCount()).isEqualTo(userCouponRepository.countByCouponId(coupon.getId()) + 1);
+    }
+
+    /**
+     * Test method to resume a distribution a previous shutdown left running.
+     * Ensures it continues after its checkpoint when the application starts.
+     */
+    @Test
+    void resumeRunningDistributions_RunningDistribution_Completes() throws InterruptedException {
+        // given
+        CouponDistribution running = CouponDistribution.of(coupon.getId(), users.size());
+        running.advance(users.get(1).getId(), 0);
+        couponDistributionRepository.save(running);
+
+        // when
+        couponServiceImpl.resumeRunningDistributions();
+        CouponDistribution distribution = awaitCompletion();
+
+        // then
+        assertThat(distribution.getStatus()).isEqualTo(DistributionStatus.COMPLETED);
+        assertThat(userCouponRepository.existsByUsersIdAndCouponId(users.get(1).getId(), coupon.getId())).isFalse();
+        users.subList(2, 5).forEach(user ->
+                assertThat(userCouponRepository.existsByUsersIdAndCouponId(user.getId(), coupon.getId())).isTrue());
+    }
+
+    private CouponDistribution awaitCompletion() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            CouponDistribution distribution = couponDistributionRepository.findByCouponId(coupon.getId()).orElseThrow();
+            if (distribution.getStatus() == DistributionStatus.COMPLETED) {
+                return distribution;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Distribution of coupon " + coupon.getId() + " did not complete");
+    }
+}
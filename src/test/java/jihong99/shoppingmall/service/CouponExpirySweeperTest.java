@@ -0,0 +1,104 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.response.coupon.CouponSummaryResponseDto;
+import jihong99.shoppingmall.entity.Coupon;
+import jihong99.shoppingmall.entity.UserCoupon;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.entity.enums.DiscountType;
+import jihong99.shoppingmall.repository.CouponRepository;
+import jihong99.shoppingmall.repository.UserCouponRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CouponExpirySweeperTest {
+
+    @Autowired
+    private CouponExpirySweeper couponExpirySweeper;
+    @Autowired
+    private ICouponService couponService;
+    @Autowired
+    private CouponRepository couponRepository;
+    @Autowired
+    private UserCouponRepository userCouponRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Coupon> createdCoupons = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        userCouponRepository.deleteAll();
+        couponRepository.deleteAll(createdCoupons);
+        createdCoupons.clear();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Test method to read coupon summaries before the expiry sweep has run.
+     * Ensures an expired coupon is reported as invalid without being written.
+     */
+    @Test
+    void getAllCouponSummaries_ExpiredCoupon_InvalidBeforeSweep() {
+        // given
+        Users user = userRepository.save(Users.of("expiry_read_user", "password", "name", LocalDate.now(), "01012345678"));
+        UserCoupon expired = userCouponRepository.save(UserCoupon.of(user, createCoupon(LocalDate.now().minusDays(1))));
+        UserCoupon valid = userCouponRepository.save(UserCoupon.of(user, createCoupon(LocalDate.now())));
+
+        // when
+        List<Long> available = ids(couponService.getAllCouponSummaries(user.getId(), "available", PageRequest.of(0, 10)).getContent());
+        List<Long> invalid = ids(couponService.getAllCouponSummaries(user.getId(), "invalid", PageRequest.of(0, 10)).getContent());
+
+        // then
+        assertThat(available).containsExactly(valid.getId());
+        assertThat(invalid).containsExactly(expired.getId());
+        assertThat(userCouponRepository.findById(expired.getId()).get().getIsValid()).isTrue();
+    }
+
+    /**
+     * Test method to run the expiry sweep.
+     * Ensures only user coupons of expired coupons are invalidated.
+     */
+    @Test
+    void sweep_InvalidatesOnlyExpiredCoupons() {
+        // given
+        Users first = userRepository.save(Users.of("expiry_sweep_user1", "password", "name", LocalDate.now(), "01012345678"));
+        Users second = userRepository.save(Users.of("expiry_sweep_user2", "password", "name", LocalDate.now(), "01012345678"));
+        Coupon expiredCoupon = createCoupon(LocalDate.now().minusDays(1));
+        Coupon validCoupon = createCoupon(LocalDate.now().plusDays(1));
+        UserCoupon expiredFirst = userCouponRepository.save(UserCoupon.of(first, expiredCoupon));
+        UserCoupon expiredSecond = userCouponRepository.save(UserCoupon.of(second, expiredCoupon));
+        UserCoupon valid = userCouponRepository.save(UserCoupon.of(first, validCoupon));
+
+        // when
+        couponExpirySweeper.sweep();
+
+        // then
+        assertThat(userCouponRepository.findById(expiredFirst.getId()).get().getIsValid()).isFalse();
+        assertThat(userCouponRepository.findById(expiredSecond.getId()).get().getIsValid()).isFalse();
+        assertThat(userCouponRepository.findById(valid.getId()).get().getIsValid()).isTrue();
+        assertThat(couponRepository.findExpiredIdsWithValidUserCoupons(LocalDate.now())).isEmpty();
+    }
+
+    private Coupon createCoupon(LocalDate expirationDate) {
+        Coupon coupon = couponRepository.save(Coupon.of(DiscountType.FIXED, 100L, expirationDate));
+        createdCoupons.add(coupon);
+        return coupon;
+    }
+
+    private static List<Long> ids(List<CouponSummaryResponseDto> summaries) {
+        return summaries.stream().map(CouponSummaryResponseDto::getId).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.entity.Inquiry;
+import jihong99.shoppingmall.entity.InquiryResponse;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.entity.enums.InquiryStatus;
+import jihong99.shoppingmall.repository.InquiryRepository;
+import jihong99.shoppingmall.repository.InquiryResponseRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InquirySearchIndexTest {
+
+    @Autowired
+    private InquiryRepository inquiryRepository;
+    @Autowired
+    private InquiryResponseRepository inquiryResponseRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Users user;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("UPDATE inquiry_response SET parent_response_id = NULL");
+        jdbcTemplate.update("DELETE FROM inquiry_response");
+        inquiryRepository.deleteAll();
+        userRepository.delete(user);
+    }
+
+    /**
+     * Test method to build the index while one inquiry is edited and another one is answered and resolved,
+     * after the build read them but before it indexed them.
+     * Ensures the build neither overwrites the edit with its older snapshot nor loses the response and the
+     * status change, so searches see the committed state once the build finishes.
+     */
+    @Test
+    void build_WritesDuringBuild_SearchSeesCommittedState() throws InterruptedException {
+        // given
+        user = userRepository.save(Users.of("search_index_user", "password", "name", LocalDate.now(), "01012345678"));
+        Long editedId = inquiryRepository.save(Inquiry.createCustomerInquiry(user, "stale title", "content")).getId();
+        Long answeredId = inquiryRepository.save(Inquiry.createCustomerInquiry(user, "shipping question", "content")).getId();
+        InquiryResponseRepository responseRepository = mock(InquiryResponseRepository.class,
+                AdditionalAnswers.delegatesTo(inquiryResponseRepository));
+        InquirySearchIndex index = new InquirySearchIndex(inquiryRepository, responseRepository, transactionTemplate);
+        ReflectionTestUtils.setField(index, "buildChunkSize", 10);
+        AtomicBoolean written = new AtomicBoolean();
+        doAnswer(invocation -> {
+            List<InquiryResponse> snapshot = inquiryResponseRepository.findAllByInquiryIdIn(invocation.<Collection<Long>>getArgument(0));
+            if (written.compareAndSet(false, true)) {
+                Thread writer = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+                    Inquiry edited = inquiryRepository.findById(editedId).orElseThrow();
+                    edited.updateTitle("fresh title");
+                    index.inquirySaved(edited);
+                    Inquiry answered = inquiryRepository.findById(answeredId).orElseThrow();
+                    InquiryResponse response = inquiryResponseRepository.save(InquiryResponse.ofInquiry(answered, "reimbursement issued"));
+                    answered.updateInquiryStatus(InquiryStatus.RESOLVED);
+                    index.responseSaved(answeredId, response.getId(), response.getContent());
+                    index.statusChanged(answeredId, InquiryStatus.RESOLVED);
+                }));
+                writer.start();
+                writer.join();
+            }
+            return snapshot;
+        }).when(responseRepository).findAllByInquiryIdIn(any());
+
+        // when
+        index.build();
+
+        // then
+        assertThat(written).isTrue();
+        assertThat(index.search("fresh", null)).containsExactly(editedId);
+        assertThat(index.search("stale", null)).isEmpty();
+        assertThat(index.search("reimbursement", InquiryStatus.RESOLVED)).containsExactly(answeredId);
+        assertThat(index.search("shipping", InquiryStatus.UNRESOLVED)).isEmpty();
+    }
+}
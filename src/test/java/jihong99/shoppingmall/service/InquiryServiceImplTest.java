@@ -0,0 +1,261 @@
+package jihong99.shoppingmall.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import jihong99.shoppingmall.dto.request.inquiry.InquiryRequestDto;
+import jihong99.shoppingmall.dto.request.inquiry.PatchResponseRequestDto;
+import jihong99.shoppingmall.dto.request.inquiry.ResponseRequestDto;
+import jihong99.shoppingmall.dto.response.inquiry.InquiryDetailsResponseDto;
+import jihong99.shoppingmall.dto.response.inquiry.InquiryLatencyResponseDto;
+import jihong99.shoppingmall.dto.response.inquiry.InquiryQueueResponseDto;
+import jihong99.shoppingmall.dto.response.inquiry.InquiryResponseDto;
+import jihong99.shoppingmall.entity.Inquiry;
+import jihong99.shoppingmall.entity.InquiryLatencyBucket;
+import jihong99.shoppingmall.entity.InquiryResponse;
+import jihong99.shoppingmall.entity.Item;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.entity.enums.InquiryMetric;
+import jihong99.shoppingmall.entity.enums.InquiryStatus;
+import jihong99.shoppingmall.entity.enums.InquiryType;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.repository.InquiryLatencyBucketRepository;
+import jihong99.shoppingmall.repository.InquiryRepository;
+import jihong99.shoppingmall.repository.InquiryResponseRepository;
+import jihong99.shoppingmall.repository.ItemRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InquiryServiceImplTest {
+
+    private static final int THREAD_LENGTH = 100;
+
+    @Autowired
+    private IInquiryService inquiryService;
+    @Autowired
+    private InquiryRepository inquiryRepository;
+    @Autowired
+    private InquiryResponseRepository inquiryResponseRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private InquiryLatencyRecorder inquiryLatencyRecorder;
+    @Autowired
+    private InquiryLatencyBucketRepository inquiryLatencyBucketRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Users> users = new ArrayList<>();
+    private final List<Item> items = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("UPDATE inquiry_response SET parent_response_id = NULL");
+        jdbcTemplate.update("DELETE FROM inquiry_response");
+        inquiryRepository.deleteAll();
+        userRepository.deleteAll(users);
+        users.clear();
+        itemRepository.deleteAll(items);
+        items.clear();
+    }
+
+    /**
+     * Test method to retrieve an inquiry whose thread is a 100-response back-and-forth.
+     * Ensures the whole thread is loaded with one query regardless of its length and assembled in order.
+     */
+    @Test
+    void getInquiryDetails_LongThread_SingleResponseQuery() {
+        // given
+        Users user = userRepository.save(Users.of("inquiry_user", "password", "name", LocalDate.now(), "01012345678"));
+        users.add(user);
+        Inquiry inquiry = inquiryRepository.save(Inquiry.createCustomerInquiry(user, "title", "content"));
+        InquiryResponse response = inquiryResponseRepository.save(InquiryResponse.ofInquiry(inquiry, "response 0"));
+        for (int i = 1; i < THREAD_LENGTH; i++) {
+            response = inquiryResponseRepository.save(InquiryResponse.ofParentResponse(response, "response " + i));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        InquiryDetailsResponseDto details = inquiryService.getInquiryDetails(inquiry.getId());
+
+        // then
+        // inquiry, response thread
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(details.getResponses()).hasSize(1);
+        InquiryDetailsResponseDto.ResponseDto node = details.getResponses().get(0);
+        for (int i = 0; i < THREAD_LENGTH - 1; i++) {
+            assertThat(node.getContent()).isEqualTo("response " + i);
+            assertThat(node.getChildResponses()).hasSize(1);
+            node = node.getChildResponses().get(0);
+        }
+        assertThat(node.getContent()).isEqualTo("response " + (THREAD_LENGTH - 1));
+        assertThat(node.getChildResponses()).isEmpty();
+    }
+
+    /**
+     * Test method to retrieve a user's own inquiry with a branching thread.
+     * Ensures replies are nested under the response they answer and never repeated at the top level.
+     */
+    @Test
+    void getUserInquiryDetails_BranchingThread_NestedOnce() {
+        // given
+        Users user = userRepository.save(Users.of("inquiry_user", "password", "name", LocalDate.now(), "01012345678"));
+        users.add(user);
+        Inquiry inquiry = inquiryRepository.save(Inquiry.createCustomerInquiry(user, "title", "content"));
+        InquiryResponse first = inquiryResponseRepository.save(InquiryResponse.ofInquiry(inquiry, "first"));
+        inquiryResponseRepository.save(InquiryResponse.ofInquiry(inquiry, "second"));
+        inquiryResponseRepository.save(InquiryResponse.ofParentResponse(first, "reply 1"));
+        inquiryResponseRepository.save(InquiryResponse.ofParentResponse(first, "reply 2"));
+
+        // when
+        InquiryDetailsResponseDto details = inquiryService.getUserInquiryDetails(user.getId(), inquiry.getId());
+
+        // then
+        assertThat(details.getResponses()).extracting(InquiryDetailsResponseDto.ResponseDto::getContent)
+                .containsExactly("first", "second");
+        assertThat(details.getResponses().get(0).getChildResponses())
+                .extracting(InquiryDetailsResponseDto.ResponseDto::getContent)
+                .containsExactly("reply 1", "reply 2");
+    }
+
+    /**
+     * Test method to page through the item inquiry queue with a cursor while an inquiry is submitted.
+     * Ensures each page is one query with item names joined, pages do not overlap, and the total is refreshed
+     * once the new inquiry commits.
+     */
+    @Test
+    void getAllInquiries_KeysetPages_ItemNamesAndCachedTotal() {
+        // given
+        Users user = userRepository.save(Users.of("inquiry_user", "password", "name", LocalDate.now(), "01012345678"));
+        users.add(user);
+        Item item = itemRepository.save(Item.of("queue item", 1000L, 10, "keyword", new ArrayList<>()));
+        items.add(item);
+        for (int i = 0; i < 5; i++) {
+            inquiryRepository.save(Inquiry.of(user, item, "title " + i, "content"));
+        }
+        inquiryRepository.save(Inquiry.createCustomerInquiry(user, "customer", "content"));
+        inquiryService.getAllInquiries(InquiryType.ITEM, null, null, 2);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        InquiryQueueResponseDto first = inquiryService.getAllInquiries(InquiryType.ITEM, null, null, 2);
+        long firstPageStatements = statistics.getPrepareStatementCount();
+        InquiryQueueResponseDto second = inquiryService.getAllInquiries(InquiryType.ITEM, null, first.getNextCursorId(), 2);
+        InquiryQueueResponseDto last = inquiryService.getAllInquiries(InquiryType.ITEM, null, second.getNextCursorId(), 2);
+
+        // then
+        // page only, the total is cached
+        assertThat(firstPageStatements).isEqualTo(1);
+        assertThat(first.getTotalElements()).isEqualTo(5L);
+        assertThat(first.getInquiries()).extracting(InquiryResponseDto::getTitle).containsExactly("title 4", "title 3");
+        assertThat(first.getInquiries()).extracting(InquiryResponseDto::getItemName).containsOnly("queue item");
+        assertThat(second.getInquiries()).extracting(InquiryResponseDto::getTitle).containsExactly("title 2", "title 1");
+        assertThat(last.getInquiries()).extracting(InquiryResponseDto::getTitle).containsExactly("title 0");
+        assertThat(last.getHasNext()).isFalse();
+        assertThat(last.getNextCursorId()).isNull();
+
+        inquiryService.submitItemInquiry(user.getId(), item.getId(), new InquiryRequestDto("new", "content"));
+        assertThat(inquiryService.getAllInquiries(InquiryType.ITEM, null, null, 2).getTotalElements()).isEqualTo(6L);
+    }
+
+    /**
+     * Test method to answer an inquiry twice and resolve it, then persist the latency histograms.
+     * Ensures only the first response and the resolution are recorded for the inquiry's type, and the
+     * samples are kept once flushed.
+     */
+    @Test
+    void respondAndResolve_RecordsLatencies() {
+        // given
+        Users user = userRepository.save(Users.of("inquiry_user", "password", "name", LocalDate.now(), "01012345678"));
+        users.add(user);
+        Inquiry inquiry = inquiryRepository.save(Inquiry.createCustomerInquiry(user, "title", "content"));
+        long firstResponses = getLatency(InquiryMetric.FIRST_RESPONSE).getCount();
+        long resolutions = getLatency(InquiryMetric.RESOLUTION).getCount();
+
+        // when
+        inquiryService.respondToInquiry(inquiry.getId(), new ResponseRequestDto("first answer"));
+        inquiryService.respondToInquiry(inquiry.getId(), new ResponseRequestDto("second answer"));
+        inquiryService.updateInquiryStatus(inquiry.getId(), InquiryStatus.RESOLVED);
+        inquiryService.updateInquiryStatus(inquiry.getId(), InquiryStatus.RESOLVED);
+        inquiryLatencyRecorder.flush();
+
+        // then
+        InquiryLatencyResponseDto firstResponse = getLatency(InquiryMetric.FIRST_RESPONSE);
+        assertThat(firstResponse.getCount()).isEqualTo(firstResponses + 1);
+        assertThat(firstResponse.getP50Ms()).isNotNull();
+        assertThat(getLatency(InquiryMetric.RESOLUTION).getCount()).isEqualTo(resolutions + 1);
+        assertThat(inquiryLatencyBucketRepository.findAll())
+                .filteredOn(bucket -> bucket.getType() == InquiryType.CUSTOMER)
+                .extracting(InquiryLatencyBucket::getMetric)
+                .contains(InquiryMetric.FIRST_RESPONSE, InquiryMetric.RESOLUTION);
+    }
+
+    /**
+     * Test method to search inquiries while their responses are added, edited and deleted.
+     * Ensures matches are ranked by relevance, filtered by status, and follow the latest response bodies.
+     */
+    @Test
+    void searchInquiries_RankedAndKeptUpToDate() {
+        // given
+        Users user = userRepository.save(Users.of("inquiry_user", "password", "name", LocalDate.now(), "01012345678"));
+        users.add(user);
+        inquiryService.submitCustomerInquiry(user.getId(), new InquiryRequestDto("refund request", "please refund my order"));
+        inquiryService.submitCustomerInquiry(user.getId(), new InquiryRequestDto("delivery delay", "where is my refund parcel"));
+        inquiryService.submitCustomerInquiry(user.getId(), new InquiryRequestDto("coupon question", "coupon does not apply"));
+        List<Inquiry> inquiries = inquiryRepository.findAll();
+        Inquiry coupon = inquiries.stream().filter(inquiry -> inquiry.getTitle().equals("coupon question")).findFirst().orElseThrow();
+        Inquiry delivery = inquiries.stream().filter(inquiry -> inquiry.getTitle().equals("delivery delay")).findFirst().orElseThrow();
+        PageRequest pageable = PageRequest.of(0, 10);
+
+        // when
+        inquiryService.respondToInquiry(coupon.getId(), new ResponseRequestDto("a voucher will be issued"));
+        Long responseId = inquiryResponseRepository.findAllByInquiryIdOrderByIdAsc(coupon.getId()).get(0).getId();
+        inquiryService.editInquiryResponse(coupon.getId(), responseId, new PatchResponseRequestDto("a gift card will be issued"));
+        inquiryService.updateInquiryStatus(delivery.getId(), InquiryStatus.RESOLVED);
+
+        // then
+        assertThat(inquiryService.searchInquiries("Refund", null, pageable).getContent())
+                .extracting(InquiryResponseDto::getTitle)
+                .containsExactly("refund request", "delivery delay");
+        assertThat(inquiryService.searchInquiries("refund", InquiryStatus.RESOLVED, pageable).getContent())
+                .extracting(InquiryResponseDto::getTitle)
+                .containsExactly("delivery delay");
+        assertThat(inquiryService.searchInquiries("voucher", null, pageable).getTotalElements()).isZero();
+        assertThat(inquiryService.searchInquiries("gift", null, pageable).getContent())
+                .extracting(InquiryResponseDto::getTitle)
+                .containsExactly("coupon question");
+
+        inquiryService.deleteInquiryResponse(coupon.getId(), responseId);
+        assertThat(inquiryService.searchInquiries("gift", null, pageable).getTotalElements()).isZero();
+        assertThatThrownBy(() -> inquiryService.searchInquiries("?!", null, pageable))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    private InquiryLatencyResponseDto getLatency(InquiryMetric metric) {
+        return inquiryService.getInquiryLatencies().stream()
+                .filter(latency -> latency.getType() == InquiryType.CUSTOMER && latency.getMetric() == metric)
+                .findFirst()
+                .orElseThrow();
+    }
+}
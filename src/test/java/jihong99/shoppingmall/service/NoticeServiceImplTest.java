@@ -0,0 +1,196 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.response.notice.NoticeResponseDto;
+import jihong99.shoppingmall.entity.Notice;
+import jihong99.shoppingmall.entity.UserNotice;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.repository.NoticeRepository;
+import jihong99.shoppingmall.repository.NoticeWatermarkRepository;
+import jihong99.shoppingmall.repository.UserNoticeRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class NoticeServiceImplTest {
+
+    @Autowired
+    private INoticeService noticeService;
+    @Autowired
+    private NoticeRepository noticeRepository;
+    @Autowired
+    private UserNoticeRepository userNoticeRepository;
+    @Autowired
+    private NoticeWatermarkRepository noticeWatermarkRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    public void tearDown() {
+        noticeWatermarkRepository.deleteAll();
+        userNoticeRepository.deleteAll();
+        noticeRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Test method to post a notice to all users.
+     * Ensures no per-user rows are written and the notice is merged into every user's notices with their targeted ones.
+     */
+    @Test
+    void postNoticeToAllUsers_MergedAtReadTime() {
+        // given
+        Users first = userRepository.save(Users.of("notice_user1", "password", "name", LocalDate.now(), "01012345678"));
+        Users second = userRepository.save(Users.of("notice_user2", "password", "name", LocalDate.now(), "01012345678"));
+        Notice targeted = noticeRepository.save(Notice.of("targeted", "content"));
+        userNoticeRepository.save(UserNotice.of(first, targeted));
+        Notice broadcast = noticeRepository.save(Notice.of("broadcast", "content"));
+
+        // when
+        noticeService.postNoticeToAllUsers(broadcast.getId());
+
+        // then
+        assertThat(userNoticeRepository.count()).isEqualTo(1);
+        assertThat(ids(noticeService.getAllNotices(first.getId(), PageRequest.of(0, 10)).getContent()))
+                .containsExactly(broadcast.getId(), targeted.getId());
+        assertThat(ids(noticeService.getAllNotices(second.getId(), PageRequest.of(0, 10)).getContent()))
+                .containsExactly(broadcast.getId());
+        assertThat(noticeService.getNoticeDetails(second.getId(), broadcast.getId()).getTitle()).isEqualTo("broadcast");
+    }
+
+    /**
+     * Test method to mark a user's notices as seen.
+     * Ensures notices delivered before the watermark are seen and notices delivered afterwards are not.
+     */
+    @Test
+    void markNoticesAsSeen_AdvancesWatermark() throws InterruptedException {
+        // given
+        Users user = userRepository.save(Users.of("notice_user", "password", "name", LocalDate.now(), "01012345678"));
+        Notice before = noticeRepository.save(Notice.of("before", "content"));
+        noticeService.postNoticeToAllUsers(before.getId());
+        Thread.sleep(10);
+
+        // when
+        noticeService.markNoticesAsSeen(user.getId());
+        Thread.sleep(10);
+        Notice after = noticeRepository.save(Notice.of("after", "content"));
+        noticeService.postNoticeToUser(after.getId(), user.getId());
+
+        // then
+        List<NoticeResponseDto> notices = noticeService.getAllNotices(user.getId(), PageRequest.of(0, 10)).getContent();
+        assertThat(notices).extracting(NoticeResponseDto::getId).containsExactly(after.getId(), before.getId());
+        assertThat(notices).extracting(NoticeResponseDto::getSeen).containsExactly(false, true);
+    }
+
+    /**
+     * Test method to mark the notices of a user without a watermark as seen from many threads at once.
+     * Ensures every call succeeds and the user ends up with one watermark.
+     */
+    @Test
+    void markNoticesAsSeen_ConcurrentFirstCalls_SingleWatermark() throws Exception {
+        // given
+        Users user = userRepository.save(Users.of("notice_user", "password", "name", LocalDate.now(), "01012345678"));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        Timestamp startedAt = new Timestamp(System.currentTimeMillis());
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                noticeService.markNoticesAsSeen(user.getId());
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(noticeWatermarkRepository.count()).isEqualTo(1L);
+        assertThat(noticeWatermarkRepository.findLastSeenTimeByUserId(user.getId()).get()).isAfterOrEqualTo(startedAt);
+    }
+
+    /**
+     * Test method to count a user's unread notices as they are delivered, read and marked as seen.
+     * Ensures targeted and broadcast notices are counted, reading a notice twice uncounts it once,
+     * and the cached count follows every change.
+     */
+    @Test
+    void getUnreadNoticeCount_FollowsDeliveryAndReads() {
+        // given
+        Users user = userRepository.save(Users.of("notice_user", "password", "name", LocalDate.now(), "01012345678"));
+        Notice first = noticeRepository.save(Notice.of("first", "content"));
+        Notice second = noticeRepository.save(Notice.of("second", "content"));
+        Notice broadcast = noticeRepository.save(Notice.of("broadcast", "content"));
+        assertThat(noticeService.getUnreadNoticeCount(user.getId()).getUnreadCount()).isZero();
+
+        // when
+        noticeService.postNoticeToUser(first.getId(), user.getId());
+        noticeService.postNoticeToUser(second.getId(), user.getId());
+        noticeService.postNoticeToAllUsers(broadcast.getId());
+        long delivered = noticeService.getUnreadNoticeCount(user.getId()).getUnreadCount();
+        noticeService.getNoticeDetails(user.getId(), first.getId());
+        noticeService.getNoticeDetails(user.getId(), first.getId());
+        long afterRead = noticeService.getUnreadNoticeCount(user.getId()).getUnreadCount();
+        noticeService.markNoticesAsSeen(user.getId());
+        long afterSeen = noticeService.getUnreadNoticeCount(user.getId()).getUnreadCount();
+
+        // then
+        assertThat(delivered).isEqualTo(3L);
+        assertThat(afterRead).isEqualTo(2L);
+        assertThat(afterSeen).isZero();
+        assertThat(userRepository.findUnreadNoticeCountById(user.getId())).contains(0L);
+        assertThat(noticeService.getAllNotices(user.getId(), PageRequest.of(0, 10)).getContent())
+                .extracting(NoticeResponseDto::getSeen).containsOnly(true);
+    }
+
+    /**
+     * Test method to post the same notice to a user twice and then delete it.
+     * Ensures the second post is rejected, so the user holds one copy that is counted and uncounted once.
+     */
+    @Test
+    void postNoticeToUser_AlreadyPosted_CountedOnce() {
+        // given
+        Users user = userRepository.save(Users.of("notice_user", "password", "name", LocalDate.now(), "01012345678"));
+        Notice notice = noticeRepository.save(Notice.of("notice", "content"));
+        noticeService.postNoticeToUser(notice.getId(), user.getId());
+
+        // when
+        assertThrows(InvalidOperationException.class, () -> noticeService.postNoticeToUser(notice.getId(), user.getId()));
+        long afterPosts = noticeService.getUnreadNoticeCount(user.getId()).getUnreadCount();
+        noticeService.deleteNotice(notice.getId());
+
+        // then
+        assertThat(userNoticeRepository.count()).isZero();
+        assertThat(afterPosts).isEqualTo(1L);
+        assertThat(userRepository.findUnreadNoticeCountById(user.getId())).contains(0L);
+    }
+
+    private static List<Long> ids(List<NoticeResponseDto> notices) {
+        return notices.stream().map(NoticeResponseDto::getId).toList();
+    }
+}
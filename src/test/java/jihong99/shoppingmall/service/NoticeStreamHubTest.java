@@ -0,0 +1,227 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.response.notice.NoticeResponseDto;
+import jihong99.shoppingmall.event.NoticeDeliveredEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "notice.stream.max-connections-per-user=2")
+@ActiveProfiles("test")
+class NoticeStreamHubTest {
+
+    @Autowired
+    private NoticeStreamHub noticeStreamHub;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<NoticeStreamHub> hubs = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        hubs.forEach(NoticeStreamHub::close);
+        hubs.clear();
+    }
+
+    /**
+     * Test method to open more streams for one user than allowed and to publish to them.
+     * Ensures the oldest stream is closed to make room and publishing to the open streams does not fail.
+     */
+    @Test
+    void connect_OverPerUserLimit_ClosesOldest() {
+        // given
+        int before = noticeStreamHub.getConnectionCount();
+
+        // when
+        noticeStreamHub.connect(1L);
+        noticeStreamHub.connect(1L);
+        SseEmitter newest = noticeStreamHub.connect(1L);
+        SseEmitter other = noticeStreamHub.connect(2L);
+        noticeStreamHub.onNoticeDelivered(new NoticeDeliveredEvent(1L, "title", LocalDate.now(), false, List.of(1L, 2L)));
+        int connected = noticeStreamHub.getConnectionCount() - before;
+
+        // then
+        assertThat(connected).isEqualTo(3);
+        newest.complete();
+        other.complete();
+    }
+
+    /**
+     * Test method to open more streams for one user than allowed and to publish a notice in a transaction.
+     * Ensures the evicted stream is completed, and the notice reaches the remaining streams only once the
+     * transaction commits.
+     */
+    @Test
+    void onNoticeDelivered_AfterEviction_ReachesRemainingStreamsAfterCommit() throws InterruptedException {
+        // given
+        NoticeStreamHub hub = hub(32);
+        NoticePublisher publisher = new NoticePublisher(List.of(hub));
+        RecordingEmitter evicted = (RecordingEmitter) hub.connect(1L);
+        RecordingEmitter first = (RecordingEmitter) hub.connect(1L);
+        RecordingEmitter second = (RecordingEmitter) hub.connect(1L);
+
+        // when
+        List<Boolean> deliveredBeforeCommit = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            publisher.publish(new NoticeDeliveredEvent(7L, "title", LocalDate.now(), false, List.of(1L)));
+            deliveredBeforeCommit.add(first.hasNotice() || second.hasNotice());
+        });
+
+        // then
+        assertThat(evicted.completed).isTrue();
+        assertThat(hub.getConnectionCount()).isEqualTo(2);
+        assertThat(deliveredBeforeCommit).containsExactly(false);
+        await(() -> first.hasNotice() && second.hasNotice());
+        assertThat(evicted.hasNotice()).isFalse();
+        assertThat(first.completed).isFalse();
+        assertThat(second.completed).isFalse();
+    }
+
+    /**
+     * Test method to publish more notices than a stream's buffer holds while its client is not reading.
+     * Ensures the stream is completed and removed instead of blocking the publisher.
+     */
+    @Test
+    void onNoticeDelivered_BufferOverflow_ClosesSlowStream() throws InterruptedException {
+        // given
+        NoticeStreamHub hub = hub(2);
+        RecordingEmitter slow = (RecordingEmitter) hub.connect(1L);
+        await(() -> slow.frames.size() == 1);
+        slow.blockSends();
+        hub.onNoticeDelivered(new NoticeDeliveredEvent(1L, "title", LocalDate.now(), false, List.of(1L)));
+        slow.sending.await(5, TimeUnit.SECONDS);
+
+        // when
+        for (long noticeId = 2; noticeId <= 4; noticeId++) {
+            hub.onNoticeDelivered(new NoticeDeliveredEvent(noticeId, "title", LocalDate.now(), false, List.of(1L)));
+        }
+        boolean completedOnOverflow = slow.completed;
+        slow.release.countDown();
+
+        // then
+        assertThat(completedOnOverflow).isTrue();
+        assertThat(hub.getConnectionCount()).isZero();
+        RecordingEmitter reconnected = (RecordingEmitter) hub.connect(1L);
+        await(() -> reconnected.frames.size() == 1);
+        assertThat(hub.getConnectionCount()).isEqualTo(1);
+    }
+
+    /**
+     * Test method to send heartbeats on idle streams.
+     * Ensures every open stream receives a heartbeat comment.
+     */
+    @Test
+    void sendHeartbeats_IdleStreams_SendsHeartbeat() throws InterruptedException {
+        // given
+        NoticeStreamHub hub = hub(32);
+        RecordingEmitter first = (RecordingEmitter) hub.connect(1L);
+        RecordingEmitter second = (RecordingEmitter) hub.connect(2L);
+        await(() -> first.frames.size() == 1 && second.frames.size() == 1);
+
+        // when
+        hub.sendHeartbeats();
+
+        // then
+        await(() -> first.hasHeartbeat() && second.hasHeartbeat());
+        assertThat(first.frames).hasSize(2);
+        assertThat(second.frames).hasSize(2);
+    }
+
+    private NoticeStreamHub hub(int bufferSize) {
+        NoticeStreamHub hub = new NoticeStreamHub() {
+            @Override
+            SseEmitter createEmitter() {
+                return new RecordingEmitter();
+            }
+        };
+        ReflectionTestUtils.setField(hub, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(hub, "bufferSize", bufferSize);
+        ReflectionTestUtils.setField(hub, "maxConnectionsPerUser", 2);
+        ReflectionTestUtils.setField(hub, "senderThreads", 2);
+        hub.start();
+        hubs.add(hub);
+        return hub;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met in time");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * An emitter that records the frames sent on it instead of writing them to a response, and can hold
+     * sends back to act as a client that stopped reading.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Set<DataWithMediaType>> frames = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean blocking;
+        private volatile boolean completed;
+        private Runnable completionCallback = () -> { };
+
+        private void blockSends() {
+            blocking = true;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> frame) {
+            if (blocking) {
+                sending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (completed) {
+                throw new IllegalStateException("Emitter already completed");
+            }
+            frames.add(frame);
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completionCallback = callback;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            completionCallback.run();
+        }
+
+        private boolean hasNotice() {
+            return frames.stream().anyMatch(frame -> frame.stream()
+                    .anyMatch(part -> part.getData() instanceof NoticeResponseDto));
+        }
+
+        private boolean hasHeartbeat() {
+            return frames.stream().anyMatch(frame -> frame.stream()
+                    .anyMatch(part -> part.getData().toString().contains("heartbeat")));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.entity.OrderOutbox;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import jihong99.shoppingmall.event.OrderStatusSubscriber;
+import jihong99.shoppingmall.repository.OrderOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "order.outbox.relay-interval-ms=3600000")
+@ActiveProfiles("test")
+class OrderOutboxRelayTest {
+
+    private static final long POISON_ORDER_ID = -1L;
+
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> deliveredEntryIds = new ArrayList<>();
+    private final OrderStatusSubscriber subscriber = event -> {
+        if (event.getOrderId() == POISON_ORDER_ID) {
+            throw new IllegalStateException("poison");
+        }
+        deliveredEntryIds.add(event.getEventId());
+    };
+
+    @BeforeEach
+    public void setUp() {
+        orderOutboxRepository.deleteAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        orderOutboxRepository.deleteAll();
+        deliveredEntryIds.clear();
+    }
+
+    /**
+     * Test method to relay an entry whose delivery fails, followed by entries of the same and another order.
+     * Ensures the failed entry waits for its retry without being fetched, holds back the later entry of its
+     * order, and does not block the other order.
+     */
+    @Test
+    void relay_FailedEntry_BacksOffWithoutBlockingOtherOrders() {
+        // given
+        OrderOutboxRelay relay = relay(10, 60_000L);
+        OrderOutbox poison = save(POISON_ORDER_ID);
+        OrderOutbox sameOrder = orderOutboxRepository.save(OrderOutbox.builder()
+                .orderId(POISON_ORDER_ID).orderStatus(OrderStatus.CANCELLED).build());
+        OrderOutbox otherOrder = save(2L);
+
+        // when
+        relay.relay();
+        relay.relay();
+
+        // then
+        OrderOutbox retried = orderOutboxRepository.findById(poison.getId()).orElseThrow();
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getNextAttemptTime()).isAfter(retried.getCreationTime());
+        assertThat(retried.isFailed()).isFalse();
+        assertThat(deliveredEntryIds).containsExactly(otherOrder.getId());
+        assertThat(orderOutboxRepository.findById(sameOrder.getId()).orElseThrow().isPublished()).isFalse();
+    }
+
+    /**
+     * Test method to relay an entry whose delivery keeps failing.
+     * Ensures it is marked as failed after the maximum number of attempts, is no longer fetched,
+     * and the later entry of its order is delivered afterwards.
+     */
+    @Test
+    void relay_MaxAttemptsReached_MarksEntryFailed() {
+        // given
+        OrderOutboxRelay relay = relay(3, 0L);
+        OrderOutbox poison = save(POISON_ORDER_ID);
+        OrderOutbox sameOrder = orderOutboxRepository.save(OrderOutbox.builder()
+                .orderId(POISON_ORDER_ID).orderStatus(OrderStatus.CANCELLED).build());
+
+        // when
+        for (int run = 0; run < 5; run++) {
+            relay.relay();
+        }
+
+        // then
+        OrderOutbox failed = orderOutboxRepository.findById(poison.getId()).orElseThrow();
+        assertThat(failed.isFailed()).isTrue();
+        assertThat(failed.isPublished()).isFalse();
+        assertThat(failed.getAttempts()).isEqualTo(3);
+        assertThat(deliveredEntryIds).containsExactly(sameOrder.getId());
+        assertThat(relay.getMetrics().getFailedEntryCount()).isEqualTo(1L);
+        assertThat(relay.getMetrics().getPendingCount()).isZero();
+    }
+
+    /**
+     * Test method to clean up the outbox with entries on both sides of the retention period.
+     * Ensures only the entries published before it are deleted, across several chunks, and pending and
+     * recently published entries are kept.
+     */
+    @Test
+    void cleanUp_PublishedBeforeRetention_Deleted() {
+        // given
+        OrderOutboxRelay relay = relay(10, 0L);
+        ReflectionTestUtils.setField(relay, "retentionMs", 60_000L);
+        ReflectionTestUtils.setField(relay, "cleanupChunkSize", 2);
+        List<Long> expiredIds = List.of(save(1L).getId(), save(2L).getId(), save(3L).getId());
+        Long recentId = save(4L).getId();
+        Long pendingId = save(5L).getId();
+        long now = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            orderOutboxRepository.markPublished(expiredIds, new Timestamp(now - 120_000L));
+            orderOutboxRepository.markPublished(List.of(recentId), new Timestamp(now));
+        });
+
+        // when
+        relay.cleanUp();
+
+        // then
+        assertThat(orderOutboxRepository.findAll()).extracting(OrderOutbox::getId)
+                .containsExactlyInAnyOrder(recentId, pendingId);
+    }
+
+    private OrderOutboxRelay relay(int maxAttempts, long retryBackoffMs) {
+        OrderOutboxRelay relay = new OrderOutboxRelay(orderOutboxRepository, List.of(subscriber), transactionTemplate);
+        ReflectionTestUtils.setField(relay, "batchSize", 100);
+        ReflectionTestUtils.setField(relay, "maxBatchesPerRun", 50);
+        ReflectionTestUtils.setField(relay, "maxAttempts", maxAttempts);
+        ReflectionTestUtils.setField(relay, "retryBackoffMs", retryBackoffMs);
+        ReflectionTestUtils.setField(relay, "maxRetryBackoffMs", 300_000L);
+        return relay;
+    }
+
+    private OrderOutbox save(Long orderId) {
+        return orderOutboxRepository.save(OrderOutbox.builder()
+                .orderId(orderId)
+                .orderStatus(OrderStatus.PROCESSED)
+                .build());
+    }
+}
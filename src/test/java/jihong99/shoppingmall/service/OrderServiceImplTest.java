@@ -0,0 +1,419 @@
+package jihong99.shoppingmall.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import jihong99.shoppingmall.dto.request.order.CheckoutRequestDto;
+import jihong99.shoppingmall.dto.request.order.OrderStatusRequestDto;
+import jihong99.shoppingmall.dto.response.order.OrderDetailsResponseDto;
+import jihong99.shoppingmall.dto.response.order.OrderHistoryResponseDto;
+import jihong99.shoppingmall.dto.response.order.OrderSummaryResponseDto;
+import jihong99.shoppingmall.entity.*;
+import jihong99.shoppingmall.entity.enums.DiscountType;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import jihong99.shoppingmall.event.OrderStatusChangedEvent;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.fixture.CartFixtures;
+import jihong99.shoppingmall.repository.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderServiceImplTest {
+
+    @Autowired
+    private IOrderService orderService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CartFixtures cartFixtures;
+    @Autowired
+    private DeliveryAddressRepository deliveryAddressRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderDetailsRepository orderDetailsRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private CouponRepository couponRepository;
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+    @Autowired
+    private OrderOutboxRelay orderOutboxRelay;
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+    @Autowired
+    private OrderStockRestoreSubscriber orderStockRestoreSubscriber;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @SpyBean
+    private ISalesRollupService salesRollupService;
+
+    private final List<Coupon> createdCoupons = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        salesRollupRepository.deleteAll();
+        orderOutboxRepository.deleteAll();
+        orderItemRepository.deleteAll();
+        orderDetailsRepository.deleteAll();
+        orderRepository.deleteAll();
+        couponRepository.deleteAll(createdCoupons);
+        createdCoupons.clear();
+        cartItemRepository.deleteAll();
+        deliveryAddressRepository.deleteAll();
+        userRepository.deleteAll();
+        cartRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    /**
+     * Test method to check out a cart successfully.
+     * Ensures the order is created, stock is decremented and the cart is cleared.
+     */
+    @Test
+    void checkout_Success() {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("checkout_user", item, 3);
+        Long addressId = createDeliveryAddress(user);
+
+        // when
+        OrderDetailsResponseDto order = orderService.checkout(user.getId(), "key-1", new CheckoutRequestDto(addressId));
+
+        // then
+        assertThat(order.getItem()).hasSize(1);
+        assertThat(order.getTotal_amount()).isEqualTo(3000L);
+        assertThat(order.getFinalAmount()).isEqualTo(3000L);
+        assertThat(itemRepository.findById(item.getId()).get().getStock()).isEqualTo(7);
+        assertThat(cartItemRepository.findAllWithItemByCartId(user.getCart().getId())).isEmpty();
+    }
+
+    /**
+     * Test method to change a cart line's quantity while a checkout holds the cart lines.
+     * Ensures the change waits until the checkout commits, so the order keeps the reserved quantity and
+     * the change finds the checked-out line already removed.
+     */
+    @Test
+    void checkout_CartLinesLocked_ConcurrentQuantityChangeWaits() throws Exception {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("locked_cart_user", item, 2);
+        Long cartId = user.getCart().getId();
+        Long addressId = createDeliveryAddress(user);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch changing = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            locked.countDown();
+            changing.await(5, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(salesRollupService).recordOrder(any());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        Future<OrderDetailsResponseDto> checkout = executor.submit(() ->
+                orderService.checkout(user.getId(), "locked-key", new CheckoutRequestDto(addressId)));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Integer> quantityChange = executor.submit(() -> {
+            changing.countDown();
+            return jdbcTemplate.update("UPDATE cart_item SET quantity = 5 WHERE cart_id = ?", cartId);
+        });
+        OrderDetailsResponseDto order = checkout.get(5, TimeUnit.SECONDS);
+        int changedLines = quantityChange.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertThat(changedLines).isZero();
+        assertThat(order.getItem()).hasSize(1);
+        assertThat(order.getTotal_amount()).isEqualTo(2000L);
+        assertThat(itemRepository.findById(item.getId()).get().getStock()).isEqualTo(8);
+        assertThat(cartItemRepository.findAllWithItemByCartId(cartId)).isEmpty();
+    }
+
+    /**
+     * Test method to retry a checkout with the same idempotency key.
+     * Ensures the retry returns the original order without placing a new one.
+     */
+    @Test
+    void checkout_SameIdempotencyKey_ReturnsOriginalOrder() {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("retry_user", item, 2);
+        Long addressId = createDeliveryAddress(user);
+
+        // when
+        OrderDetailsResponseDto first = orderService.checkout(user.getId(), "retry-key", new CheckoutRequestDto(addressId));
+        OrderDetailsResponseDto retry = orderService.checkout(user.getId(), "retry-key", new CheckoutRequestDto(addressId));
+
+        // then
+        assertThat(retry.getOrderNumber()).isEqualTo(first.getOrderNumber());
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(itemRepository.findById(item.getId()).get().getStock()).isEqualTo(8);
+    }
+
+    /**
+     * Test method to cancel an order and relay the transition through the outbox.
+     * Ensures the stock is restored exactly once even if the event is delivered again.
+     */
+    @Test
+    void updateOrderStatus_Cancelled_RestoresStockOnceThroughOutbox() throws Exception {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("cancel_user", item, 4);
+        Long addressId = createDeliveryAddress(user);
+        OrderDetailsResponseDto order = orderService.checkout(user.getId(), "cancel-key", new CheckoutRequestDto(addressId));
+        Long orderId = orderRepository.findByUsersIdAndIdempotencyKey(user.getId(), "cancel-key").get().getId();
+
+        // when
+        orderService.updateOrderStatus(orderId, new OrderStatusRequestDto(OrderStatus.CANCELLED));
+        drainOutbox();
+        orderStockRestoreSubscriberRedelivery(orderId);
+
+        // then
+        assertThat(order.getItem()).hasSize(1);
+        assertThat(orderOutboxRepository.countByPublishedFalse()).isZero();
+        assertThat(orderOutboxRepository.count()).isEqualTo(2);
+        assertThat(itemRepository.findById(item.getId()).get().getStock()).isEqualTo(10);
+        assertThrows(InvalidOperationException.class, () ->
+                orderService.updateOrderStatus(orderId, new OrderStatusRequestDto(OrderStatus.PROCESSED)));
+    }
+
+    /**
+     * Test method to handle InvalidOperationException when checking out an empty cart.
+     */
+    @Test
+    void checkout_EmptyCart_InvalidOperationException() {
+        // given
+        Cart cart = cartRepository.save(Cart.of());
+        Users user = Users.of("empty_user", "password", "name", LocalDate.now(), "01012345678");
+        user.updateCart(cart);
+        userRepository.save(user);
+        Long addressId = createDeliveryAddress(user);
+
+        // when & then
+        assertThrows(InvalidOperationException.class, () ->
+                orderService.checkout(user.getId(), "empty-key", new CheckoutRequestDto(addressId)));
+    }
+
+    /**
+     * Test method to run parallel checkouts against limited stock.
+     * Ensures exactly as many checkouts succeed as there is stock, and stock never goes negative.
+     */
+    @Test
+    void checkout_ParallelCheckouts_NeverOversell() throws Exception {
+        // given
+        int stock = 5;
+        int buyers = 20;
+        Item item = itemRepository.save(Item.of("limited", 1000L, stock, "keyword", new ArrayList<>()));
+        List<Users> users = new ArrayList<>();
+        List<Long> addressIds = new ArrayList<>();
+        for (int i = 0; i < buyers; i++) {
+            Users user = cartFixtures.createUserWithCart("buyer" + i, item, 1);
+            users.add(user);
+            addressIds.add(createDeliveryAddress(user));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < buyers; i++) {
+            Long userId = users.get(i).getId();
+            Long addressId = addressIds.get(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.checkout(userId, "parallel-" + userId, new CheckoutRequestDto(addressId));
+                    succeeded.incrementAndGet();
+                } catch (InvalidOperationException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(succeeded.get()).isEqualTo(stock);
+        assertThat(rejected.get()).isEqualTo(buyers - stock);
+        assertThat(itemRepository.findById(item.getId()).get().getStock()).isZero();
+        assertThat(orderRepository.count()).isEqualTo(stock);
+        assertThat(orderItemRepository.count()).isEqualTo(stock);
+    }
+
+    /**
+     * Test method to retrieve order history with a fixed number of statements.
+     * Ensures items, addresses and coupons are batch-loaded instead of fetched per order.
+     */
+    @Test
+    void getUserOrderDetails_StatementCountIndependentOfPageSize() {
+        // given
+        Item first = itemRepository.save(Item.of("first", 1000L, 10, "keyword", new ArrayList<>()));
+        Item second = itemRepository.save(Item.of("second", 2000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("history_user", first, 1);
+        int orders = 8;
+        for (int i = 0; i < orders; i++) {
+            createOrder(user, i, first, second);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        Page<OrderDetailsResponseDto> history = orderService.getUserOrderDetails(user.getId(), PageRequest.of(0, 20));
+
+        // then
+        assertThat(history.getContent()).hasSize(orders);
+        assertThat(history.getContent()).allSatisfy(order -> {
+            assertThat(order.getItem()).hasSize(2);
+            assertThat(order.getCouponCode()).isNotNull();
+            assertThat(order.getReceiver()).isEqualTo("receiver");
+        });
+        // user check, details page, order items, delivery addresses, coupons
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    /**
+     * Test method to page through order history with a keyset cursor.
+     * Ensures every order is returned exactly once, newest first, and that the status filter applies.
+     */
+    @Test
+    void getUserOrderHistory_KeysetPagination() {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("keyset_user", item, 1);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 7; i++) {
+            OrderStatus status = i % 2 == 0 ? OrderStatus.PROCESSED : OrderStatus.CANCELLED;
+            orderRepository.save(Orders.of("keyset-" + i, user, today.minusDays(i / 2), status, 1000L, null));
+        }
+
+        // when
+        List<OrderSummaryResponseDto> collected = new ArrayList<>();
+        OrderHistoryResponseDto page = orderService.getUserOrderHistory(user.getId(), null, null, null, null, null, 3);
+        collected.addAll(page.getOrders());
+        while (page.getHasNext()) {
+            page = orderService.getUserOrderHistory(user.getId(), null, null, null,
+                    page.getNextCursorDate(), page.getNextCursorId(), 3);
+            collected.addAll(page.getOrders());
+        }
+        OrderHistoryResponseDto cancelled = orderService.getUserOrderHistory(user.getId(), OrderStatus.CANCELLED, null, null, null, null, 10);
+
+        // then
+        assertThat(collected).hasSize(7);
+        assertThat(collected).extracting(OrderSummaryResponseDto::getId).doesNotHaveDuplicates();
+        for (int i = 1; i < collected.size(); i++) {
+            assertThat(collected.get(i).getOrderDate()).isBeforeOrEqualTo(collected.get(i - 1).getOrderDate());
+        }
+        assertThat(cancelled.getOrders()).hasSize(3)
+                .allSatisfy(order -> assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.CANCELLED));
+    }
+
+    /**
+     * Test method to export orders as CSV.
+     * Ensures every matching order is written once, in order-id order, across several fetch windows.
+     */
+    @Test
+    void exportOrdersAsCsv_StreamsAllMatchingOrders() throws Exception {
+        // given
+        Item item = itemRepository.save(Item.of("item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("export_user", item, 1);
+        for (int i = 0; i < 1205; i++) {
+            createOrder(user, i);
+        }
+        Long cancelledOrderId = orderRepository.findAll().get(0).getId();
+        orderService.updateOrderStatus(cancelledOrderId, new OrderStatusRequestDto(OrderStatus.CANCELLED));
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        ByteArrayOutputStream cancelled = new ByteArrayOutputStream();
+
+        // when
+        orderService.exportOrdersAsCsv(null, null, null).writeTo(all);
+        orderService.exportOrdersAsCsv(OrderStatus.CANCELLED, LocalDate.now(), LocalDate.now()).writeTo(cancelled);
+
+        // then
+        List<String> lines = all.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines.get(0)).startsWith("order_id,order_number,user_id");
+        assertThat(lines).hasSize(1206);
+        assertThat(lines.subList(1, lines.size()))
+                .extracting(line -> Long.parseLong(line.substring(0, line.indexOf(','))))
+                .isSorted()
+                .doesNotHaveDuplicates();
+        assertThat(cancelled.toString(StandardCharsets.UTF_8).lines().toList())
+                .hasSize(2)
+                .element(1).asString().startsWith(cancelledOrderId + ",").contains(",CANCELLED,");
+        assertThrows(InvalidOperationException.class,
+                () -> orderService.exportOrdersAsCsv(null, LocalDate.now(), LocalDate.now().minusDays(1)));
+    }
+
+    private void drainOutbox() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (orderOutboxRepository.countByPublishedFalse() > 0 && System.currentTimeMillis() < deadline) {
+            orderOutboxRelay.relay();
+            Thread.sleep(50);
+        }
+    }
+
+    private void orderStockRestoreSubscriberRedelivery(Long orderId) {
+        orderOutboxRepository.findAll().stream()
+                .filter(entry -> entry.getOrderId().equals(orderId))
+                .map(OrderStatusChangedEvent::of)
+                .forEach(orderStockRestoreSubscriber::onOrderStatusChanged);
+    }
+
+    private void createOrder(Users user, int index, Item... items) {
+        Coupon coupon = couponRepository.save(Coupon.of(DiscountType.FIXED, 100L, LocalDate.now().plusDays(1)));
+        createdCoupons.add(coupon);
+        DeliveryAddress address = deliveryAddressRepository.findById(createDeliveryAddress(user)).get();
+        Orders order = orderRepository.save(Orders.of("history-" + index, user, LocalDate.now(), OrderStatus.PROCESSED, 2900L, null));
+        orderDetailsRepository.save(OrderDetails.of(order, address, coupon, 3000L, 100L));
+        for (Item item : items) {
+            orderItemRepository.save(OrderItem.builder()
+                    .orders(order)
+                    .item(item)
+                    .quantity(1)
+                    .totalPrice(item.getPrice())
+                    .build());
+        }
+    }
+
+    private Long createDeliveryAddress(Users user) {
+        return deliveryAddressRepository.save(
+                DeliveryAddress.of(user, "receiver", "01012345678", 12345, "address", "detail")).getId();
+    }
+}
@@ -0,0 +1,189 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.request.payment.PaymentRequestDto;
+import jihong99.shoppingmall.dto.response.payment.PaymentResponseDto;
+import jihong99.shoppingmall.entity.Orders;
+import jihong99.shoppingmall.entity.Users;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import jihong99.shoppingmall.entity.enums.PaymentMethod;
+import jihong99.shoppingmall.entity.enums.PaymentStatus;
+import jihong99.shoppingmall.exception.NotFoundException;
+import jihong99.shoppingmall.payment.PaymentGateway;
+import jihong99.shoppingmall.payment.PaymentGatewayException;
+import jihong99.shoppingmall.payment.PaymentGatewayResult;
+import jihong99.shoppingmall.repository.OrderRepository;
+import jihong99.shoppingmall.repository.PaymentRepository;
+import jihong99.shoppingmall.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+        "payment.retry.max-attempts=2",
+        "payment.retry.base-delay-ms=10",
+        "payment.retry.max-delay-ms=20",
+        "payment.sweep.interval-ms=50"
+})
+@ActiveProfiles("test")
+class PaymentServiceImplTest {
+
+    @Autowired
+    private IPaymentService paymentService;
+    @Autowired
+    private PaymentProcessor paymentProcessor;
+    @Autowired
+    private PaymentRepository paymentRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @MockBean
+    private PaymentGateway paymentGateway;
+
+    @AfterEach
+    public void tearDown() {
+        orderRepository.deleteAll();
+        paymentRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    /**
+     * Test method to pay an order when the first gateway call times out.
+     * Ensures the payment is retried with the same payment key and ends up approved.
+     */
+    @Test
+    void requestPayment_TransientFailure_RetriedWithSamePaymentKey() throws Exception {
+        // given
+        Orders order = createOrder("payment_retry_user");
+        when(paymentGateway.approve(anyString(), anyLong(), any()))
+                .thenThrow(new PaymentGatewayException("timeout"))
+                .thenReturn(PaymentGatewayResult.approved("tx-1"));
+
+        // when
+        PaymentResponseDto requested = paymentService.requestPayment(order.getUsers().getId(), order.getId(), new PaymentRequestDto(PaymentMethod.CARD));
+        PaymentResponseDto completed = awaitCompletion(order);
+
+        // then
+        assertThat(requested.getStatus()).isEqualTo(PaymentStatus.PENDING);
+        assertThat(completed.getStatus()).isEqualTo(PaymentStatus.APPROVED);
+        String paymentKey = paymentRepository.findById(completed.getId()).get().getPaymentKey();
+        verify(paymentGateway, times(2)).approve(eq(paymentKey), eq(2900L), eq(PaymentMethod.CARD));
+    }
+
+    /**
+     * Test method to request payment of the same order twice.
+     * Ensures the second request returns the pending payment and the gateway is called once.
+     */
+    @Test
+    void requestPayment_Repeated_ReturnsSamePayment() throws Exception {
+        // given
+        Orders order = createOrder("payment_repeat_user");
+        when(paymentGateway.approve(anyString(), anyLong(), any())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return PaymentGatewayResult.approved("tx-2");
+        });
+
+        // when
+        PaymentResponseDto first = paymentService.requestPayment(order.getUsers().getId(), order.getId(), new PaymentRequestDto(PaymentMethod.CARD));
+        PaymentResponseDto second = paymentService.requestPayment(order.getUsers().getId(), order.getId(), new PaymentRequestDto(PaymentMethod.CARD));
+        awaitCompletion(order);
+
+        // then
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(paymentRepository.count()).isEqualTo(1);
+        verify(paymentGateway, times(1)).approve(anyString(), anyLong(), any());
+    }
+
+    /**
+     * Test method to resolve a payment whose gateway calls never answered.
+     * Ensures the payment stops being retried and is settled from the gateway's records.
+     */
+    @Test
+    void requestPayment_AttemptsExhausted_ReconciledByInquiry() throws Exception {
+        // given
+        Orders order = createOrder("payment_reconcile_user");
+        when(paymentGateway.approve(anyString(), anyLong(), any())).thenThrow(new PaymentGatewayException("timeout"));
+        when(paymentGateway.inquire(anyCollection())).thenAnswer(invocation -> ((Collection<String>) invocation.getArgument(0))
+                .stream()
+                .collect(Collectors.toMap(key -> key, key -> PaymentGatewayResult.approved("tx-3"))));
+
+        // when
+        paymentService.requestPayment(order.getUsers().getId(), order.getId(), new PaymentRequestDto(PaymentMethod.CARD));
+        PaymentResponseDto completed = awaitCompletion(order);
+
+        // then
+        assertThat(completed.getStatus()).isEqualTo(PaymentStatus.APPROVED);
+        verify(paymentGateway, times(2)).approve(anyString(), anyLong(), any());
+        verify(paymentGateway, atLeastOnce()).inquire(anyCollection());
+    }
+
+    /**
+     * Test method to pay again after the gateway declined the payment.
+     * Ensures the declined payment fails and a new payment with a new key is created.
+     */
+    @Test
+    void requestPayment_AfterDecline_CreatesNewPayment() throws Exception {
+        // given
+        Orders order = createOrder("payment_decline_user");
+        when(paymentGateway.approve(anyString(), anyLong(), any()))
+                .thenReturn(PaymentGatewayResult.declined("Insufficient funds."))
+                .thenReturn(PaymentGatewayResult.approved("tx-4"));
+        paymentService.requestPayment(order.getUsers().getId(), order.getId(), new PaymentRequestDto(PaymentMethod.CARD));
+        PaymentResponseDto declined = awaitCompletion(order);
+
+        // when
+        paymentService.requestPayment(order.getUsers().getId(), order.getId(), new PaymentRequestDto(PaymentMethod.BANK_TRANSFER));
+        PaymentResponseDto approved = awaitCompletion(order);
+
+        // then
+        assertThat(declined.getStatus()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(declined.getFailureReason()).isEqualTo("Insufficient funds.");
+        assertThat(approved.getStatus()).isEqualTo(PaymentStatus.APPROVED);
+        assertThat(approved.getId()).isNotEqualTo(declined.getId());
+        assertThat(approved.getMethod()).isEqualTo(PaymentMethod.BANK_TRANSFER);
+    }
+
+    /**
+     * Test method to request payment of another user's order.
+     * Ensures NotFoundException is thrown and no payment is created.
+     */
+    @Test
+    void requestPayment_OtherUsersOrder_NotFoundException() {
+        // given
+        Orders order = createOrder("payment_owner_user");
+        Users other = userRepository.save(Users.of("payment_other_user", "password", "name", LocalDate.now(), "01012345678"));
+
+        // when & then
+        assertThrows(NotFoundException.class,
+                () -> paymentService.requestPayment(other.getId(), order.getId(), new PaymentRequestDto(PaymentMethod.CARD)));
+        assertThat(paymentRepository.count()).isZero();
+    }
+
+    private PaymentResponseDto awaitCompletion(Orders order) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        PaymentResponseDto payment = paymentService.getPayment(order.getUsers().getId(), order.getId());
+        while (payment.getStatus() == PaymentStatus.PENDING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            paymentProcessor.sweep();
+            payment = paymentService.getPayment(order.getUsers().getId(), order.getId());
+        }
+        return payment;
+    }
+
+    private Orders createOrder(String identification) {
+        Users user = userRepository.save(Users.of(identification, "password", "name", LocalDate.now(), "01012345678"));
+        return orderRepository.save(Orders.of(identification + "-order", user, LocalDate.now(), OrderStatus.PROCESSED, 2900L, null));
+    }
+}
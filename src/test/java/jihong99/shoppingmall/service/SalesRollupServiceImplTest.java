@@ -0,0 +1,224 @@
+package jihong99.shoppingmall.service;
+
+import jihong99.shoppingmall.dto.request.order.CheckoutRequestDto;
+import jihong99.shoppingmall.dto.request.order.OrderStatusRequestDto;
+import jihong99.shoppingmall.dto.response.sales.DailySalesResponseDto;
+import jihong99.shoppingmall.dto.response.sales.DimensionSalesResponseDto;
+import jihong99.shoppingmall.entity.*;
+import jihong99.shoppingmall.entity.enums.DiscountType;
+import jihong99.shoppingmall.entity.enums.OrderStatus;
+import jihong99.shoppingmall.entity.enums.SalesDimension;
+import jihong99.shoppingmall.exception.InvalidOperationException;
+import jihong99.shoppingmall.fixture.CartFixtures;
+import jihong99.shoppingmall.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SalesRollupServiceImplTest {
+
+    @Autowired
+    private ISalesRollupService salesRollupService;
+    @Autowired
+    private IOrderService orderService;
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CartFixtures cartFixtures;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryItemRepository categoryItemRepository;
+    @Autowired
+    private DeliveryAddressRepository deliveryAddressRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderDetailsRepository orderDetailsRepository;
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+    @Autowired
+    private CouponRepository couponRepository;
+    @Autowired
+    private UserCouponRepository userCouponRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        salesRollupRepository.deleteAll();
+        orderOutboxRepository.deleteAll();
+        orderItemRepository.deleteAll();
+        orderDetailsRepository.deleteAll();
+        orderRepository.deleteAll();
+        cartItemRepository.deleteAll();
+        deliveryAddressRepository.deleteAll();
+        userCouponRepository.deleteAll();
+        userRepository.deleteAll();
+        cartRepository.deleteAll();
+        couponRepository.deleteAll();
+        categoryItemRepository.deleteAll();
+        categoryRepository.deleteAll();
+        itemRepository.deleteAll();
+    }
+
+    /**
+     * Test method to maintain rollups on checkout and cancellation.
+     * Ensures totals, items and categories are incremented on checkout and netted out on cancellation.
+     */
+    @Test
+    void recordOrder_CheckoutAndCancel_UpdatesRollups() {
+        // given
+        Item item = itemRepository.save(Item.of("rollup item", 1500L, 10, "keyword", new ArrayList<>()));
+        Category category = categoryRepository.save(Category.of("rollup category"));
+        categoryItemRepository.save(CategoryItem.of(item, category));
+        Users user = cartFixtures.createUserWithCart("rollup_user", item, 2);
+        Long addressId = createDeliveryAddress(user);
+        LocalDate today = LocalDate.now();
+
+        // when
+        orderService.checkout(user.getId(), "rollup-key", new CheckoutRequestDto(addressId));
+
+        // then
+        List<DailySalesResponseDto> daily = salesRollupService.getDailySales(today, today);
+        assertThat(daily).hasSize(1);
+        assertThat(daily.get(0).getGrossRevenue()).isEqualTo(3000L);
+        assertThat(daily.get(0).getNetRevenue()).isEqualTo(3000L);
+        assertThat(daily.get(0).getOrderCount()).isEqualTo(1L);
+        assertThat(daily.get(0).getUnits()).isEqualTo(2L);
+        List<DimensionSalesResponseDto> categories = salesRollupService
+                .getDimensionSales(today, SalesDimension.CATEGORY, PageRequest.of(0, 10)).getContent();
+        assertThat(categories).hasSize(1);
+        assertThat(categories.get(0).getId()).isEqualTo(category.getId());
+        assertThat(categories.get(0).getGrossRevenue()).isEqualTo(3000L);
+        assertThat(categories.get(0).getNetRevenue()).isEqualTo(3000L);
+
+        // when
+        Long orderId = orderRepository.findByUsersIdAndIdempotencyKey(user.getId(), "rollup-key").get().getId();
+        orderService.updateOrderStatus(orderId, new OrderStatusRequestDto(OrderStatus.CANCELLED));
+
+        // then
+        DailySalesResponseDto afterCancel = salesRollupService.getDailySales(today, today).get(0);
+        assertThat(afterCancel.getGrossRevenue()).isZero();
+        assertThat(afterCancel.getNetRevenue()).isZero();
+        assertThat(afterCancel.getOrderCount()).isZero();
+        assertThat(afterCancel.getUnits()).isZero();
+    }
+
+    /**
+     * Test method to record an order paid with a coupon.
+     * Ensures every dimension holds both the gross and the net revenue, and the net revenues of the items
+     * and of their category add up to the net total of the day.
+     */
+    @Test
+    void recordOrder_WithCoupon_SplitsDiscountAcrossItems() {
+        // given
+        Item cheapItem = itemRepository.save(Item.of("cheap item", 1000L, 10, "keyword", new ArrayList<>()));
+        Item expensiveItem = itemRepository.save(Item.of("expensive item", 2000L, 10, "keyword", new ArrayList<>()));
+        Category category = categoryRepository.save(Category.of("discount category"));
+        categoryItemRepository.save(CategoryItem.of(cheapItem, category));
+        categoryItemRepository.save(CategoryItem.of(expensiveItem, category));
+        Users user = cartFixtures.createUserWithCart("discount_user", cheapItem, 1);
+        cartItemRepository.save(CartItem.of(user.getCart(), expensiveItem, 1, expensiveItem.getPrice()));
+        Coupon coupon = couponRepository.save(Coupon.of(DiscountType.FIXED, 600L, LocalDate.now().plusDays(7)));
+        userCouponRepository.save(UserCoupon.of(user, coupon));
+        Cart cart = user.getCart();
+        cart.updateAppliedCoupon(coupon);
+        cartRepository.save(cart);
+        Long addressId = createDeliveryAddress(user);
+        LocalDate today = LocalDate.now();
+
+        // when
+        orderService.checkout(user.getId(), "discount-key", new CheckoutRequestDto(addressId));
+
+        // then
+        DailySalesResponseDto daily = salesRollupService.getDailySales(today, today).get(0);
+        assertThat(daily.getGrossRevenue()).isEqualTo(3000L);
+        assertThat(daily.getNetRevenue()).isEqualTo(2400L);
+        List<DimensionSalesResponseDto> items = salesRollupService
+                .getDimensionSales(today, SalesDimension.ITEM, PageRequest.of(0, 10)).getContent();
+        assertThat(items).extracting(DimensionSalesResponseDto::getId).containsExactly(expensiveItem.getId(), cheapItem.getId());
+        assertThat(items).extracting(DimensionSalesResponseDto::getGrossRevenue).containsExactly(2000L, 1000L);
+        assertThat(items).extracting(DimensionSalesResponseDto::getNetRevenue).containsExactly(1600L, 800L);
+        DimensionSalesResponseDto categorySales = salesRollupService
+                .getDimensionSales(today, SalesDimension.CATEGORY, PageRequest.of(0, 10)).getContent().get(0);
+        assertThat(categorySales.getGrossRevenue()).isEqualTo(3000L);
+        assertThat(categorySales.getNetRevenue()).isEqualTo(daily.getNetRevenue());
+    }
+
+    /**
+     * Test method to rebuild rollups from historical orders.
+     * Ensures the backfill reproduces the incrementally maintained values.
+     */
+    @Test
+    void startBackfill_RebuildsRollups() throws Exception {
+        // given
+        Item item = itemRepository.save(Item.of("backfill item", 1000L, 10, "keyword", new ArrayList<>()));
+        Users user = cartFixtures.createUserWithCart("backfill_user", item, 3);
+        Long addressId = createDeliveryAddress(user);
+        orderService.checkout(user.getId(), "backfill-key", new CheckoutRequestDto(addressId));
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        jdbcTemplate.update("UPDATE orders SET order_date = ? WHERE user_id = ?", yesterday, user.getId());
+        salesRollupRepository.deleteAll();
+
+        // when
+        salesRollupService.startBackfill(yesterday, yesterday);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (salesRollupService.getDailySales(yesterday, yesterday).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        // then
+        DailySalesResponseDto daily = salesRollupService.getDailySales(yesterday, yesterday).get(0);
+        assertThat(daily.getNetRevenue()).isEqualTo(3000L);
+        assertThat(daily.getUnits()).isEqualTo(3L);
+    }
+
+    /**
+     * Test method to handle InvalidOperationException for a backfill range that reaches today.
+     * Ensures dates whose orders are still changing cannot be rebuilt.
+     */
+    @Test
+    void startBackfill_RangeReachesToday_InvalidOperationException() {
+        LocalDate today = LocalDate.now();
+        assertThrows(InvalidOperationException.class, () -> salesRollupService.startBackfill(today.minusDays(1), today));
+        assertThrows(InvalidOperationException.class, () -> salesRollupService.startBackfill(today, today.plusDays(1)));
+    }
+
+    /**
+     * Test method to handle InvalidOperationException for an inverted date range.
+     */
+    @Test
+    void getDailySales_InvalidDateRange_InvalidOperationException() {
+        LocalDate today = LocalDate.now();
+        assertThrows(InvalidOperationException.class, () -> salesRollupService.getDailySales(today, today.minusDays(1)));
+    }
+
+    private Long createDeliveryAddress(Users user) {
+        return deliveryAddressRepository.save(
+                DeliveryAddress.of(user, "receiver", "01012345678", 12345, "address", "detail")).getId();
+    }
+}
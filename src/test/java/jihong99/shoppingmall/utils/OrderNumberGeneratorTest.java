@@ -0,0 +1,176 @@
+package jihong99.shoppingmall.utils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderNumberGeneratorTest {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(OrderNumberGeneratorTest.class);
+
+    /**
+     * Test method to ensure IDs keep increasing when the clock moves backwards.
+     */
+    @Test
+    void nextId_ClockRollback_StaysMonotonic() {
+        // given
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        OrderNumberGenerator generator = new OrderNumberGenerator(1, now::get);
+        long before = generator.nextId();
+
+        // when
+        now.addAndGet(-5_000);
+        long afterRollback = generator.nextId();
+
+        // then
+        assertThat(afterRollback).isGreaterThan(before);
+    }
+
+    /**
+     * Test method to ensure sequence overflow within one millisecond does not produce duplicates.
+     */
+    @Test
+    void nextId_SequenceOverflow_NoDuplicates() {
+        // given
+        OrderNumberGenerator generator = new OrderNumberGenerator(1, () -> 1_800_000_000_000L);
+        long[] ids = new long[10_000];
+
+        // when
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = generator.nextId();
+        }
+
+        // then
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+        }
+    }
+
+    /**
+     * Test method to ensure IDs from different nodes never collide.
+     */
+    @Test
+    void nextId_DifferentNodes_NoCollisions() {
+        // given
+        OrderNumberGenerator node1 = new OrderNumberGenerator(1, () -> 1_800_000_000_000L);
+        OrderNumberGenerator node2 = new OrderNumberGenerator(2, () -> 1_800_000_000_000L);
+
+        // when & then
+        for (int i = 0; i < 1000; i++) {
+            assertThat(node1.nextId()).isNotEqualTo(node2.nextId());
+        }
+    }
+
+    /**
+     * Test method to handle IllegalArgumentException for a node id outside the 10-bit range.
+     */
+    @Test
+    void constructor_InvalidNodeId_IllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new OrderNumberGenerator(-1));
+    }
+
+    /**
+     * Test method to ensure the encoding is fixed-width and preserves ordering.
+     */
+    @Test
+    void generate_EncodingPreservesOrder() {
+        // given
+        OrderNumberGenerator generator = new OrderNumberGenerator(3);
+
+        // when
+        String first = generator.generate();
+        String second = generator.generate();
+
+        // then
+        assertThat(first).matches("\\d{6}-[0-9A-HJKMNP-TV-Z]{13}");
+        assertThat(second.compareTo(first)).isPositive();
+    }
+
+    /**
+     * Test method to generate IDs from many threads at once.
+     * Ensures IDs never collide across threads and keep increasing within each thread.
+     */
+    @Test
+    void nextId_ParallelThreads_UniqueAndMonotonic() throws Exception {
+        // given
+        OrderNumberGenerator generator = new OrderNumberGenerator(7);
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+
+        // when
+        List<long[]> idsByThread = generateInParallel(generator, threads, 100_000);
+
+        // then
+        for (long[] ids : idsByThread) {
+            for (int i = 1; i < ids.length; i++) {
+                assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+            }
+        }
+        assertUnique(idsByThread);
+    }
+
+    /**
+     * Benchmark generating IDs from many threads at once. Excluded from the regular test run; run it with
+     * the benchmark task.
+     * Ensures millions of IDs per second are produced without collisions.
+     */
+    @Test
+    @Tag("benchmark")
+    void nextId_ParallelBenchmark_MillionsPerSecond() throws Exception {
+        // given
+        OrderNumberGenerator generator = new OrderNumberGenerator(7);
+        int threads = Runtime.getRuntime().availableProcessors() * 2;
+        int idsPerThread = 500_000;
+        generateInParallel(generator, threads, idsPerThread);
+
+        // when
+        long startNanos = System.nanoTime();
+        List<long[]> idsByThread = generateInParallel(generator, threads, idsPerThread);
+        double idsPerSecond = (double) threads * idsPerThread / ((System.nanoTime() - startNanos) / 1_000_000_000.0);
+        LOGGER.info("Generated {} IDs on {} threads: {} IDs/s", threads * idsPerThread, threads, String.format("%,.0f", idsPerSecond));
+
+        // then
+        assertUnique(idsByThread);
+        assertThat(idsPerSecond).isGreaterThan(1_000_000);
+    }
+
+    private static List<long[]> generateInParallel(OrderNumberGenerator generator, int threads, int idsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                long[] ids = new long[idsPerThread];
+                start.await();
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+        List<long[]> idsByThread = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            idsByThread.add(future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        return idsByThread;
+    }
+
+    private static void assertUnique(List<long[]> idsByThread) {
+        long[] all = idsByThread.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        for (int i = 1; i < all.length; i++) {
+            assertThat(all[i]).isNotEqualTo(all[i - 1]);
+        }
+    }
+}